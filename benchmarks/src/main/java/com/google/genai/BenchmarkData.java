@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.genai.types.Candidate;
+import com.google.genai.types.Content;
+import com.google.genai.types.FinishReason;
+import com.google.genai.types.GenerateContentConfig;
+import com.google.genai.types.GenerateContentParameters;
+import com.google.genai.types.GenerateContentResponse;
+import com.google.genai.types.GenerateContentResponseUsageMetadata;
+import com.google.genai.types.HarmBlockThreshold;
+import com.google.genai.types.HarmCategory;
+import com.google.genai.types.HarmProbability;
+import com.google.genai.types.Part;
+import com.google.genai.types.SafetyRating;
+import com.google.genai.types.SafetySetting;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Deterministic requests and responses shared by the benchmarks. */
+final class BenchmarkData {
+
+  static final String MODEL = "gemini-2.5-flash";
+
+  private static final String SENTENCE =
+      "The quick brown fox jumps over the lazy dog while the benchmark measures every step. ";
+
+  private BenchmarkData() {}
+
+  /** Returns a text of roughly the given number of characters. */
+  static String text(int length) {
+    StringBuilder text = new StringBuilder(length + SENTENCE.length());
+    while (text.length() < length) {
+      text.append(SENTENCE);
+    }
+    return text.substring(0, length);
+  }
+
+  /** Returns a multi-turn conversation with the given number of user and model turns. */
+  static List<Content> contents(int turns) {
+    List<Content> contents = new ArrayList<>(turns);
+    for (int i = 0; i < turns; i++) {
+      contents.add(
+          Content.builder()
+              .role(i % 2 == 0 ? "user" : "model")
+              .parts(Part.fromText(text(400)))
+              .build());
+    }
+    return contents;
+  }
+
+  /** Returns a config that exercises the common generation and safety fields. */
+  static GenerateContentConfig config() {
+    return GenerateContentConfig.builder()
+        .systemInstruction(Content.fromParts(Part.fromText(text(200))))
+        .temperature(0.7f)
+        .maxOutputTokens(1024)
+        .safetySettings(
+            SafetySetting.builder()
+                .category(HarmCategory.Known.HARM_CATEGORY_HATE_SPEECH)
+                .threshold(HarmBlockThreshold.Known.BLOCK_ONLY_HIGH),
+            SafetySetting.builder()
+                .category(HarmCategory.Known.HARM_CATEGORY_HARASSMENT)
+                .threshold(HarmBlockThreshold.Known.BLOCK_ONLY_HIGH))
+        .build();
+  }
+
+  /** Returns the parameter node that {@link Models} hands to its request converters. */
+  static GenerateContentParameters parameters(int turns) {
+    return GenerateContentParameters.builder()
+        .model(MODEL)
+        .contents(contents(turns))
+        .config(config())
+        .build();
+  }
+
+  /** Returns a response with the given number of candidates, each with the given parts. */
+  static GenerateContentResponse response(int candidates, int partsPerCandidate) {
+    List<Candidate> candidateList = new ArrayList<>(candidates);
+    for (int i = 0; i < candidates; i++) {
+      List<Part> parts = new ArrayList<>(partsPerCandidate);
+      for (int j = 0; j < partsPerCandidate; j++) {
+        parts.add(
+            j % 4 == 3
+                ? Part.fromFunctionCall(
+                    "lookup", ImmutableMap.of("query", text(40), "limit", 10, "exact", false))
+                : Part.fromText(text(300)));
+      }
+      candidateList.add(
+          Candidate.builder()
+              .index(i)
+              .content(Content.builder().role("model").parts(parts).build())
+              .finishReason(FinishReason.Known.STOP)
+              .safetyRatings(
+                  SafetyRating.builder()
+                      .category(HarmCategory.Known.HARM_CATEGORY_HATE_SPEECH)
+                      .probability(HarmProbability.Known.NEGLIGIBLE),
+                  SafetyRating.builder()
+                      .category(HarmCategory.Known.HARM_CATEGORY_HARASSMENT)
+                      .probability(HarmProbability.Known.NEGLIGIBLE))
+              .build());
+    }
+    return GenerateContentResponse.builder()
+        .candidates(candidateList)
+        .usageMetadata(
+            GenerateContentResponseUsageMetadata.builder()
+                .promptTokenCount(512)
+                .candidatesTokenCount(candidates * partsPerCandidate * 64)
+                .totalTokenCount(512 + candidates * partsPerCandidate * 64))
+        .modelVersion(MODEL)
+        .responseId("benchmark-response")
+        .build();
+  }
+
+  /**
+   * Returns a server-sent event stream of the given number of chunks, as returned by {@code
+   * streamGenerateContent?alt=sse}.
+   */
+  static String sseBody(int chunks) {
+    String chunk = response(1, 1).toJson();
+    StringBuilder body = new StringBuilder(chunks * (chunk.length() + 8));
+    for (int i = 0; i < chunks; i++) {
+      body.append("data: ").append(chunk).append("\r\n\r\n");
+    }
+    return body.toString();
+  }
+}
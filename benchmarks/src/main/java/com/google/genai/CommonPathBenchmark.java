@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Common#getValueByPath} and {@link Common#setValueByPath}, which every generated
+ * converter calls once per field.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommonPathBenchmark {
+
+  private static final String[] FLAT_PATH = new String[] {"model"};
+  private static final String[] NESTED_PATH = new String[] {"config", "systemInstruction", "role"};
+  private static final String[] ARRAY_PATH = new String[] {"contents[]", "parts[]", "text"};
+  private static final String[] TARGET_PATH = new String[] {"generationConfig", "temperature"};
+
+  private JsonNode parameters;
+
+  @Setup
+  public void setUp() {
+    parameters = JsonSerializable.toJsonNode(BenchmarkData.parameters(20));
+  }
+
+  @Benchmark
+  public Object getFlat() {
+    return Common.getValueByPath(parameters, FLAT_PATH);
+  }
+
+  @Benchmark
+  public Object getNested() {
+    return Common.getValueByPath(parameters, NESTED_PATH);
+  }
+
+  @Benchmark
+  public Object getArray() {
+    return Common.getValueByPath(parameters, ARRAY_PATH);
+  }
+
+  @Benchmark
+  public Object getMissing() {
+    return Common.getValueByPath(parameters, TARGET_PATH);
+  }
+
+  @Benchmark
+  public ObjectNode setNested() {
+    ObjectNode target = JsonSerializable.objectMapper().createObjectNode();
+    Common.setValueByPath(target, TARGET_PATH, 0.7f);
+    return target;
+  }
+
+  @Benchmark
+  public ObjectNode setArray() {
+    ObjectNode target = JsonSerializable.objectMapper().createObjectNode();
+    Common.setValueByPath(target, ARRAY_PATH, "text");
+    return target;
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.genai.Common.BuiltRequest;
+import com.google.genai.types.Content;
+import com.google.genai.types.GenerateContentConfig;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the converters that turn {@code GenerateContentParameters} into the Gemini Developer API
+ * and Vertex AI request bodies, and the full request building around them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConverterBenchmark {
+
+  @Param({"1", "20"})
+  public int turns;
+
+  private ApiClient mldevClient;
+  private ApiClient vertexClient;
+  private Models mldevModels;
+  private Models vertexModels;
+  private List<Content> contents;
+  private GenerateContentConfig config;
+  private JsonNode parameterNode;
+
+  @Setup
+  public void setUp() {
+    mldevClient = new HttpApiClient(Optional.of("benchmark"), Optional.empty(), Optional.empty());
+    vertexClient =
+        new HttpApiClient(
+            Optional.empty(),
+            Optional.of("benchmark-project"),
+            Optional.of("us-central1"),
+            Optional.of(GoogleCredentials.create(new AccessToken("benchmark", null))),
+            Optional.empty(),
+            Optional.empty());
+    mldevModels = new Models(mldevClient);
+    vertexModels = new Models(vertexClient);
+    contents = BenchmarkData.contents(turns);
+    config = BenchmarkData.config();
+    parameterNode = JsonSerializable.toJsonNode(BenchmarkData.parameters(turns));
+  }
+
+  @Benchmark
+  public ObjectNode parametersToMldev() {
+    return mldevModels.generateContentParametersToMldev(
+        mldevClient, parameterNode, null, parameterNode);
+  }
+
+  @Benchmark
+  public ObjectNode parametersToVertex() {
+    return vertexModels.generateContentParametersToVertex(
+        vertexClient, parameterNode, null, parameterNode);
+  }
+
+  /** Includes serializing the typed parameters and the request body on top of the converter. */
+  @Benchmark
+  public BuiltRequest buildMldevRequest() {
+    return mldevModels.buildRequestForPrivateGenerateContent(BenchmarkData.MODEL, contents, config);
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import com.google.genai.types.Content;
+import com.google.genai.types.GenerateContentConfig;
+import com.google.genai.types.GenerateContentResponse;
+import com.google.genai.types.HttpOptions;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures whole {@code generateContent} and {@code generateContentStream} calls against a local
+ * {@link MockWebServer} that answers immediately with canned bodies, so the numbers reflect the
+ * SDK's own cost on top of a loopback round trip rather than the network or the model.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenerateContentBenchmark {
+
+  private MockWebServer server;
+  private Client client;
+  private List<Content> contents;
+  private GenerateContentConfig config;
+
+  @Setup
+  public void setUp() throws IOException {
+    Buffer response = new Buffer().writeUtf8(BenchmarkData.response(1, 8).toJson());
+    Buffer stream = new Buffer().writeUtf8(BenchmarkData.sseBody(20));
+    server = new MockWebServer();
+    server.setDispatcher(
+        new Dispatcher() {
+          @Override
+          public MockResponse dispatch(RecordedRequest request) {
+            if (request.getPath().contains(":streamGenerateContent")) {
+              return new MockResponse()
+                  .setHeader("content-type", "text/event-stream")
+                  .setBody(stream.clone());
+            }
+            return new MockResponse()
+                .setHeader("content-type", "application/json")
+                .setBody(response.clone());
+          }
+        });
+    server.start();
+    client =
+        Client.builder()
+            .apiKey("benchmark")
+            .httpOptions(HttpOptions.builder().baseUrl(server.url("/").toString()).build())
+            .build();
+    contents = BenchmarkData.contents(4);
+    config = BenchmarkData.config();
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    client.close();
+    server.shutdown();
+  }
+
+  @Benchmark
+  public GenerateContentResponse generateContent() {
+    return client.models.generateContent(BenchmarkData.MODEL, contents, config);
+  }
+
+  @Benchmark
+  public void generateContentStream(Blackhole blackhole) {
+    try (ResponseStream<GenerateContentResponse> stream =
+        client.models.generateContentStream(BenchmarkData.MODEL, contents, config)) {
+      for (GenerateContentResponse chunk : stream) {
+        blackhole.consume(chunk);
+      }
+    }
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.genai.types.GenerateContentResponse;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures {@link JsonSerializable} round trips of large {@link GenerateContentResponse}s. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializableBenchmark {
+
+  /** The number of parts of each of the response's 4 candidates. */
+  @Param({"8", "256"})
+  public int parts;
+
+  private GenerateContentResponse response;
+  private String json;
+  private JsonNode jsonNode;
+
+  @Setup
+  public void setUp() {
+    response = BenchmarkData.response(4, parts);
+    json = response.toJson();
+    jsonNode = JsonSerializable.stringToJsonNode(json);
+  }
+
+  @Benchmark
+  public String serialize() {
+    return response.toJson();
+  }
+
+  @Benchmark
+  public JsonNode serializeToNode() {
+    return JsonSerializable.toJsonNode(response);
+  }
+
+  @Benchmark
+  public GenerateContentResponse deserialize() {
+    return GenerateContentResponse.fromJson(json);
+  }
+
+  @Benchmark
+  public GenerateContentResponse deserializeFromNode() {
+    return JsonSerializable.fromJsonNode(jsonNode, GenerateContentResponse.class);
+  }
+}
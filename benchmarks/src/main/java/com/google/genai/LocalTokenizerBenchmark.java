@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import com.google.genai.proto.SentencepieceModel.ModelProto;
+import com.google.genai.proto.SentencepieceModel.ModelProto.SentencePiece;
+import com.google.genai.proto.SentencepieceModel.NormalizerSpec;
+import com.google.genai.proto.SentencepieceModel.TrainerSpec;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link LocalTokenizerProcessor#encode}.
+ *
+ * <p>The vocabulary is built from the benchmark text instead of being downloaded, so the benchmark
+ * runs offline: every substring of every word is a piece and longer pieces score higher, so the
+ * BPE merges run all the way up to whole words. Characters outside the vocabulary fall back to
+ * byte pieces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocalTokenizerBenchmark {
+
+  /** The length of the encoded text, in characters. */
+  @Param({"100", "10000"})
+  public int length;
+
+  private LocalTokenizerProcessor processor;
+  private String text;
+
+  @Setup
+  public void setUp() {
+    text = BenchmarkData.text(length) + " ünïcödé 🚀";
+    processor = new LocalTokenizerProcessor(model(BenchmarkData.text(1000)));
+  }
+
+  private static ModelProto model(String corpus) {
+    ModelProto.Builder model =
+        ModelProto.newBuilder()
+            .setTrainerSpec(
+                TrainerSpec.newBuilder()
+                    .setModelType(TrainerSpec.ModelType.BPE)
+                    .setUnkId(0)
+                    .setByteFallback(true))
+            .setNormalizerSpec(
+                NormalizerSpec.newBuilder()
+                    .setAddDummyPrefix(false)
+                    .setRemoveExtraWhitespaces(false))
+            .addPieces(
+                SentencePiece.newBuilder().setPiece("<unk>").setType(SentencePiece.Type.UNKNOWN))
+            .addPieces(
+                SentencePiece.newBuilder().setPiece("<s>").setType(SentencePiece.Type.CONTROL))
+            .addPieces(
+                SentencePiece.newBuilder().setPiece("</s>").setType(SentencePiece.Type.CONTROL));
+    for (int b = 0; b < 256; b++) {
+      model.addPieces(
+          SentencePiece.newBuilder()
+              .setPiece(String.format("<0x%02X>", b))
+              .setType(SentencePiece.Type.BYTE));
+    }
+    Set<String> pieces = new LinkedHashSet<>();
+    for (String word : corpus.split(" ")) {
+      String piece = "▁" + word;
+      for (int end = 1; end <= piece.length(); end++) {
+        for (int start = 0; start < end; start++) {
+          pieces.add(piece.substring(start, end));
+        }
+      }
+    }
+    for (String piece : pieces) {
+      model.addPieces(SentencePiece.newBuilder().setPiece(piece).setScore(piece.length()));
+    }
+    return model.build();
+  }
+
+  @Benchmark
+  public List<Token> encode() {
+    return processor.encode(text);
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.genai.types.GenerateContentResponse;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Headers;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures parsing a server-sent event stream into {@link GenerateContentResponse}s, from an
+ * in-memory body so that only the SDK's framing, conversion and deserialization are counted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseStreamBenchmark {
+
+  private static final MediaType EVENT_STREAM = MediaType.get("text/event-stream");
+  private static final Headers HEADERS =
+      Headers.of("content-type", "text/event-stream", "x-request-id", "benchmark");
+
+  @Param({"10", "200"})
+  public int chunks;
+
+  private Models models;
+  private byte[] body;
+
+  @Setup
+  public void setUp() {
+    models =
+        new Models(new HttpApiClient(Optional.of("benchmark"), Optional.empty(), Optional.empty()));
+    body = BenchmarkData.sseBody(chunks).getBytes(UTF_8);
+  }
+
+  @Benchmark
+  public void parse(Blackhole blackhole) {
+    ApiResponse response =
+        new ApiResponse() {
+          private final ResponseBody responseBody = ResponseBody.create(body, EVENT_STREAM);
+
+          @Override
+          public ResponseBody getBody() {
+            return responseBody;
+          }
+
+          @Override
+          public Headers getHeaders() {
+            return HEADERS;
+          }
+
+          @Override
+          public void close() {
+            responseBody.close();
+          }
+        };
+    try (ResponseStream<GenerateContentResponse> stream =
+        new ResponseStream<>(
+            GenerateContentResponse.class,
+            response,
+            models,
+            "generateContentResponseFromMldev",
+            true,
+            true)) {
+      for (GenerateContentResponse chunk : stream) {
+        blackhole.consume(chunk);
+      }
+    }
+  }
+}
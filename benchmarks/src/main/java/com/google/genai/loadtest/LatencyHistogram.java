@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai.loadtest;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of latencies in microseconds.
+ *
+ * <p>Values below 16 get a bucket each; larger values share a bucket with the values that have the
+ * same highest 4 bits, so a recorded value is reported with at most 12.5% error and the buckets
+ * span microseconds to days in a few hundred counters.
+ */
+final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+  private static final int MAX_EXPONENT = 40;
+  // The last bucket collects every value of 2^MAX_EXPONENT and more.
+  private static final int BUCKETS =
+      LINEAR_LIMIT + (MAX_EXPONENT - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + 1;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong sum = new AtomicLong();
+  private final AtomicLong max = new AtomicLong();
+
+  /** Records a latency given in nanoseconds. */
+  void recordNanos(long nanos) {
+    long micros = Math.max(0, nanos / 1000);
+    counts.incrementAndGet(index(micros));
+    count.incrementAndGet();
+    sum.addAndGet(micros);
+    long previous;
+    while (micros > (previous = max.get()) && !max.compareAndSet(previous, micros)) {}
+  }
+
+  long count() {
+    return count.get();
+  }
+
+  long meanMicros() {
+    long n = count.get();
+    return n == 0 ? 0 : sum.get() / n;
+  }
+
+  long maxMicros() {
+    return max.get();
+  }
+
+  /** Returns the upper bound of the bucket holding the given percentile, in microseconds. */
+  long percentileMicros(double percentile) {
+    long n = count.get();
+    if (n == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(percentile / 100 * n);
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts.get(i);
+      if (seen >= Math.max(1, rank)) {
+        return Math.min(upperBound(i), max.get());
+      }
+    }
+    return max.get();
+  }
+
+  /** Prints the non-empty buckets as rows of a bar chart. */
+  void print(PrintStream out, String indent) {
+    long n = count.get();
+    if (n == 0) {
+      return;
+    }
+    long largest = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      largest = Math.max(largest, counts.get(i));
+    }
+    for (int i = 0; i < BUCKETS; i++) {
+      long bucketCount = counts.get(i);
+      if (bucketCount == 0) {
+        continue;
+      }
+      int bar = (int) Math.max(1, bucketCount * 40 / largest);
+      out.printf(
+          "%s%10s .. %-10s %8d %5.1f%% %s%n",
+          indent,
+          formatMicros(lowerBound(i)),
+          formatMicros(upperBound(i)),
+          bucketCount,
+          100.0 * bucketCount / n,
+          new String(new char[bar]).replace('\0', '#'));
+    }
+  }
+
+  static String formatMicros(long micros) {
+    if (micros < 1000) {
+      return micros + "us";
+    }
+    if (micros < 1_000_000) {
+      return String.format("%.1fms", micros / 1000.0);
+    }
+    return String.format("%.2fs", micros / 1_000_000.0);
+  }
+
+  private static int index(long micros) {
+    if (micros < LINEAR_LIMIT) {
+      return (int) micros;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(micros);
+    if (exponent >= MAX_EXPONENT) {
+      return BUCKETS - 1;
+    }
+    int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+  }
+
+  private static long lowerBound(int index) {
+    if (index < LINEAR_LIMIT) {
+      return index;
+    }
+    int exponent = (index - LINEAR_LIMIT) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+    int subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS;
+    return (long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+  }
+
+  private static long upperBound(int index) {
+    if (index == BUCKETS - 1) {
+      return Long.MAX_VALUE;
+    }
+    return lowerBound(index + 1) - 1;
+  }
+}
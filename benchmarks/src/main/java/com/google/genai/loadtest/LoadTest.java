@@ -0,0 +1,437 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai.loadtest;
+
+import com.google.genai.AsyncSession;
+import com.google.genai.Client;
+import com.google.genai.ResponseStream;
+import com.google.genai.errors.ApiException;
+import com.google.genai.types.ClientOptions;
+import com.google.genai.types.Content;
+import com.google.genai.types.GenerateContentResponse;
+import com.google.genai.types.HttpOptions;
+import com.google.genai.types.HttpRetryOptions;
+import com.google.genai.types.LiveConnectConfig;
+import com.google.genai.types.LiveSendClientContentParameters;
+import com.google.genai.types.Part;
+import com.google.genai.types.UploadFileConfig;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import okhttp3.Dispatcher;
+
+/**
+ * Drives concurrent {@link Client} users against a {@link MockGeminiServer} and reports
+ * throughput, latency histograms, allocation rate and thread counts.
+ *
+ * <p>Every mode runs with a fresh client and server. Synchronous, streaming, upload and Live users
+ * each get a thread that issues one call after the other, as an application with a request thread
+ * per user would. Async users share no threads of their own: each user issues its next call from
+ * the completion of the previous one, which shows how many users the SDK's own threads can carry.
+ *
+ * <p>Run it with {@code java -cp target/benchmarks.jar com.google.genai.loadtest.LoadTest}
+ * followed by {@code --option=value} arguments among
+ *
+ * <ul>
+ *   <li>{@code modes}: comma-separated subset of {@code sync,async,stream,upload,live}. Defaults to
+ *       all of them.
+ *   <li>{@code users}: the number of concurrent users. Defaults to 32.
+ *   <li>{@code warmup}, {@code duration}: seconds to warm up, then to measure. Default to 5 and 20.
+ *   <li>{@code latency}, {@code chunk-delay}: milliseconds before the server answers, and between
+ *       two chunks of a streamed answer. Default to 50 and 20.
+ *   <li>{@code chunks}, {@code chunk-size}: the number of chunks of an answer and the characters
+ *       per chunk. Default to 10 and 256.
+ *   <li>{@code error-rate}, {@code rate-limit-rate}: the fraction of requests answered with a 500
+ *       or a 429. Default to 0.
+ *   <li>{@code retry-attempts}: overrides the client's retry attempts, 1 disabling retries.
+ *   <li>{@code upload-size}: bytes per uploaded file. Defaults to 1048576.
+ *   <li>{@code histogram}: whether to print the latency histograms. Defaults to true.
+ * </ul>
+ */
+public final class LoadTest {
+
+  private static final String MODEL = "gemini-2.5-flash";
+  private static final List<String> MODES =
+      Arrays.asList("sync", "async", "stream", "upload", "live");
+
+  private final Map<String, String> options;
+  private final int users;
+  private final Duration warmup;
+  private final Duration duration;
+  private final PrintStream out;
+
+  private LoadTest(Map<String, String> options, PrintStream out) {
+    this.options = options;
+    this.users = Integer.parseInt(options.getOrDefault("users", "32"));
+    this.warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "5")));
+    this.duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "20")));
+    this.out = out;
+  }
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException("Expected --option=value, got " + arg);
+      }
+      int equals = arg.indexOf('=');
+      options.put(arg.substring(2, equals), arg.substring(equals + 1));
+    }
+    LoadTest loadTest = new LoadTest(options, System.out);
+    for (String mode : options.getOrDefault("modes", String.join(",", MODES)).split(",")) {
+      if (!MODES.contains(mode)) {
+        throw new IllegalArgumentException("Unknown mode " + mode + ", expected one of " + MODES);
+      }
+      loadTest.run(mode);
+    }
+  }
+
+  private MockGeminiServer startServer() throws Exception {
+    return MockGeminiServer.builder()
+        .latency(Duration.ofMillis(Long.parseLong(options.getOrDefault("latency", "50"))))
+        .chunkDelay(Duration.ofMillis(Long.parseLong(options.getOrDefault("chunk-delay", "20"))))
+        .chunks(Integer.parseInt(options.getOrDefault("chunks", "10")))
+        .chunkSize(Integer.parseInt(options.getOrDefault("chunk-size", "256")))
+        .errorRate(Double.parseDouble(options.getOrDefault("error-rate", "0")))
+        .rateLimitRate(Double.parseDouble(options.getOrDefault("rate-limit-rate", "0")))
+        .start();
+  }
+
+  private Client newClient(MockGeminiServer server) {
+    // OkHttp allows 5 concurrent async calls per host by default, which would queue async users.
+    Dispatcher dispatcher = new Dispatcher();
+    dispatcher.setMaxRequests(Math.max(64, users * 2));
+    dispatcher.setMaxRequestsPerHost(Math.max(64, users * 2));
+    HttpOptions.Builder httpOptions = HttpOptions.builder().baseUrl(server.baseUrl());
+    if (options.containsKey("retry-attempts")) {
+      httpOptions.retryOptions(
+          HttpRetryOptions.builder()
+              .attempts(Integer.parseInt(options.get("retry-attempts")))
+              .build());
+    }
+    return Client.builder()
+        .apiKey("load-test")
+        .httpOptions(httpOptions.build())
+        .clientOptions(
+            ClientOptions.builder()
+                .customHttpClient(server.newHttpClientBuilder().dispatcher(dispatcher).build())
+                .build())
+        .build();
+  }
+
+  private void run(String mode) throws Exception {
+    try (MockGeminiServer server = startServer();
+        Client client = newClient(server)) {
+      Recorder recorder = new Recorder();
+      Workload workload = mode.equals("async") ? null : workload(mode, client);
+      long deadline = System.nanoTime() + warmup.plus(duration).toNanos();
+      CountDownLatch done = new CountDownLatch(users);
+      List<Thread> threads = new ArrayList<>();
+      for (int user = 0; user < users; user++) {
+        if (mode.equals("async")) {
+          asyncUser(client, recorder, deadline, done);
+        } else {
+          Thread thread = new Thread(() -> blockingUser(workload, recorder, deadline, done));
+          thread.setName("load-test-user-" + user);
+          thread.setDaemon(true);
+          thread.start();
+          threads.add(thread);
+        }
+      }
+
+      Thread.sleep(warmup.toMillis());
+      ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+      threadBean.resetPeakThreadCount();
+      long allocatedBefore = allocatedBytes(threadBean);
+      long start = System.nanoTime();
+      recorder.recording = true;
+      done.await();
+      long elapsedNanos = System.nanoTime() - start;
+      recorder.recording = false;
+      long allocated = allocatedBytes(threadBean) - allocatedBefore;
+      report(mode, server, recorder, elapsedNanos, allocated, threadBean);
+      for (Thread thread : threads) {
+        thread.join();
+      }
+      if (workload != null) {
+        workload.close();
+      }
+    }
+  }
+
+  /** One call of a blocking user, which records the time to the first chunk where it has one. */
+  private interface Workload {
+    void call(Recorder recorder, long startNanos) throws Exception;
+
+    /** Releases what the users held on to between calls. */
+    default void close() {}
+  }
+
+  private Workload workload(String mode, Client client) {
+    Content prompt = Content.fromParts(Part.fromText("Say something."));
+    switch (mode) {
+      case "sync":
+        return (recorder, startNanos) ->
+            client.models.generateContent(MODEL, prompt, null).text();
+      case "stream":
+        return (recorder, startNanos) -> {
+          try (ResponseStream<GenerateContentResponse> stream =
+              client.models.generateContentStream(MODEL, prompt, null)) {
+            boolean first = true;
+            for (GenerateContentResponse chunk : stream) {
+              if (first) {
+                recorder.firstChunk(System.nanoTime() - startNanos);
+                first = false;
+              }
+              chunk.text();
+            }
+          }
+        };
+      case "upload":
+        byte[] file = new byte[Integer.parseInt(options.getOrDefault("upload-size", "1048576"))];
+        UploadFileConfig config =
+            UploadFileConfig.builder().mimeType("application/octet-stream").build();
+        return (recorder, startNanos) -> client.files.upload(file, config);
+      case "live":
+        return new LiveWorkload(client, prompt);
+      default:
+        throw new IllegalArgumentException("Unknown mode " + mode);
+    }
+  }
+
+  /** Holds one Live session per user thread and sends one turn per call. */
+  private static final class LiveWorkload implements Workload {
+    private final Client client;
+    private final LiveSendClientContentParameters turn;
+    private final ThreadLocal<LiveUser> sessions = new ThreadLocal<>();
+    private final ConcurrentLinkedQueue<LiveUser> allSessions = new ConcurrentLinkedQueue<>();
+
+    LiveWorkload(Client client, Content prompt) {
+      this.client = client;
+      this.turn =
+          LiveSendClientContentParameters.builder().turns(prompt).turnComplete(true).build();
+    }
+
+    @Override
+    public void call(Recorder recorder, long startNanos) throws Exception {
+      LiveUser user = sessions.get();
+      if (user == null) {
+        user =
+            new LiveUser(client.async.live.connect(MODEL, LiveConnectConfig.builder().build()));
+        sessions.set(user);
+        allSessions.add(user);
+      }
+      user.turn(turn, recorder, startNanos);
+    }
+
+    @Override
+    public void close() {
+      for (LiveUser user : allSessions) {
+        user.session.close().join();
+      }
+    }
+  }
+
+  private static final class LiveUser {
+    private final AsyncSession session;
+    private volatile CompletableFuture<Void> turnDone;
+    private volatile Recorder recorder;
+    private volatile long startNanos;
+    private volatile boolean first;
+
+    LiveUser(CompletableFuture<AsyncSession> connecting) throws Exception {
+      this.session = connecting.get(30, TimeUnit.SECONDS);
+      session.receive(
+          message -> {
+            if (first && message.serverContent().flatMap(c -> c.modelTurn()).isPresent()) {
+              first = false;
+              recorder.firstChunk(System.nanoTime() - startNanos);
+            }
+            if (message.serverContent().flatMap(c -> c.turnComplete()).orElse(false)) {
+              turnDone.complete(null);
+            }
+          });
+    }
+
+    void turn(LiveSendClientContentParameters turn, Recorder recorder, long startNanos)
+        throws Exception {
+      this.recorder = recorder;
+      this.startNanos = startNanos;
+      this.first = true;
+      this.turnDone = new CompletableFuture<>();
+      session.sendClientContent(turn).get(30, TimeUnit.SECONDS);
+      turnDone.get(30, TimeUnit.SECONDS);
+    }
+  }
+
+  private static void blockingUser(
+      Workload workload, Recorder recorder, long deadline, CountDownLatch done) {
+    try {
+      while (System.nanoTime() < deadline) {
+        long start = System.nanoTime();
+        try {
+          workload.call(recorder, start);
+          recorder.success(System.nanoTime() - start);
+        } catch (Exception e) {
+          recorder.failure(e);
+        }
+      }
+    } finally {
+      done.countDown();
+    }
+  }
+
+  private static void asyncUser(
+      Client client, Recorder recorder, long deadline, CountDownLatch done) {
+    if (System.nanoTime() >= deadline) {
+      done.countDown();
+      return;
+    }
+    long start = System.nanoTime();
+    client
+        .async
+        .models
+        .generateContent(MODEL, "Say something.", null)
+        .whenComplete(
+            (response, error) -> {
+              if (error == null) {
+                recorder.success(System.nanoTime() - start);
+              } else {
+                recorder.failure(error);
+              }
+              asyncUser(client, recorder, deadline, done);
+            });
+  }
+
+  /** Sums the bytes allocated by the live threads, where the JVM can report it. */
+  private static long allocatedBytes(ThreadMXBean threadBean) {
+    if (!(threadBean instanceof com.sun.management.ThreadMXBean)) {
+      return -1;
+    }
+    com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threadBean;
+    long total = 0;
+    for (long allocated : bean.getThreadAllocatedBytes(bean.getAllThreadIds())) {
+      total += Math.max(0, allocated);
+    }
+    return total;
+  }
+
+  private void report(
+      String mode,
+      MockGeminiServer server,
+      Recorder recorder,
+      long elapsedNanos,
+      long allocatedBytes,
+      ThreadMXBean threadBean) {
+    double seconds = elapsedNanos / 1e9;
+    LatencyHistogram latency = recorder.latency;
+    out.printf("%n== %s: %d users, %.1fs ==%n", mode, users, seconds);
+    out.printf(
+        "  throughput      %.1f calls/s (%d ok, %d failed)%n",
+        latency.count() / seconds, latency.count(), recorder.failures.get());
+    out.printf(
+        "  latency         mean %s  p50 %s  p90 %s  p99 %s  p99.9 %s  max %s%n",
+        LatencyHistogram.formatMicros(latency.meanMicros()),
+        LatencyHistogram.formatMicros(latency.percentileMicros(50)),
+        LatencyHistogram.formatMicros(latency.percentileMicros(90)),
+        LatencyHistogram.formatMicros(latency.percentileMicros(99)),
+        LatencyHistogram.formatMicros(latency.percentileMicros(99.9)),
+        LatencyHistogram.formatMicros(latency.maxMicros()));
+    LatencyHistogram firstChunk = recorder.firstChunk;
+    if (firstChunk.count() > 0) {
+      out.printf(
+          "  first chunk     p50 %s  p90 %s  p99 %s%n",
+          LatencyHistogram.formatMicros(firstChunk.percentileMicros(50)),
+          LatencyHistogram.formatMicros(firstChunk.percentileMicros(90)),
+          LatencyHistogram.formatMicros(firstChunk.percentileMicros(99)));
+    }
+    if (allocatedBytes >= 0) {
+      out.printf(
+          "  allocation      %.1f MB/s, %.1f KB/call (live threads only)%n",
+          allocatedBytes / seconds / 1e6,
+          latency.count() == 0 ? 0 : allocatedBytes / 1e3 / latency.count());
+    }
+    out.printf(
+        "  threads         %d live, %d peak, %d started in total%n",
+        threadBean.getThreadCount(),
+        threadBean.getPeakThreadCount(),
+        threadBean.getTotalStartedThreadCount());
+    out.printf(
+        "  server          %d requests, %d injected 500s, %d injected 429s%n",
+        server.requestCount(), server.injectedErrorCount(), server.injectedRateLimitCount());
+    for (Map.Entry<String, AtomicLong> error : new TreeMap<>(recorder.errors).entrySet()) {
+      out.printf("  error           %dx %s%n", error.getValue().get(), error.getKey());
+    }
+    if (Boolean.parseBoolean(options.getOrDefault("histogram", "true"))) {
+      out.println("  latency histogram:");
+      latency.print(out, "    ");
+    }
+  }
+
+  /** Collects the results of the calls that complete while recording. */
+  private static final class Recorder {
+    final LatencyHistogram latency = new LatencyHistogram();
+    final LatencyHistogram firstChunk = new LatencyHistogram();
+    final AtomicLong failures = new AtomicLong();
+    final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+    volatile boolean recording;
+
+    void success(long nanos) {
+      if (recording) {
+        latency.recordNanos(nanos);
+      }
+    }
+
+    void firstChunk(long nanos) {
+      if (recording) {
+        firstChunk.recordNanos(nanos);
+      }
+    }
+
+    void failure(Throwable error) {
+      if (!recording) {
+        return;
+      }
+      failures.incrementAndGet();
+      Throwable cause = error;
+      while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+          && cause.getCause() != null) {
+        cause = cause.getCause();
+      }
+      String key =
+          cause instanceof ApiException
+              ? "HTTP " + ((ApiException) cause).code()
+              : cause.getClass().getSimpleName();
+      errors.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+    }
+  }
+}
@@ -0,0 +1,393 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai.loadtest;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.tls.HandshakeCertificates;
+import okhttp3.tls.HeldCertificate;
+import okio.Buffer;
+import okio.ByteString;
+
+/**
+ * An in-process stand-in for the Gemini Developer API that load tests can point a {@code Client}
+ * at.
+ *
+ * <p>The server answers {@code generateContent}, {@code streamGenerateContent}, resumable file
+ * uploads and Live API WebSocket sessions with canned payloads. Each answer waits for the
+ * configured latency, streamed answers are split into the configured number of chunks with a
+ * delay between chunks, and a configurable fraction of HTTP requests fails with a 500 or is
+ * throttled with a 429.
+ *
+ * <p>The server only speaks HTTPS, since the SDK always connects Live sessions over {@code wss}.
+ * Clients must trust its self-signed certificate through {@link #newHttpClientBuilder()}.
+ */
+public final class MockGeminiServer implements AutoCloseable {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final Duration latency;
+  private final int chunks;
+  private final Duration chunkDelay;
+  private final double errorRate;
+  private final double rateLimitRate;
+  private final String chunkText;
+  private final MockWebServer server = new MockWebServer();
+  private final HandshakeCertificates clientCertificates;
+  private final ScheduledExecutorService liveScheduler;
+  private final AtomicLong requests = new AtomicLong();
+  private final AtomicLong injectedErrors = new AtomicLong();
+  private final AtomicLong injectedRateLimits = new AtomicLong();
+  private final AtomicLong uploadSessions = new AtomicLong();
+
+  private MockGeminiServer(Builder builder) throws IOException {
+    this.latency = builder.latency;
+    this.chunks = builder.chunks;
+    this.chunkDelay = builder.chunkDelay;
+    this.errorRate = builder.errorRate;
+    this.rateLimitRate = builder.rateLimitRate;
+    StringBuilder text = new StringBuilder();
+    while (text.length() < builder.chunkSize) {
+      text.append("All work and no play makes a load test a dull test. ");
+    }
+    this.chunkText = text.substring(0, builder.chunkSize);
+    this.liveScheduler =
+        Executors.newScheduledThreadPool(
+            2,
+            runnable -> {
+              Thread thread = new Thread(runnable, "mock-gemini-live");
+              thread.setDaemon(true);
+              return thread;
+            });
+
+    HeldCertificate certificate =
+        new HeldCertificate.Builder().addSubjectAlternativeName("localhost").build();
+    HandshakeCertificates serverCertificates =
+        new HandshakeCertificates.Builder().heldCertificate(certificate).build();
+    this.clientCertificates =
+        new HandshakeCertificates.Builder()
+            .addTrustedCertificate(certificate.certificate())
+            .build();
+    server.useHttps(serverCertificates.sslSocketFactory(), false);
+    server.setDispatcher(new GeminiDispatcher());
+    server.start(InetAddress.getByName("localhost"), 0);
+  }
+
+  /** Returns a new {@link Builder}. */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Returns the base URL to configure in the client's {@code HttpOptions}. */
+  public String baseUrl() {
+    return server.url("/").toString();
+  }
+
+  /**
+   * Returns an {@link OkHttpClient.Builder} that trusts the server's certificate, to pass to the
+   * client through {@code ClientOptions.customHttpClient}.
+   */
+  public OkHttpClient.Builder newHttpClientBuilder() {
+    return new OkHttpClient.Builder()
+        .sslSocketFactory(
+            clientCertificates.sslSocketFactory(), clientCertificates.trustManager());
+  }
+
+  /** Returns the number of HTTP requests and WebSocket upgrades the server received. */
+  public long requestCount() {
+    return requests.get();
+  }
+
+  /** Returns the number of requests that were answered with an injected 500. */
+  public long injectedErrorCount() {
+    return injectedErrors.get();
+  }
+
+  /** Returns the number of requests that were answered with an injected 429. */
+  public long injectedRateLimitCount() {
+    return injectedRateLimits.get();
+  }
+
+  @Override
+  public void close() throws IOException {
+    liveScheduler.shutdownNow();
+    server.shutdown();
+  }
+
+  private String candidateJson(String text, boolean last) {
+    return "{\"candidates\":[{\"content\":{\"role\":\"model\",\"parts\":[{\"text\":"
+        + quote(text)
+        + "}]}"
+        + (last ? ",\"finishReason\":\"STOP\"" : "")
+        + ",\"index\":0}],\"usageMetadata\":{\"promptTokenCount\":16,\"candidatesTokenCount\":"
+        + text.length() / 4
+        + "},\"modelVersion\":\"mock\"}";
+  }
+
+  private static String quote(String text) {
+    try {
+      return MAPPER.writeValueAsString(text);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private MockResponse delayed(MockResponse response) {
+    return response.setHeadersDelay(latency.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  private MockResponse json(int code, String body) {
+    return delayed(
+        new MockResponse()
+            .setResponseCode(code)
+            .setHeader("content-type", "application/json; charset=UTF-8")
+            .setBody(body));
+  }
+
+  private MockResponse injectedFailure() {
+    double roll = ThreadLocalRandom.current().nextDouble();
+    if (roll < rateLimitRate) {
+      injectedRateLimits.incrementAndGet();
+      return json(
+          429,
+          "{\"error\":{\"code\":429,\"message\":\"Resource has been exhausted.\","
+              + "\"status\":\"RESOURCE_EXHAUSTED\"}}");
+    }
+    if (roll < rateLimitRate + errorRate) {
+      injectedErrors.incrementAndGet();
+      return json(
+          500,
+          "{\"error\":{\"code\":500,\"message\":\"Internal error.\",\"status\":\"INTERNAL\"}}");
+    }
+    return null;
+  }
+
+  private MockResponse generateContent() {
+    StringBuilder text = new StringBuilder(chunkText.length() * chunks);
+    for (int i = 0; i < chunks; i++) {
+      text.append(chunkText);
+    }
+    return json(200, candidateJson(text.toString(), true));
+  }
+
+  private MockResponse streamGenerateContent() {
+    Buffer body = new Buffer();
+    long eventBytes = 0;
+    for (int i = 0; i < chunks; i++) {
+      String event = "data: " + candidateJson(chunkText, i == chunks - 1) + "\r\n\r\n";
+      body.writeUtf8(event);
+      eventBytes = Math.max(eventBytes, event.length());
+    }
+    MockResponse response =
+        delayed(new MockResponse().setHeader("content-type", "text/event-stream").setBody(body));
+    if (!chunkDelay.isZero()) {
+      response.throttleBody(eventBytes, chunkDelay.toNanos(), TimeUnit.NANOSECONDS);
+    }
+    return response;
+  }
+
+  private MockResponse startUpload() {
+    String uploadUrl =
+        server.url("/upload-session/" + uploadSessions.incrementAndGet()).toString();
+    return json(200, "{}").setHeader("x-goog-upload-url", uploadUrl);
+  }
+
+  private MockResponse uploadChunk(RecordedRequest request) {
+    String command = request.getHeader("X-Goog-Upload-Command");
+    if (command != null && command.contains("finalize")) {
+      String path = request.getPath();
+      return json(
+              200,
+              "{\"file\":{\"name\":\"files/"
+                  + path.substring(path.lastIndexOf('/') + 1)
+                  + "\",\"mimeType\":\"application/octet-stream\",\"state\":\"ACTIVE\"}}")
+          .setHeader("X-Goog-Upload-Status", "final");
+    }
+    return json(200, "").setHeader("X-Goog-Upload-Status", "active");
+  }
+
+  private final class GeminiDispatcher extends Dispatcher {
+    @Override
+    public MockResponse dispatch(RecordedRequest request) {
+      requests.incrementAndGet();
+      String path = request.getPath();
+      if (path.contains("BidiGenerateContent")) {
+        return new MockResponse().withWebSocketUpgrade(new LiveListener());
+      }
+      if (path.startsWith("/upload-session/")) {
+        return uploadChunk(request);
+      }
+      MockResponse failure = injectedFailure();
+      if (failure != null) {
+        return failure;
+      }
+      if (path.contains(":streamGenerateContent")) {
+        return streamGenerateContent();
+      }
+      if (path.contains(":generateContent")) {
+        return generateContent();
+      }
+      if (path.startsWith("/upload/")) {
+        return startUpload();
+      }
+      return json(
+          404,
+          "{\"error\":{\"code\":404,\"message\":\"Unknown path "
+              + path
+              + "\",\"status\":\"NOT_FOUND\"}}");
+    }
+  }
+
+  /** Answers the setup message, then every client turn with the configured chunks. */
+  private final class LiveListener extends WebSocketListener {
+    @Override
+    public void onMessage(WebSocket webSocket, String text) {
+      onMessage(webSocket, ByteString.encodeUtf8(text));
+    }
+
+    @Override
+    public void onMessage(WebSocket webSocket, ByteString bytes) {
+      JsonNode message;
+      try {
+        message = MAPPER.readTree(bytes.toByteArray());
+      } catch (IOException e) {
+        webSocket.close(1007, "Invalid JSON");
+        return;
+      }
+      if (message.has("setup")) {
+        webSocket.send("{\"setupComplete\":{\"sessionId\":\"mock\"}}");
+      } else if (message.has("clientContent") || message.has("realtimeInput")) {
+        requests.incrementAndGet();
+        sendTurn(webSocket, 0, latency.toNanos());
+      }
+    }
+
+    @Override
+    public void onFailure(WebSocket webSocket, Throwable t, Response response) {
+      // The client went away mid-session; nothing to clean up.
+    }
+
+    private void sendTurn(WebSocket webSocket, int chunk, long delayNanos) {
+      liveScheduler.schedule(
+          () -> {
+            if (chunk < chunks) {
+              webSocket.send(
+                  "{\"serverContent\":{\"modelTurn\":{\"role\":\"model\",\"parts\":[{\"text\":"
+                      + quote(chunkText)
+                      + "}]}}}");
+              sendTurn(webSocket, chunk + 1, chunkDelay.toNanos());
+            } else {
+              webSocket.send("{\"serverContent\":{\"turnComplete\":true}}");
+            }
+          },
+          delayNanos,
+          TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /** Builder for {@link MockGeminiServer}. */
+  public static final class Builder {
+    private Duration latency = Duration.ofMillis(50);
+    private int chunks = 10;
+    private int chunkSize = 256;
+    private Duration chunkDelay = Duration.ofMillis(20);
+    private double errorRate = 0;
+    private double rateLimitRate = 0;
+
+    private Builder() {}
+
+    /** Sets how long every answer waits before its headers are sent. Defaults to 50ms. */
+    @CanIgnoreReturnValue
+    public Builder latency(Duration latency) {
+      checkNotNull(latency, "latency cannot be null");
+      checkArgument(!latency.isNegative(), "latency cannot be negative");
+      this.latency = latency;
+      return this;
+    }
+
+    /**
+     * Sets the number of chunks of every streamed answer and Live turn. Unary answers carry the
+     * text of all chunks. Defaults to 10.
+     */
+    @CanIgnoreReturnValue
+    public Builder chunks(int chunks) {
+      checkArgument(chunks > 0, "chunks must be positive");
+      this.chunks = chunks;
+      return this;
+    }
+
+    /** Sets the number of characters of text in every chunk. Defaults to 256. */
+    @CanIgnoreReturnValue
+    public Builder chunkSize(int chunkSize) {
+      checkArgument(chunkSize > 0, "chunkSize must be positive");
+      this.chunkSize = chunkSize;
+      return this;
+    }
+
+    /** Sets the delay between two chunks of a streamed answer. Defaults to 20ms. */
+    @CanIgnoreReturnValue
+    public Builder chunkDelay(Duration chunkDelay) {
+      checkNotNull(chunkDelay, "chunkDelay cannot be null");
+      checkArgument(!chunkDelay.isNegative(), "chunkDelay cannot be negative");
+      this.chunkDelay = chunkDelay;
+      return this;
+    }
+
+    /** Sets the fraction of requests, between 0 and 1, answered with a 500. Defaults to 0. */
+    @CanIgnoreReturnValue
+    public Builder errorRate(double errorRate) {
+      checkArgument(errorRate >= 0 && errorRate <= 1, "errorRate must be between 0 and 1");
+      this.errorRate = errorRate;
+      return this;
+    }
+
+    /** Sets the fraction of requests, between 0 and 1, answered with a 429. Defaults to 0. */
+    @CanIgnoreReturnValue
+    public Builder rateLimitRate(double rateLimitRate) {
+      checkArgument(
+          rateLimitRate >= 0 && rateLimitRate <= 1, "rateLimitRate must be between 0 and 1");
+      this.rateLimitRate = rateLimitRate;
+      return this;
+    }
+
+    /** Starts the server on a free port of the loopback interface. */
+    public MockGeminiServer start() throws IOException {
+      checkArgument(errorRate + rateLimitRate <= 1, "errorRate + rateLimitRate cannot exceed 1");
+      return new MockGeminiServer(this);
+    }
+  }
+}
@@ -33,6 +33,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.logging.Logger;
+import org.jspecify.annotations.Nullable;
 
 final class AfcUtil {
   private static final Logger logger = Logger.getLogger(AfcUtil.class.getName());
@@ -103,8 +104,15 @@ final class AfcUtil {
     return functionMapBuilder.buildOrThrow();
   }
 
+  /**
+   * Invokes the functions called by the response, each in its own span under the given parent if
+   * the client is traced.
+   */
   static ImmutableList<Part> getFunctionResponseParts(
-      GenerateContentResponse response, ImmutableMap<String, Method> functionMap) {
+      GenerateContentResponse response,
+      ImmutableMap<String, Method> functionMap,
+      @Nullable ClientTracing tracing,
+      TraceRecorder.@Nullable Span parent) {
     ImmutableList.Builder<Part> functionResponsePartsBuilder = ImmutableList.builder();
     ImmutableList<Part> responseParts = response.parts();
     ImmutableList<FunctionCall> functionCalls = response.functionCalls();
@@ -121,6 +129,8 @@ final class AfcUtil {
       }
       Method method = functionMap.get(funcName);
       ImmutableMap<String, Object> args = ImmutableMap.copyOf(functionCall.args().get());
+      TraceRecorder.Span span = ClientTracing.startTool(tracing, parent, functionCall);
+      Exception error = null;
       try {
         Object funcResponse = getFunctionResponse(method, args);
         if (funcResponse == null) {
@@ -131,8 +141,11 @@ final class AfcUtil {
               Part.fromFunctionResponse(funcName, ImmutableMap.of("result", funcResponse)));
         }
       } catch (Exception e) {
+        error = e;
         functionResponsePartsBuilder.add(
             Part.fromFunctionResponse(funcName, ImmutableMap.of("error", e.toString())));
+      } finally {
+        ClientTracing.end(span, error);
       }
     }
     return functionResponsePartsBuilder.build();
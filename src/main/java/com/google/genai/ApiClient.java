@@ -21,12 +21,15 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.api.core.InternalApi;
+import com.google.auth.oauth2.AccessToken;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.common.base.Ascii;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.genai.errors.GenAiIOException;
 import com.google.genai.types.ClientOptions;
+import com.google.genai.types.HttpHedgingOptions;
 import com.google.genai.types.HttpOptions;
 import com.google.genai.types.HttpRetryOptions;
 import com.google.genai.types.ProxyOptions;
@@ -38,6 +41,7 @@ import java.net.Proxy;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -70,6 +74,9 @@ public abstract class ApiClient implements AutoCloseable {
 
   private static final ImmutableSet<String> MULTI_REGIONAL_LOCATIONS = ImmutableSet.of("us", "eu");
 
+  // Matches the refresh margin of the auth library, so tokens it would refresh are never reused.
+  private static final Duration TOKEN_REFRESH_MARGIN = Duration.ofMinutes(6);
+
   private static Optional<String> geminiBaseUrl = Optional.empty();
   private static Optional<String> vertexBaseUrl = Optional.empty();
 
@@ -77,6 +84,8 @@ public abstract class ApiClient implements AutoCloseable {
   HttpOptions httpOptions;
   final boolean vertexAI;
   final Optional<ClientOptions> clientOptions;
+  // Null unless the client options set a trace recorder, so that untraced clients pay nothing.
+  final @Nullable ClientTracing tracing;
 
   final Optional<String> customBaseUrl;
   // For Google AI APIs
@@ -109,6 +118,7 @@ public abstract class ApiClient implements AutoCloseable {
     this.credentials = Optional.empty();
     this.vertexAI = false;
     this.clientOptions = clientOptions;
+    this.tracing = createTracing(clientOptions, /* vertexAI= */ false);
     this.customBaseUrl =
         customHttpOptions.flatMap(HttpOptions::baseUrl).map(url -> url.replaceAll("/$", ""));
 
@@ -254,6 +264,7 @@ public abstract class ApiClient implements AutoCloseable {
             : Optional.of(credentials.orElseGet(() -> defaultCredentials()));
 
     this.clientOptions = clientOptions;
+    this.tracing = createTracing(clientOptions, /* vertexAI= */ true);
 
     this.httpOptions =
         defaultHttpOptions(
@@ -302,11 +313,44 @@ public abstract class ApiClient implements AutoCloseable {
           });
     }
 
+    List<RequestHook> requestHooks =
+        new ArrayList<>(
+            clientOptions.flatMap(ClientOptions::requestHooks).orElse(ImmutableList.of()));
+    ClientMetrics metrics =
+        clientOptions.flatMap(ClientOptions::metricsRecorder).map(ClientMetrics::new).orElse(null);
+    if (metrics != null) {
+      requestHooks.add(metrics);
+    }
+    if (tracing != null) {
+      requestHooks.add(tracing);
+      builder.addInterceptor(tracing.parents());
+    }
+    if (!requestHooks.isEmpty()) {
+      // Installed in front of the retry interceptor, so that a call is observed once with its
+      // retries as events of the call.
+      builder.addInterceptor(new RequestHooks(requestHooks));
+    }
+
     HttpRetryOptions retryOptions =
         httpOptions.retryOptions().orElse(HttpRetryOptions.builder().build());
     builder.addInterceptor(new RetryInterceptor(retryOptions));
+    if (tracing != null) {
+      builder.addInterceptor(tracing.attempts());
+    }
 
-    return builder.build();
+    OkHttpClient client = builder.build();
+    if (metrics != null) {
+      metrics.observe(client.dispatcher(), client.connectionPool());
+    }
+    return client;
+  }
+
+  private static @Nullable ClientTracing createTracing(
+      Optional<ClientOptions> clientOptions, boolean vertexAI) {
+    return clientOptions
+        .flatMap(ClientOptions::traceRecorder)
+        .map(recorder -> new ClientTracing(recorder, vertexAI))
+        .orElse(null);
   }
 
   /** Applies the proxy options to the OkHttpClient builder. */
@@ -447,6 +491,9 @@ public abstract class ApiClient implements AutoCloseable {
             requestBuilder.tag(HttpRetryOptions.class, mergedHttpOptions.retryOptions().get());
           }
         });
+    mergedHttpOptions
+        .hedgingOptions()
+        .ifPresent(hedgingOptions -> requestBuilder.tag(HttpHedgingOptions.class, hedgingOptions));
 
     setHeaders(requestBuilder, mergedHttpOptions);
     return requestBuilder.build();
@@ -539,14 +586,22 @@ public abstract class ApiClient implements AutoCloseable {
   /**
    * Refreshes credentials (if needed) and returns the current access token.
    *
-   * <p>This method routes through {@link #setHeaders} to leverage existing Boq conformance
-   * exemptions that cover the blocking {@code refreshIfExpired()} call in that method.
+   * <p>A cached token that is not close to expiry is returned directly. Otherwise this method
+   * routes through {@link #setHeaders} to leverage existing Boq conformance exemptions that cover
+   * the blocking {@code refreshIfExpired()} call in that method.
    */
   @Nullable
   String refreshAndGetAccessToken() {
     if (apiKey.isPresent() || !credentials.isPresent()) {
       return null;
     }
+    AccessToken cached = credentials.get().getAccessToken();
+    if (cached != null
+        && (cached.getExpirationTime() == null
+            || cached.getExpirationTime().getTime() - System.currentTimeMillis()
+                > TOKEN_REFRESH_MARGIN.toMillis())) {
+      return cached.getTokenValue();
+    }
     Request.Builder dummyBuilder = new Request.Builder().url("https://placeholder.invalid");
     setHeaders(dummyBuilder, httpOptions);
     String authHeader = dummyBuilder.build().header("Authorization");
@@ -724,6 +779,7 @@ public abstract class ApiClient implements AutoCloseable {
     httpOptionsToApply.timeout().ifPresent(mergedHttpOptionsBuilder::timeout);
     httpOptionsToApply.extraBody().ifPresent(mergedHttpOptionsBuilder::extraBody);
     httpOptionsToApply.retryOptions().ifPresent(mergedHttpOptionsBuilder::retryOptions);
+    httpOptionsToApply.hedgingOptions().ifPresent(mergedHttpOptionsBuilder::hedgingOptions);
 
     if (httpOptionsToApply.headers().isPresent()) {
       Stream<Map.Entry<String, String>> headersStream =
@@ -19,6 +19,7 @@ package com.google.genai;
 import com.google.api.core.InternalApi;
 import okhttp3.Headers;
 import okhttp3.ResponseBody;
+import org.jspecify.annotations.Nullable;
 
 /** The API response contains a response to a call to the GenAI APIs. */
 @InternalApi
@@ -31,4 +32,9 @@ public abstract class ApiResponse implements AutoCloseable {
 
   @Override
   public abstract void close();
+
+  /** Returns the {@link RequestHook}s observing the call of this response, if there are any. */
+  RequestHooks.@Nullable Call hookCall() {
+    return null;
+  }
 }
@@ -33,6 +33,7 @@ import com.google.genai.types.EmbeddingsBatchJobSource;
 import com.google.genai.types.GetBatchJobConfig;
 import com.google.genai.types.ListBatchJobsConfig;
 import com.google.genai.types.ListBatchJobsResponse;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
@@ -249,4 +250,66 @@ public final class AsyncBatches {
     }
     return this.privateCreateEmbeddings(model, src, config);
   }
+
+  /**
+   * Asynchronously deletes many batch jobs with bounded concurrency.
+   *
+   * @param names The names of the batch jobs.
+   * @param config A {@link BulkOperationConfig} for the concurrency, 429 backoff and dry-run mode.
+   * @return A future that resolves to the per-item results, in the order of {@code names}.
+   */
+  public CompletableFuture<List<BulkOperationResult<DeleteResourceJob>>> bulkDelete(
+      Iterable<String> names, BulkOperationConfig config) {
+    return BulkOperations.run(names, name -> delete(name, null), config);
+  }
+
+  /**
+   * Asynchronously deletes many batch jobs listed by the given pager, with bounded concurrency.
+   * Next pages are queried as the operation progresses.
+   *
+   * @param pager A {@link Pager} over the batch jobs, as returned by {@code list}.
+   * @param config A {@link BulkOperationConfig} for the concurrency, 429 backoff and dry-run mode.
+   * @return A future that resolves to the per-item results, in the order of the pager.
+   */
+  public CompletableFuture<List<BulkOperationResult<DeleteResourceJob>>> bulkDelete(
+      Pager<BatchJob> pager, BulkOperationConfig config) {
+    return bulkDelete(BulkOperations.names(pager, BatchJob::name), config);
+  }
+
+  /**
+   * Asynchronously cancels many batch jobs with bounded concurrency.
+   *
+   * @param names The names of the batch jobs.
+   * @param config A {@link BulkOperationConfig} for the concurrency, 429 backoff and dry-run mode.
+   * @return A future that resolves to the per-item results, in the order of {@code names}.
+   */
+  public CompletableFuture<List<BulkOperationResult<Void>>> bulkCancel(
+      Iterable<String> names, BulkOperationConfig config) {
+    return BulkOperations.run(names, name -> cancel(name, null), config);
+  }
+
+  /**
+   * Asynchronously cancels many batch jobs listed by the given pager, with bounded concurrency.
+   * Next pages are queried as the operation progresses.
+   *
+   * @param pager A {@link Pager} over the batch jobs, as returned by {@code list}.
+   * @param config A {@link BulkOperationConfig} for the concurrency, 429 backoff and dry-run mode.
+   * @return A future that resolves to the per-item results, in the order of the pager.
+   */
+  public CompletableFuture<List<BulkOperationResult<Void>>> bulkCancel(
+      Pager<BatchJob> pager, BulkOperationConfig config) {
+    return bulkCancel(BulkOperations.names(pager, BatchJob::name), config);
+  }
+
+  /**
+   * Asynchronously gets many batch jobs with bounded concurrency.
+   *
+   * @param names The names of the batch jobs.
+   * @param config A {@link BulkOperationConfig} for the concurrency, 429 backoff and dry-run mode.
+   * @return A future that resolves to the per-item results, in the order of {@code names}.
+   */
+  public CompletableFuture<List<BulkOperationResult<BatchJob>>> bulkGet(
+      Iterable<String> names, BulkOperationConfig config) {
+    return BulkOperations.run(names, name -> get(name, null), config);
+  }
 }
@@ -30,6 +30,7 @@ import com.google.genai.types.GetCachedContentConfig;
 import com.google.genai.types.ListCachedContentsConfig;
 import com.google.genai.types.ListCachedContentsResponse;
 import com.google.genai.types.UpdateCachedContentConfig;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
@@ -170,4 +171,41 @@ public final class AsyncCaches {
                 (ObjectNode) JsonSerializable.toJsonNode(finalConfig),
                 request.apply(finalConfig)));
   }
+
+  /**
+   * Asynchronously deletes many cached contents with bounded concurrency.
+   *
+   * @param names The names of the cached contents.
+   * @param config A {@link BulkOperationConfig} for the concurrency, 429 backoff and dry-run mode.
+   * @return A future that resolves to the per-item results, in the order of {@code names}.
+   */
+  public CompletableFuture<List<BulkOperationResult<DeleteCachedContentResponse>>> bulkDelete(
+      Iterable<String> names, BulkOperationConfig config) {
+    return BulkOperations.run(names, name -> delete(name, null), config);
+  }
+
+  /**
+   * Asynchronously deletes many cached contents listed by the given pager, with bounded
+   * concurrency. Next pages are queried as the operation progresses.
+   *
+   * @param pager A {@link Pager} over the cached contents, as returned by {@code list}.
+   * @param config A {@link BulkOperationConfig} for the concurrency, 429 backoff and dry-run mode.
+   * @return A future that resolves to the per-item results, in the order of the pager.
+   */
+  public CompletableFuture<List<BulkOperationResult<DeleteCachedContentResponse>>> bulkDelete(
+      Pager<CachedContent> pager, BulkOperationConfig config) {
+    return bulkDelete(BulkOperations.names(pager, CachedContent::name), config);
+  }
+
+  /**
+   * Asynchronously gets many cached contents with bounded concurrency.
+   *
+   * @param names The names of the cached contents.
+   * @param config A {@link BulkOperationConfig} for the concurrency, 429 backoff and dry-run mode.
+   * @return A future that resolves to the per-item results, in the order of {@code names}.
+   */
+  public CompletableFuture<List<BulkOperationResult<CachedContent>>> bulkGet(
+      Iterable<String> names, BulkOperationConfig config) {
+    return BulkOperations.run(names, name -> get(name, null), config);
+  }
 }
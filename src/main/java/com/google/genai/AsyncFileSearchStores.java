@@ -40,6 +40,7 @@ import com.google.genai.types.UploadToFileSearchStoreResumableResponse;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
@@ -374,4 +375,41 @@ public final class AsyncFileSearchStores {
           }
         });
   }
+
+  /**
+   * Asynchronously deletes many file search stores with bounded concurrency.
+   *
+   * @param names The names of the file search stores.
+   * @param config A {@link BulkOperationConfig} for the concurrency, 429 backoff and dry-run mode.
+   * @return A future that resolves to the per-item results, in the order of {@code names}.
+   */
+  public CompletableFuture<List<BulkOperationResult<Void>>> bulkDelete(
+      Iterable<String> names, BulkOperationConfig config) {
+    return BulkOperations.run(names, name -> delete(name, null), config);
+  }
+
+  /**
+   * Asynchronously deletes many file search stores listed by the given pager, with bounded
+   * concurrency. Next pages are queried as the operation progresses.
+   *
+   * @param pager A {@link Pager} over the file search stores, as returned by {@code list}.
+   * @param config A {@link BulkOperationConfig} for the concurrency, 429 backoff and dry-run mode.
+   * @return A future that resolves to the per-item results, in the order of the pager.
+   */
+  public CompletableFuture<List<BulkOperationResult<Void>>> bulkDelete(
+      Pager<FileSearchStore> pager, BulkOperationConfig config) {
+    return bulkDelete(BulkOperations.names(pager, FileSearchStore::name), config);
+  }
+
+  /**
+   * Asynchronously gets many file search stores with bounded concurrency.
+   *
+   * @param names The names of the file search stores.
+   * @param config A {@link BulkOperationConfig} for the concurrency, 429 backoff and dry-run mode.
+   * @return A future that resolves to the per-item results, in the order of {@code names}.
+   */
+  public CompletableFuture<List<BulkOperationResult<FileSearchStore>>> bulkGet(
+      Iterable<String> names, BulkOperationConfig config) {
+    return BulkOperations.run(names, name -> get(name, null), config);
+  }
 }
@@ -290,4 +290,41 @@ public final class AsyncFiles {
       File file, String downloadPath, DownloadFileConfig config) {
     return CompletableFuture.runAsync(() -> files.download(file, downloadPath, config));
   }
+
+  /**
+   * Asynchronously deletes many files with bounded concurrency.
+   *
+   * @param names The names of the files.
+   * @param config A {@link BulkOperationConfig} for the concurrency, 429 backoff and dry-run mode.
+   * @return A future that resolves to the per-item results, in the order of {@code names}.
+   */
+  public CompletableFuture<List<BulkOperationResult<DeleteFileResponse>>> bulkDelete(
+      Iterable<String> names, BulkOperationConfig config) {
+    return BulkOperations.run(names, name -> delete(name, null), config);
+  }
+
+  /**
+   * Asynchronously deletes many files listed by the given pager, with bounded concurrency. Next
+   * pages are queried as the operation progresses.
+   *
+   * @param pager A {@link Pager} over the files, as returned by {@code list}.
+   * @param config A {@link BulkOperationConfig} for the concurrency, 429 backoff and dry-run mode.
+   * @return A future that resolves to the per-item results, in the order of the pager.
+   */
+  public CompletableFuture<List<BulkOperationResult<DeleteFileResponse>>> bulkDelete(
+      Pager<File> pager, BulkOperationConfig config) {
+    return bulkDelete(BulkOperations.names(pager, File::name), config);
+  }
+
+  /**
+   * Asynchronously gets many files with bounded concurrency.
+   *
+   * @param names The names of the files.
+   * @param config A {@link BulkOperationConfig} for the concurrency, 429 backoff and dry-run mode.
+   * @return A future that resolves to the per-item results, in the order of {@code names}.
+   */
+  public CompletableFuture<List<BulkOperationResult<File>>> bulkGet(
+      Iterable<String> names, BulkOperationConfig config) {
+    return BulkOperations.run(names, name -> get(name, null), config);
+  }
 }
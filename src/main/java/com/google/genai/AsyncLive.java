@@ -24,13 +24,19 @@ import com.google.genai.types.LiveConnectConfig;
 import com.google.genai.types.LiveConnectParameters;
 import com.google.genai.types.LiveServerMessage;
 import com.google.genai.types.LiveServerSetupComplete;
+import com.google.genai.types.SessionResumptionConfig;
 import java.io.IOException;
+import java.lang.reflect.Method;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import okhttp3.Request;
@@ -83,6 +89,36 @@ public class AsyncLive {
     return future;
   }
 
+  /**
+   * Connects to the live server with a session that reconnects on its own, resuming the
+   * conversation with the latest handle sent by the server. Session resumption is enabled in the
+   * setup if {@code config} doesn't already configure it.
+   *
+   * @param model The model name to use.
+   * @param config A {@link LiveConnectConfig} configuration for the live connection. May be null.
+   * @param reconnectConfig How to reconnect.
+   * @return A {@link CompletableFuture} that resolves to a {@link ResilientLiveSession} once the
+   *     first connection is set up.
+   */
+  public CompletableFuture<ResilientLiveSession> connectResilient(
+      String model, LiveConnectConfig config, LiveReconnectConfig reconnectConfig) {
+    LiveConnectConfig baseConfig = config == null ? LiveConnectConfig.builder().build() : config;
+    SessionResumptionConfig resumption =
+        baseConfig.sessionResumption().orElse(SessionResumptionConfig.builder().build());
+    return ResilientLiveSession.connect(
+        handle ->
+            connect(
+                model,
+                baseConfig.toBuilder()
+                    .sessionResumption(
+                        handle.isPresent()
+                            ? resumption.toBuilder().handle(handle.get()).build()
+                            : resumption)
+                    .build()),
+        reconnectConfig,
+        SharedScheduler.get());
+  }
+
   /** Gets the URI for the websocket connection. */
   private URI getWebSocketUri() {
     String baseUrl = apiClient.httpOptions().baseUrl().orElse(null);
@@ -210,12 +246,29 @@ public class AsyncLive {
   }
 
   static class GenAiWebSocketClient extends WebSocketListener {
+    // Messages received before a callback is registered are kept, up to this many.
+    private static final int MAX_PENDING_MESSAGES = 64;
+    private static final int OPCODE_TEXT = 1;
+    // OkHttp only takes text frames as Strings, which it encodes again, but its WebSocket queues
+    // both frame types from bytes through this method. Null if it can't be reached.
+    static final @Nullable Method SEND_FRAME = findSendFrame();
+
     private final URI uri;
     private final Map<String, String> headers;
     private final String setupRequest;
     private final CompletableFuture<AsyncSession> sessionFuture;
     private final ApiClient apiClient;
+    // Converters are stateless, so one instance serves the whole session.
+    final LiveConverters liveConverters;
+    private final LiveServerMessageReader messageReader;
+    // Guards the callbacks, the messages received before a message callback is registered and
+    // the closed state, so that messages are handed over in order.
+    private final Object callbackLock = new Object();
+    private final ArrayDeque<LiveServerMessage> pendingMessages = new ArrayDeque<>();
     private Consumer<LiveServerMessage> messageCallback;
+    private final List<Consumer<Throwable>> closeListeners = new ArrayList<>();
+    private boolean closed = false;
+    private Throwable closeError;
     private WebSocket webSocket;
 
     public GenAiWebSocketClient(
@@ -230,6 +283,8 @@ public class AsyncLive {
       this.sessionFuture = sessionFuture;
       this.messageCallback = null;
       this.apiClient = apiClient;
+      this.liveConverters = new LiveConverters(apiClient);
+      this.messageReader = new LiveServerMessageReader(apiClient, liveConverters);
     }
 
     public void connect() {
@@ -243,9 +298,40 @@ public class AsyncLive {
       this.webSocket = apiClient.httpClient().newWebSocket(request, this);
     }
 
-    public void send(String text) {
-      if (webSocket != null) {
-        webSocket.send(text);
+    /** Queues a text frame and returns whether it was accepted. */
+    public boolean send(String text) {
+      return webSocket != null && webSocket.send(text);
+    }
+
+    /**
+     * Queues a text frame of UTF-8 bytes and returns whether it was accepted, without decoding
+     * the bytes to a String when OkHttp's WebSocket allows it.
+     */
+    boolean sendText(ByteString utf8) {
+      WebSocket socket = webSocket;
+      if (socket == null) {
+        return false;
+      }
+      if (SEND_FRAME != null && SEND_FRAME.getDeclaringClass().isInstance(socket)) {
+        try {
+          return (Boolean) SEND_FRAME.invoke(socket, utf8, OPCODE_TEXT);
+        } catch (ReflectiveOperationException e) {
+          logger.log(Level.FINE, "Falling back to sending the text frame as a String", e);
+        }
+      }
+      return socket.send(utf8.utf8());
+    }
+
+    private static @Nullable Method findSendFrame() {
+      try {
+        Method method =
+            Class.forName("okhttp3.internal.ws.RealWebSocket")
+                .getDeclaredMethod("send", ByteString.class, int.class);
+        method.setAccessible(true);
+        return method;
+      } catch (ReflectiveOperationException | RuntimeException e) {
+        logger.log(Level.FINE, "Text frames will be sent as Strings", e);
+        return null;
       }
     }
 
@@ -256,7 +342,43 @@ public class AsyncLive {
     }
 
     public void setMessageCallback(Consumer<LiveServerMessage> messageCallback) {
-      this.messageCallback = messageCallback;
+      setMessageCallback(messageCallback, messageCallback);
+    }
+
+    /**
+     * Sets the message callback, first passing the messages received while no callback was set to
+     * {@code pendingCallback}.
+     */
+    void setMessageCallback(
+        Consumer<LiveServerMessage> messageCallback,
+        Consumer<LiveServerMessage> pendingCallback) {
+      synchronized (callbackLock) {
+        while (messageCallback != null && !pendingMessages.isEmpty()) {
+          pendingCallback.accept(pendingMessages.poll());
+        }
+        this.messageCallback = messageCallback;
+      }
+    }
+
+    /**
+     * Adds a listener run once the session has closed, with null for a normal close or with the
+     * error. It runs immediately if the session has already closed.
+     */
+    void addCloseListener(Consumer<Throwable> listener) {
+      synchronized (callbackLock) {
+        if (!closed) {
+          closeListeners.add(listener);
+          return;
+        }
+      }
+      listener.accept(closeError);
+    }
+
+    /** Removes a listener added with {@link #addCloseListener}, if it hasn't run yet. */
+    void removeCloseListener(Consumer<Throwable> listener) {
+      synchronized (callbackLock) {
+        closeListeners.remove(listener);
+      }
     }
 
     @Override
@@ -267,16 +389,18 @@ public class AsyncLive {
 
     @Override
     public void onMessage(WebSocket webSocket, String text) {
-      handleIncomingMessage(text);
+      handleIncomingMessage(() -> messageReader.read(text));
     }
 
     @Override
     public void onMessage(WebSocket webSocket, ByteString bytes) {
-      handleIncomingMessage(bytes.utf8());
+      // Parse the frame in place rather than decoding it to a String first, as audio responses
+      // carry large Base64 payloads.
+      handleIncomingMessage(() -> messageReader.read(bytes));
     }
 
     public void onMessage(String text) {
-      handleIncomingMessage(text);
+      handleIncomingMessage(() -> messageReader.read(text));
     }
 
     @Override
@@ -297,6 +421,7 @@ public class AsyncLive {
         sessionFuture.completeExceptionally(
             new GenAiIOException("WebSocket closed unexpectedly: " + reason));
       }
+      notifyClosed(null);
     }
 
     @Override
@@ -305,14 +430,35 @@ public class AsyncLive {
       if (!sessionFuture.isDone()) {
         sessionFuture.completeExceptionally(t);
       }
+      notifyClosed(t);
     }
 
-    private void handleIncomingMessage(String message) {
+    private void notifyClosed(@Nullable Throwable error) {
+      List<Consumer<Throwable>> listeners;
+      synchronized (callbackLock) {
+        if (closed) {
+          return;
+        }
+        closed = true;
+        closeError = error;
+        listeners = new ArrayList<>(closeListeners);
+        closeListeners.clear();
+      }
+      for (Consumer<Throwable> listener : listeners) {
+        try {
+          listener.accept(error);
+        } catch (RuntimeException e) {
+          logger.log(Level.SEVERE, "Error in live session close listener", e);
+        }
+      }
+    }
+
+    private void handleIncomingMessage(Supplier<LiveServerMessage> message) {
       if (!sessionFuture.isDone()) {
         // For the first message, we know it's the setup response.
         // We just complete the future and don't handle the message.
         try {
-          LiveServerMessage initialResponse = LiveServerMessage.fromJson(message);
+          LiveServerMessage initialResponse = message.get();
           if (initialResponse.setupComplete().isPresent()) {
             LiveServerSetupComplete setupComplete = initialResponse.setupComplete().get();
             sessionFuture.complete(
@@ -324,7 +470,8 @@ public class AsyncLive {
           } else {
             sessionFuture.completeExceptionally(
                 new GenAiIOException(
-                    "Initial message from WebSocket did not contain setupComplete: " + message));
+                    "Initial message from WebSocket did not contain setupComplete: "
+                        + initialResponse.toJson()));
           }
         } catch (RuntimeException e) {
           logger.log(Level.SEVERE, "Error deserializing message", e);
@@ -333,23 +480,31 @@ public class AsyncLive {
         return;
       }
 
-      if (messageCallback != null) {
-        try {
-          LiveConverters liveConverters = new LiveConverters(this.apiClient);
-          JsonNode responseNode = JsonSerializable.stringToJsonNode(message);
-          if (this.apiClient.vertexAI()) {
-            responseNode = liveConverters.liveServerMessageFromVertex(responseNode, null);
+      LiveServerMessage serverMessage;
+      try {
+        serverMessage = message.get();
+      } catch (RuntimeException e) {
+        logger.log(Level.SEVERE, "Error deserializing message", e);
+        return;
+      }
+      Consumer<LiveServerMessage> callback;
+      synchronized (callbackLock) {
+        callback = messageCallback;
+        if (callback == null) {
+          if (pendingMessages.size() >= MAX_PENDING_MESSAGES) {
+            pendingMessages.poll();
+            logger.severe(
+                "Received message from live session, but no callback registered! Please call"
+                    + " `AsyncSession.receive()` to register a callback first.");
           }
-          LiveServerMessage serverMessage =
-              JsonSerializable.fromJsonNode(responseNode, LiveServerMessage.class);
-          messageCallback.accept(serverMessage);
-        } catch (RuntimeException e) {
-          logger.log(Level.SEVERE, "Error deserializing message", e);
+          pendingMessages.add(serverMessage);
+          return;
         }
-      } else {
-        logger.severe(
-            "Received message from live session, but no callback registered! Please call"
-                + " `AsyncSession.receive()` to register a callback first.");
+      }
+      try {
+        callback.accept(serverMessage);
+      } catch (RuntimeException e) {
+        logger.log(Level.SEVERE, "Error in live message callback", e);
       }
     }
   }
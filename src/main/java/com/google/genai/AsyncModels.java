@@ -83,6 +83,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.logging.Logger;
+import org.jspecify.annotations.Nullable;
 
 /** Async module of {@link Models} */
 public final class AsyncModels {
@@ -626,46 +627,63 @@ public final class AsyncModels {
       ImmutableMap<String, Method> functionMap,
       List<Content> automaticFunctionCallingHistory,
       int remainingRemoteCalls,
-      int initialMaxCalls) {
+      int initialMaxCalls,
+      TraceRecorder.@Nullable Span afcSpan) {
 
-    logger.info(
-        String.format(
-            "Automatic function calling remote call %d is done",
-            (initialMaxCalls - remainingRemoteCalls + 1)));
+    int round = initialMaxCalls - remainingRemoteCalls + 1;
+    logger.info(String.format("Automatic function calling remote call %d is done", round));
 
-    return privateGenerateContent(model, contents, transformedConfig)
-        .thenCompose(
-            response -> {
-              if (remainingRemoteCalls - 1 <= 0) {
-                logger.info("Reached max remote calls for automatic function calling.");
-                return CompletableFuture.completedFuture(
-                    new AfcLoopResult(response, automaticFunctionCallingHistory));
-              }
+    ClientTracing tracing = apiClient.tracing;
+    TraceRecorder.Span roundSpan = ClientTracing.startRound(tracing, afcSpan, round);
+    CompletableFuture<GenerateContentResponse> responseFuture;
+    try (ClientTracing.Scope scope = ClientTracing.makeCurrent(roundSpan)) {
+      responseFuture = privateGenerateContent(model, contents, transformedConfig);
+    }
 
-              if (!response.candidates().isPresent()
-                  || response.candidates().get().isEmpty()
-                  || !response.candidates().get().get(0).content().isPresent()
-                  || !response.candidates().get().get(0).content().get().parts().isPresent()
-                  || response.candidates().get().get(0).content().get().parts().get().isEmpty()) {
-                return CompletableFuture.completedFuture(
-                    new AfcLoopResult(response, automaticFunctionCallingHistory));
+    return responseFuture
+        .whenComplete(
+            (response, error) -> {
+              if (error != null) {
+                ClientTracing.end(roundSpan, error);
               }
-
-              ImmutableList<Part> functionResponseParts =
-                  AfcUtil.getFunctionResponseParts(response, functionMap);
-              if (functionResponseParts.isEmpty()) {
-                return CompletableFuture.completedFuture(
-                    new AfcLoopResult(response, automaticFunctionCallingHistory));
+            })
+        .thenCompose(
+            response -> {
+              List<Content> newHistory;
+              try {
+                if (remainingRemoteCalls - 1 <= 0) {
+                  logger.info("Reached max remote calls for automatic function calling.");
+                  return CompletableFuture.completedFuture(
+                      new AfcLoopResult(response, automaticFunctionCallingHistory));
+                }
+
+                if (!response.candidates().isPresent()
+                    || response.candidates().get().isEmpty()
+                    || !response.candidates().get().get(0).content().isPresent()
+                    || !response.candidates().get().get(0).content().get().parts().isPresent()
+                    || response.candidates().get().get(0).content().get().parts().get().isEmpty()) {
+                  return CompletableFuture.completedFuture(
+                      new AfcLoopResult(response, automaticFunctionCallingHistory));
+                }
+
+                ImmutableList<Part> functionResponseParts =
+                    AfcUtil.getFunctionResponseParts(response, functionMap, tracing, roundSpan);
+                if (functionResponseParts.isEmpty()) {
+                  return CompletableFuture.completedFuture(
+                      new AfcLoopResult(response, automaticFunctionCallingHistory));
+                }
+
+                Content functionCallContent = response.candidates().get().get(0).content().get();
+                Content functionResponseContent =
+                    Content.builder().role("user").parts(functionResponseParts).build();
+
+                newHistory = new ArrayList<>(automaticFunctionCallingHistory);
+                newHistory.add(functionCallContent);
+                newHistory.add(functionResponseContent);
+              } finally {
+                ClientTracing.end(roundSpan, null);
               }
 
-              Content functionCallContent = response.candidates().get().get(0).content().get();
-              Content functionResponseContent =
-                  Content.builder().role("user").parts(functionResponseParts).build();
-
-              List<Content> newHistory = new ArrayList<>(automaticFunctionCallingHistory);
-              newHistory.add(functionCallContent);
-              newHistory.add(functionResponseContent);
-
               return privateGenerateContentLoopAsync(
                   model,
                   newHistory,
@@ -673,7 +691,8 @@ public final class AsyncModels {
                   functionMap,
                   newHistory,
                   remainingRemoteCalls - 1,
-                  initialMaxCalls);
+                  initialMaxCalls,
+                  afcSpan);
             });
   }
 
@@ -719,16 +738,23 @@ public final class AsyncModels {
         String.format(
             "Automatic function calling is enabled with max remote calls: %d", maxRemoteCalls));
     List<Content> automaticFunctionCallingHistory = new ArrayList<>(contents);
+    TraceRecorder.Span afcSpan =
+        ClientTracing.startAutomaticFunctionCalling(apiClient.tracing, model);
 
-    return privateGenerateContentLoopAsync(
+    CompletableFuture<AfcLoopResult> loop =
+        privateGenerateContentLoopAsync(
             model,
             contents,
             transformedConfig,
             functionMap,
             automaticFunctionCallingHistory,
             maxRemoteCalls,
-            maxRemoteCalls)
-        .thenApply(
+            maxRemoteCalls,
+            afcSpan);
+    if (afcSpan != null) {
+      loop = loop.whenComplete((result, error) -> ClientTracing.end(afcSpan, error));
+    }
+    return loop.thenApply(
             loopResult -> {
               if (AfcUtil.shouldAppendAfcHistory(transformedConfig)) {
                 ObjectNode responseNode =
@@ -102,4 +102,34 @@ public final class AsyncOperations {
           .thenApplyAsync(response -> operation.fromApiResponse(response, false));
     }
   }
+
+  /**
+   * Waits for an operation to complete, such as the ones returned by {@link
+   * AsyncModels#generateVideos} or {@link AsyncFileSearchStores#importFile}.
+   *
+   * <p>The operation is polled with a growing delay, on a scheduler shared by every waiting
+   * operation. Cancelling the returned future stops the polling.
+   *
+   * @param operation An Operation.
+   * @param config The configuration for polling the operation.
+   * @return A future that completes with the done operation, which holds either the response or
+   *     the error. The future fails with a {@link com.google.genai.errors.GenAiIOException} if the
+   *     operation is not done within {@link OperationWaitConfig#timeout()}.
+   */
+  public <T, U extends Operation<T, U>> CompletableFuture<U> waitForCompletion(
+      U operation, OperationWaitConfig config) {
+    return new OperationPoller(config, SharedScheduler.get())
+        .waitForCompletion(operation, polled -> get(polled, null));
+  }
+
+  /**
+   * Waits for an operation to complete, with the default polling configuration. See {@link
+   * #waitForCompletion(Operation, OperationWaitConfig)}.
+   *
+   * @param operation An Operation.
+   * @return A future that completes with the done operation.
+   */
+  public <T, U extends Operation<T, U>> CompletableFuture<U> waitForCompletion(U operation) {
+    return waitForCompletion(operation, OperationWaitConfig.builder().build());
+  }
 }
@@ -31,6 +31,8 @@ public class AsyncPager<T extends JsonSerializable> extends BasePager<T> {
 
   private final Function<JsonSerializable, CompletableFuture<JsonNode>> asyncRequest;
   private final CompletableFuture<Void> initializationFuture;
+  private volatile PagePrefetcher prefetcher;
+  private volatile CompletableFuture<Void> prefetchReadyFuture;
 
   /** Constructs an AsyncPager. */
   AsyncPager(
@@ -66,10 +68,19 @@ public class AsyncPager<T extends JsonSerializable> extends BasePager<T> {
                 return failedFuture;
               }
               try {
-                return asyncRequest
-                    .apply(
-                        JsonSerializable.fromJsonNode(
-                            requestConfig, pagedItem.requestConfigClass()))
+                PagePrefetcher pagePrefetcher = prefetcher;
+                CompletableFuture<JsonNode> responseFuture;
+                if (pagePrefetcher != null) {
+                  String pageToken = requestConfig.get("pageToken").asText();
+                  responseFuture =
+                      prefetchReadyFuture.thenCompose(ready -> pagePrefetcher.take(pageToken));
+                } else {
+                  responseFuture =
+                      asyncRequest.apply(
+                          JsonSerializable.fromJsonNode(
+                              requestConfig, pagedItem.requestConfigClass()));
+                }
+                return responseFuture
                     .thenApply(
                         response -> {
                           initNewPage((JsonNode) response);
@@ -84,6 +95,35 @@ public class AsyncPager<T extends JsonSerializable> extends BasePager<T> {
             });
   }
 
+  /**
+   * Enables read-ahead for this pager. The request for the next page is issued as soon as the
+   * current page arrives, instead of when the caller asks for it, and up to {@code depth} pages are
+   * buffered ahead of the caller. This lets {@link #forEach} process a page while later pages load.
+   *
+   * @param depth The maximum number of pages to read ahead. Must be at least 1.
+   * @return This pager.
+   */
+  public synchronized AsyncPager<T> prefetch(int depth) {
+    if (prefetcher != null) {
+      throw new IllegalStateException("Prefetch is already enabled for this async pager.");
+    }
+    PagePrefetcher pagePrefetcher =
+        new PagePrefetcher(
+            config ->
+                asyncRequest.apply(
+                    JsonSerializable.fromJsonNode(config, pagedItem.requestConfigClass())),
+            requestConfig,
+            depth);
+    this.prefetchReadyFuture =
+        initializationFuture.thenRun(
+            () -> {
+              JsonNode pageToken = requestConfig.get("pageToken");
+              pagePrefetcher.prime(pageToken == null ? null : pageToken.asText());
+            });
+    this.prefetcher = pagePrefetcher;
+    return this;
+  }
+
   /** Asynchronously checks if there is potentially a next page. */
   CompletableFuture<Boolean> hasNextPage() {
     return initializationFuture.thenApply(v -> requestConfig.get("pageToken") != null);
@@ -18,6 +18,7 @@ package com.google.genai;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.genai.errors.GenAiIOException;
 import com.google.genai.types.LiveClientContent;
 import com.google.genai.types.LiveClientMessage;
 import com.google.genai.types.LiveClientToolResponse;
@@ -27,6 +28,7 @@ import com.google.genai.types.LiveSendRealtimeInputParameters;
 import com.google.genai.types.LiveSendToolResponseParameters;
 import com.google.genai.types.LiveServerMessage;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 
 /**
@@ -42,6 +44,10 @@ public final class AsyncSession {
   private final AsyncLive.GenAiWebSocketClient websocket;
   final String sessionId;
   private final LiveServerSetupComplete setupComplete;
+  private final LiveConverters liveConverters;
+  private final LiveAudioFrameEncoder audioEncoder = new LiveAudioFrameEncoder();
+  // Ends the queue of the current receiveQueue or bounded receive, if any.
+  private Consumer<Throwable> queueCloseListener;
 
   AsyncSession(
       ApiClient apiClient,
@@ -52,6 +58,7 @@ public final class AsyncSession {
     this.websocket = websocket;
     this.sessionId = sessionId;
     this.setupComplete = setupComplete;
+    this.liveConverters = websocket.liveConverters;
   }
 
   /**
@@ -81,6 +88,38 @@ public final class AsyncSession {
     return send(msg);
   }
 
+  /**
+   * Sends a chunk of audio as realtime input to the live session.
+   *
+   * <p>Unlike {@link #sendRealtimeInput}, the message is written directly around the Base64
+   * encoding of the audio, without building a message object. Like every send, it is queued on
+   * the calling thread as a text WebSocket frame. This is the cheapest way to stream microphone
+   * audio, such as 20 ms PCM frames.
+   *
+   * @param data The buffer holding the audio bytes. The bytes are copied before this method
+   *     returns, so the buffer can be reused for the next chunk.
+   * @param offset The position of the first audio byte in {@code data}.
+   * @param length The number of audio bytes.
+   * @param mimeType The MIME type of the audio, for example {@code "audio/pcm;rate=16000"}.
+   * @return A {@link CompletableFuture} that completes when the audio has been queued. The future
+   *     will fail if the session is closed or its outgoing queue is full.
+   */
+  public CompletableFuture<Void> sendAudio(byte[] data, int offset, int length, String mimeType) {
+    return queued(websocket.sendText(audioEncoder.encode(data, offset, length, mimeType)));
+  }
+
+  /**
+   * Sends a chunk of audio as realtime input to the live session. See {@link #sendAudio(byte[],
+   * int, int, String)}.
+   *
+   * @param data The audio bytes.
+   * @param mimeType The MIME type of the audio, for example {@code "audio/pcm;rate=16000"}.
+   * @return A {@link CompletableFuture} that completes when the audio has been queued.
+   */
+  public CompletableFuture<Void> sendAudio(byte[] data, String mimeType) {
+    return sendAudio(data, 0, data.length, mimeType);
+  }
+
   /**
    * Sends tool response to the live session.
    *
@@ -96,15 +135,14 @@ public final class AsyncSession {
   }
 
   /**
-   * Sends a message to the live session.
+   * Sends a message to the live session. Like audio, the message is queued on the calling thread,
+   * so messages sent one after the other from any of the send methods keep their order.
    *
    * @param input A {@link LiveClientMessage} to send.
-   * @return A {@link CompletableFuture} that completes when the message has been sent. The future
-   *     will fail if the message cannot be sent.
+   * @return A {@link CompletableFuture} that completes when the message has been queued. The
+   *     future will fail if the session is closed or its outgoing queue is full.
    */
   private CompletableFuture<Void> send(LiveClientMessage input) {
-
-    LiveConverters liveConverters = new LiveConverters(apiClient);
     JsonNode parameterNode = JsonSerializable.toJsonNode(input);
 
     ObjectNode body;
@@ -114,7 +152,17 @@ public final class AsyncSession {
       body = liveConverters.liveClientMessageToMldev(parameterNode, null);
     }
 
-    return CompletableFuture.runAsync(() -> websocket.send(JsonSerializable.toJsonString(body)));
+    return queued(websocket.send(JsonSerializable.toJsonString(body)));
+  }
+
+  private static CompletableFuture<Void> queued(boolean accepted) {
+    if (accepted) {
+      return CompletableFuture.completedFuture(null);
+    }
+    CompletableFuture<Void> failed = new CompletableFuture<>();
+    failed.completeExceptionally(
+        new GenAiIOException("Failed to send: the live session is closed or overloaded."));
+    return failed;
   }
 
   /**
@@ -129,9 +177,75 @@ public final class AsyncSession {
    */
   public CompletableFuture<Void> receive(Consumer<LiveServerMessage> onMessage) {
     websocket.setMessageCallback(onMessage);
+    replaceQueueCloseListener(null);
     return CompletableFuture.completedFuture(null);
   }
 
+  /**
+   * Registers a callback to receive messages from the live session through a bounded queue, so
+   * that a slow callback doesn't stall reads from the socket. Messages are delivered one at a time
+   * and in order on {@link LiveReceiveConfig#executor()}. Only one callback or queue can be
+   * registered at a time.
+   *
+   * @param onMessage A {@link Consumer} that will be called for each {@link LiveServerMessage}
+   *     received.
+   * @param config The queue configuration.
+   * @return The counters of the queue, for monitoring.
+   */
+  public LiveReceiveStats receive(
+      Consumer<LiveServerMessage> onMessage, LiveReceiveConfig config) {
+    BoundedMessageQueue<LiveServerMessage> queue = attachQueue(config);
+    queue.deliverTo(onMessage, config.executor().orElse(ForkJoinPool.commonPool()));
+    return new LiveReceiveStats(queue);
+  }
+
+  /**
+   * Returns a bounded queue that receives the messages of the live session, for the application
+   * to poll. Only one callback or queue can be registered at a time.
+   *
+   * @param config The queue configuration. The executor is not used.
+   * @return The queue, which is done once the session has closed and every message was taken.
+   */
+  public LiveMessageQueue receiveQueue(LiveReceiveConfig config) {
+    return new LiveMessageQueue(attachQueue(config));
+  }
+
+  /**
+   * Adds a listener run once the connection has closed, with null for a normal close or with the
+   * error. It runs immediately if the connection has already closed.
+   */
+  void addCloseListener(Consumer<Throwable> listener) {
+    websocket.addCloseListener(listener);
+  }
+
+  /** Removes a listener added with {@link #addCloseListener}, if it hasn't run yet. */
+  void removeCloseListener(Consumer<Throwable> listener) {
+    websocket.removeCloseListener(listener);
+  }
+
+  private synchronized BoundedMessageQueue<LiveServerMessage> attachQueue(
+      LiveReceiveConfig config) {
+    BoundedMessageQueue<LiveServerMessage> queue = LiveMessageQueue.newQueue(config);
+    // A queue failed by an overflow has lost a message, so the session is closed, not read on.
+    queue.onOverflow(websocket::close);
+    // Messages that arrived before registration are added without blocking, as the application
+    // has not had a chance to take any yet.
+    websocket.setMessageCallback(queue::offer, queue::add);
+    replaceQueueCloseListener(queue::end);
+    return queue;
+  }
+
+  /** Replaces the close listener of the previous queue, if any, with the given one. */
+  private synchronized void replaceQueueCloseListener(Consumer<Throwable> listener) {
+    if (queueCloseListener != null) {
+      websocket.removeCloseListener(queueCloseListener);
+    }
+    queueCloseListener = listener;
+    if (listener != null) {
+      websocket.addCloseListener(listener);
+    }
+  }
+
   /**
    * Closes the WebSocket connection.
    *
@@ -0,0 +1,620 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Utf8;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.genai.errors.GenAiIOException;
+import com.google.genai.types.BatchJob;
+import com.google.genai.types.BatchJobDestination;
+import com.google.genai.types.Content;
+import com.google.genai.types.CreateEmbeddingsBatchJobConfig;
+import com.google.genai.types.EmbedContentBatch;
+import com.google.genai.types.EmbedContentConfig;
+import com.google.genai.types.EmbeddingsBatchJobSource;
+import com.google.genai.types.InlinedEmbedContentResponse;
+import com.google.genai.types.JobError;
+import com.google.genai.types.Part;
+import com.google.genai.types.UploadFileConfig;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Embeds an arbitrarily large sequence of texts with embeddings batch jobs.
+ *
+ * <p>The texts are split into jobs of {@link Builder#jobSize} texts. A job whose texts fit in
+ * {@link Builder#maxInlineBytes} is sent inline, and a larger job is uploaded as a JSONL file
+ * first. Up to {@link Builder#maxConcurrentJobs} jobs run at the same time, and the results are
+ * returned in the order of the input texts. At most {@code maxConcurrentJobs + 1} jobs are held in
+ * memory, so the input is only read as fast as the results are consumed.
+ *
+ * <p>Batch embedding is only supported by the Gemini Developer API.
+ *
+ * <pre>{@code
+ * BatchEmbeddingPipeline pipeline =
+ *     BatchEmbeddingPipeline.builder(client, "gemini-embedding-001").jobSize(50_000).build();
+ * try (Stream<String> rows = java.nio.file.Files.lines(path)) {
+ *   pipeline.embed(rows).forEach(result -> ...);
+ * }
+ * }</pre>
+ */
+public final class BatchEmbeddingPipeline {
+
+  static final int DEFAULT_JOB_SIZE = 10_000;
+  static final long DEFAULT_MAX_INLINE_BYTES = 10L * 1024 * 1024;
+  static final int DEFAULT_MAX_CONCURRENT_JOBS = 4;
+  static final String JSONL_MIME_TYPE = "application/jsonl";
+
+  /** The requests sent by the pipeline. */
+  interface Backend {
+    CompletableFuture<BatchJob> create(EmbeddingsBatchJobSource src);
+
+    CompletableFuture<BatchJob> get(String name);
+
+    /** Uploads a JSONL file and returns its name. */
+    CompletableFuture<String> upload(Path jsonl);
+
+    CompletableFuture<Void> download(String fileName, Path path);
+
+    CompletableFuture<Void> cancel(String name);
+  }
+
+  private final Backend backend;
+  private final Optional<EmbedContentConfig> config;
+  private final int jobSize;
+  private final long maxInlineBytes;
+  private final int maxConcurrentJobs;
+  private final BatchJobPoller poller;
+
+  BatchEmbeddingPipeline(
+      Backend backend,
+      Optional<EmbedContentConfig> config,
+      int jobSize,
+      long maxInlineBytes,
+      int maxConcurrentJobs,
+      BatchJobPoller poller) {
+    this.backend = backend;
+    this.config = config;
+    this.jobSize = jobSize;
+    this.maxInlineBytes = maxInlineBytes;
+    this.maxConcurrentJobs = maxConcurrentJobs;
+    this.poller = poller;
+  }
+
+  /** Returns a {@link Builder} for a pipeline that embeds texts with the given model. */
+  public static Builder builder(Client client, String model) {
+    return new Builder(client, model);
+  }
+
+  /**
+   * Embeds the given texts. Jobs are only created as the returned iterator is consumed.
+   *
+   * @param texts The texts to embed.
+   * @return An iterator over the results, in the order of {@code texts}. A result holds either the
+   *     embedding or the error of its text.
+   * @throws GenAiIOException from the iterator if a batch job fails as a whole.
+   */
+  public Iterator<InlinedEmbedContentResponse> embed(Iterator<String> texts) {
+    checkNotNull(texts, "texts cannot be null");
+    return new ResultIterator(texts);
+  }
+
+  /**
+   * Embeds the given texts. Jobs are only created as the returned stream is consumed.
+   *
+   * @param texts The texts to embed.
+   * @return A sequential stream of the results, in the order of {@code texts}.
+   */
+  public Stream<InlinedEmbedContentResponse> embed(Stream<String> texts) {
+    checkNotNull(texts, "texts cannot be null");
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                embed(texts.sequential().iterator()),
+                Spliterator.ORDERED | Spliterator.NONNULL),
+            false)
+        .onClose(texts::close);
+  }
+
+  /**
+   * Runs a single batch job and returns the results of its texts, in order. If the returned future
+   * is cancelled or fails before the job has ended, the job is cancelled and no longer polled.
+   */
+  CompletableFuture<List<InlinedEmbedContentResponse>> runJob(List<String> texts) {
+    CompletableFuture<EmbeddingsBatchJobSource> source;
+    if (encodedSize(texts) <= maxInlineBytes) {
+      List<Content> contents = new ArrayList<>(texts.size());
+      for (String text : texts) {
+        contents.add(Content.fromParts(Part.fromText(text)));
+      }
+      EmbedContentBatch.Builder batch = EmbedContentBatch.builder().contents(contents);
+      config.ifPresent(batch::config);
+      source =
+          CompletableFuture.completedFuture(
+              EmbeddingsBatchJobSource.builder().inlinedRequests(batch.build()).build());
+    } else {
+      Path jsonl = createTempFile("genai-embeddings-requests-");
+      try {
+        writeJsonl(texts, jsonl);
+      } catch (RuntimeException e) {
+        deleteQuietly(jsonl);
+        throw e;
+      }
+      source =
+          backend
+              .upload(jsonl)
+              .whenComplete((unused, error) -> deleteQuietly(jsonl))
+              .thenApply(
+                  fileName -> EmbeddingsBatchJobSource.builder().fileName(fileName).build());
+    }
+    CompletableFuture<List<InlinedEmbedContentResponse>> results = new CompletableFuture<>();
+    AtomicReference<RunningJob> running = new AtomicReference<>();
+    results.whenComplete(
+        (unused, error) -> {
+          RunningJob job = running.get();
+          if (error != null && job != null) {
+            job.cancel();
+          }
+        });
+    source
+        .thenCompose(backend::create)
+        .thenCompose(
+            created -> {
+              RunningJob job = new RunningJob(created);
+              running.set(job);
+              if (results.isCompletedExceptionally()) {
+                // The results were cancelled while the job was being created.
+                job.cancel();
+              }
+              return job.completion;
+            })
+        .thenCompose(job -> readResults(job, texts.size()))
+        .whenComplete(
+            (responses, error) -> {
+              if (error != null) {
+                results.completeExceptionally(error);
+              } else {
+                results.complete(responses);
+              }
+            });
+    return results;
+  }
+
+  /** A created batch job, and the wait for it to reach a terminal state. */
+  private final class RunningJob {
+    final String name;
+    final CompletableFuture<BatchJob> completion;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    RunningJob(BatchJob job) {
+      this.name =
+          job.name().orElseThrow(() -> new GenAiIOException("Created batch job has no name."));
+      this.completion = poller.waitForCompletion(job);
+    }
+
+    /** Stops polling the job and cancels it, unless it has already reached a terminal state. */
+    void cancel() {
+      if (completion.isDone() && !completion.isCompletedExceptionally()) {
+        return;
+      }
+      if (cancelled.compareAndSet(false, true)) {
+        completion.cancel(false);
+        // Best effort: a job that cannot be cancelled still ends on its own.
+        backend.cancel(name);
+      }
+    }
+  }
+
+  private static long encodedSize(List<String> texts) {
+    long size = 0;
+    for (String text : texts) {
+      size += Utf8.encodedLength(text);
+    }
+    return size;
+  }
+
+  /**
+   * Writes the texts as the lines of an embeddings batch input file, keyed by position. Every field
+   * of the config is sent, as {@link #checkSupported} has rejected the ones the Gemini Developer API
+   * does not take.
+   */
+  private void writeJsonl(List<String> texts, Path jsonl) {
+    ObjectNode requestConfig =
+        config
+            .map(c -> (ObjectNode) JsonSerializable.toJsonNode(c))
+            .orElseGet(JsonSerializable.objectMapper::createObjectNode);
+    // Options of the HTTP requests, not of the embedding.
+    requestConfig.remove("httpOptions");
+    try (BufferedWriter writer =
+        java.nio.file.Files.newBufferedWriter(jsonl, StandardCharsets.UTF_8)) {
+      for (int i = 0; i < texts.size(); i++) {
+        ObjectNode request = requestConfig.deepCopy();
+        request.set(
+            "content",
+            JsonSerializable.toJsonNode(Content.fromParts(Part.fromText(texts.get(i)))));
+        ObjectNode line = JsonSerializable.objectMapper.createObjectNode();
+        line.put("key", Integer.toString(i));
+        line.set("request", request);
+        writer.write(JsonSerializable.toJsonString(line));
+        writer.write('\n');
+      }
+    } catch (IOException e) {
+      throw new GenAiIOException("Failed to write the batch embedding requests.", e);
+    }
+  }
+
+  private static Path createTempFile(String prefix) {
+    try {
+      return java.nio.file.Files.createTempFile(prefix, ".jsonl");
+    } catch (IOException e) {
+      throw new GenAiIOException("Failed to create a temporary file.", e);
+    }
+  }
+
+  private static void deleteQuietly(Path path) {
+    try {
+      java.nio.file.Files.deleteIfExists(path);
+    } catch (IOException e) {
+      // The file is in the temporary directory, so it is cleaned up eventually.
+    }
+  }
+
+  private CompletableFuture<List<InlinedEmbedContentResponse>> readResults(
+      BatchJob job, int size) {
+    if (!BatchJobPoller.hasResults(job)) {
+      throw new GenAiIOException(
+          String.format(
+              "Batch job %s ended in state %s. %s",
+              job.name().orElse(""),
+              job.state().map(Object::toString).orElse("unknown"),
+              job.error().flatMap(JobError::message).orElse("")));
+    }
+    BatchJobDestination dest = job.dest().orElse(BatchJobDestination.builder().build());
+    if (dest.inlinedEmbedContentResponses().isPresent()) {
+      List<InlinedEmbedContentResponse> responses = dest.inlinedEmbedContentResponses().get();
+      if (responses.size() != size) {
+        throw new GenAiIOException(
+            String.format(
+                "Batch job %s returned %d results for %d texts.",
+                job.name().orElse(""), responses.size(), size));
+      }
+      return CompletableFuture.completedFuture(responses);
+    }
+    String fileName =
+        dest.fileName()
+            .orElseThrow(
+                () ->
+                    new GenAiIOException(
+                        "Batch job " + job.name().orElse("") + " has no results."));
+    Path path = createTempFile("genai-embeddings-");
+    return backend
+        .download(fileName, path)
+        .thenApply(unused -> parseResults(path, size))
+        .whenComplete((unused, error) -> deleteQuietly(path));
+  }
+
+  /**
+   * Rejects the fields of the config that the Gemini Developer API does not support, before any job
+   * is sent inline or as a file.
+   */
+  static void checkSupported(EmbedContentConfig config) {
+    checkArgument(
+        !config.mimeType().isPresent(),
+        "mimeType parameter is only supported in Gemini Enterprise Agent Platform mode, not in"
+            + " Gemini Developer API mode.");
+    checkArgument(
+        !config.autoTruncate().isPresent(),
+        "autoTruncate parameter is only supported in Gemini Enterprise Agent Platform mode, not in"
+            + " Gemini Developer API mode.");
+    checkArgument(
+        !config.documentOcr().isPresent(),
+        "documentOcr parameter is only supported in Gemini Enterprise Agent Platform mode, not in"
+            + " Gemini Developer API mode.");
+    checkArgument(
+        !config.audioTrackExtraction().isPresent(),
+        "audioTrackExtraction parameter is only supported in Gemini Enterprise Agent Platform"
+            + " mode, not in Gemini Developer API mode.");
+  }
+
+  /**
+   * Reads a JSONL results file and orders its lines by the keys written by {@link #writeJsonl}.
+   */
+  static List<InlinedEmbedContentResponse> parseResults(Path path, int size) {
+    InlinedEmbedContentResponse[] results = new InlinedEmbedContentResponse[size];
+    try (BufferedReader reader =
+        java.nio.file.Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.trim().isEmpty()) {
+          continue;
+        }
+        JsonNode node = JsonSerializable.stringToJsonNode(line);
+        int index = Integer.parseInt(node.path("key").asText("-1"));
+        if (index < 0 || index >= size) {
+          throw new GenAiIOException("Unexpected key in batch results: " + node.path("key"));
+        }
+        results[index] = JsonSerializable.fromJsonNode(node, InlinedEmbedContentResponse.class);
+      }
+    } catch (IOException e) {
+      throw new GenAiIOException("Failed to read the batch results.", e);
+    }
+    for (int i = 0; i < size; i++) {
+      if (results[i] == null) {
+        results[i] =
+            InlinedEmbedContentResponse.builder()
+                .error(JobError.builder().message("The batch job returned no result for the text."))
+                .build();
+      }
+    }
+    return Arrays.asList(results);
+  }
+
+  /** Consumes the input texts job by job, keeping up to {@code maxConcurrentJobs} jobs running. */
+  private final class ResultIterator implements Iterator<InlinedEmbedContentResponse> {
+    private final Iterator<String> texts;
+    private final ArrayDeque<CompletableFuture<List<InlinedEmbedContentResponse>>> jobs =
+        new ArrayDeque<>();
+    private Iterator<InlinedEmbedContentResponse> current = Collections.emptyIterator();
+
+    ResultIterator(Iterator<String> texts) {
+      this.texts = texts;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!current.hasNext()) {
+        startJobs();
+        CompletableFuture<List<InlinedEmbedContentResponse>> next = jobs.poll();
+        if (next == null) {
+          return false;
+        }
+        // Keep the pipeline full while the results of this job are consumed.
+        startJobs();
+        current = join(next).iterator();
+      }
+      return true;
+    }
+
+    @Override
+    public InlinedEmbedContentResponse next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return current.next();
+    }
+
+    private void startJobs() {
+      while (jobs.size() < maxConcurrentJobs && texts.hasNext()) {
+        List<String> batch = new ArrayList<>(Math.min(jobSize, 1024));
+        while (batch.size() < jobSize && texts.hasNext()) {
+          batch.add(checkNotNull(texts.next(), "texts cannot contain null"));
+        }
+        jobs.add(runJob(batch));
+      }
+    }
+
+    private List<InlinedEmbedContentResponse> join(
+        CompletableFuture<List<InlinedEmbedContentResponse>> job) {
+      try {
+        return job.join();
+      } catch (CompletionException e) {
+        for (CompletableFuture<?> pending : jobs) {
+          pending.cancel(false);
+        }
+        jobs.clear();
+        Throwable cause = e.getCause() == null ? e : e.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        throw new GenAiIOException("Batch embedding job failed.", cause);
+      }
+    }
+  }
+
+  /** Builder for {@link BatchEmbeddingPipeline}. */
+  public static final class Builder {
+    private final Client client;
+    private final String model;
+    private Optional<EmbedContentConfig> config = Optional.empty();
+    private Optional<CreateEmbeddingsBatchJobConfig> jobConfig = Optional.empty();
+    private int jobSize = DEFAULT_JOB_SIZE;
+    private long maxInlineBytes = DEFAULT_MAX_INLINE_BYTES;
+    private int maxConcurrentJobs = DEFAULT_MAX_CONCURRENT_JOBS;
+    private Duration initialPollInterval = Duration.ofSeconds(10);
+    private Duration maxPollInterval = Duration.ofMinutes(2);
+    private Optional<ScheduledExecutorService> scheduler = Optional.empty();
+
+    private Builder(Client client, String model) {
+      this.client = checkNotNull(client, "client cannot be null");
+      this.model = checkNotNull(model, "model cannot be null");
+    }
+
+    /**
+     * Sets the {@link EmbedContentConfig} applied to every text.
+     *
+     * @throws IllegalArgumentException if the config sets a field that the Gemini Developer API
+     *     does not support, such as {@code mimeType} or {@code autoTruncate}.
+     */
+    @CanIgnoreReturnValue
+    public Builder config(EmbedContentConfig config) {
+      checkNotNull(config, "config cannot be null");
+      checkSupported(config);
+      this.config = Optional.of(config);
+      return this;
+    }
+
+    /** Sets the {@link CreateEmbeddingsBatchJobConfig} used to create every job. */
+    @CanIgnoreReturnValue
+    public Builder jobConfig(CreateEmbeddingsBatchJobConfig jobConfig) {
+      checkNotNull(jobConfig, "jobConfig cannot be null");
+      this.jobConfig = Optional.of(jobConfig);
+      return this;
+    }
+
+    /** Sets the number of texts per batch job. Defaults to 10,000. */
+    @CanIgnoreReturnValue
+    public Builder jobSize(int jobSize) {
+      checkArgument(jobSize > 0, "jobSize must be positive");
+      this.jobSize = jobSize;
+      return this;
+    }
+
+    /**
+     * Sets the maximum UTF-8 size of the texts of a job sent inline. Larger jobs are uploaded as a
+     * file. Defaults to 10 MiB.
+     */
+    @CanIgnoreReturnValue
+    public Builder maxInlineBytes(long maxInlineBytes) {
+      checkArgument(maxInlineBytes >= 0, "maxInlineBytes cannot be negative");
+      this.maxInlineBytes = maxInlineBytes;
+      return this;
+    }
+
+    /** Sets the maximum number of batch jobs running at the same time. Defaults to 4. */
+    @CanIgnoreReturnValue
+    public Builder maxConcurrentJobs(int maxConcurrentJobs) {
+      checkArgument(maxConcurrentJobs > 0, "maxConcurrentJobs must be positive");
+      this.maxConcurrentJobs = maxConcurrentJobs;
+      return this;
+    }
+
+    /**
+     * Sets the delay before the first status poll of a job. The delay grows while the job state
+     * does not change. Defaults to 10 seconds.
+     */
+    @CanIgnoreReturnValue
+    public Builder initialPollInterval(Duration initialPollInterval) {
+      checkNotNull(initialPollInterval, "initialPollInterval cannot be null");
+      checkArgument(!initialPollInterval.isNegative(), "initialPollInterval cannot be negative");
+      this.initialPollInterval = initialPollInterval;
+      return this;
+    }
+
+    /** Sets the maximum delay between two status polls of a job. Defaults to 2 minutes. */
+    @CanIgnoreReturnValue
+    public Builder maxPollInterval(Duration maxPollInterval) {
+      checkNotNull(maxPollInterval, "maxPollInterval cannot be null");
+      checkArgument(!maxPollInterval.isNegative(), "maxPollInterval cannot be negative");
+      this.maxPollInterval = maxPollInterval;
+      return this;
+    }
+
+    /** Sets the scheduler for status polls. Defaults to a shared daemon scheduler. */
+    @CanIgnoreReturnValue
+    public Builder scheduler(ScheduledExecutorService scheduler) {
+      checkNotNull(scheduler, "scheduler cannot be null");
+      this.scheduler = Optional.of(scheduler);
+      return this;
+    }
+
+    /**
+     * Builds the {@link BatchEmbeddingPipeline} instance.
+     *
+     * @throws UnsupportedOperationException if the client uses Vertex AI.
+     */
+    public BatchEmbeddingPipeline build() {
+      if (client.vertexAI()) {
+        throw new UnsupportedOperationException(
+            "Gemini Enterprise Agent Platform (previously known as Vertex AI) does not support"
+                + " batches.createEmbeddings.");
+      }
+      AsyncBatches batches = client.async.batches;
+      AsyncFiles files = client.async.files;
+      CreateEmbeddingsBatchJobConfig createConfig = jobConfig.orElse(null);
+      Backend backend =
+          new Backend() {
+            @Override
+            public CompletableFuture<BatchJob> create(EmbeddingsBatchJobSource src) {
+              return batches.createEmbeddings(model, src, createConfig);
+            }
+
+            @Override
+            public CompletableFuture<BatchJob> get(String name) {
+              return batches.get(name, null);
+            }
+
+            @Override
+            public CompletableFuture<String> upload(Path jsonl) {
+              return CompletableFuture.supplyAsync(
+                  () -> {
+                    // Upload from a stream, so the MIME type is not probed from the file name.
+                    try (InputStream stream = java.nio.file.Files.newInputStream(jsonl)) {
+                      return client
+                          .files
+                          .upload(
+                              stream,
+                              java.nio.file.Files.size(jsonl),
+                              UploadFileConfig.builder().mimeType(JSONL_MIME_TYPE).build())
+                          .name()
+                          .orElseThrow(() -> new GenAiIOException("Uploaded file has no name."));
+                    } catch (IOException e) {
+                      throw new GenAiIOException(
+                          "Failed to upload the batch embedding requests.", e);
+                    }
+                  });
+            }
+
+            @Override
+            public CompletableFuture<Void> download(String fileName, Path path) {
+              return files.download(fileName, path.toString(), null);
+            }
+
+            @Override
+            public CompletableFuture<Void> cancel(String name) {
+              return batches.cancel(name, null);
+            }
+          };
+      return new BatchEmbeddingPipeline(
+          backend,
+          config,
+          jobSize,
+          maxInlineBytes,
+          maxConcurrentJobs,
+          new BatchJobPoller(
+              backend::get,
+              initialPollInterval,
+              maxPollInterval,
+              scheduler.orElseGet(SharedScheduler::get)));
+    }
+  }
+}
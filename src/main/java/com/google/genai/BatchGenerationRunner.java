@@ -0,0 +1,414 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.genai.errors.GenAiIOException;
+import com.google.genai.types.BatchJob;
+import com.google.genai.types.BatchJobDestination;
+import com.google.genai.types.BatchJobSource;
+import com.google.genai.types.CreateBatchJobConfig;
+import com.google.genai.types.InlinedRequest;
+import com.google.genai.types.InlinedResponse;
+import com.google.genai.types.JobError;
+import com.google.genai.types.UploadFileConfig;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Runs {@code generateContent} requests of any number as a batch job backed by JSONL files.
+ *
+ * <p>The requests are streamed to a temporary JSONL file, which is uploaded to create the batch
+ * job. The job is then polled with a growing interval, and its results file is downloaded and
+ * parsed line by line. Neither the requests nor the responses are held in memory as a whole.
+ *
+ * <p>Each line of the input file is keyed by the {@code "key"} entry of the request metadata, or by
+ * the zero-based position of the request when it has none. The same key is set in the metadata of
+ * the matching {@link InlinedResponse}. Results files are not guaranteed to be in input order.
+ *
+ * <p>File-backed batch jobs are only supported by the Gemini Developer API.
+ *
+ * <pre>{@code
+ * BatchGenerationRunner runner = BatchGenerationRunner.builder(client, "gemini-2.5-flash").build();
+ * try (Stream<InlinedResponse> responses = runner.run(requests)) {
+ *   responses.forEach(response -> ...);
+ * }
+ * }</pre>
+ */
+public final class BatchGenerationRunner {
+
+  /** The metadata entry holding the key of a request and of its response. */
+  public static final String KEY = "key";
+
+  /** The requests sent by the runner. */
+  interface Backend {
+    CompletableFuture<BatchJob> create(String fileName);
+
+    CompletableFuture<BatchJob> get(String name);
+
+    /** Uploads a JSONL file and returns its name. */
+    CompletableFuture<String> upload(Path jsonl);
+
+    CompletableFuture<Void> download(String fileName, Path path);
+  }
+
+  private final Backend backend;
+  private final Function<InlinedRequest, ObjectNode> requestToLine;
+  private final Function<JsonNode, InlinedResponse> lineToResponse;
+  private final BatchJobPoller poller;
+
+  BatchGenerationRunner(
+      Backend backend,
+      Function<InlinedRequest, ObjectNode> requestToLine,
+      Function<JsonNode, InlinedResponse> lineToResponse,
+      BatchJobPoller poller) {
+    this.backend = backend;
+    this.requestToLine = requestToLine;
+    this.lineToResponse = lineToResponse;
+    this.poller = poller;
+  }
+
+  /** Returns a {@link Builder} for a runner that sends requests to the given model. */
+  public static Builder builder(Client client, String model) {
+    return new Builder(client, model);
+  }
+
+  /**
+   * Writes the requests to a JSONL file, uploads it and creates the batch job. The requests are
+   * read on the calling thread, and the file is uploaded on the executor set with {@link
+   * Builder#uploadExecutor}, or on the calling thread too by default.
+   *
+   * @param requests The requests of the batch job. A request without a model is sent to the model
+   *     of the runner.
+   * @return A future that resolves to the created batch job.
+   */
+  public CompletableFuture<BatchJob> submit(Iterator<InlinedRequest> requests) {
+    checkNotNull(requests, "requests cannot be null");
+    Path jsonl = createTempFile("genai-batch-requests-");
+    try {
+      writeJsonl(requests, jsonl);
+    } catch (RuntimeException e) {
+      deleteQuietly(jsonl);
+      throw e;
+    }
+    return backend
+        .upload(jsonl)
+        .whenComplete((unused, error) -> deleteQuietly(jsonl))
+        .thenCompose(backend::create);
+  }
+
+  /**
+   * Polls the batch job until it reaches a terminal state. The polls do not hold a thread.
+   *
+   * @param job The batch job, as returned by {@link #submit} or by {@code batches.get}.
+   * @return A future that resolves to the batch job in its terminal state.
+   */
+  public CompletableFuture<BatchJob> waitForCompletion(BatchJob job) {
+    checkNotNull(job, "job cannot be null");
+    return poller.waitForCompletion(job);
+  }
+
+  /**
+   * Downloads the results of a completed batch job and returns a stream that parses them line by
+   * line. The stream must be closed to delete the downloaded file.
+   *
+   * @param job A batch job that succeeded.
+   * @return A stream of the responses, with the key of each request in its metadata.
+   * @throws GenAiIOException if the job did not succeed or the results cannot be downloaded.
+   */
+  public Stream<InlinedResponse> results(BatchJob job) {
+    checkNotNull(job, "job cannot be null");
+    if (!BatchJobPoller.hasResults(job)) {
+      throw new GenAiIOException(
+          String.format(
+              "Batch job %s ended in state %s. %s",
+              job.name().orElse(""),
+              job.state().map(Object::toString).orElse("unknown"),
+              job.error().flatMap(JobError::message).orElse("")));
+    }
+    BatchJobDestination dest = job.dest().orElse(BatchJobDestination.builder().build());
+    if (dest.inlinedResponses().isPresent()) {
+      return dest.inlinedResponses().get().stream();
+    }
+    String fileName =
+        dest.fileName()
+            .orElseThrow(
+                () ->
+                    new GenAiIOException(
+                        "Batch job " + job.name().orElse("") + " has no results file."));
+    Path path = createTempFile("genai-batch-results-");
+    BufferedReader reader;
+    try {
+      join(backend.download(fileName, path));
+      reader = java.nio.file.Files.newBufferedReader(path, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      deleteQuietly(path);
+      throw new GenAiIOException("Failed to read the batch results.", e);
+    } catch (RuntimeException e) {
+      deleteQuietly(path);
+      throw e;
+    }
+    return reader
+        .lines()
+        .filter(line -> !line.trim().isEmpty())
+        .map(this::parseLine)
+        .onClose(
+            () -> {
+              try {
+                reader.close();
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              } finally {
+                deleteQuietly(path);
+              }
+            });
+  }
+
+  /**
+   * Submits the requests, waits for the batch job and returns its results. This method blocks
+   * until the job has completed, which can take hours.
+   *
+   * @param requests The requests of the batch job.
+   * @return A stream of the responses, as returned by {@link #results}.
+   */
+  public Stream<InlinedResponse> run(Iterator<InlinedRequest> requests) {
+    return results(join(submit(requests).thenCompose(this::waitForCompletion)));
+  }
+
+  private void writeJsonl(Iterator<InlinedRequest> requests, Path jsonl) {
+    try (BufferedWriter writer =
+        java.nio.file.Files.newBufferedWriter(jsonl, StandardCharsets.UTF_8)) {
+      long index = 0;
+      while (requests.hasNext()) {
+        InlinedRequest request = checkNotNull(requests.next(), "requests cannot contain null");
+        String key =
+            request
+                .metadata()
+                .map(metadata -> metadata.get(KEY))
+                .orElse(Long.toString(index));
+        ObjectNode converted = requestToLine.apply(request);
+        converted.remove("metadata");
+        ObjectNode line = JsonSerializable.objectMapper.createObjectNode();
+        line.put(KEY, key);
+        line.setAll(converted);
+        writer.write(JsonSerializable.toJsonString(line));
+        writer.write('\n');
+        index++;
+      }
+    } catch (IOException e) {
+      throw new GenAiIOException("Failed to write the batch requests.", e);
+    }
+  }
+
+  private InlinedResponse parseLine(String line) {
+    JsonNode node = JsonSerializable.stringToJsonNode(line);
+    InlinedResponse response = lineToResponse.apply(node);
+    Map<String, String> metadata = new HashMap<>(response.metadata().orElse(new HashMap<>()));
+    if (node.has(KEY)) {
+      metadata.put(KEY, node.get(KEY).asText());
+    }
+    return response.toBuilder().metadata(metadata).build();
+  }
+
+  private static Path createTempFile(String prefix) {
+    try {
+      return java.nio.file.Files.createTempFile(prefix, ".jsonl");
+    } catch (IOException e) {
+      throw new GenAiIOException("Failed to create a temporary file.", e);
+    }
+  }
+
+  private static void deleteQuietly(Path path) {
+    try {
+      java.nio.file.Files.deleteIfExists(path);
+    } catch (IOException e) {
+      // The file is in the temporary directory, so it is cleaned up eventually.
+    }
+  }
+
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause() == null ? e : e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new GenAiIOException("Batch job failed.", cause);
+    }
+  }
+
+  /** Builder for {@link BatchGenerationRunner}. */
+  public static final class Builder {
+    private final Client client;
+    private final String model;
+    private Optional<CreateBatchJobConfig> config = Optional.empty();
+    private Duration initialPollInterval = Duration.ofSeconds(30);
+    private Duration maxPollInterval = Duration.ofMinutes(5);
+    private Optional<ScheduledExecutorService> scheduler = Optional.empty();
+    private Executor uploadExecutor = MoreExecutors.directExecutor();
+
+    private Builder(Client client, String model) {
+      this.client = checkNotNull(client, "client cannot be null");
+      this.model = checkNotNull(model, "model cannot be null");
+    }
+
+    /** Sets the {@link CreateBatchJobConfig} used to create the batch jobs. */
+    @CanIgnoreReturnValue
+    public Builder config(CreateBatchJobConfig config) {
+      checkNotNull(config, "config cannot be null");
+      this.config = Optional.of(config);
+      return this;
+    }
+
+    /**
+     * Sets the delay before the first status poll of a job. The delay grows while the job state
+     * does not change. Defaults to 30 seconds.
+     */
+    @CanIgnoreReturnValue
+    public Builder initialPollInterval(Duration initialPollInterval) {
+      checkNotNull(initialPollInterval, "initialPollInterval cannot be null");
+      checkArgument(!initialPollInterval.isNegative(), "initialPollInterval cannot be negative");
+      this.initialPollInterval = initialPollInterval;
+      return this;
+    }
+
+    /** Sets the maximum delay between two status polls of a job. Defaults to 5 minutes. */
+    @CanIgnoreReturnValue
+    public Builder maxPollInterval(Duration maxPollInterval) {
+      checkNotNull(maxPollInterval, "maxPollInterval cannot be null");
+      checkArgument(!maxPollInterval.isNegative(), "maxPollInterval cannot be negative");
+      this.maxPollInterval = maxPollInterval;
+      return this;
+    }
+
+    /** Sets the scheduler for status polls. Defaults to a shared daemon scheduler. */
+    @CanIgnoreReturnValue
+    public Builder scheduler(ScheduledExecutorService scheduler) {
+      checkNotNull(scheduler, "scheduler cannot be null");
+      this.scheduler = Optional.of(scheduler);
+      return this;
+    }
+
+    /**
+     * Sets the executor that uploads the JSONL file of the requests. The upload blocks its thread
+     * until the whole file has been sent. Defaults to the thread that calls {@link #submit}.
+     */
+    @CanIgnoreReturnValue
+    public Builder uploadExecutor(Executor uploadExecutor) {
+      checkNotNull(uploadExecutor, "uploadExecutor cannot be null");
+      this.uploadExecutor = uploadExecutor;
+      return this;
+    }
+
+    /**
+     * Builds the {@link BatchGenerationRunner} instance.
+     *
+     * @throws UnsupportedOperationException if the client uses Vertex AI.
+     */
+    public BatchGenerationRunner build() {
+      if (client.vertexAI()) {
+        throw new UnsupportedOperationException(
+            "Gemini Enterprise Agent Platform (previously known as Vertex AI) does not support"
+                + " file-backed batch jobs. Use batches.create with a GCS or BigQuery source.");
+      }
+      AsyncBatches batches = client.async.batches;
+      AsyncFiles files = client.async.files;
+      CreateBatchJobConfig createConfig = config.orElse(null);
+      Executor uploads = uploadExecutor;
+      Backend backend =
+          new Backend() {
+            @Override
+            public CompletableFuture<BatchJob> create(String fileName) {
+              return batches.create(
+                  model, BatchJobSource.builder().fileName(fileName).build(), createConfig);
+            }
+
+            @Override
+            public CompletableFuture<BatchJob> get(String name) {
+              return batches.get(name, null);
+            }
+
+            @Override
+            public CompletableFuture<String> upload(Path jsonl) {
+              return CompletableFuture.supplyAsync(
+                  () -> {
+                    // Upload from a stream, so the MIME type is not probed from the file name.
+                    try (InputStream stream = java.nio.file.Files.newInputStream(jsonl)) {
+                      return client
+                          .files
+                          .upload(
+                              stream,
+                              java.nio.file.Files.size(jsonl),
+                              UploadFileConfig.builder().mimeType("application/jsonl").build())
+                          .name()
+                          .orElseThrow(() -> new GenAiIOException("Uploaded file has no name."));
+                    } catch (IOException e) {
+                      throw new GenAiIOException("Failed to upload the batch requests.", e);
+                    }
+                  },
+                  uploads);
+            }
+
+            @Override
+            public CompletableFuture<Void> download(String fileName, Path path) {
+              return files.download(fileName, path.toString(), null);
+            }
+          };
+      Batches converters = batches.batches;
+      return new BatchGenerationRunner(
+          backend,
+          request ->
+              converters.inlinedRequestToMldev(
+                  batches.apiClient,
+                  JsonSerializable.toJsonNode(request),
+                  JsonSerializable.objectMapper.createObjectNode()),
+          line ->
+              JsonSerializable.fromJsonNode(
+                  converters.inlinedResponseFromMldev(
+                      line, JsonSerializable.objectMapper.createObjectNode()),
+                  InlinedResponse.class),
+          new BatchJobPoller(
+              backend::get,
+              initialPollInterval,
+              maxPollInterval,
+              scheduler.orElseGet(SharedScheduler::get)));
+    }
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.genai.types.BatchJob;
+import com.google.genai.types.JobState;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+
+/**
+ * Polls a batch job until it reaches a terminal state.
+ *
+ * <p>The delay between two polls starts at the initial interval and grows by half after every poll
+ * that finds the job in the same state, up to the maximum interval. A state change resets the
+ * delay, so a job that starts running is polled more often for a while. The polls run in the loop
+ * of {@link OperationPoller}, which jitters each delay and schedules the polls on a {@link
+ * ScheduledExecutorService}, so waiting jobs do not hold a thread.
+ */
+final class BatchJobPoller {
+
+  private static final ImmutableSet<JobState.Known> TERMINAL_STATES =
+      ImmutableSet.of(
+          JobState.Known.JOB_STATE_SUCCEEDED,
+          JobState.Known.JOB_STATE_PARTIALLY_SUCCEEDED,
+          JobState.Known.JOB_STATE_FAILED,
+          JobState.Known.JOB_STATE_CANCELLED,
+          JobState.Known.JOB_STATE_EXPIRED);
+
+  private final Function<String, CompletableFuture<BatchJob>> getJob;
+  private final long initialIntervalNanos;
+  private final long maxIntervalNanos;
+  private final ScheduledExecutorService scheduler;
+
+  BatchJobPoller(
+      Function<String, CompletableFuture<BatchJob>> getJob,
+      Duration initialInterval,
+      Duration maxInterval,
+      ScheduledExecutorService scheduler) {
+    this.getJob = getJob;
+    this.initialIntervalNanos = initialInterval.toNanos();
+    this.maxIntervalNanos = Math.max(initialIntervalNanos, maxInterval.toNanos());
+    this.scheduler = scheduler;
+  }
+
+  /** Returns whether the batch job has reached a state it cannot leave. */
+  static boolean isDone(BatchJob job) {
+    Optional<JobState> state = job.state();
+    return state.isPresent() && TERMINAL_STATES.contains(state.get().knownEnum());
+  }
+
+  /** Returns whether the batch job has results that can be read. */
+  static boolean hasResults(BatchJob job) {
+    Optional<JobState> state = job.state();
+    return state.isPresent()
+        && (state.get().knownEnum() == JobState.Known.JOB_STATE_SUCCEEDED
+            || state.get().knownEnum() == JobState.Known.JOB_STATE_PARTIALLY_SUCCEEDED);
+  }
+
+  /**
+   * Returns a future that completes with the batch job once it has reached a terminal state.
+   * Cancelling the future stops the polling.
+   */
+  CompletableFuture<BatchJob> waitForCompletion(BatchJob job) {
+    String name =
+        job.name().orElseThrow(() -> new IllegalArgumentException("Batch job has no name."));
+    return OperationPoller.poll(
+        job,
+        "Batch job " + name,
+        BatchJobPoller::isDone,
+        previous -> getJob.apply(name),
+        initialIntervalNanos,
+        (previous, next, delayNanos) ->
+            next.state().equals(previous.state())
+                ? Math.min(maxIntervalNanos, delayNanos + delayNanos / 2)
+                : initialIntervalNanos,
+        Optional.empty(),
+        scheduler);
+  }
+}
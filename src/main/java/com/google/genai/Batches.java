@@ -46,6 +46,7 @@ import com.google.genai.types.ListBatchJobsParameters;
 import com.google.genai.types.ListBatchJobsResponse;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
@@ -2771,4 +2772,72 @@ public final class Batches {
     }
     return this.privateCreateEmbeddings(model, src, config);
   }
+
+  /**
+   * Deletes many batch jobs with bounded concurrency.
+   *
+   * @param names The names of the batch jobs.
+   * @param config A {@link BulkOperationConfig} for the concurrency, 429 backoff and dry-run mode.
+   * @return The per-item results, in the order of {@code names}.
+   */
+  public List<BulkOperationResult<DeleteResourceJob>> bulkDelete(
+      Iterable<String> names, BulkOperationConfig config) {
+    return BulkOperations.runBlocking(names, name -> delete(name, null), config);
+  }
+
+  /**
+   * Deletes many batch jobs listed by the given pager, with bounded concurrency. Next pages are
+   * queried as the operation progresses.
+   *
+   * @param pager A {@link Pager} over the batch jobs, as returned by {@code list}.
+   * @param config A {@link BulkOperationConfig} for the concurrency, 429 backoff and dry-run mode.
+   * @return The per-item results, in the order of the pager.
+   */
+  public List<BulkOperationResult<DeleteResourceJob>> bulkDelete(
+      Pager<BatchJob> pager, BulkOperationConfig config) {
+    return bulkDelete(BulkOperations.names(pager, BatchJob::name), config);
+  }
+
+  /**
+   * Cancels many batch jobs with bounded concurrency.
+   *
+   * @param names The names of the batch jobs.
+   * @param config A {@link BulkOperationConfig} for the concurrency, 429 backoff and dry-run mode.
+   * @return The per-item results, in the order of {@code names}.
+   */
+  public List<BulkOperationResult<Void>> bulkCancel(
+      Iterable<String> names, BulkOperationConfig config) {
+    return BulkOperations.runBlocking(
+        names,
+        name -> {
+          cancel(name, null);
+          return null;
+        },
+        config);
+  }
+
+  /**
+   * Cancels many batch jobs listed by the given pager, with bounded concurrency. Next pages are
+   * queried as the operation progresses.
+   *
+   * @param pager A {@link Pager} over the batch jobs, as returned by {@code list}.
+   * @param config A {@link BulkOperationConfig} for the concurrency, 429 backoff and dry-run mode.
+   * @return The per-item results, in the order of the pager.
+   */
+  public List<BulkOperationResult<Void>> bulkCancel(
+      Pager<BatchJob> pager, BulkOperationConfig config) {
+    return bulkCancel(BulkOperations.names(pager, BatchJob::name), config);
+  }
+
+  /**
+   * Gets many batch jobs with bounded concurrency.
+   *
+   * @param names The names of the batch jobs.
+   * @param config A {@link BulkOperationConfig} for the concurrency, 429 backoff and dry-run mode.
+   * @return The per-item results, in the order of {@code names}.
+   */
+  public List<BulkOperationResult<BatchJob>> bulkGet(
+      Iterable<String> names, BulkOperationConfig config) {
+    return BulkOperations.runBlocking(names, name -> get(name, null), config);
+  }
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.genai.types.ContentEmbedding;
+import com.google.genai.types.EmbedContentConfig;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Embeds single texts submitted from many threads by collecting them into multi-content {@code
+ * embedContent} requests.
+ *
+ * <p>A request is sent once {@link Builder#maxBatchSize} texts are pending or once {@link
+ * Builder#linger} has elapsed since the first pending text, whichever comes first. A larger batch
+ * size and linger increase throughput, while a smaller linger bounds the latency added to each
+ * text. This class is thread-safe.
+ *
+ * <pre>{@code
+ * try (BatchingEmbedder embedder =
+ *     BatchingEmbedder.builder(client.async.models, "gemini-embedding-001")
+ *         .maxBatchSize(100)
+ *         .linger(Duration.ofMillis(20))
+ *         .build()) {
+ *   CompletableFuture<ContentEmbedding> embedding = embedder.embed("Hello world");
+ * }
+ * }</pre>
+ */
+public final class BatchingEmbedder implements AutoCloseable {
+
+  /** The maximum number of texts per request accepted by the Gemini Developer API. */
+  static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+  private final MicroBatcher<String, ContentEmbedding> batcher;
+
+  private BatchingEmbedder(Builder builder) {
+    AsyncModels models = builder.models;
+    String model = builder.model;
+    EmbedContentConfig config = builder.config.orElse(null);
+    int maxBatchSize = builder.maxBatchSize;
+    if (models.apiClient.vertexAI() && Transformers.tIsVertexEmbedContentModel(model)) {
+      // The embedContent API of these models only supports one content at a time.
+      maxBatchSize = 1;
+    }
+    this.batcher =
+        new MicroBatcher<>(
+            texts ->
+                models
+                    .embedContent(model, texts, config)
+                    .thenApply(
+                        response ->
+                            response
+                                .embeddings()
+                                .orElse(Collections.<ContentEmbedding>emptyList())),
+            maxBatchSize,
+            builder.linger.toNanos(),
+            builder.scheduler.orElseGet(SharedScheduler::get));
+  }
+
+  /** Returns a {@link Builder} for a {@link BatchingEmbedder} over the given model. */
+  public static Builder builder(AsyncModels models, String model) {
+    return new Builder(models, model);
+  }
+
+  /**
+   * Embeds the given text as part of the next batch.
+   *
+   * @param text The text to embed.
+   * @return A future that resolves to the embedding of {@code text}. If the batch request fails,
+   *     the future of every text in the batch completes with the same exception.
+   * @throws IllegalStateException if the embedder is closed.
+   */
+  public CompletableFuture<ContentEmbedding> embed(String text) {
+    checkNotNull(text, "text cannot be null");
+    return batcher.submit(text);
+  }
+
+  /** Sends the pending texts now, without waiting for the batch to fill or the linger to expire. */
+  public void flush() {
+    batcher.flush();
+  }
+
+  /** Sends the pending texts and stops accepting new ones. */
+  @Override
+  public void close() {
+    batcher.close();
+  }
+
+  /** Builder for {@link BatchingEmbedder}. */
+  public static final class Builder {
+    private final AsyncModels models;
+    private final String model;
+    private Optional<EmbedContentConfig> config = Optional.empty();
+    private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+    private Duration linger = Duration.ofMillis(10);
+    private Optional<ScheduledExecutorService> scheduler = Optional.empty();
+
+    private Builder(AsyncModels models, String model) {
+      this.models = checkNotNull(models, "models cannot be null");
+      this.model = checkNotNull(model, "model cannot be null");
+    }
+
+    /** Sets the {@link EmbedContentConfig} used for every request. */
+    @CanIgnoreReturnValue
+    public Builder config(EmbedContentConfig config) {
+      checkNotNull(config, "config cannot be null");
+      this.config = Optional.of(config);
+      return this;
+    }
+
+    /** Sets the maximum number of texts per request. Defaults to 100. */
+    @CanIgnoreReturnValue
+    public Builder maxBatchSize(int maxBatchSize) {
+      checkArgument(maxBatchSize > 0, "maxBatchSize must be positive");
+      this.maxBatchSize = maxBatchSize;
+      return this;
+    }
+
+    /**
+     * Sets how long the first pending text waits for more texts before the request is sent.
+     * Defaults to 10 milliseconds.
+     */
+    @CanIgnoreReturnValue
+    public Builder linger(Duration linger) {
+      checkNotNull(linger, "linger cannot be null");
+      checkArgument(!linger.isNegative(), "linger cannot be negative");
+      this.linger = linger;
+      return this;
+    }
+
+    /** Sets the scheduler for linger timers. Defaults to a shared daemon scheduler. */
+    @CanIgnoreReturnValue
+    public Builder scheduler(ScheduledExecutorService scheduler) {
+      checkNotNull(scheduler, "scheduler cannot be null");
+      this.scheduler = Optional.of(scheduler);
+      return this;
+    }
+
+    /** Builds the {@link BatchingEmbedder} instance. */
+    public BatchingEmbedder build() {
+      return new BatchingEmbedder(this);
+    }
+  }
+}
@@ -0,0 +1,402 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import com.google.genai.LiveReceiveConfig.OverflowPolicy;
+import com.google.genai.errors.GenAiIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An ordered, bounded queue between a single producer, such as a socket reader, and a consumer
+ * that either polls it or is called back on an executor.
+ */
+final class BoundedMessageQueue<T> {
+
+  private static final Logger logger = Logger.getLogger(BoundedMessageQueue.class.getName());
+
+  /** A queued message with the time it was queued. */
+  private static final class Entry<T> {
+    final T message;
+    final long enqueuedNanos;
+
+    Entry(T message, long enqueuedNanos) {
+      this.message = message;
+      this.enqueuedNanos = enqueuedNanos;
+    }
+  }
+
+  private final int capacity;
+  private final OverflowPolicy overflowPolicy;
+  private final Predicate<T> droppable;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private final Condition notFull = lock.newCondition();
+  private final ArrayDeque<Entry<T>> entries = new ArrayDeque<>();
+
+  private boolean ended = false;
+  private Throwable failure;
+  private long enqueuedCount = 0;
+  private long deliveredCount = 0;
+  private long droppedCount = 0;
+  private int highWaterMark = 0;
+  private long lastLagNanos = 0;
+
+  private Consumer<T> consumer;
+  private Executor executor;
+  private boolean draining = false;
+  private Runnable overflowListener = () -> {};
+
+  BoundedMessageQueue(int capacity, OverflowPolicy overflowPolicy, Predicate<T> droppable) {
+    this.capacity = capacity;
+    this.overflowPolicy = overflowPolicy;
+    this.droppable = droppable;
+  }
+
+  /**
+   * Sets a listener run once, outside the lock, when an overflow ends the queue, for example to
+   * stop the producer.
+   */
+  void onOverflow(Runnable listener) {
+    lock.lock();
+    try {
+      this.overflowListener = listener;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Adds a message, applying the overflow policy if the queue is full. Messages offered after the
+   * queue has ended are ignored.
+   */
+  void offer(T message) {
+    boolean startDrain;
+    Runnable overflowed = null;
+    lock.lock();
+    try {
+      while (!ended && entries.size() >= capacity) {
+        if (overflowPolicy == OverflowPolicy.DROP_OLDEST_AUDIO) {
+          if (dropOldestLocked()) {
+            break;
+          }
+          if (droppable.test(message)) {
+            // Only control messages are queued: the incoming audio is the oldest that can go.
+            droppedCount++;
+            return;
+          }
+        }
+        if (overflowPolicy != OverflowPolicy.BLOCK) {
+          endLocked(
+              new GenAiIOException(
+                  "The live message queue is full: the consumer is slower than the server."));
+          overflowed = overflowListener;
+          break;
+        }
+        try {
+          notFull.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          droppedCount++;
+          return;
+        }
+      }
+      startDrain = enqueueLocked(message) || (overflowed != null && startDrainLocked());
+    } finally {
+      lock.unlock();
+    }
+    if (overflowed != null) {
+      overflowed.run();
+    }
+    if (startDrain) {
+      executor.execute(this::drain);
+    }
+  }
+
+  /**
+   * Adds a message without applying the overflow policy, for messages that were received before
+   * the queue was attached and must stay ahead of the ones offered later.
+   */
+  void add(T message) {
+    boolean startDrain;
+    lock.lock();
+    try {
+      startDrain = enqueueLocked(message);
+    } finally {
+      lock.unlock();
+    }
+    if (startDrain) {
+      executor.execute(this::drain);
+    }
+  }
+
+  /**
+   * Ends the queue after the queued messages. A null {@code error} means the producer finished
+   * normally; otherwise polls fail with the error once the queue is drained.
+   */
+  void end(Throwable error) {
+    boolean startDrain;
+    lock.lock();
+    try {
+      if (ended) {
+        return;
+      }
+      endLocked(error);
+      startDrain = startDrainLocked();
+    } finally {
+      lock.unlock();
+    }
+    if (startDrain) {
+      executor.execute(this::drain);
+    }
+  }
+
+  /** Ends the queue and discards the queued messages. */
+  void close() {
+    lock.lock();
+    try {
+      if (!ended) {
+        endLocked(null);
+      }
+      droppedCount += entries.size();
+      entries.clear();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Calls the consumer for each message, one at a time and in order, on the given executor. */
+  void deliverTo(Consumer<T> consumer, Executor executor) {
+    boolean startDrain;
+    lock.lock();
+    try {
+      this.consumer = consumer;
+      this.executor = executor;
+      startDrain = startDrainLocked();
+    } finally {
+      lock.unlock();
+    }
+    if (startDrain) {
+      executor.execute(this::drain);
+    }
+  }
+
+  /**
+   * Returns the next message if one is queued.
+   *
+   * @throws GenAiIOException if the queue is drained and ended with an error.
+   */
+  Optional<T> poll() {
+    lock.lock();
+    try {
+      return takeLocked();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Waits up to {@code timeout} for the next message. Returns an empty optional on timeout or once
+   * the queue is drained and ended.
+   *
+   * @throws GenAiIOException if the queue is drained and ended with an error.
+   */
+  Optional<T> poll(Duration timeout) throws InterruptedException {
+    long remainingNanos = timeout.toNanos();
+    lock.lock();
+    try {
+      while (entries.isEmpty() && !ended && remainingNanos > 0) {
+        remainingNanos = notEmpty.awaitNanos(remainingNanos);
+      }
+      return takeLocked();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Returns whether the queue has ended and every message has been taken. */
+  boolean isDone() {
+    lock.lock();
+    try {
+      return ended && entries.isEmpty();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  int size() {
+    lock.lock();
+    try {
+      return entries.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  int highWaterMark() {
+    lock.lock();
+    try {
+      return highWaterMark;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  long enqueuedCount() {
+    lock.lock();
+    try {
+      return enqueuedCount;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  long deliveredCount() {
+    lock.lock();
+    try {
+      return deliveredCount;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  long droppedCount() {
+    lock.lock();
+    try {
+      return droppedCount;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Returns how long the last delivered message waited in the queue. */
+  Duration lastLag() {
+    lock.lock();
+    try {
+      return Duration.ofNanos(lastLagNanos);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Returns how long the oldest queued message has been waiting, or zero if none is queued. */
+  Duration oldestMessageAge() {
+    lock.lock();
+    try {
+      Entry<T> oldest = entries.peek();
+      return oldest == null
+          ? Duration.ZERO
+          : Duration.ofNanos(System.nanoTime() - oldest.enqueuedNanos);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private Optional<T> takeLocked() {
+    Entry<T> entry = entries.poll();
+    if (entry != null) {
+      deliveredCount++;
+      lastLagNanos = System.nanoTime() - entry.enqueuedNanos;
+      notFull.signal();
+      return Optional.of(entry.message);
+    }
+    if (failure != null) {
+      throw new GenAiIOException("The live session ended with an error.", failure);
+    }
+    return Optional.empty();
+  }
+
+  /** Queues the message unless the queue has ended, and returns whether to start a drain. */
+  private boolean enqueueLocked(T message) {
+    if (ended) {
+      droppedCount++;
+      return false;
+    }
+    entries.add(new Entry<>(message, System.nanoTime()));
+    enqueuedCount++;
+    highWaterMark = Math.max(highWaterMark, entries.size());
+    notEmpty.signal();
+    return startDrainLocked();
+  }
+
+  private void endLocked(Throwable error) {
+    ended = true;
+    failure = error;
+    notEmpty.signalAll();
+    notFull.signalAll();
+  }
+
+  private boolean dropOldestLocked() {
+    Iterator<Entry<T>> iterator = entries.iterator();
+    while (iterator.hasNext()) {
+      if (droppable.test(iterator.next().message)) {
+        iterator.remove();
+        droppedCount++;
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean startDrainLocked() {
+    if (consumer == null || draining || (entries.isEmpty() && !ended)) {
+      return false;
+    }
+    draining = true;
+    return true;
+  }
+
+  private void drain() {
+    while (true) {
+      T message;
+      lock.lock();
+      try {
+        Entry<T> entry = entries.poll();
+        if (entry == null) {
+          draining = false;
+          if (failure != null) {
+            logger.log(Level.SEVERE, "Live session ended with an error", failure);
+            failure = null;
+          }
+          return;
+        }
+        deliveredCount++;
+        lastLagNanos = System.nanoTime() - entry.enqueuedNanos;
+        notFull.signal();
+        message = entry.message;
+      } finally {
+        lock.unlock();
+      }
+      try {
+        consumer.accept(message);
+      } catch (RuntimeException e) {
+        logger.log(Level.SEVERE, "Error in live message callback", e);
+      }
+    }
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Configuration for bulk operations such as {@link Files#bulkDelete} and {@link
+ * AsyncFiles#bulkDelete}, which run a per-item request for many resources with bounded concurrency.
+ */
+public final class BulkOperationConfig {
+  private final int maxConcurrency;
+  private final int maxRateLimitRetries;
+  private final Duration initialBackoff;
+  private final Duration maxBackoff;
+  private final boolean dryRun;
+  private final Optional<ScheduledExecutorService> scheduler;
+
+  private BulkOperationConfig(Builder builder) {
+    this.maxConcurrency = builder.maxConcurrency;
+    this.maxRateLimitRetries = builder.maxRateLimitRetries;
+    this.initialBackoff = builder.initialBackoff;
+    this.maxBackoff = builder.maxBackoff;
+    this.dryRun = builder.dryRun;
+    this.scheduler = builder.scheduler;
+  }
+
+  /** Returns a {@link Builder} for {@link BulkOperationConfig}. */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** The maximum number of per-item requests in flight at the same time. */
+  public int maxConcurrency() {
+    return maxConcurrency;
+  }
+
+  /** The maximum number of times an item is retried after a 429 (Too Many Requests) error. */
+  public int maxRateLimitRetries() {
+    return maxRateLimitRetries;
+  }
+
+  /** The backoff applied after the first 429 error. It doubles for each consecutive 429. */
+  public Duration initialBackoff() {
+    return initialBackoff;
+  }
+
+  /** The upper bound of the backoff applied after 429 errors. */
+  public Duration maxBackoff() {
+    return maxBackoff;
+  }
+
+  /** Whether to only report the items that would be processed, without sending any request. */
+  public boolean dryRun() {
+    return dryRun;
+  }
+
+  /** The scheduler used to delay requests during backoff. */
+  public Optional<ScheduledExecutorService> scheduler() {
+    return scheduler;
+  }
+
+  /** Builder for {@link BulkOperationConfig}. */
+  public static final class Builder {
+    private int maxConcurrency = 8;
+    private int maxRateLimitRetries = 5;
+    private Duration initialBackoff = Duration.ofSeconds(1);
+    private Duration maxBackoff = Duration.ofSeconds(60);
+    private boolean dryRun = false;
+    private Optional<ScheduledExecutorService> scheduler = Optional.empty();
+
+    private Builder() {}
+
+    /** Sets the maximum number of per-item requests in flight. Defaults to 8. */
+    @CanIgnoreReturnValue
+    public Builder maxConcurrency(int maxConcurrency) {
+      checkArgument(maxConcurrency > 0, "maxConcurrency must be positive");
+      this.maxConcurrency = maxConcurrency;
+      return this;
+    }
+
+    /** Sets the maximum number of retries per item after 429 errors. Defaults to 5. */
+    @CanIgnoreReturnValue
+    public Builder maxRateLimitRetries(int maxRateLimitRetries) {
+      checkArgument(maxRateLimitRetries >= 0, "maxRateLimitRetries cannot be negative");
+      this.maxRateLimitRetries = maxRateLimitRetries;
+      return this;
+    }
+
+    /** Sets the backoff applied after the first 429 error. Defaults to 1 second. */
+    @CanIgnoreReturnValue
+    public Builder initialBackoff(Duration initialBackoff) {
+      checkNotNull(initialBackoff, "initialBackoff cannot be null");
+      checkArgument(!initialBackoff.isNegative(), "initialBackoff cannot be negative");
+      this.initialBackoff = initialBackoff;
+      return this;
+    }
+
+    /** Sets the upper bound of the backoff after 429 errors. Defaults to 60 seconds. */
+    @CanIgnoreReturnValue
+    public Builder maxBackoff(Duration maxBackoff) {
+      checkNotNull(maxBackoff, "maxBackoff cannot be null");
+      checkArgument(!maxBackoff.isNegative(), "maxBackoff cannot be negative");
+      this.maxBackoff = maxBackoff;
+      return this;
+    }
+
+    /** Sets whether to skip sending requests and only report the matched items. */
+    @CanIgnoreReturnValue
+    public Builder dryRun(boolean dryRun) {
+      this.dryRun = dryRun;
+      return this;
+    }
+
+    /**
+     * Sets the scheduler used to delay requests during backoff. Defaults to a shared daemon
+     * scheduler.
+     */
+    @CanIgnoreReturnValue
+    public Builder scheduler(ScheduledExecutorService scheduler) {
+      checkNotNull(scheduler, "scheduler cannot be null");
+      this.scheduler = Optional.of(scheduler);
+      return this;
+    }
+
+    /** Builds the {@link BulkOperationConfig} instance. */
+    public BulkOperationConfig build() {
+      return new BulkOperationConfig(this);
+    }
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import java.util.Optional;
+import org.jspecify.annotations.Nullable;
+
+/** The outcome of a bulk operation for a single resource. */
+public final class BulkOperationResult<T> {
+  private final String name;
+  private final @Nullable T response;
+  private final @Nullable Throwable error;
+  private final int attempts;
+  private final boolean dryRun;
+
+  private BulkOperationResult(
+      String name, @Nullable T response, @Nullable Throwable error, int attempts, boolean dryRun) {
+    this.name = name;
+    this.response = response;
+    this.error = error;
+    this.attempts = attempts;
+    this.dryRun = dryRun;
+  }
+
+  static <T> BulkOperationResult<T> success(String name, @Nullable T response, int attempts) {
+    return new BulkOperationResult<>(name, response, null, attempts, false);
+  }
+
+  static <T> BulkOperationResult<T> failure(String name, Throwable error, int attempts) {
+    return new BulkOperationResult<>(name, null, error, attempts, false);
+  }
+
+  static <T> BulkOperationResult<T> skipped(String name) {
+    return new BulkOperationResult<>(name, null, null, 0, true);
+  }
+
+  /** Returns the name of the resource. */
+  public String name() {
+    return name;
+  }
+
+  /** Returns the response of the request, if it succeeded and the operation returns a value. */
+  public Optional<T> response() {
+    return Optional.ofNullable(response);
+  }
+
+  /** Returns the error of the last attempt, if the request failed. */
+  public Optional<Throwable> error() {
+    return Optional.ofNullable(error);
+  }
+
+  /** Returns whether the request succeeded. Always false in dry-run mode. */
+  public boolean succeeded() {
+    return !dryRun && error == null;
+  }
+
+  /** Returns the number of requests sent for this resource, including retries. */
+  public int attempts() {
+    return attempts;
+  }
+
+  /** Returns whether the resource was only listed because the operation ran in dry-run mode. */
+  public boolean dryRun() {
+    return dryRun;
+  }
+
+  @Override
+  public String toString() {
+    if (dryRun) {
+      return "BulkOperationResult{name=" + name + ", dryRun=true}";
+    }
+    return "BulkOperationResult{name="
+        + name
+        + ", succeeded="
+        + succeeded()
+        + ", attempts="
+        + attempts
+        + (error == null ? "" : ", error=" + error.getMessage())
+        + "}";
+  }
+}
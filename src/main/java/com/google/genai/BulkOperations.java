@@ -0,0 +1,298 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.Iterables;
+import com.google.genai.errors.ApiException;
+import com.google.genai.errors.GenAiIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Runs a per-item request for many resources with bounded concurrency.
+ *
+ * <p>Requests are started as earlier ones complete, so no thread is blocked while waiting for
+ * responses. Resource names are read on a worker thread, as reading the next page of a {@link
+ * Pager} blocks on a request of its own, which must not run on the threads that complete the
+ * per-item requests. A 429 (Too Many Requests) error pauses all new requests of the operation for
+ * a shared backoff period before the item is retried.
+ */
+final class BulkOperations<R> {
+
+  /** Daemon threads for the blocking work of bulk operations, created as needed. */
+  private static final class Workers {
+    static final ExecutorService INSTANCE =
+        Executors.newCachedThreadPool(
+            runnable -> {
+              Thread thread = new Thread(runnable, "genai-bulk");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /** The state of a single resource. */
+  private static final class Item {
+    final int index;
+    final String name;
+    int attempts = 0;
+
+    Item(int index, String name) {
+      this.index = index;
+      this.name = name;
+    }
+  }
+
+  private static final Random random = new Random();
+
+  private final Iterator<String> names;
+  private final Function<String, CompletableFuture<R>> operation;
+  private final BulkOperationConfig config;
+  private final ScheduledExecutorService scheduler;
+  private final CompletableFuture<List<BulkOperationResult<R>>> done = new CompletableFuture<>();
+
+  private final List<BulkOperationResult<R>> results = new ArrayList<>();
+  private int inFlight = 0;
+  private boolean exhausted = false;
+  private RuntimeException iterationError;
+  private long pausedUntilNanos;
+  private int consecutiveRateLimits = 0;
+  private boolean pumping = false;
+
+  private BulkOperations(
+      Iterable<String> names,
+      Function<String, CompletableFuture<R>> operation,
+      BulkOperationConfig config) {
+    this.names = names.iterator();
+    this.operation = operation;
+    this.config = config;
+    this.scheduler = config.scheduler().orElseGet(SharedScheduler::get);
+    this.pausedUntilNanos = System.nanoTime();
+  }
+
+  /**
+   * Runs {@code operation} for each name and returns a future of the per-item results, in the order
+   * of {@code names}. The future completes once every item has succeeded or exhausted its retries.
+   */
+  static <R> CompletableFuture<List<BulkOperationResult<R>>> run(
+      Iterable<String> names,
+      Function<String, CompletableFuture<R>> operation,
+      BulkOperationConfig config) {
+    checkNotNull(names, "names cannot be null");
+    if (config == null) {
+      config = BulkOperationConfig.builder().build();
+    }
+    if (config.dryRun()) {
+      return CompletableFuture.supplyAsync(
+          () -> {
+            List<BulkOperationResult<R>> skipped = new ArrayList<>();
+            for (String name : names) {
+              skipped.add(BulkOperationResult.skipped(name));
+            }
+            return Collections.unmodifiableList(skipped);
+          },
+          Workers.INSTANCE);
+    }
+    BulkOperations<R> bulkOperation = new BulkOperations<>(names, operation, config);
+    bulkOperation.schedulePump();
+    return bulkOperation.done;
+  }
+
+  /**
+   * Runs a blocking {@code operation} for each name, with at most {@link
+   * BulkOperationConfig#maxConcurrency()} running at the same time, and returns the per-item
+   * results in the order of {@code names}.
+   *
+   * @throws GenAiIOException if the next name could not be read.
+   */
+  static <R> List<BulkOperationResult<R>> runBlocking(
+      Iterable<String> names, Function<String, R> operation, BulkOperationConfig config) {
+    try {
+      return run(
+              names,
+              name -> CompletableFuture.supplyAsync(() -> operation.apply(name), Workers.INSTANCE),
+              config)
+          .join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /** Returns a lazy view of the names of the given resources, as listed by a {@link Pager}. */
+  static <T> Iterable<String> names(Iterable<T> resources, Function<T, Optional<String>> name) {
+    checkNotNull(resources, "resources cannot be null");
+    return Iterables.transform(
+        resources,
+        resource ->
+            name.apply(resource)
+                .orElseThrow(() -> new IllegalArgumentException("Resource has no name.")));
+  }
+
+  /** Starts pumping on a worker thread, unless a pump is already running. */
+  private void schedulePump() {
+    synchronized (this) {
+      if (pumping) {
+        return;
+      }
+      pumping = true;
+    }
+    try {
+      Workers.INSTANCE.execute(this::pump);
+    } catch (RejectedExecutionException e) {
+      done.completeExceptionally(e);
+    }
+  }
+
+  /**
+   * Starts as many items as the concurrency limit allows, without recursing on inline results.
+   * Only one worker pumps at a time, and it reads the names outside the lock, as reading the next
+   * page of a {@link Pager} blocks.
+   */
+  private void pump() {
+    while (true) {
+      synchronized (this) {
+        if (exhausted || inFlight >= config.maxConcurrency()) {
+          pumping = false;
+          if (exhausted && inFlight == 0) {
+            complete();
+          }
+          return;
+        }
+        // Holds the slot while the next name is read.
+        inFlight++;
+      }
+      String name = null;
+      RuntimeException error = null;
+      try {
+        if (names.hasNext()) {
+          name = names.next();
+        }
+      } catch (RuntimeException e) {
+        error = e;
+      }
+      Item item;
+      synchronized (this) {
+        if (name == null) {
+          exhausted = true;
+          iterationError = error;
+          inFlight--;
+          continue;
+        }
+        item = new Item(results.size(), name);
+        results.add(null);
+      }
+      start(item);
+    }
+  }
+
+  private void complete() {
+    if (iterationError != null) {
+      done.completeExceptionally(
+          new GenAiIOException(
+              "Failed to read the next resource of the bulk operation. "
+                  + iterationError.getMessage(),
+              iterationError));
+    } else {
+      done.complete(Collections.unmodifiableList(new ArrayList<>(results)));
+    }
+  }
+
+  /** Sends the request for the item now, or once the shared backoff period has elapsed. */
+  private void start(Item item) {
+    long delayNanos;
+    synchronized (this) {
+      delayNanos = pausedUntilNanos - System.nanoTime();
+    }
+    if (delayNanos > 0) {
+      scheduler.schedule(() -> send(item), delayNanos, TimeUnit.NANOSECONDS);
+    } else {
+      send(item);
+    }
+  }
+
+  private void send(Item item) {
+    item.attempts++;
+    CompletableFuture<R> future;
+    try {
+      future = operation.apply(item.name);
+    } catch (RuntimeException e) {
+      future = new CompletableFuture<>();
+      future.completeExceptionally(e);
+    }
+    future.whenComplete((response, error) -> onComplete(item, response, error));
+  }
+
+  private void onComplete(Item item, R response, Throwable error) {
+    Throwable cause = unwrap(error);
+    if (cause != null && isRateLimited(cause) && item.attempts <= config.maxRateLimitRetries()) {
+      synchronized (this) {
+        consecutiveRateLimits++;
+        pausedUntilNanos = Math.max(pausedUntilNanos, System.nanoTime() + backoffNanos());
+      }
+      start(item);
+      return;
+    }
+    synchronized (this) {
+      if (cause == null) {
+        consecutiveRateLimits = 0;
+        results.set(item.index, BulkOperationResult.success(item.name, response, item.attempts));
+      } else {
+        results.set(item.index, BulkOperationResult.failure(item.name, cause, item.attempts));
+      }
+      inFlight--;
+    }
+    schedulePump();
+  }
+
+  /** Calculates the shared backoff using exponential backoff with full jitter on the upper half. */
+  private long backoffNanos() {
+    long initial = config.initialBackoff().toNanos();
+    long max = config.maxBackoff().toNanos();
+    double exponential = initial * Math.pow(2, Math.min(consecutiveRateLimits - 1, 30));
+    long capped = (long) Math.min(max, exponential);
+    return capped / 2 + (long) (random.nextDouble() * (capped / 2));
+  }
+
+  private static boolean isRateLimited(Throwable error) {
+    return error instanceof ApiException && ((ApiException) error).code() == 429;
+  }
+
+  private static Throwable unwrap(Throwable error) {
+    while ((error instanceof CompletionException || error instanceof ExecutionException)
+        && error.getCause() != null) {
+      error = error.getCause();
+    }
+    return error;
+  }
+}
@@ -41,6 +41,7 @@ import com.google.genai.types.UpdateCachedContentConfig;
 import com.google.genai.types.UpdateCachedContentParameters;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
@@ -1812,4 +1813,41 @@ public final class Caches {
         (ObjectNode) JsonSerializable.toJsonNode(config),
         JsonSerializable.toJsonNode(privateList(config)));
   }
+
+  /**
+   * Deletes many cached contents with bounded concurrency.
+   *
+   * @param names The names of the cached contents.
+   * @param config A {@link BulkOperationConfig} for the concurrency, 429 backoff and dry-run mode.
+   * @return The per-item results, in the order of {@code names}.
+   */
+  public List<BulkOperationResult<DeleteCachedContentResponse>> bulkDelete(
+      Iterable<String> names, BulkOperationConfig config) {
+    return BulkOperations.runBlocking(names, name -> delete(name, null), config);
+  }
+
+  /**
+   * Deletes many cached contents listed by the given pager, with bounded concurrency. Next pages
+   * are queried as the operation progresses.
+   *
+   * @param pager A {@link Pager} over the cached contents, as returned by {@code list}.
+   * @param config A {@link BulkOperationConfig} for the concurrency, 429 backoff and dry-run mode.
+   * @return The per-item results, in the order of the pager.
+   */
+  public List<BulkOperationResult<DeleteCachedContentResponse>> bulkDelete(
+      Pager<CachedContent> pager, BulkOperationConfig config) {
+    return bulkDelete(BulkOperations.names(pager, CachedContent::name), config);
+  }
+
+  /**
+   * Gets many cached contents with bounded concurrency.
+   *
+   * @param names The names of the cached contents.
+   * @param config A {@link BulkOperationConfig} for the concurrency, 429 backoff and dry-run mode.
+   * @return The per-item results, in the order of {@code names}.
+   */
+  public List<BulkOperationResult<CachedContent>> bulkGet(
+      Iterable<String> names, BulkOperationConfig config) {
+    return BulkOperations.runBlocking(names, name -> get(name, null), config);
+  }
 }
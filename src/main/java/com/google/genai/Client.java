@@ -30,14 +30,17 @@ import com.google.genai.gaos.AsyncWebhooks;
 import com.google.genai.gaos.GenAI;
 import com.google.genai.gaos.Interactions;
 import com.google.genai.gaos.Webhooks;
+import com.google.genai.gaos.utils.BackoffStrategy;
 import com.google.genai.gaos.utils.HTTPClient;
 import com.google.genai.gaos.utils.Headers;
+import com.google.genai.gaos.utils.RetryConfig;
 import com.google.genai.gaos.utils.transport.HttpBody;
 import com.google.genai.gaos.utils.transport.HttpRequest;
 import com.google.genai.gaos.utils.transport.HttpResponse;
 // android:strip_end
 import com.google.genai.types.ClientOptions;
 import com.google.genai.types.HttpOptions;
+import com.google.genai.types.HttpRetryOptions;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -46,6 +49,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 import okhttp3.Call;
 import okhttp3.Callback;
@@ -55,7 +59,6 @@ import okhttp3.RequestBody;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
 import okio.BufferedSink;
-import okio.Okio;
 
 /** Client class for GenAI. This class is thread-safe. */
 public final class Client implements AutoCloseable {
@@ -332,7 +335,8 @@ public final class Client implements AutoCloseable {
       throw new IllegalArgumentException("Gemini API does not support project/location.");
     }
 
-    if (this.debugConfig.clientMode().equals("replay")) {
+    if (this.debugConfig.clientMode().equals("replay")
+        || this.debugConfig.clientMode().equals(ReplayApiClient.INDEXED_REPLAY_MODE)) {
       if (!useVertexAI) {
         this.apiClient =
             new ReplayApiClient(
@@ -355,6 +359,7 @@ public final class Client implements AutoCloseable {
                 this.debugConfig.replayId(),
                 this.debugConfig.clientMode());
       }
+      ((ReplayApiClient) this.apiClient).setChunkDelay(this.debugConfig.replayChunkDelay());
     } else {
       if (!useVertexAI) {
         this.apiClient =
@@ -417,6 +422,15 @@ public final class Client implements AutoCloseable {
       gaosBuilder = gaosBuilder.userProject(apiClient.credentials().getQuotaProjectId());
     }
     gaosBuilder = gaosBuilder.client(new GenAiGaosHttpClient(this.apiClient));
+    // GenAiGaosHttpClient bypasses the blocking RetryInterceptor, so HttpOptions.retryOptions is
+    // applied by the gaos retries instead, which schedule async retries without holding a thread.
+    gaosBuilder =
+        gaosBuilder.retryConfig(
+            gaosRetryConfig(
+                this.apiClient
+                    .httpOptions()
+                    .retryOptions()
+                    .orElse(HttpRetryOptions.builder().build())));
     if (asyncRetryScheduler.isPresent()) {
       gaosBuilder = gaosBuilder.asyncRetryScheduler(asyncRetryScheduler.get());
     }
@@ -436,42 +450,77 @@ public final class Client implements AutoCloseable {
 
 
   // android:strip_begin
+  /** Translates the retry options of the RetryInterceptor to a gaos retry configuration. */
+  private static RetryConfig gaosRetryConfig(HttpRetryOptions options) {
+    int attempts = options.attempts().orElse(RetryInterceptor.RETRY_MAX_ATTEMPTS);
+    if (attempts <= 1) {
+      return RetryConfig.noRetries();
+    }
+    double jitter = options.jitter().orElse(RetryInterceptor.RETRY_JITTER);
+    BackoffStrategy backoff =
+        BackoffStrategy.builder()
+            .initialInterval(
+                toMillis(options.initialDelay().orElse(RetryInterceptor.RETRY_INITIAL_DELAY)),
+                TimeUnit.MILLISECONDS)
+            .maxInterval(
+                toMillis(options.maxDelay().orElse(RetryInterceptor.RETRY_MAX_DELAY)),
+                TimeUnit.MILLISECONDS)
+            .baseFactor(options.expBase().orElse(RetryInterceptor.RETRY_EXP_BASE))
+            .jitterFactor(Math.max(0.0, Math.min(1.0, jitter)))
+            .retryConnectError(true)
+            .retryReadTimeoutError(true)
+            .build();
+    return RetryConfig.builder().attemptCountBackoff(attempts - 1, backoff).build();
+  }
+
+  private static long toMillis(double seconds) {
+    return (long) (seconds * 1000);
+  }
+
   private static final class GenAiGaosHttpClient implements HTTPClient {
+    // Retries of gaos requests are made by the gaos layer, see gaosRetryConfig.
+    private static final HttpRetryOptions SINGLE_ATTEMPT =
+        HttpRetryOptions.builder().attempts(1).build();
+
     private final ApiClient apiClient;
+    // The SDK and user-supplied headers are fixed for the lifetime of the client, so they are
+    // resolved once instead of on every request.
+    private final okhttp3.Headers defaultHeaders;
 
     public GenAiGaosHttpClient(ApiClient apiClient) {
       this.apiClient = apiClient;
-    }
-
-    private HttpRequest authorize(HttpRequest request) {
-      HttpRequest.Builder builder = request.toBuilder();
-
-      // Default SDK headers
-      builder = builder.setHeader("user-agent", ApiClient.libraryVersion());
-      builder = builder.setHeader("x-goog-api-client", ApiClient.libraryVersion());
-      builder = builder.setHeader("Api-Revision", "2026-05-20");
-
-      // Authentication headers
+      okhttp3.Headers.Builder headers = new okhttp3.Headers.Builder();
+      headers.set("user-agent", ApiClient.libraryVersion());
+      headers.set("x-goog-api-client", ApiClient.libraryVersion());
+      headers.set("Api-Revision", "2026-05-20");
       if (apiClient.apiKey() != null) {
-        builder = builder.setHeader("x-goog-api-key", apiClient.apiKey());
-      } else if (apiClient.credentials() != null) {
-        String token = apiClient.refreshAndGetAccessToken();
-        if (token != null) {
-          builder = builder.setHeader("Authorization", "Bearer " + token);
-        }
+        headers.set("x-goog-api-key", apiClient.apiKey());
       }
-
-      // User-supplied custom headers
       if (apiClient.httpOptions().headers().isPresent()) {
         for (Map.Entry<String, String> entry : apiClient.httpOptions().headers().get().entrySet()) {
-          builder = builder.setHeader(entry.getKey(), entry.getValue());
+          headers.set(entry.getKey(), entry.getValue());
         }
       }
+      this.defaultHeaders = headers.build();
+    }
 
+    /** Converts the request and adds the SDK and authentication headers to it. */
+    private Request toAuthorizedRequest(HttpRequest request) {
+      Request.Builder builder = toOkHttpRequest(request);
+      if (apiClient.apiKey() == null && apiClient.credentials() != null) {
+        String token = apiClient.refreshAndGetAccessToken();
+        if (token != null) {
+          builder.header("Authorization", "Bearer " + token);
+        }
+      }
+      // Applied last so that user-supplied headers take precedence.
+      for (int i = 0; i < defaultHeaders.size(); i++) {
+        builder.header(defaultHeaders.name(i), defaultHeaders.value(i));
+      }
       return builder.build();
     }
 
-    private static Request toOkHttpRequest(HttpRequest request) {
+    private static Request.Builder toOkHttpRequest(HttpRequest request) {
       Request.Builder builder = new Request.Builder().url(request.uri().toString());
       request
           .headers()
@@ -481,7 +530,8 @@ public final class Client implements AutoCloseable {
         body = RequestBody.create(new byte[0], null);
       }
       builder.method(request.method(), body);
-      return builder.build();
+      builder.tag(HttpRetryOptions.class, SINGLE_ATTEMPT);
+      return builder;
     }
 
     private static boolean requiresRequestBody(String method) {
@@ -507,14 +557,10 @@ public final class Client implements AutoCloseable {
 
         @Override
         public void writeTo(BufferedSink sink) throws IOException {
-          InputStream in;
           try {
-            in = body.stream();
+            body.writeTo(sink.outputStream());
           } catch (IllegalStateException e) {
             throw new IOException(e.getMessage(), e);
-          }
-          try (InputStream closeable = in) {
-            sink.writeAll(Okio.source(closeable));
           } catch (UncheckedIOException e) {
             throw e.getCause();
           }
@@ -531,19 +577,14 @@ public final class Client implements AutoCloseable {
 
     @Override
     public HttpResponse<InputStream> send(HttpRequest request) throws IOException {
-      HttpRequest authorizedRequest = authorize(request);
-      Response okResponse =
-          apiClient.httpClient.newCall(toOkHttpRequest(authorizedRequest)).execute();
-      return toResponse(authorizedRequest, okResponse);
+      Response okResponse = apiClient.httpClient.newCall(toAuthorizedRequest(request)).execute();
+      return toResponse(request, okResponse);
     }
 
     @Override
     public CompletableFuture<HttpResponse<InputStream>> sendAsync(HttpRequest request) {
       return CompletableFuture.supplyAsync(
-              () -> {
-                HttpRequest authorizedRequest = authorize(request);
-                return toOkHttpRequest(authorizedRequest);
-              },
+              () -> toAuthorizedRequest(request),
               apiClient.httpClient.dispatcher().executorService())
           .thenCompose(
               okRequest -> {
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import com.google.common.collect.ImmutableMap;
+import java.time.Duration;
+import java.util.Optional;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import org.jspecify.annotations.Nullable;
+
+/** Translates the events of a client's calls into the metrics of a {@link MetricsRecorder}. */
+final class ClientMetrics implements RequestHook {
+
+  private final MetricsRecorder recorder;
+  private volatile @Nullable Dispatcher dispatcher;
+  private volatile @Nullable ConnectionPool connectionPool;
+
+  ClientMetrics(MetricsRecorder recorder) {
+    this.recorder = recorder;
+  }
+
+  /** Samples the load of the given dispatcher and pool whenever a call starts. */
+  void observe(Dispatcher dispatcher, ConnectionPool connectionPool) {
+    this.dispatcher = dispatcher;
+    this.connectionPool = connectionPool;
+  }
+
+  @Override
+  public void beforeRequest(Context context) {
+    ImmutableMap<String, String> attributes = attributes(context);
+    context
+        .requestBytes()
+        .ifPresent(bytes -> record(MetricsRecorder.REQUEST_BYTES, attributes, bytes));
+    context.queueWait().ifPresent(wait -> record(MetricsRecorder.QUEUE_WAIT, attributes, wait));
+
+    Dispatcher dispatcher = this.dispatcher;
+    if (dispatcher != null) {
+      record(MetricsRecorder.QUEUED_CALLS, attributes, dispatcher.queuedCallsCount());
+      record(MetricsRecorder.RUNNING_CALLS, attributes, dispatcher.runningCallsCount());
+    }
+    ConnectionPool connectionPool = this.connectionPool;
+    if (connectionPool != null) {
+      record(
+          MetricsRecorder.CONNECTIONS_IN_USE,
+          attributes,
+          connectionPool.connectionCount() - connectionPool.idleConnectionCount());
+    }
+  }
+
+  @Override
+  public void onRetry(Context context, RetryInfo retry) {
+    String cause =
+        retry.statusCode().isPresent()
+            ? String.valueOf(retry.statusCode().get())
+            : retry.error().map(error -> error.getClass().getSimpleName()).orElse("unknown");
+    recorder.increment(
+        MetricsRecorder.RETRIES,
+        ImmutableMap.<String, String>builder()
+            .putAll(attributes(context))
+            .put(MetricsRecorder.CAUSE, cause)
+            .build(),
+        1);
+  }
+
+  @Override
+  public void onResponseHeaders(Context context, ResponseInfo response) {
+    response
+        .serverTiming()
+        .ifPresent(
+            duration -> record(MetricsRecorder.SERVER_DURATION, attributes(context), duration));
+  }
+
+  @Override
+  public void onStreamChunk(Context context, ChunkInfo chunk) {
+    if (chunk.index() == 0) {
+      record(MetricsRecorder.TIME_TO_FIRST_CHUNK, attributes(context), chunk.elapsed());
+    } else {
+      record(MetricsRecorder.CHUNK_GAP, attributes(context), chunk.sincePrevious());
+    }
+  }
+
+  @Override
+  public void onComplete(Context context, CompletionInfo completion) {
+    ImmutableMap<String, String> attributes = attributes(context);
+    record(
+        MetricsRecorder.REQUEST_DURATION,
+        withStatus(attributes, String.valueOf(completion.statusCode())),
+        completion.elapsed());
+    record(MetricsRecorder.RESPONSE_BYTES, attributes, completion.responseBytes());
+
+    Optional<Integer> outputTokens = completion.usage().flatMap(TokenUsage::outputTokens);
+    if (outputTokens.isPresent()) {
+      Duration generating =
+          completion.elapsed().minus(completion.timeToFirstChunk().orElse(Duration.ZERO));
+      if (!generating.isZero() && !generating.isNegative()) {
+        record(
+            MetricsRecorder.OUTPUT_TOKENS_PER_SECOND,
+            attributes,
+            outputTokens.get() * 1_000_000_000.0 / generating.toNanos());
+      }
+    }
+  }
+
+  @Override
+  public void onError(Context context, Throwable error) {
+    ImmutableMap<String, String> attributes = attributes(context);
+    record(MetricsRecorder.REQUEST_DURATION, withStatus(attributes, "error"), context.elapsed());
+    recorder.increment(
+        MetricsRecorder.ERRORS,
+        ImmutableMap.<String, String>builder()
+            .putAll(attributes)
+            .put(MetricsRecorder.CAUSE, error.getClass().getSimpleName())
+            .build(),
+        1);
+  }
+
+  private void record(String name, ImmutableMap<String, String> attributes, Duration value) {
+    recorder.recordDuration(name, attributes, value);
+  }
+
+  private void record(String name, ImmutableMap<String, String> attributes, double value) {
+    recorder.recordValue(name, attributes, value);
+  }
+
+  private static ImmutableMap<String, String> attributes(Context context) {
+    return context.model().isPresent()
+        ? ImmutableMap.of(
+            MetricsRecorder.OPERATION,
+            context.operation(),
+            MetricsRecorder.MODEL,
+            context.model().get())
+        : ImmutableMap.of(MetricsRecorder.OPERATION, context.operation());
+  }
+
+  private static ImmutableMap<String, String> withStatus(
+      ImmutableMap<String, String> attributes, String status) {
+    return ImmutableMap.<String, String>builder()
+        .putAll(attributes)
+        .put(MetricsRecorder.STATUS, status)
+        .build();
+  }
+}
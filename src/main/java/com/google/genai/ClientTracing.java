@@ -0,0 +1,276 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.MapMaker;
+import com.google.genai.TraceRecorder.Span;
+import com.google.genai.TraceRecorder.SpanKind;
+import com.google.genai.types.FunctionCall;
+import java.io.IOException;
+import java.util.Map;
+import java.util.regex.Pattern;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Translates the calls of a client into the spans of a {@link TraceRecorder}.
+ *
+ * <p>The span of an HTTP call is started and ended by the request hook events, and the spans of
+ * its attempts by {@link #attempts()}, which runs behind the retry interceptor. The span that the
+ * SDK is working under, such as a round of automatic function calling, is held in a thread local
+ * and becomes the parent of the calls made on that thread. Asynchronous calls carry it in a tag of
+ * the request instead, which {@link #parents()} restores on the dispatcher thread.
+ */
+final class ClientTracing implements RequestHook {
+
+  private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+  private static final Pattern TRACE_ID = Pattern.compile("(?!0{32})[0-9a-f]{32}");
+  private static final Pattern SPAN_ID = Pattern.compile("(?!0{16})[0-9a-f]{16}");
+
+  private static final ImmutableMap<String, String> GEN_AI_OPERATIONS =
+      ImmutableMap.of(
+          "generateContent", "generate_content",
+          "streamGenerateContent", "generate_content",
+          "embedContent", "embeddings",
+          "batchEmbedContents", "embeddings");
+
+  private final TraceRecorder recorder;
+  private final String system;
+  // Weak, so that the span of a call whose stream is never closed does not leak its context.
+  private final Map<Context, Span> calls = new MapMaker().weakKeys().makeMap();
+
+  ClientTracing(TraceRecorder recorder, boolean vertexAI) {
+    this.recorder = recorder;
+    this.system = vertexAI ? "gcp.vertex_ai" : "gcp.gemini";
+  }
+
+  /** Returns the span the SDK is working under on this thread, if any. */
+  @Nullable Span parent() {
+    Span current = CURRENT.get();
+    return current != null ? current : recorder.currentSpan();
+  }
+
+  @Override
+  public void beforeRequest(Context context) {
+    String operation = GEN_AI_OPERATIONS.getOrDefault(context.operation(), context.operation());
+    Span span =
+        recorder.startSpan(
+            context.model().map(model -> operation + " " + model).orElse(operation),
+            SpanKind.CLIENT,
+            CURRENT.get());
+    if (GEN_AI_OPERATIONS.containsKey(context.operation())) {
+      span.setAttribute("gen_ai.operation.name", operation);
+      span.setAttribute("gen_ai.system", system);
+      context.model().ifPresent(model -> span.setAttribute("gen_ai.request.model", model));
+    }
+    calls.put(context, span);
+  }
+
+  @Override
+  public void onStreamChunk(Context context, ChunkInfo chunk) {
+    Span span = calls.get(context);
+    if (span != null) {
+      span.addEvent(
+          "gen_ai.stream.chunk",
+          ImmutableMap.of("index", (long) chunk.index(), "bytes", chunk.bytes()));
+    }
+  }
+
+  @Override
+  public void onComplete(Context context, CompletionInfo completion) {
+    Span span = calls.remove(context);
+    if (span == null) {
+      return;
+    }
+    span.setAttribute("http.response.status_code", completion.statusCode());
+    if (completion.statusCode() >= 400) {
+      span.setAttribute("error.type", String.valueOf(completion.statusCode()));
+    }
+    completion
+        .usage()
+        .ifPresent(
+            usage -> {
+              usage
+                  .promptTokens()
+                  .ifPresent(tokens -> span.setAttribute("gen_ai.usage.input_tokens", tokens));
+              usage
+                  .outputTokens()
+                  .ifPresent(tokens -> span.setAttribute("gen_ai.usage.output_tokens", tokens));
+            });
+    span.end();
+  }
+
+  @Override
+  public void onError(Context context, Throwable error) {
+    Span span = calls.remove(context);
+    if (span != null) {
+      fail(span, error);
+      span.end();
+    }
+  }
+
+  /**
+   * Returns the interceptor that makes the parent captured by an asynchronous call current on the
+   * dispatcher thread. It is installed in front of the request hooks.
+   */
+  Interceptor parents() {
+    return chain -> {
+      Span parent = chain.request().tag(Span.class);
+      if (parent == null) {
+        return chain.proceed(chain.request());
+      }
+      try (Scope scope = makeCurrent(parent)) {
+        return chain.proceed(chain.request());
+      }
+    };
+  }
+
+  /**
+   * Returns the interceptor that traces each attempt of a call and propagates its context. It is
+   * installed behind the retry interceptor, so that it runs once per attempt.
+   */
+  Interceptor attempts() {
+    return chain -> {
+      Request request = chain.request();
+      RequestHooks.Call call = request.tag(RequestHooks.Call.class);
+      Span span =
+          recorder.startSpan(
+              request.method(), SpanKind.CLIENT, call != null ? calls.get(call.context) : null);
+      HttpUrl url = request.url();
+      span.setAttribute("http.request.method", request.method());
+      span.setAttribute("server.address", url.host());
+      span.setAttribute("server.port", url.port());
+      // The query is left out, as it may hold the API key.
+      span.setAttribute("url.full", url.newBuilder().query(null).build().toString());
+      if (call != null && call.context.attempt() > 1) {
+        span.setAttribute("http.request.resend_count", call.context.attempt() - 1);
+      }
+
+      String traceparent = traceparent(span);
+      if (traceparent != null) {
+        request = request.newBuilder().header("traceparent", traceparent).build();
+      }
+      Response response;
+      try {
+        response = chain.proceed(request);
+      } catch (IOException | RuntimeException e) {
+        fail(span, e);
+        span.end();
+        throw e;
+      }
+      span.setAttribute("http.response.status_code", response.code());
+      if (response.code() >= 400) {
+        span.setAttribute("error.type", String.valueOf(response.code()));
+      }
+      span.end();
+      return response;
+    };
+  }
+
+  /** Returns the W3C {@code traceparent} of the given span, or null if it has no valid ids. */
+  static @Nullable String traceparent(Span span) {
+    String traceId = span.traceId();
+    String spanId = span.spanId();
+    if (!TRACE_ID.matcher(traceId).matches() || !SPAN_ID.matcher(spanId).matches()) {
+      return null;
+    }
+    return "00-" + traceId + "-" + spanId + (span.isSampled() ? "-01" : "-00");
+  }
+
+  /**
+   * Starts the span of a {@code generateContent} call with automatic function calling, or returns
+   * null if the client is not traced.
+   */
+  static @Nullable Span startAutomaticFunctionCalling(
+      @Nullable ClientTracing tracing, String model) {
+    if (tracing == null) {
+      return null;
+    }
+    Span span =
+        tracing.recorder.startSpan(
+            "automatic_function_calling " + model, SpanKind.INTERNAL, tracing.parent());
+    span.setAttribute("gen_ai.system", tracing.system);
+    span.setAttribute("gen_ai.request.model", model);
+    return span;
+  }
+
+  /** Starts the span of a round of automatic function calling, or returns null if not traced. */
+  static @Nullable Span startRound(
+      @Nullable ClientTracing tracing, @Nullable Span parent, int round) {
+    if (tracing == null) {
+      return null;
+    }
+    Span span =
+        tracing.recorder.startSpan("automatic_function_calling round", SpanKind.INTERNAL, parent);
+    span.setAttribute("gen_ai.automatic_function_calling.round", round);
+    return span;
+  }
+
+  /** Starts the span of a function invoked by the SDK, or returns null if not traced. */
+  static @Nullable Span startTool(
+      @Nullable ClientTracing tracing, @Nullable Span parent, FunctionCall functionCall) {
+    if (tracing == null) {
+      return null;
+    }
+    String name = functionCall.name().orElse("");
+    Span span = tracing.recorder.startSpan("execute_tool " + name, SpanKind.INTERNAL, parent);
+    span.setAttribute("gen_ai.operation.name", "execute_tool");
+    span.setAttribute("gen_ai.tool.name", name);
+    functionCall.id().ifPresent(id -> span.setAttribute("gen_ai.tool.call.id", id));
+    return span;
+  }
+
+  /** Ends the given span, if any, recording the given error, if any. */
+  static void end(@Nullable Span span, @Nullable Throwable error) {
+    if (span != null) {
+      if (error != null) {
+        fail(span, error);
+      }
+      span.end();
+    }
+  }
+
+  /**
+   * Makes the given span the parent of the calls made on this thread, until the returned scope is
+   * closed. Does nothing if the span is null.
+   */
+  static Scope makeCurrent(@Nullable Span span) {
+    if (span == null) {
+      return Scope.NOOP;
+    }
+    Span previous = CURRENT.get();
+    CURRENT.set(span);
+    return () -> CURRENT.set(previous);
+  }
+
+  private static void fail(Span span, Throwable error) {
+    span.setAttribute("error.type", error.getClass().getName());
+    span.recordError(error);
+  }
+
+  /** Restores the previous span of the thread when closed. */
+  interface Scope extends AutoCloseable {
+    Scope NOOP = () -> {};
+
+    @Override
+    void close();
+  }
+}
@@ -16,12 +16,15 @@
 
 package com.google.genai;
 
+import java.time.Duration;
+
 /** Data class configuration for debugging or testing the Client. */
 @ExcludeFromGeneratedCoverageReport
 final class DebugConfig {
   private final String clientMode;
   private final String replayId;
   private final String replaysDirectory;
+  private final Duration replayChunkDelay;
 
   DebugConfig() {
     String clientMode = System.getenv("GOOGLE_GENAI_CLIENT_MODE");
@@ -32,6 +35,8 @@ final class DebugConfig {
 
     String replaysDirectory = System.getenv("GOOGLE_GENAI_REPLAYS_DIRECTORY");
     this.replaysDirectory = replaysDirectory != null ? replaysDirectory : "";
+
+    this.replayChunkDelay = replayChunkDelayFromEnv();
   }
 
   DebugConfig(String clientMode, String replayId, String replaysDirectory) {
@@ -47,6 +52,15 @@ final class DebugConfig {
         replaysDirectory != null
             ? replaysDirectory
             : (envReplaysDirectory != null ? envReplaysDirectory : "");
+
+    this.replayChunkDelay = replayChunkDelayFromEnv();
+  }
+
+  private static Duration replayChunkDelayFromEnv() {
+    String chunkDelayMillis = System.getenv("GOOGLE_GENAI_REPLAY_CHUNK_DELAY_MS");
+    return chunkDelayMillis != null
+        ? Duration.ofMillis(Long.parseLong(chunkDelayMillis))
+        : Duration.ZERO;
   }
 
   public String clientMode() {
@@ -60,4 +74,9 @@ final class DebugConfig {
   public String replaysDirectory() {
     return this.replaysDirectory;
   }
+
+  /** Returns the delay between two chunks of a stream replayed in the "indexed-replay" mode. */
+  public Duration replayChunkDelay() {
+    return this.replayChunkDelay;
+  }
 }
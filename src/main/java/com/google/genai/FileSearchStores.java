@@ -47,6 +47,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
@@ -1091,4 +1092,47 @@ public final class FileSearchStores {
       throw new GenAiIOException("Failed to read blob content.", e);
     }
   }
+
+  /**
+   * Deletes many file search stores with bounded concurrency.
+   *
+   * @param names The names of the file search stores.
+   * @param config A {@link BulkOperationConfig} for the concurrency, 429 backoff and dry-run mode.
+   * @return The per-item results, in the order of {@code names}.
+   */
+  public List<BulkOperationResult<Void>> bulkDelete(
+      Iterable<String> names, BulkOperationConfig config) {
+    return BulkOperations.runBlocking(
+        names,
+        name -> {
+          delete(name, null);
+          return null;
+        },
+        config);
+  }
+
+  /**
+   * Deletes many file search stores listed by the given pager, with bounded concurrency. Next pages
+   * are queried as the operation progresses.
+   *
+   * @param pager A {@link Pager} over the file search stores, as returned by {@code list}.
+   * @param config A {@link BulkOperationConfig} for the concurrency, 429 backoff and dry-run mode.
+   * @return The per-item results, in the order of the pager.
+   */
+  public List<BulkOperationResult<Void>> bulkDelete(
+      Pager<FileSearchStore> pager, BulkOperationConfig config) {
+    return bulkDelete(BulkOperations.names(pager, FileSearchStore::name), config);
+  }
+
+  /**
+   * Gets many file search stores with bounded concurrency.
+   *
+   * @param names The names of the file search stores.
+   * @param config A {@link BulkOperationConfig} for the concurrency, 429 backoff and dry-run mode.
+   * @return The per-item results, in the order of {@code names}.
+   */
+  public List<BulkOperationResult<FileSearchStore>> bulkGet(
+      Iterable<String> names, BulkOperationConfig config) {
+    return BulkOperations.runBlocking(names, name -> get(name, null), config);
+  }
 }
@@ -25,6 +25,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.common.base.Ascii;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteStreams;
 import com.google.genai.Common.BuiltRequest;
 import com.google.genai.errors.GenAiIOException;
 import com.google.genai.types.CreateFileConfig;
@@ -1003,11 +1004,13 @@ public final class Files {
     if (config != null) {
       httpOptions = config.httpOptions();
     }
-    ApiResponse response =
-        this.apiClient.request(
-            "get", String.format("files/%s:download?alt=media", fileName), "", httpOptions);
-    try (FileOutputStream outputStream = new FileOutputStream(downloadPath)) {
-      outputStream.write(response.getBody().bytes());
+    // Copy the body in chunks, so large files such as batch results are not held in memory.
+    try (ApiResponse response =
+            this.apiClient.request(
+                "get", String.format("files/%s:download?alt=media", fileName), "", httpOptions);
+        InputStream inputStream = response.getBody().byteStream();
+        FileOutputStream outputStream = new FileOutputStream(downloadPath)) {
+      ByteStreams.copy(inputStream, outputStream);
     } catch (IOException e) {
       throw new GenAiIOException("Failed to download file.", e);
     }
@@ -1020,4 +1023,41 @@ public final class Files {
       throw new GenAiIOException("Failed to save file.", e);
     }
   }
+
+  /**
+   * Deletes many files with bounded concurrency.
+   *
+   * @param names The names of the files.
+   * @param config A {@link BulkOperationConfig} for the concurrency, 429 backoff and dry-run mode.
+   * @return The per-item results, in the order of {@code names}.
+   */
+  public List<BulkOperationResult<DeleteFileResponse>> bulkDelete(
+      Iterable<String> names, BulkOperationConfig config) {
+    return BulkOperations.runBlocking(names, name -> delete(name, null), config);
+  }
+
+  /**
+   * Deletes many files listed by the given pager, with bounded concurrency. Next pages are queried
+   * as the operation progresses.
+   *
+   * @param pager A {@link Pager} over the files, as returned by {@code list}.
+   * @param config A {@link BulkOperationConfig} for the concurrency, 429 backoff and dry-run mode.
+   * @return The per-item results, in the order of the pager.
+   */
+  public List<BulkOperationResult<DeleteFileResponse>> bulkDelete(
+      Pager<File> pager, BulkOperationConfig config) {
+    return bulkDelete(BulkOperations.names(pager, File::name), config);
+  }
+
+  /**
+   * Gets many files with bounded concurrency.
+   *
+   * @param names The names of the files.
+   * @param config A {@link BulkOperationConfig} for the concurrency, 429 backoff and dry-run mode.
+   * @return The per-item results, in the order of {@code names}.
+   */
+  public List<BulkOperationResult<File>> bulkGet(
+      Iterable<String> names, BulkOperationConfig config) {
+    return BulkOperations.runBlocking(names, name -> get(name, null), config);
+  }
 }
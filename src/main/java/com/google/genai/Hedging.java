@@ -0,0 +1,351 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.genai.types.HttpHedgingOptions;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Hedges the calls configured with {@link HttpHedgingOptions}: sends a second attempt of a call
+ * that has not answered in time, uses whichever response arrives first and cancels the other.
+ *
+ * <p>Only non-streaming {@code generateContent}, {@code embedContent} and {@code countTokens}
+ * calls are hedged, as they are idempotent and short. Each attempt goes through the whole
+ * interceptor chain, with its own retries. One instance serves a client, and keeps the recent
+ * latencies of each method and model, from which the delay of the second attempt is computed, and
+ * the budget that caps how many calls are hedged.
+ */
+final class Hedging {
+
+  // Default hedging options.
+  static final double HEDGING_DELAY_PERCENTILE = 95.0;
+  static final double HEDGING_INITIAL_DELAY = 1.0; // in seconds
+  static final double HEDGING_BUDGET_RATIO = 0.1;
+
+  private static final Pattern HEDGEABLE_METHOD =
+      Pattern.compile(".*:(generateContent|embedContent|countTokens)");
+  // The latencies kept per method and model, and how many are needed to compute a percentile.
+  private static final int WINDOW = 256;
+  private static final int MIN_SAMPLES = 20;
+  // How many hedges the budget can save up, so that a burst of slow calls can all be hedged.
+  private static final double MAX_BUDGET = 10;
+
+  private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+  private final Budget budget = new Budget();
+
+  /** Returns whether the given request is one that can be hedged. */
+  static boolean isHedgeable(Request request) {
+    List<String> segments = request.url().pathSegments();
+    return request.method().equals("POST")
+        && HEDGEABLE_METHOD.matcher(segments.get(segments.size() - 1)).matches();
+  }
+
+  /**
+   * Executes the given request, hedging it, and waits for the first response. The first attempt
+   * runs on the calling thread, like a call that is not hedged, and only the second attempt is
+   * enqueued, as {@code hedgeRequest}, which carries the tags of an asynchronous call.
+   */
+  Response execute(
+      OkHttpClient client, Request request, Request hedgeRequest, HttpHedgingOptions options)
+      throws IOException {
+    Attempts attempts = start(client, request, hedgeRequest, options);
+    try {
+      attempts.onResponse(attempts.primary, attempts.primary.execute());
+    } catch (IOException e) {
+      attempts.onFailure(attempts.primary, e);
+    } catch (RuntimeException e) {
+      attempts.result.completeExceptionally(e);
+      attempts.cancel(attempts.primary);
+      throw e;
+    }
+    try {
+      return attempts.result.get();
+    } catch (InterruptedException e) {
+      attempts.result.cancel(false);
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Hedged call was interrupted.");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    }
+  }
+
+  /**
+   * Enqueues the given request, hedging it. Cancelling the returned future cancels the attempts.
+   */
+  CompletableFuture<Response> enqueue(
+      OkHttpClient client, Request request, HttpHedgingOptions options) {
+    Attempts attempts = start(client, request, request, options);
+    attempts.primary.enqueue(attempts);
+    return attempts.result;
+  }
+
+  /** Returns the attempts of a call, with the second one scheduled but not the first. */
+  private Attempts start(
+      OkHttpClient client, Request request, Request hedgeRequest, HttpHedgingOptions options) {
+    budget.deposit(
+        Math.min(1, Math.max(0, options.budgetRatio().orElse(HEDGING_BUDGET_RATIO))));
+
+    String key = request.url().encodedPath();
+    LatencyWindow window = latencies.computeIfAbsent(key, k -> new LatencyWindow());
+    double percentile = options.delayPercentile().orElse(HEDGING_DELAY_PERCENTILE);
+    long delayNanos =
+        window
+            .percentile(Math.min(100, Math.max(0, percentile)))
+            .orElse((long) (options.initialDelay().orElse(HEDGING_INITIAL_DELAY) * 1e9));
+
+    Attempts attempts =
+        new Attempts(client, request, hedgeRequest(hedgeRequest, options), window);
+    attempts.start(delayNanos);
+    return attempts;
+  }
+
+  /** Returns the second attempt of the given request, sent to the hedging base URL if any. */
+  private static Request hedgeRequest(Request request, HttpHedgingOptions options) {
+    Request.Builder hedge = request.newBuilder();
+    if (options.baseUrl().isPresent()) {
+      HttpUrl base = HttpUrl.get(options.baseUrl().get());
+      hedge.url(
+          request
+              .url()
+              .newBuilder()
+              .scheme(base.scheme())
+              .host(base.host())
+              .port(base.port())
+              .build());
+    }
+    return hedge.build();
+  }
+
+  /** The attempts of one hedged call, which race to complete its result. */
+  private final class Attempts implements Callback {
+    final CompletableFuture<Response> result = new CompletableFuture<>();
+    private final OkHttpClient client;
+    private final Request hedgeRequest;
+    private final LatencyWindow window;
+    private final long startNanos = System.nanoTime();
+    final Call primary;
+    // Guarded by this.
+    private final List<Call> calls = new ArrayList<>(2);
+    private int inFlight = 0;
+    private @Nullable Response fallback;
+    private @Nullable ScheduledFuture<?> timer;
+
+    Attempts(OkHttpClient client, Request request, Request hedgeRequest, LatencyWindow window) {
+      this.client = client;
+      this.hedgeRequest = hedgeRequest;
+      this.window = window;
+      this.primary = client.newCall(request);
+    }
+
+    void start(long delayNanos) {
+      synchronized (this) {
+        calls.add(primary);
+        inFlight++;
+      }
+      result.whenComplete(
+          (response, error) -> {
+            if (result.isCancelled()) {
+              cancel(null);
+            }
+          });
+      ScheduledFuture<?> scheduled =
+          Scheduler.INSTANCE.schedule(this::hedge, delayNanos, TimeUnit.NANOSECONDS);
+      synchronized (this) {
+        timer = scheduled;
+        if (result.isDone()) {
+          scheduled.cancel(false);
+        }
+      }
+    }
+
+    private void hedge() {
+      Call hedge;
+      synchronized (this) {
+        if (result.isDone() || inFlight == 0 || !budget.tryAcquire()) {
+          return;
+        }
+        Request request = hedgeRequest;
+        if (request.tag(RequestHooks.Enqueued.class) != null) {
+          // The hedge is enqueued later than the original.
+          request =
+              request
+                  .newBuilder()
+                  .tag(RequestHooks.Enqueued.class, new RequestHooks.Enqueued(System.nanoTime()))
+                  .build();
+        }
+        hedge = client.newCall(request);
+        calls.add(hedge);
+        inFlight++;
+      }
+      hedge.enqueue(this);
+    }
+
+    @Override
+    public void onResponse(Call call, Response response) {
+      synchronized (this) {
+        inFlight--;
+        if (result.isDone()) {
+          response.close();
+          return;
+        }
+        if (!response.isSuccessful() && inFlight > 0) {
+          // Another attempt may still succeed; keep this response in case it does not.
+          if (fallback != null) {
+            fallback.close();
+          }
+          fallback = response;
+          return;
+        }
+      }
+      if (response.isSuccessful()) {
+        window.record(System.nanoTime() - startNanos);
+      }
+      finish(call, response, null);
+    }
+
+    @Override
+    public void onFailure(Call call, IOException e) {
+      Response response;
+      synchronized (this) {
+        inFlight--;
+        if (result.isDone() || inFlight > 0) {
+          return;
+        }
+        response = fallback;
+        fallback = null;
+      }
+      finish(call, response, response == null ? e : null);
+    }
+
+    private void finish(Call winner, @Nullable Response response, @Nullable IOException error) {
+      boolean completed =
+          response != null ? result.complete(response) : result.completeExceptionally(error);
+      if (!completed && response != null) {
+        response.close();
+      }
+      cancel(winner);
+    }
+
+    /** Cancels the timer and every attempt other than the given one. */
+    void cancel(@Nullable Call winner) {
+      List<Call> losers;
+      Response unused;
+      synchronized (this) {
+        if (timer != null) {
+          timer.cancel(false);
+        }
+        losers = new ArrayList<>(calls);
+        unused = fallback;
+        fallback = null;
+      }
+      if (unused != null) {
+        unused.close();
+      }
+      for (Call call : losers) {
+        if (call != winner) {
+          call.cancel();
+        }
+      }
+    }
+  }
+
+  /** The latencies of the last calls of a method and model. */
+  static final class LatencyWindow {
+    private final long[] nanos = new long[WINDOW];
+    private long count = 0;
+
+    synchronized void record(long latencyNanos) {
+      nanos[(int) (count++ % WINDOW)] = latencyNanos;
+    }
+
+    /** Returns the given percentile of the recorded latencies, if there are enough of them. */
+    Optional<Long> percentile(double percentile) {
+      long[] sorted;
+      synchronized (this) {
+        if (count < MIN_SAMPLES) {
+          return Optional.empty();
+        }
+        sorted = Arrays.copyOf(nanos, (int) Math.min(count, WINDOW));
+      }
+      Arrays.sort(sorted);
+      int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+      return Optional.of(sorted[Math.max(0, rank - 1)]);
+    }
+  }
+
+  /** A budget that earns a fraction of a hedge per call and spends a whole one per hedge. */
+  static final class Budget {
+    private double hedges = MAX_BUDGET;
+
+    synchronized void deposit(double ratio) {
+      hedges = Math.min(MAX_BUDGET, hedges + ratio);
+    }
+
+    synchronized boolean tryAcquire() {
+      if (hedges < 1) {
+        return false;
+      }
+      hedges -= 1;
+      return true;
+    }
+  }
+
+  /** Schedules the second attempts, on a daemon thread shared by all clients. */
+  private static final class Scheduler {
+    static final ScheduledThreadPoolExecutor INSTANCE = create();
+
+    private static ScheduledThreadPoolExecutor create() {
+      ScheduledThreadPoolExecutor executor =
+          new ScheduledThreadPoolExecutor(
+              1,
+              new ThreadFactoryBuilder()
+                  .setDaemon(true)
+                  .setNameFormat("genai-hedging-%d")
+                  .build());
+      // Most timers are cancelled, as most calls answer in time.
+      executor.setRemoveOnCancelPolicy(true);
+      return executor;
+    }
+  }
+}
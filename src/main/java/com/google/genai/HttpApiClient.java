@@ -20,6 +20,7 @@ import com.google.api.core.InternalApi;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.genai.errors.GenAiIOException;
 import com.google.genai.types.ClientOptions;
+import com.google.genai.types.HttpHedgingOptions;
 import com.google.genai.types.HttpOptions;
 import java.io.IOException;
 import java.time.Duration;
@@ -35,12 +36,16 @@ import okhttp3.Response;
 @InternalApi
 public class HttpApiClient extends ApiClient {
 
+  private final boolean observed;
+  private final Hedging hedging = new Hedging();
+
   /** Constructs an ApiClient for Google AI APIs. */
   public HttpApiClient(
       Optional<String> apiKey,
       Optional<HttpOptions> httpOptions,
       Optional<ClientOptions> clientOptions) {
     super(apiKey, httpOptions, clientOptions);
+    this.observed = hasRequestHooks();
   }
 
   /** Constructs an ApiClient for Vertex AI APIs. */
@@ -52,6 +57,7 @@ public class HttpApiClient extends ApiClient {
       Optional<HttpOptions> httpOptions,
       Optional<ClientOptions> clientOptions) {
     super(apiKey, project, location, credentials, httpOptions, clientOptions);
+    this.observed = hasRequestHooks();
   }
 
   /**
@@ -89,6 +95,13 @@ public class HttpApiClient extends ApiClient {
                 .callTimeout(Duration.ofMillis(requestOptions.timeout().get()))
                 .build();
       }
+      HttpHedgingOptions hedgingOptions = request.tag(HttpHedgingOptions.class);
+      if (hedgingOptions != null && Hedging.isHedgeable(request)) {
+        // Only the second attempt goes through the dispatcher.
+        Request hedgeRequest = observed ? tagForDispatcher(request) : request;
+        return new HttpApiResponse(
+            hedging.execute(client, request, hedgeRequest, hedgingOptions));
+      }
       return new HttpApiResponse(client.newCall(request).execute());
     } catch (IOException e) {
       throw new GenAiIOException("Failed to execute HTTP request.", e);
@@ -121,6 +134,26 @@ public class HttpApiClient extends ApiClient {
     return asyncExecuteRequest(buildRequest(httpMethod, url, requestBytes, requestHttpOptions));
   }
 
+  private boolean hasRequestHooks() {
+    return httpClient.interceptors().stream().anyMatch(RequestHooks.class::isInstance);
+  }
+
+  /**
+   * Lets the request hooks measure how long the call waits for the dispatcher, and lets the call be
+   * traced under the span it is made in, which is lost on the dispatcher thread.
+   */
+  private Request tagForDispatcher(Request request) {
+    Request.Builder tagged =
+        request
+            .newBuilder()
+            .tag(RequestHooks.Enqueued.class, new RequestHooks.Enqueued(System.nanoTime()));
+    TraceRecorder.Span parent = tracing != null ? tracing.parent() : null;
+    if (parent != null) {
+      tagged.tag(TraceRecorder.Span.class, parent);
+    }
+    return tagged.build();
+  }
+
   /** Executes the given HTTP request asynchronously, this method is non-blocking. */
   private CompletableFuture<ApiResponse> asyncExecuteRequest(Request request) {
     CompletableFuture<ApiResponse> future = new CompletableFuture<>();
@@ -135,6 +168,26 @@ public class HttpApiClient extends ApiClient {
               .build();
     }
 
+    if (observed) {
+      request = tagForDispatcher(request);
+    }
+
+    HttpHedgingOptions hedgingOptions = request.tag(HttpHedgingOptions.class);
+    if (hedgingOptions != null && Hedging.isHedgeable(request)) {
+      hedging
+          .enqueue(client, request, hedgingOptions)
+          .whenComplete(
+              (response, error) -> {
+                if (response != null) {
+                  future.complete(new HttpApiResponse(response));
+                } else {
+                  future.completeExceptionally(
+                      new GenAiIOException("Failed to execute HTTP request.", error));
+                }
+              });
+      return future;
+    }
+
     client
         .newCall(request)
         .enqueue(
@@ -20,6 +20,7 @@ import com.google.genai.errors.ApiException;
 import okhttp3.Headers;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
+import org.jspecify.annotations.Nullable;
 
 /** Wraps a real HTTP response to expose the methods needed by the GenAI SDK. */
 final class HttpApiResponse extends ApiResponse {
@@ -44,6 +45,11 @@ final class HttpApiResponse extends ApiResponse {
     return response.headers();
   }
 
+  @Override
+  RequestHooks.@Nullable Call hookCall() {
+    return response.request().tag(RequestHooks.Call.class);
+  }
+
   /** Closes the Http response. */
   @Override
   public void close() {
@@ -0,0 +1,810 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.genai.gaos.models.interactions.Annotation;
+import com.google.genai.gaos.models.interactions.ArgumentsDelta;
+import com.google.genai.gaos.models.interactions.AudioContent;
+import com.google.genai.gaos.models.interactions.AudioContentMimeType;
+import com.google.genai.gaos.models.interactions.AudioDelta;
+import com.google.genai.gaos.models.interactions.Content;
+import com.google.genai.gaos.models.interactions.ErrorEvent;
+import com.google.genai.gaos.models.interactions.FunctionCallStep;
+import com.google.genai.gaos.models.interactions.ImageContent;
+import com.google.genai.gaos.models.interactions.ImageContentMimeType;
+import com.google.genai.gaos.models.interactions.ImageDelta;
+import com.google.genai.gaos.models.interactions.Interaction;
+import com.google.genai.gaos.models.interactions.InteractionCompletedEvent;
+import com.google.genai.gaos.models.interactions.InteractionCreatedEvent;
+import com.google.genai.gaos.models.interactions.InteractionSSEEvent;
+import com.google.genai.gaos.models.interactions.InteractionSSEStreamEvent;
+import com.google.genai.gaos.models.interactions.InteractionSseEventInteraction;
+import com.google.genai.gaos.models.interactions.InteractionStatus;
+import com.google.genai.gaos.models.interactions.InteractionStatusUpdate;
+import com.google.genai.gaos.models.interactions.ModelOutputStep;
+import com.google.genai.gaos.models.interactions.Step;
+import com.google.genai.gaos.models.interactions.StepDelta;
+import com.google.genai.gaos.models.interactions.StepDeltaData;
+import com.google.genai.gaos.models.interactions.StepDeltaMetadata;
+import com.google.genai.gaos.models.interactions.StepStart;
+import com.google.genai.gaos.models.interactions.StepStop;
+import com.google.genai.gaos.models.interactions.TextAnnotationDelta;
+import com.google.genai.gaos.models.interactions.TextContent;
+import com.google.genai.gaos.models.interactions.TextDelta;
+import com.google.genai.gaos.models.interactions.ThoughtSignatureDelta;
+import com.google.genai.gaos.models.interactions.ThoughtStep;
+import com.google.genai.gaos.models.interactions.ThoughtSummaryContent;
+import com.google.genai.gaos.models.interactions.ThoughtSummaryDelta;
+import com.google.genai.gaos.models.interactions.Usage;
+import com.google.genai.gaos.models.interactions.VideoContent;
+import com.google.genai.gaos.models.interactions.VideoContentMimeType;
+import com.google.genai.gaos.models.interactions.VideoDelta;
+import com.google.genai.gaos.utils.Utils;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * Folds the events of an interaction stream into a live snapshot of the interaction.
+ *
+ * <p>Each delta is appended to a per-step buffer in constant time: text, thought summaries and
+ * function call arguments go to append-only chunk lists, and media data is decoded into chunks of
+ * bytes, so a long stream never concatenates strings. The getters return views that share those
+ * buffers, so reading the snapshot, even while the stream is running, copies nothing; a view keeps
+ * the length it had when it was taken. {@link #toInteraction()} materializes the whole {@link
+ * Interaction}, which costs a copy of the accumulated content.
+ *
+ * <pre>{@code
+ * InteractionAccumulator accumulator = new InteractionAccumulator();
+ * for (InteractionSSEStreamEvent event : stream) {
+ *   accumulator.accept(event);
+ *   render(accumulator.outputText());
+ * }
+ * Interaction interaction = accumulator.toInteraction();
+ * }</pre>
+ *
+ * <p>Events are accepted from one thread at a time, while the snapshot can be read from any thread.
+ */
+public final class InteractionAccumulator implements Consumer<InteractionSSEStreamEvent> {
+
+  private final ConcurrentSkipListMap<Integer, StepState> steps = new ConcurrentSkipListMap<>();
+  private final Chunks<com.google.genai.gaos.models.interactions.Error> errors = new Chunks<>();
+  private volatile String interactionId;
+  private volatile String status;
+  private volatile Usage usage;
+  private volatile InteractionSseEventInteraction interaction;
+
+  /** Creates an empty accumulator. */
+  public InteractionAccumulator() {}
+
+  /** Returns an accumulator that has accepted every event of the given stream. */
+  public static InteractionAccumulator accumulate(Iterable<InteractionSSEStreamEvent> events) {
+    checkNotNull(events, "events cannot be null");
+    InteractionAccumulator accumulator = new InteractionAccumulator();
+    for (InteractionSSEStreamEvent event : events) {
+      accumulator.accept(event);
+    }
+    return accumulator;
+  }
+
+  /** Folds an event of the stream into the snapshot. */
+  @Override
+  public void accept(InteractionSSEStreamEvent event) {
+    checkNotNull(event, "event cannot be null");
+    event.data().ifPresent(this::accept);
+  }
+
+  /** Folds an event into the snapshot. Events of unknown types are ignored. */
+  public void accept(InteractionSSEEvent event) {
+    checkNotNull(event, "event cannot be null");
+    if (event instanceof StepDelta) {
+      StepDelta stepDelta = (StepDelta) event;
+      StepState step = step(stepDelta.index());
+      stepDelta.delta().ifPresent(step::apply);
+      stepDelta.metadata().flatMap(StepDeltaMetadata::totalUsage).ifPresent(u -> usage = u);
+    } else if (event instanceof StepStart) {
+      StepStart stepStart = (StepStart) event;
+      step(stepStart.index()).start = stepStart.step().orElse(null);
+    } else if (event instanceof StepStop) {
+      StepStop stepStop = (StepStop) event;
+      StepState step = step(stepStop.index());
+      step.usage = stepStop.stepUsage().orElse(null);
+      step.complete = true;
+      stepStop.usage().ifPresent(u -> usage = u);
+    } else if (event instanceof InteractionStatusUpdate) {
+      InteractionStatusUpdate statusUpdate = (InteractionStatusUpdate) event;
+      statusUpdate.interactionId().ifPresent(id -> interactionId = id);
+      statusUpdate.status().ifPresent(s -> status = s.value());
+    } else if (event instanceof InteractionCreatedEvent) {
+      ((InteractionCreatedEvent) event).interaction().ifPresent(this::applyInteraction);
+    } else if (event instanceof InteractionCompletedEvent) {
+      ((InteractionCompletedEvent) event).interaction().ifPresent(this::applyInteraction);
+    } else if (event instanceof ErrorEvent) {
+      ((ErrorEvent) event).error().ifPresent(error -> errors.add(error, 1));
+    }
+  }
+
+  private void applyInteraction(InteractionSseEventInteraction interaction) {
+    this.interaction = interaction;
+    interaction.id().ifPresent(id -> interactionId = id);
+    interaction.status().ifPresent(s -> status = s.value());
+    interaction.usage().ifPresent(u -> usage = u);
+  }
+
+  private StepState step(Optional<Integer> index) {
+    return steps.computeIfAbsent(index.orElse(0), StepState::new);
+  }
+
+  /** Returns the id of the interaction, once the stream has reported it. */
+  public Optional<String> interactionId() {
+    return Optional.ofNullable(interactionId);
+  }
+
+  /** Returns the latest status of the interaction. */
+  public Optional<InteractionStatus> status() {
+    String current = status;
+    return current == null ? Optional.empty() : Optional.of(InteractionStatus.of(current));
+  }
+
+  /** Returns the latest total usage reported by the stream. */
+  public Optional<Usage> usage() {
+    return Optional.ofNullable(usage);
+  }
+
+  /** Returns the errors reported by the stream. */
+  public List<com.google.genai.gaos.models.interactions.Error> errors() {
+    return errors.view().asList();
+  }
+
+  /** Returns the steps seen so far, ordered by index. */
+  public List<StepSnapshot> steps() {
+    List<StepSnapshot> snapshots = new ArrayList<>(steps.size());
+    for (StepState step : steps.values()) {
+      snapshots.add(step.snapshot());
+    }
+    return Collections.unmodifiableList(snapshots);
+  }
+
+  /** Returns the step with the given index, if the stream has reported it. */
+  public Optional<StepSnapshot> step(int index) {
+    StepState step = steps.get(index);
+    return step == null ? Optional.empty() : Optional.of(step.snapshot());
+  }
+
+  /** Returns the text of the latest step that has text, or an empty sequence. */
+  public CharSequence outputText() {
+    for (StepState step : steps.descendingMap().values()) {
+      CharSequence text = step.text.text();
+      if (text.length() > 0) {
+        return text;
+      }
+    }
+    return "";
+  }
+
+  /**
+   * Materializes the snapshot as an {@link Interaction}, merging the deltas of every step into the
+   * step that started it. Unlike the other getters, this copies the accumulated content.
+   */
+  public Interaction toInteraction() {
+    List<Step> materializedSteps = new ArrayList<>(steps.size());
+    for (StepState step : steps.values()) {
+      step.snapshot().toStep().ifPresent(materializedSteps::add);
+    }
+    Optional<InteractionStatus> currentStatus = status();
+    Usage currentUsage = usage;
+    InteractionSseEventInteraction current = interaction;
+    CharSequence outputText = outputText();
+    List<com.google.genai.gaos.models.interactions.Error> currentErrors = errors();
+    return Interaction.builder()
+        .id(interactionId)
+        .status(currentStatus.orElse(InteractionStatus.IN_PROGRESS))
+        .created(current == null ? null : current.created().orElse(null))
+        .updated(current == null ? null : current.updated().orElse(null))
+        .serviceTier(current == null ? null : current.serviceTier().orElse(null))
+        .usage(currentUsage)
+        .errors(currentErrors.isEmpty() ? null : new ArrayList<>(currentErrors))
+        .steps(materializedSteps)
+        .outputText(outputText.length() == 0 ? null : outputText.toString())
+        .build();
+  }
+
+  /** A read-only view of a step, as of the time it was taken. */
+  public static final class StepSnapshot {
+    private final int index;
+    private final Optional<Step> start;
+    private final boolean complete;
+    private final Optional<Usage> usage;
+    private final CharSequence text;
+    private final CharSequence thoughtSummary;
+    private final CharSequence arguments;
+    private final Optional<String> signature;
+    private final List<Annotation> annotations;
+    private final List<ThoughtSummaryContent> summaryContents;
+    private final List<StepDeltaData> otherDeltas;
+    private final Optional<Media> audio;
+    private final Optional<Media> image;
+    private final Optional<Media> video;
+
+    private StepSnapshot(StepState step) {
+      this.index = step.index;
+      this.start = Optional.ofNullable(step.start);
+      this.complete = step.complete;
+      this.usage = Optional.ofNullable(step.usage);
+      this.text = step.text.text();
+      this.thoughtSummary = step.thoughtSummary.text();
+      this.arguments = step.arguments.text();
+      this.signature = Optional.ofNullable(step.signature);
+      this.annotations = step.annotations.view().asList();
+      this.summaryContents = step.summaryContents.view().asList();
+      this.otherDeltas = step.otherDeltas.view().asList();
+      this.audio = step.audio.media();
+      this.image = step.image.media();
+      this.video = step.video.media();
+    }
+
+    /** Returns the index of the step in the interaction. */
+    public int index() {
+      return index;
+    }
+
+    /** Returns the step as announced by its {@code step.start} event. */
+    public Optional<Step> start() {
+      return start;
+    }
+
+    /** Returns whether the stream has sent the {@code step.stop} event of the step. */
+    public boolean isComplete() {
+      return complete;
+    }
+
+    /** Returns the usage of the step, once it is complete. */
+    public Optional<Usage> usage() {
+      return usage;
+    }
+
+    /** Returns the text accumulated from the text deltas of the step. */
+    public CharSequence text() {
+      return text;
+    }
+
+    /** Returns the text accumulated from the thought summary deltas of the step. */
+    public CharSequence thoughtSummary() {
+      return thoughtSummary;
+    }
+
+    /** Returns the JSON accumulated from the function call argument deltas of the step. */
+    public CharSequence arguments() {
+      return arguments;
+    }
+
+    /** Returns the latest thought signature of the step. */
+    public Optional<String> signature() {
+      return signature;
+    }
+
+    /** Returns the text annotations of the step. */
+    public List<Annotation> annotations() {
+      return annotations;
+    }
+
+    /** Returns the audio accumulated from the audio deltas of the step. */
+    public Optional<Media> audio() {
+      return audio;
+    }
+
+    /** Returns the image accumulated from the image deltas of the step. */
+    public Optional<Media> image() {
+      return image;
+    }
+
+    /** Returns the video accumulated from the video deltas of the step. */
+    public Optional<Media> video() {
+      return video;
+    }
+
+    /**
+     * Returns the deltas the accumulator does not merge, such as tool call and tool result
+     * deltas, in the order they arrived.
+     */
+    public List<StepDeltaData> otherDeltas() {
+      return otherDeltas;
+    }
+
+    /**
+     * Materializes the step: model output gets the accumulated text and media as content, a thought
+     * gets the accumulated summary and signature, and a function call gets the accumulated
+     * arguments once they parse. Other steps are returned as they started.
+     */
+    public Optional<Step> toStep() {
+      Step step = start.orElse(null);
+      if (step instanceof ThoughtStep || (step == null && thoughtSummary.length() > 0)) {
+        return Optional.of(toThoughtStep((ThoughtStep) step));
+      }
+      if (step instanceof FunctionCallStep) {
+        return Optional.of(toFunctionCallStep((FunctionCallStep) step));
+      }
+      if (step instanceof ModelOutputStep
+          || (step == null
+              && (text.length() > 0
+                  || audio.isPresent()
+                  || image.isPresent()
+                  || video.isPresent()))) {
+        return Optional.of(toModelOutputStep((ModelOutputStep) step));
+      }
+      return start;
+    }
+
+    private Step toModelOutputStep(ModelOutputStep step) {
+      List<Content> content = new ArrayList<>();
+      if (step != null) {
+        step.content().ifPresent(content::addAll);
+      }
+      if (text.length() > 0) {
+        content.add(
+            TextContent.builder()
+                .text(text.toString())
+                .annotations(annotations.isEmpty() ? null : new ArrayList<>(annotations))
+                .build());
+      }
+      audio.ifPresent(
+          media ->
+              content.add(
+                  AudioContent.builder()
+                      .data(media.size() == 0 ? null : media.toBase64())
+                      .uri(media.uri().orElse(null))
+                      .mimeType(media.mimeType().map(AudioContentMimeType::of).orElse(null))
+                      .channels(media.channels().orElse(null))
+                      .sampleRate(media.sampleRate().orElse(null))
+                      .build()));
+      image.ifPresent(
+          media ->
+              content.add(
+                  ImageContent.builder()
+                      .data(media.size() == 0 ? null : media.toBase64())
+                      .uri(media.uri().orElse(null))
+                      .mimeType(media.mimeType().map(ImageContentMimeType::of).orElse(null))
+                      .build()));
+      video.ifPresent(
+          media ->
+              content.add(
+                  VideoContent.builder()
+                      .data(media.size() == 0 ? null : media.toBase64())
+                      .uri(media.uri().orElse(null))
+                      .mimeType(media.mimeType().map(VideoContentMimeType::of).orElse(null))
+                      .build()));
+      return ModelOutputStep.builder()
+          .content(content)
+          .error(step == null ? null : step.error().orElse(null))
+          .build();
+    }
+
+    private Step toThoughtStep(ThoughtStep step) {
+      List<ThoughtSummaryContent> summary = new ArrayList<>();
+      if (step != null) {
+        step.summary().ifPresent(summary::addAll);
+      }
+      if (thoughtSummary.length() > 0) {
+        summary.add(TextContent.builder().text(thoughtSummary.toString()).build());
+      }
+      summary.addAll(summaryContents);
+      return ThoughtStep.builder()
+          .signature(signature.orElse(step == null ? null : step.signature().orElse(null)))
+          .summary(summary.isEmpty() ? null : summary)
+          .build();
+    }
+
+    private Step toFunctionCallStep(FunctionCallStep step) {
+      if (arguments.length() == 0) {
+        return step;
+      }
+      Map<String, Object> parsedArguments;
+      try {
+        parsedArguments =
+            Utils.mapper()
+                .readValue(arguments.toString(), new TypeReference<Map<String, Object>>() {});
+      } catch (IOException e) {
+        // The arguments are incomplete while the step is running.
+        return step;
+      }
+      return FunctionCallStep.builder()
+          .id(step.id().orElse(""))
+          .name(step.name().orElse(""))
+          .arguments(parsedArguments)
+          .build();
+    }
+  }
+
+  /** A read-only view of the media accumulated from the deltas of one kind in a step. */
+  public static final class Media {
+    private final ChunksView<byte[]> chunks;
+    private final Optional<String> mimeType;
+    private final Optional<String> uri;
+    private final Optional<Integer> channels;
+    private final Optional<Integer> sampleRate;
+
+    private Media(
+        ChunksView<byte[]> chunks,
+        Optional<String> mimeType,
+        Optional<String> uri,
+        Optional<Integer> channels,
+        Optional<Integer> sampleRate) {
+      this.chunks = chunks;
+      this.mimeType = mimeType;
+      this.uri = uri;
+      this.channels = channels;
+      this.sampleRate = sampleRate;
+    }
+
+    /** Returns the number of decoded bytes. */
+    public long size() {
+      return chunks.total();
+    }
+
+    /** Returns the latest MIME type of the deltas. */
+    public Optional<String> mimeType() {
+      return mimeType;
+    }
+
+    /** Returns the latest URI of the deltas, for media that is not sent inline. */
+    public Optional<String> uri() {
+      return uri;
+    }
+
+    /** Returns the number of audio channels, for audio. */
+    public Optional<Integer> channels() {
+      return channels;
+    }
+
+    /** Returns the sample rate, for audio. */
+    public Optional<Integer> sampleRate() {
+      return sampleRate;
+    }
+
+    /** Returns a stream over the decoded bytes that reads the chunks in place. */
+    public InputStream openStream() {
+      return new SequenceInputStream(
+          new Enumeration<InputStream>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasMoreElements() {
+              return next < chunks.count;
+            }
+
+            @Override
+            public InputStream nextElement() {
+              return new ByteArrayInputStream(chunks.get(next++));
+            }
+          });
+    }
+
+    /** Returns a copy of the decoded bytes. */
+    public byte[] toByteArray() {
+      byte[] bytes = new byte[Math.toIntExact(size())];
+      int offset = 0;
+      for (int i = 0; i < chunks.count; i++) {
+        byte[] chunk = chunks.get(i);
+        System.arraycopy(chunk, 0, bytes, offset, chunk.length);
+        offset += chunk.length;
+      }
+      return bytes;
+    }
+
+    /** Returns the decoded bytes encoded as Base64, as the API sends media inline. */
+    public String toBase64() {
+      return Base64.getEncoder().encodeToString(toByteArray());
+    }
+  }
+
+  /** The accumulated state of a step. Written by the accepting thread only. */
+  private static final class StepState {
+    final int index;
+    final TextBuffer text = new TextBuffer();
+    final TextBuffer thoughtSummary = new TextBuffer();
+    final TextBuffer arguments = new TextBuffer();
+    final MediaBuffer audio = new MediaBuffer();
+    final MediaBuffer image = new MediaBuffer();
+    final MediaBuffer video = new MediaBuffer();
+    final Chunks<Annotation> annotations = new Chunks<>();
+    final Chunks<ThoughtSummaryContent> summaryContents = new Chunks<>();
+    final Chunks<StepDeltaData> otherDeltas = new Chunks<>();
+    volatile Step start;
+    volatile String signature;
+    volatile Usage usage;
+    volatile boolean complete = false;
+
+    StepState(int index) {
+      this.index = index;
+    }
+
+    void apply(StepDeltaData delta) {
+      if (delta instanceof TextDelta) {
+        ((TextDelta) delta).text().ifPresent(text::append);
+      } else if (delta instanceof ThoughtSummaryDelta) {
+        Content content = ((ThoughtSummaryDelta) delta).content().orElse(null);
+        if (content instanceof TextContent) {
+          ((TextContent) content).text().ifPresent(thoughtSummary::append);
+        } else if (content instanceof ThoughtSummaryContent) {
+          summaryContents.add((ThoughtSummaryContent) content, 1);
+        }
+      } else if (delta instanceof ArgumentsDelta) {
+        ((ArgumentsDelta) delta).arguments().ifPresent(arguments::append);
+      } else if (delta instanceof ThoughtSignatureDelta) {
+        ((ThoughtSignatureDelta) delta).signature().ifPresent(s -> signature = s);
+      } else if (delta instanceof TextAnnotationDelta) {
+        for (Annotation annotation :
+            ((TextAnnotationDelta) delta).annotations().orElse(Collections.emptyList())) {
+          annotations.add(annotation, 1);
+        }
+      } else if (delta instanceof AudioDelta) {
+        AudioDelta audioDelta = (AudioDelta) delta;
+        audio.append(
+            audioDelta.data(),
+            audioDelta.mimeType().map(m -> m.value()),
+            audioDelta.uri(),
+            audioDelta.channels(),
+            audioDelta.sampleRate());
+      } else if (delta instanceof ImageDelta) {
+        ImageDelta imageDelta = (ImageDelta) delta;
+        image.append(
+            imageDelta.data(),
+            imageDelta.mimeType().map(m -> m.value()),
+            imageDelta.uri(),
+            Optional.empty(),
+            Optional.empty());
+      } else if (delta instanceof VideoDelta) {
+        VideoDelta videoDelta = (VideoDelta) delta;
+        video.append(
+            videoDelta.data(),
+            videoDelta.mimeType().map(m -> m.value()),
+            videoDelta.uri(),
+            Optional.empty(),
+            Optional.empty());
+      } else {
+        otherDeltas.add(delta, 1);
+      }
+    }
+
+    StepSnapshot snapshot() {
+      return new StepSnapshot(this);
+    }
+  }
+
+  /** Text built from appended chunks, without concatenating them. */
+  private static final class TextBuffer {
+    private final Chunks<String> chunks = new Chunks<>();
+
+    void append(String chunk) {
+      if (!chunk.isEmpty()) {
+        chunks.add(chunk, chunk.length());
+      }
+    }
+
+    CharSequence text() {
+      ChunksView<String> view = chunks.view();
+      return new TextView(view, 0, Math.toIntExact(view.total()));
+    }
+  }
+
+  /** Media built from Base64 chunks, decoded as they arrive. */
+  private static final class MediaBuffer {
+    private final Chunks<byte[]> chunks = new Chunks<>();
+    // The characters of the latest chunk that don't fill a Base64 quantum yet.
+    private String carry = "";
+    private volatile boolean present = false;
+    private volatile String mimeType;
+    private volatile String uri;
+    private volatile Integer channels;
+    private volatile Integer sampleRate;
+
+    void append(
+        Optional<String> data,
+        Optional<String> mimeType,
+        Optional<String> uri,
+        Optional<Integer> channels,
+        Optional<Integer> sampleRate) {
+      if (data.isPresent()) {
+        String encoded = carry + data.get();
+        int usable = encoded.length() - encoded.length() % 4;
+        carry = encoded.substring(usable);
+        if (usable > 0) {
+          byte[] decoded = Base64.getDecoder().decode(encoded.substring(0, usable));
+          chunks.add(decoded, decoded.length);
+        }
+      }
+      mimeType.ifPresent(m -> this.mimeType = m);
+      uri.ifPresent(u -> this.uri = u);
+      channels.ifPresent(c -> this.channels = c);
+      sampleRate.ifPresent(r -> this.sampleRate = r);
+      present = true;
+    }
+
+    Optional<Media> media() {
+      if (!present) {
+        return Optional.empty();
+      }
+      return Optional.of(
+          new Media(
+              chunks.view(),
+              Optional.ofNullable(mimeType),
+              Optional.ofNullable(uri),
+              Optional.ofNullable(channels),
+              Optional.ofNullable(sampleRate)));
+    }
+  }
+
+  /**
+   * An append-only list written by one thread. Each append publishes a new view, which shares the
+   * storage of the list: slots below the count of a view are never written again.
+   */
+  private static final class Chunks<T> {
+    private Object[] items = new Object[4];
+    private long[] ends = new long[4];
+    private volatile ChunksView<T> view = new ChunksView<>(items, ends, 0);
+
+    /** Appends an item, which adds the given weight to the total of the list. */
+    void add(T item, long weight) {
+      ChunksView<T> current = view;
+      int count = current.count;
+      if (count == items.length) {
+        items = Arrays.copyOf(items, count * 2);
+        ends = Arrays.copyOf(ends, count * 2);
+      }
+      items[count] = item;
+      ends[count] = current.total() + weight;
+      view = new ChunksView<>(items, ends, count + 1);
+    }
+
+    ChunksView<T> view() {
+      return view;
+    }
+  }
+
+  /** An immutable view of the first items of a {@link Chunks} list. */
+  private static final class ChunksView<T> {
+    final Object[] items;
+    final long[] ends;
+    final int count;
+
+    ChunksView(Object[] items, long[] ends, int count) {
+      this.items = items;
+      this.ends = ends;
+      this.count = count;
+    }
+
+    long total() {
+      return count == 0 ? 0 : ends[count - 1];
+    }
+
+    long start(int chunk) {
+      return chunk == 0 ? 0 : ends[chunk - 1];
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(int index) {
+      return (T) items[index];
+    }
+
+    /** Returns the index of the chunk holding the given offset. */
+    int chunkAt(long offset) {
+      int low = 0;
+      int high = count - 1;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (ends[middle] <= offset) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low;
+    }
+
+    List<T> asList() {
+      return new AbstractList<T>() {
+        @Override
+        public T get(int index) {
+          if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + count);
+          }
+          return ChunksView.this.get(index);
+        }
+
+        @Override
+        public int size() {
+          return count;
+        }
+      };
+    }
+  }
+
+  /** A character sequence over a range of text chunks. */
+  private static final class TextView implements CharSequence {
+    private final ChunksView<String> chunks;
+    private final int start;
+    private final int end;
+    private String string;
+
+    TextView(ChunksView<String> chunks, int start, int end) {
+      this.chunks = chunks;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    public int length() {
+      return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+      if (index < 0 || index >= length()) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", length: " + length());
+      }
+      long offset = start + index;
+      int chunk = chunks.chunkAt(offset);
+      return chunks.get(chunk).charAt((int) (offset - chunks.start(chunk)));
+    }
+
+    @Override
+    public CharSequence subSequence(int from, int to) {
+      checkPositionIndexes(from, to, length());
+      return new TextView(chunks, start + from, start + to);
+    }
+
+    @Override
+    public String toString() {
+      String result = string;
+      if (result == null) {
+        StringBuilder builder = new StringBuilder(length());
+        if (length() > 0) {
+          for (int chunk = chunks.chunkAt(start); chunk < chunks.count; chunk++) {
+            long chunkStart = chunks.start(chunk);
+            if (chunkStart >= end) {
+              break;
+            }
+            String text = chunks.get(chunk);
+            builder.append(
+                text,
+                (int) Math.max(0, start - chunkStart),
+                (int) Math.min(text.length(), end - chunkStart));
+          }
+        }
+        result = builder.toString();
+        string = result;
+      }
+      return result;
+    }
+  }
+}
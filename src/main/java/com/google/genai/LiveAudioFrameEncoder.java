@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import java.nio.charset.StandardCharsets;
+import okio.ByteString;
+
+/**
+ * Encodes audio chunks as {@code realtimeInput} messages of a live session.
+ *
+ * <p>The message is written byte by byte around the Base64 encoding of the audio, into a scratch
+ * buffer reused across calls, so a chunk costs a single allocation for the message itself. The
+ * message is JSON, so it is sent as a text frame, and has the same shape for the Gemini Developer
+ * API and Vertex AI.
+ */
+final class LiveAudioFrameEncoder {
+
+  private static final byte[] BASE64 =
+      "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/"
+          .getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] SUFFIX = "\"}}}".getBytes(StandardCharsets.US_ASCII);
+
+  private String cachedMimeType;
+  private byte[] cachedPrefix;
+  private byte[] scratch = new byte[0];
+
+  /** Returns the UTF-8 JSON message carrying {@code length} bytes of {@code data}. */
+  synchronized ByteString encode(byte[] data, int offset, int length, String mimeType) {
+    if (offset < 0 || length < 0 || offset > data.length - length) {
+      throw new IndexOutOfBoundsException(
+          String.format(
+              "offset %d and length %d are out of bounds for %d bytes.",
+              offset, length, data.length));
+    }
+    byte[] prefix = prefix(mimeType);
+    int size = prefix.length + 4 * ((length + 2) / 3) + SUFFIX.length;
+    if (scratch.length < size) {
+      scratch = new byte[Math.max(size, scratch.length * 2)];
+    }
+    System.arraycopy(prefix, 0, scratch, 0, prefix.length);
+    int position = encodeBase64(data, offset, length, scratch, prefix.length);
+    System.arraycopy(SUFFIX, 0, scratch, position, SUFFIX.length);
+    return ByteString.of(scratch, 0, size);
+  }
+
+  private byte[] prefix(String mimeType) {
+    if (!mimeType.equals(cachedMimeType)) {
+      cachedPrefix =
+          ("{\"realtimeInput\":{\"audio\":{\"mimeType\":"
+                  + JsonSerializable.toJsonString(mimeType)
+                  + ",\"data\":\"")
+              .getBytes(StandardCharsets.UTF_8);
+      cachedMimeType = mimeType;
+    }
+    return cachedPrefix;
+  }
+
+  /** Writes the padded Base64 encoding of the input to {@code out} and returns the end position. */
+  static int encodeBase64(byte[] in, int offset, int length, byte[] out, int position) {
+    int end = offset + length;
+    int i = offset;
+    for (; i + 2 < end; i += 3) {
+      int bits = (in[i] & 0xff) << 16 | (in[i + 1] & 0xff) << 8 | (in[i + 2] & 0xff);
+      out[position++] = BASE64[bits >>> 18];
+      out[position++] = BASE64[(bits >>> 12) & 0x3f];
+      out[position++] = BASE64[(bits >>> 6) & 0x3f];
+      out[position++] = BASE64[bits & 0x3f];
+    }
+    int remaining = end - i;
+    if (remaining == 1) {
+      int bits = (in[i] & 0xff) << 16;
+      out[position++] = BASE64[bits >>> 18];
+      out[position++] = BASE64[(bits >>> 12) & 0x3f];
+      out[position++] = '=';
+      out[position++] = '=';
+    } else if (remaining == 2) {
+      int bits = (in[i] & 0xff) << 16 | (in[i + 1] & 0xff) << 8;
+      out[position++] = BASE64[bits >>> 18];
+      out[position++] = BASE64[(bits >>> 12) & 0x3f];
+      out[position++] = BASE64[(bits >>> 6) & 0x3f];
+      out[position++] = '=';
+    }
+    return position;
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import com.google.genai.types.Content;
+import com.google.genai.types.LiveServerContent;
+import com.google.genai.types.LiveServerMessage;
+import com.google.genai.types.Part;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The messages of a live session, queued in order between the socket reader and the application.
+ * The live module is experimental.
+ *
+ * <p>The queue is bounded by {@link LiveReceiveConfig#capacity()}, and {@link
+ * LiveReceiveConfig#overflowPolicy()} decides what happens when the application falls behind.
+ * {@link #stats()} reports queue depth, drops and lag for monitoring.
+ *
+ * <pre>{@code
+ * LiveMessageQueue messages = session.receiveQueue(LiveReceiveConfig.builder().build());
+ * while (!messages.isDone()) {
+ *   messages.poll(Duration.ofMillis(100)).ifPresent(message -> ...);
+ * }
+ * }</pre>
+ */
+public final class LiveMessageQueue implements AutoCloseable {
+
+  private final BoundedMessageQueue<LiveServerMessage> queue;
+
+  LiveMessageQueue(BoundedMessageQueue<LiveServerMessage> queue) {
+    this.queue = queue;
+  }
+
+  /** Creates the queue used for the given configuration. */
+  static BoundedMessageQueue<LiveServerMessage> newQueue(LiveReceiveConfig config) {
+    return new BoundedMessageQueue<>(
+        config.capacity(), config.overflowPolicy(), LiveMessageQueue::isAudioOnly);
+  }
+
+  /** Returns whether the message only carries a chunk of model audio, and can be dropped. */
+  static boolean isAudioOnly(LiveServerMessage message) {
+    Optional<Content> turn = message.serverContent().flatMap(LiveServerContent::modelTurn);
+    if (!turn.isPresent()) {
+      return false;
+    }
+    LiveServerMessage audioOnly =
+        LiveServerMessage.builder()
+            .serverContent(LiveServerContent.builder().modelTurn(turn.get()).build())
+            .build();
+    if (!message.equals(audioOnly)) {
+      return false;
+    }
+    List<Part> parts = turn.get().parts().orElse(null);
+    if (parts == null || parts.isEmpty()) {
+      return false;
+    }
+    for (Part part : parts) {
+      boolean audio =
+          part.inlineData().isPresent()
+              && part.inlineData().get().mimeType().orElse("").startsWith("audio/")
+              && part.equals(Part.builder().inlineData(part.inlineData().get()).build());
+      if (!audio) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the next message if one is queued, without waiting.
+   *
+   * @throws com.google.genai.errors.GenAiIOException if every message has been taken and the
+   *     session failed, or the queue overflowed with {@link
+   *     LiveReceiveConfig.OverflowPolicy#FAIL}.
+   */
+  public Optional<LiveServerMessage> poll() {
+    return queue.poll();
+  }
+
+  /**
+   * Waits up to {@code timeout} for the next message.
+   *
+   * @return The next message, or an empty optional on timeout or once {@link #isDone()}.
+   * @throws com.google.genai.errors.GenAiIOException if every message has been taken and the
+   *     session failed, or the queue overflowed with {@link
+   *     LiveReceiveConfig.OverflowPolicy#FAIL}.
+   * @throws InterruptedException if the thread is interrupted while waiting.
+   */
+  public Optional<LiveServerMessage> poll(Duration timeout) throws InterruptedException {
+    return queue.poll(timeout);
+  }
+
+  /** Returns whether the session has ended and every message has been taken. */
+  public boolean isDone() {
+    return queue.isDone();
+  }
+
+  /** Returns the counters of this queue, for monitoring. */
+  public LiveReceiveStats stats() {
+    return new LiveReceiveStats(queue);
+  }
+
+  /**
+   * Discards the queued messages and ignores further ones. The session itself stays open; close it
+   * with {@link AsyncSession#close()}.
+   */
+  @Override
+  public void close() {
+    queue.close();
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+/** Configuration of the queue between a live session's socket and its consumer. */
+public final class LiveReceiveConfig {
+
+  /** What to do with an incoming message when the queue is full. */
+  public enum OverflowPolicy {
+    /**
+     * Waits until the consumer takes a message. The socket is not read in the meantime, so the
+     * server is slowed down by TCP flow control.
+     */
+    BLOCK,
+    /**
+     * Drops the oldest queued message that only carries model audio. If every queued message is a
+     * control message, drops the incoming message if it only carries audio, and otherwise fails
+     * like {@link #FAIL}, so control messages are never silently lost and the socket reader never
+     * waits.
+     */
+    DROP_OLDEST_AUDIO,
+    /**
+     * Fails the queue and closes the session: the consumer receives an error after the queued
+     * messages.
+     */
+    FAIL
+  }
+
+  private final int capacity;
+  private final OverflowPolicy overflowPolicy;
+  private final Optional<Executor> executor;
+
+  private LiveReceiveConfig(Builder builder) {
+    this.capacity = builder.capacity;
+    this.overflowPolicy = builder.overflowPolicy;
+    this.executor = builder.executor;
+  }
+
+  /** Returns a new {@link Builder}. */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Returns the maximum number of queued messages. */
+  public int capacity() {
+    return capacity;
+  }
+
+  /** Returns the policy applied when the queue is full. */
+  public OverflowPolicy overflowPolicy() {
+    return overflowPolicy;
+  }
+
+  /** Returns the executor that runs message callbacks, if set. */
+  public Optional<Executor> executor() {
+    return executor;
+  }
+
+  /** Builder for {@link LiveReceiveConfig}. */
+  public static final class Builder {
+    private int capacity = 256;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private Optional<Executor> executor = Optional.empty();
+
+    private Builder() {}
+
+    /** Sets the maximum number of queued messages. Defaults to 256. */
+    @CanIgnoreReturnValue
+    public Builder capacity(int capacity) {
+      checkArgument(capacity > 0, "capacity must be positive");
+      this.capacity = capacity;
+      return this;
+    }
+
+    /** Sets the policy applied when the queue is full. Defaults to {@link OverflowPolicy#BLOCK}. */
+    @CanIgnoreReturnValue
+    public Builder overflowPolicy(OverflowPolicy overflowPolicy) {
+      this.overflowPolicy = checkNotNull(overflowPolicy, "overflowPolicy cannot be null");
+      return this;
+    }
+
+    /**
+     * Sets the executor that runs message callbacks. Messages are still delivered one at a time
+     * and in order. Defaults to the common fork-join pool.
+     */
+    @CanIgnoreReturnValue
+    public Builder executor(Executor executor) {
+      checkNotNull(executor, "executor cannot be null");
+      this.executor = Optional.of(executor);
+      return this;
+    }
+
+    /** Builds the {@link LiveReceiveConfig} instance. */
+    public LiveReceiveConfig build() {
+      return new LiveReceiveConfig(this);
+    }
+  }
+}
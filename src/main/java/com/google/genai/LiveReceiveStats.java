@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import java.time.Duration;
+
+/**
+ * Live counters of the queue between a live session's socket and the application, for monitoring.
+ * The live module is experimental.
+ */
+public final class LiveReceiveStats {
+
+  private final BoundedMessageQueue<?> queue;
+
+  LiveReceiveStats(BoundedMessageQueue<?> queue) {
+    this.queue = queue;
+  }
+
+  /** Returns the number of queued messages. */
+  public int size() {
+    return queue.size();
+  }
+
+  /** Returns the largest number of messages queued at the same time. */
+  public int highWaterMark() {
+    return queue.highWaterMark();
+  }
+
+  /** Returns the number of messages received from the session. */
+  public long enqueuedCount() {
+    return queue.enqueuedCount();
+  }
+
+  /** Returns the number of messages taken by the application. */
+  public long deliveredCount() {
+    return queue.deliveredCount();
+  }
+
+  /** Returns the number of messages dropped by the overflow policy or by closing the queue. */
+  public long droppedCount() {
+    return queue.droppedCount();
+  }
+
+  /** Returns how long the last taken message waited in the queue. */
+  public Duration lastLag() {
+    return queue.lastLag();
+  }
+
+  /** Returns how long the oldest queued message has been waiting. */
+  public Duration oldestMessageAge() {
+    return queue.oldestMessageAge();
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.time.Duration;
+
+/** Configuration of how a {@link ResilientLiveSession} reconnects. */
+public final class LiveReconnectConfig {
+
+  private final int maxAttempts;
+  private final Duration initialBackoff;
+  private final Duration maxBackoff;
+  private final int maxBufferedMessages;
+
+  private LiveReconnectConfig(Builder builder) {
+    this.maxAttempts = builder.maxAttempts;
+    this.initialBackoff = builder.initialBackoff;
+    this.maxBackoff = builder.maxBackoff;
+    this.maxBufferedMessages = builder.maxBufferedMessages;
+  }
+
+  /** Returns a new {@link Builder}. */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Returns the number of connection attempts made for each reconnect before giving up. */
+  public int maxAttempts() {
+    return maxAttempts;
+  }
+
+  /** Returns the delay before the second attempt. It doubles after each failed attempt. */
+  public Duration initialBackoff() {
+    return initialBackoff;
+  }
+
+  /** Returns the upper bound of the delay between attempts. */
+  public Duration maxBackoff() {
+    return maxBackoff;
+  }
+
+  /** Returns the number of outgoing messages kept while reconnecting. */
+  public int maxBufferedMessages() {
+    return maxBufferedMessages;
+  }
+
+  /** Builder for {@link LiveReconnectConfig}. */
+  public static final class Builder {
+    private int maxAttempts = 5;
+    private Duration initialBackoff = Duration.ofMillis(200);
+    private Duration maxBackoff = Duration.ofSeconds(5);
+    private int maxBufferedMessages = 500;
+
+    private Builder() {}
+
+    /** Sets the number of connection attempts for each reconnect. Defaults to 5. */
+    @CanIgnoreReturnValue
+    public Builder maxAttempts(int maxAttempts) {
+      checkArgument(maxAttempts > 0, "maxAttempts must be positive");
+      this.maxAttempts = maxAttempts;
+      return this;
+    }
+
+    /** Sets the delay before the second attempt. Defaults to 200 milliseconds. */
+    @CanIgnoreReturnValue
+    public Builder initialBackoff(Duration initialBackoff) {
+      checkNotNull(initialBackoff, "initialBackoff cannot be null");
+      checkArgument(!initialBackoff.isNegative(), "initialBackoff cannot be negative");
+      this.initialBackoff = initialBackoff;
+      return this;
+    }
+
+    /** Sets the upper bound of the delay between attempts. Defaults to 5 seconds. */
+    @CanIgnoreReturnValue
+    public Builder maxBackoff(Duration maxBackoff) {
+      checkNotNull(maxBackoff, "maxBackoff cannot be null");
+      checkArgument(!maxBackoff.isNegative(), "maxBackoff cannot be negative");
+      this.maxBackoff = maxBackoff;
+      return this;
+    }
+
+    /**
+     * Sets the number of outgoing messages kept while reconnecting; the oldest are dropped beyond
+     * it. Defaults to 500, which holds 10 seconds of 20 ms audio chunks.
+     */
+    @CanIgnoreReturnValue
+    public Builder maxBufferedMessages(int maxBufferedMessages) {
+      checkArgument(maxBufferedMessages >= 0, "maxBufferedMessages cannot be negative");
+      this.maxBufferedMessages = maxBufferedMessages;
+      return this;
+    }
+
+    /** Builds the {@link LiveReconnectConfig} instance. */
+    public LiveReconnectConfig build() {
+      return new LiveReconnectConfig(this);
+    }
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.google.genai.errors.GenAiIOException;
+import com.google.genai.types.LiveServerMessage;
+import java.io.IOException;
+import okio.ByteString;
+
+/**
+ * Deserializes the messages of a live session.
+ *
+ * <p>Gemini Developer API messages already have the SDK shape, so they are bound straight from the
+ * frame to a {@link LiveServerMessage} without building a JSON tree. Vertex AI messages are parsed
+ * to a tree and always go through the generated converter, so that every field it maps is read.
+ */
+final class LiveServerMessageReader {
+
+  private static final ObjectReader MESSAGE_READER =
+      JsonSerializable.objectMapper.readerFor(LiveServerMessage.class);
+
+  private final LiveConverters liveConverters;
+  private final boolean vertexAI;
+
+  LiveServerMessageReader(ApiClient apiClient, LiveConverters liveConverters) {
+    this.liveConverters = liveConverters;
+    this.vertexAI = apiClient.vertexAI();
+  }
+
+  /** Reads a message received in a text frame. */
+  LiveServerMessage read(String text) {
+    try {
+      if (!vertexAI) {
+        return MESSAGE_READER.readValue(text);
+      }
+      return fromVertex(JsonSerializable.objectMapper.readTree(text));
+    } catch (IOException e) {
+      throw new GenAiIOException("Failed to parse the live server message.", e);
+    }
+  }
+
+  /** Reads a message received in a binary frame, without copying the frame. */
+  LiveServerMessage read(ByteString bytes) {
+    try (ByteBufferBackedInputStream stream =
+        new ByteBufferBackedInputStream(bytes.asByteBuffer())) {
+      if (!vertexAI) {
+        return MESSAGE_READER.readValue(stream);
+      }
+      return fromVertex(JsonSerializable.objectMapper.readTree(stream));
+    } catch (IOException e) {
+      throw new GenAiIOException("Failed to parse the live server message.", e);
+    }
+  }
+
+  private LiveServerMessage fromVertex(JsonNode node) throws IOException {
+    return MESSAGE_READER.readValue(liveConverters.liveServerMessageFromVertex(node, null));
+  }
+}
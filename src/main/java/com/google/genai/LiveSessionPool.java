@@ -0,0 +1,526 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.genai.types.LiveConnectConfig;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A pool of live sessions that are connected and set up ahead of time, so that a session can be
+ * handed out without waiting for the WebSocket handshake and the setup round trip. The live module
+ * is experimental.
+ *
+ * <p>Sessions are kept per model and {@link LiveConnectConfig}, for the combinations registered
+ * with {@link #warm}. Idle sessions are replaced before they reach {@link
+ * Builder#maxSessionAge(Duration)}, and dropped as soon as they close or the server announces that
+ * it will close them. When connecting fails, later maintenance runs try again for that key with
+ * exponential backoff, until a connection succeeds. Every pooled session counts against the
+ * project's concurrent session quota.
+ *
+ * <pre>{@code
+ * LiveSessionPool pool = LiveSessionPool.builder(client).sessionsPerKey(4).build();
+ * pool.warm("gemini-live-2.5-flash-preview", config);
+ * // For each call:
+ * AsyncSession session = pool.acquire("gemini-live-2.5-flash-preview", config).get();
+ * }</pre>
+ */
+public final class LiveSessionPool implements AutoCloseable {
+
+  private static final Logger logger = Logger.getLogger(LiveSessionPool.class.getName());
+  // Failed refills of a key wait up to 2^5 maintenance runs before the next attempt.
+  private static final int MAX_BACKOFF_DOUBLINGS = 5;
+
+  /** The model and configuration that pooled sessions were set up with. */
+  private static final class Key {
+    final String model;
+    final @Nullable LiveConnectConfig config;
+
+    Key(String model, @Nullable LiveConnectConfig config) {
+      this.model = model;
+      this.config = config;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return model.equals(other.model) && Objects.equals(config, other.config);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(model, config);
+    }
+  }
+
+  /** A connected session waiting to be handed out. */
+  private static final class IdleSession {
+    final AsyncSession session;
+    final long connectedNanos;
+    // Guarded by the pool's lock.
+    boolean published = false;
+    boolean discarded = false;
+    Consumer<Throwable> closeListener;
+
+    IdleSession(AsyncSession session, long connectedNanos) {
+      this.session = session;
+      this.connectedNanos = connectedNanos;
+    }
+  }
+
+  /** The sessions of one key. */
+  private static final class KeyPool {
+    final Key key;
+    final ArrayDeque<IdleSession> idle = new ArrayDeque<>();
+    int connecting = 0;
+    // Failed refills in a row, the maintenance runs to skip before the next one, and the last
+    // refill that counted as a failure, so that the sessions of one refill count once.
+    int failures = 0;
+    int runsToSkip = 0;
+    long refills = 0;
+    long failedRefill = -1;
+
+    KeyPool(Key key) {
+      this.key = key;
+    }
+  }
+
+  private final BiFunction<String, LiveConnectConfig, CompletableFuture<AsyncSession>> connector;
+  private final int sessionsPerKey;
+  private final long maxSessionAgeNanos;
+  private final ScheduledFuture<?> maintenance;
+
+  // Guards the pools and the counters.
+  private final Object lock = new Object();
+  private final Map<Key, KeyPool> pools = new HashMap<>();
+  private boolean closed = false;
+  private long hitCount = 0;
+  private long missCount = 0;
+  private long createdCount = 0;
+  private long failedCount = 0;
+  private long rotatedCount = 0;
+  private long discardedCount = 0;
+  private long totalSetupNanos = 0;
+  private long maxSetupNanos = 0;
+
+  LiveSessionPool(
+      BiFunction<String, LiveConnectConfig, CompletableFuture<AsyncSession>> connector,
+      int sessionsPerKey,
+      Duration maxSessionAge,
+      Duration maintenanceInterval,
+      ScheduledExecutorService scheduler) {
+    this.connector = connector;
+    this.sessionsPerKey = sessionsPerKey;
+    this.maxSessionAgeNanos = maxSessionAge.toNanos();
+    long intervalMillis = maintenanceInterval.toMillis();
+    this.maintenance =
+        scheduler.scheduleWithFixedDelay(
+            this::maintain, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /** Returns a {@link Builder} for a pool of sessions of the given client. */
+  public static Builder builder(Client client) {
+    return new Builder(client);
+  }
+
+  /**
+   * Keeps {@link Builder#sessionsPerKey(int)} sessions ready for the given model and
+   * configuration, starting now.
+   *
+   * @param model The model name to use.
+   * @param config A {@link LiveConnectConfig} configuration for the sessions. May be null.
+   */
+  public void warm(String model, @Nullable LiveConnectConfig config) {
+    checkNotNull(model, "model cannot be null");
+    KeyPool pool;
+    synchronized (lock) {
+      checkState(!closed, "The pool is closed.");
+      pool = pools.computeIfAbsent(new Key(model, config), KeyPool::new);
+    }
+    refill(pool);
+  }
+
+  /**
+   * Returns a session for the given model and configuration. If the pool holds one, the returned
+   * future is already complete; otherwise a new session is connected. The caller owns the session
+   * and closes it when done.
+   *
+   * @param model The model name to use.
+   * @param config A {@link LiveConnectConfig} configuration for the session. May be null.
+   */
+  public CompletableFuture<AsyncSession> acquire(String model, @Nullable LiveConnectConfig config) {
+    checkNotNull(model, "model cannot be null");
+    Key key = new Key(model, config);
+    KeyPool pool;
+    IdleSession idle = null;
+    List<AsyncSession> expired = new ArrayList<>();
+    synchronized (lock) {
+      checkState(!closed, "The pool is closed.");
+      pool = pools.get(key);
+      if (pool != null) {
+        long now = System.nanoTime();
+        while ((idle = pool.idle.poll()) != null && isExpired(idle, now)) {
+          expired.add(idle.session);
+          rotatedCount++;
+        }
+      }
+      if (idle != null) {
+        hitCount++;
+      } else {
+        missCount++;
+      }
+    }
+    expired.forEach(AsyncSession::close);
+    if (pool != null) {
+      refill(pool);
+    }
+    if (idle != null) {
+      // Stop watching the session for the pool. Messages received until the caller registers
+      // its own callback are kept for it.
+      idle.session.receive(null);
+      idle.session.removeCloseListener(idle.closeListener);
+      return CompletableFuture.completedFuture(idle.session);
+    }
+    return connect(key);
+  }
+
+  /** Returns the number of sessions ready to be handed out. */
+  public int idleCount() {
+    synchronized (lock) {
+      int count = 0;
+      for (KeyPool pool : pools.values()) {
+        count += pool.idle.size();
+      }
+      return count;
+    }
+  }
+
+  /** Returns the number of sessions being connected for the pool. */
+  public int connectingCount() {
+    synchronized (lock) {
+      int count = 0;
+      for (KeyPool pool : pools.values()) {
+        count += pool.connecting;
+      }
+      return count;
+    }
+  }
+
+  /** Returns the number of {@link #acquire} calls served by an idle session. */
+  public long hitCount() {
+    synchronized (lock) {
+      return hitCount;
+    }
+  }
+
+  /** Returns the number of {@link #acquire} calls that had to connect a new session. */
+  public long missCount() {
+    synchronized (lock) {
+      return missCount;
+    }
+  }
+
+  /** Returns the number of sessions connected, for the pool or for misses. */
+  public long createdCount() {
+    synchronized (lock) {
+      return createdCount;
+    }
+  }
+
+  /** Returns the number of connection attempts that failed. */
+  public long failedCount() {
+    synchronized (lock) {
+      return failedCount;
+    }
+  }
+
+  /** Returns the number of idle sessions closed because they reached the maximum age. */
+  public long rotatedCount() {
+    synchronized (lock) {
+      return rotatedCount;
+    }
+  }
+
+  /** Returns the number of idle sessions dropped because the server closed or was closing them. */
+  public long discardedCount() {
+    synchronized (lock) {
+      return discardedCount;
+    }
+  }
+
+  /** Returns the average time from connecting a session to its setup being complete. */
+  public Duration averageSetupLatency() {
+    synchronized (lock) {
+      return createdCount == 0 ? Duration.ZERO : Duration.ofNanos(totalSetupNanos / createdCount);
+    }
+  }
+
+  /** Returns the longest time from connecting a session to its setup being complete. */
+  public Duration maxSetupLatency() {
+    synchronized (lock) {
+      return Duration.ofNanos(maxSetupNanos);
+    }
+  }
+
+  /** Closes the idle sessions and stops connecting new ones. Acquired sessions stay open. */
+  @Override
+  public void close() {
+    List<AsyncSession> idle = new ArrayList<>();
+    synchronized (lock) {
+      closed = true;
+      for (KeyPool pool : pools.values()) {
+        for (IdleSession session : pool.idle) {
+          idle.add(session.session);
+        }
+        pool.idle.clear();
+      }
+    }
+    maintenance.cancel(false);
+    idle.forEach(AsyncSession::close);
+  }
+
+  /** Replaces idle sessions that are about to expire, and tops up every pool. */
+  void maintain() {
+    List<AsyncSession> expired = new ArrayList<>();
+    List<KeyPool> toRefill;
+    synchronized (lock) {
+      if (closed) {
+        return;
+      }
+      long now = System.nanoTime();
+      toRefill = new ArrayList<>();
+      for (KeyPool pool : pools.values()) {
+        Iterator<IdleSession> iterator = pool.idle.iterator();
+        while (iterator.hasNext()) {
+          IdleSession idle = iterator.next();
+          if (isExpired(idle, now)) {
+            iterator.remove();
+            expired.add(idle.session);
+            rotatedCount++;
+          }
+        }
+        if (pool.runsToSkip > 0) {
+          pool.runsToSkip--;
+        } else {
+          toRefill.add(pool);
+        }
+      }
+    }
+    expired.forEach(AsyncSession::close);
+    toRefill.forEach(this::refill);
+  }
+
+  private boolean isExpired(IdleSession idle, long now) {
+    return now - idle.connectedNanos >= maxSessionAgeNanos;
+  }
+
+  /**
+   * Connects the sessions missing from the pool, unless its last refill failed and it is backing
+   * off until a later maintenance run.
+   */
+  private void refill(KeyPool pool) {
+    int missing;
+    long refill;
+    synchronized (lock) {
+      if (closed || pool.runsToSkip > 0) {
+        return;
+      }
+      missing = sessionsPerKey - pool.idle.size() - pool.connecting;
+      if (missing <= 0) {
+        return;
+      }
+      pool.connecting += missing;
+      refill = pool.refills++;
+    }
+    for (int i = 0; i < missing; i++) {
+      connect(pool.key)
+          .whenComplete(
+              (session, error) -> {
+                synchronized (lock) {
+                  pool.connecting--;
+                  if (error == null) {
+                    pool.failures = 0;
+                    pool.runsToSkip = 0;
+                  } else if (pool.failedRefill != refill) {
+                    // Wait 2^(failures - 1) maintenance runs before trying again.
+                    pool.failedRefill = refill;
+                    pool.failures++;
+                    pool.runsToSkip =
+                        (1 << Math.min(pool.failures - 1, MAX_BACKOFF_DOUBLINGS)) - 1;
+                  }
+                }
+                if (error == null) {
+                  addIdle(pool, session);
+                }
+              });
+    }
+  }
+
+  private void addIdle(KeyPool pool, AsyncSession session) {
+    IdleSession idle = new IdleSession(session, System.nanoTime());
+    synchronized (lock) {
+      if (!closed) {
+        // The session is watched before it is published, so that an acquire cannot take it and
+        // have its own callback replaced by the watcher. A goAway or a close that arrived earlier
+        // is delivered while registering, and discards it.
+        session.receive(
+            message -> {
+              if (message.goAway().isPresent()) {
+                discard(pool, idle);
+              }
+            });
+        idle.closeListener = error -> discard(pool, idle);
+        session.addCloseListener(idle.closeListener);
+        if (!idle.discarded) {
+          idle.published = true;
+          pool.idle.add(idle);
+          return;
+        }
+        discardedCount++;
+      }
+    }
+    session.close();
+  }
+
+  /** Removes a session that can no longer be used, if it is still idle. */
+  private void discard(KeyPool pool, IdleSession idle) {
+    synchronized (lock) {
+      if (!idle.published) {
+        // Received while addIdle registers the callbacks, which closes the session instead.
+        idle.discarded = true;
+        return;
+      }
+      if (!pool.idle.remove(idle)) {
+        return;
+      }
+      discardedCount++;
+    }
+    idle.session.close();
+  }
+
+  private CompletableFuture<AsyncSession> connect(Key key) {
+    long startNanos = System.nanoTime();
+    CompletableFuture<AsyncSession> session;
+    try {
+      session = connector.apply(key.model, key.config);
+    } catch (RuntimeException e) {
+      session = new CompletableFuture<>();
+      session.completeExceptionally(e);
+    }
+    return session.whenComplete(
+        (connected, error) -> {
+          if (error != null) {
+            logger.log(Level.WARNING, "Failed to connect a live session", error);
+            synchronized (lock) {
+              failedCount++;
+            }
+            return;
+          }
+          long setupNanos = System.nanoTime() - startNanos;
+          synchronized (lock) {
+            createdCount++;
+            totalSetupNanos += setupNanos;
+            maxSetupNanos = Math.max(maxSetupNanos, setupNanos);
+          }
+        });
+  }
+
+  /** Builder for {@link LiveSessionPool}. */
+  public static final class Builder {
+    private final Client client;
+    private int sessionsPerKey = 2;
+    private Duration maxSessionAge = Duration.ofMinutes(9);
+    private Duration maintenanceInterval = Duration.ofSeconds(15);
+    private Optional<ScheduledExecutorService> scheduler = Optional.empty();
+
+    private Builder(Client client) {
+      this.client = checkNotNull(client, "client cannot be null");
+    }
+
+    /** Sets the number of idle sessions kept for each model and configuration. Defaults to 2. */
+    @CanIgnoreReturnValue
+    public Builder sessionsPerKey(int sessionsPerKey) {
+      checkArgument(sessionsPerKey > 0, "sessionsPerKey must be positive");
+      this.sessionsPerKey = sessionsPerKey;
+      return this;
+    }
+
+    /**
+     * Sets how long an idle session is kept before it is replaced. It should stay below the
+     * server's connection lifetime, so that a session handed out still has most of it left.
+     * Defaults to 9 minutes.
+     */
+    @CanIgnoreReturnValue
+    public Builder maxSessionAge(Duration maxSessionAge) {
+      checkNotNull(maxSessionAge, "maxSessionAge cannot be null");
+      checkArgument(!maxSessionAge.isNegative(), "maxSessionAge cannot be negative");
+      this.maxSessionAge = maxSessionAge;
+      return this;
+    }
+
+    /** Sets how often idle sessions are checked and replaced. Defaults to 15 seconds. */
+    @CanIgnoreReturnValue
+    public Builder maintenanceInterval(Duration maintenanceInterval) {
+      checkNotNull(maintenanceInterval, "maintenanceInterval cannot be null");
+      checkArgument(maintenanceInterval.toMillis() > 0, "maintenanceInterval must be positive");
+      this.maintenanceInterval = maintenanceInterval;
+      return this;
+    }
+
+    /** Sets the scheduler for the maintenance task. Defaults to a shared daemon scheduler. */
+    @CanIgnoreReturnValue
+    public Builder scheduler(ScheduledExecutorService scheduler) {
+      checkNotNull(scheduler, "scheduler cannot be null");
+      this.scheduler = Optional.of(scheduler);
+      return this;
+    }
+
+    /** Builds the {@link LiveSessionPool} instance. */
+    public LiveSessionPool build() {
+      return new LiveSessionPool(
+          client.async.live::connect,
+          sessionsPerKey,
+          maxSessionAge,
+          maintenanceInterval,
+          scheduler.orElseGet(SharedScheduler::get));
+    }
+  }
+}
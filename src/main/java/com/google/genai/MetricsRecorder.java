@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Receives the metrics of a {@link Client}'s HTTP calls.
+ *
+ * <p>Set a recorder with {@link com.google.genai.types.ClientOptions.Builder#metricsRecorder} to
+ * have the client record the metrics named by the constants of this interface. Without a
+ * recorder, nothing is measured. Every method does nothing by default, so a bridge only
+ * implements the kinds of instrument its backend needs. A Micrometer bridge, for example, is a
+ * few lines:
+ *
+ * <pre>{@code
+ * MetricsRecorder recorder = new MetricsRecorder() {
+ *   public void recordDuration(String name, Map<String, String> attributes, Duration value) {
+ *     Timer.builder(name).tags(tags(attributes)).register(registry).record(value);
+ *   }
+ *   public void recordValue(String name, Map<String, String> attributes, double value) {
+ *     DistributionSummary.builder(name).tags(tags(attributes)).register(registry).record(value);
+ *   }
+ *   public void increment(String name, Map<String, String> attributes, long amount) {
+ *     registry.counter(name, tags(attributes)).increment(amount);
+ *   }
+ * };
+ * }</pre>
+ *
+ * <p>{@link InMemoryMetricsRecorder} keeps the metrics in the process. Methods are called on the
+ * threads that make the calls and read the streams, so they must be thread-safe and should not
+ * block.
+ *
+ * <p>Metrics carry the attributes {@value #OPERATION} and, when the call names one, {@value
+ * #MODEL}. See {@link RequestHook.Context#operation()} for how they are derived.
+ */
+public interface MetricsRecorder {
+
+  /** Attribute holding the operation of the call, such as {@code generateContent}. */
+  String OPERATION = "operation";
+
+  /** Attribute holding the model of the call, such as {@code gemini-2.5-flash}. */
+  String MODEL = "model";
+
+  /** Attribute holding the HTTP status code of the call, or {@code error} without a response. */
+  String STATUS = "status";
+
+  /** Attribute holding the status code or exception type of a retried or failed attempt. */
+  String CAUSE = "cause";
+
+  /** Duration from the start of a call until its response body is read or closed. */
+  String REQUEST_DURATION = "genai.client.request.duration";
+
+  /** Duration the server reported in the {@code Server-Timing} response header. */
+  String SERVER_DURATION = "genai.client.server.duration";
+
+  /** Duration from the start of a streamed call until its first chunk is read. */
+  String TIME_TO_FIRST_CHUNK = "genai.client.stream.time_to_first_chunk";
+
+  /** Duration between two consecutive chunks of a stream. */
+  String CHUNK_GAP = "genai.client.stream.chunk_gap";
+
+  /**
+   * Output tokens per second of a call, counted from the first chunk for streamed calls, as the
+   * time before it is mostly spent on the prompt.
+   */
+  String OUTPUT_TOKENS_PER_SECOND = "genai.client.output_tokens_per_second";
+
+  /** Size of a request body in bytes. */
+  String REQUEST_BYTES = "genai.client.request.bytes";
+
+  /** Number of response body bytes read. */
+  String RESPONSE_BYTES = "genai.client.response.bytes";
+
+  /** Number of retried attempts, with their {@value #CAUSE}. */
+  String RETRIES = "genai.client.retries";
+
+  /** Number of calls that failed without a response, with their {@value #CAUSE}. */
+  String ERRORS = "genai.client.errors";
+
+  /** Duration an asynchronous call waited in the HTTP client's dispatcher before it started. */
+  String QUEUE_WAIT = "genai.client.dispatcher.queue_wait";
+
+  /** Number of calls waiting in the dispatcher, sampled when a call starts. */
+  String QUEUED_CALLS = "genai.client.dispatcher.queued_calls";
+
+  /** Number of calls the dispatcher is running, sampled when a call starts. */
+  String RUNNING_CALLS = "genai.client.dispatcher.running_calls";
+
+  /** Number of pooled connections in use, sampled when a call starts. */
+  String CONNECTIONS_IN_USE = "genai.client.connections.in_use";
+
+  /** Records a duration, such as a latency. */
+  default void recordDuration(String name, Map<String, String> attributes, Duration value) {}
+
+  /** Records a value of a distribution, such as a size or a rate. */
+  default void recordValue(String name, Map<String, String> attributes, double value) {}
+
+  /** Adds to a counter. */
+  default void increment(String name, Map<String, String> attributes, long amount) {}
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Collects single items submitted concurrently into batches.
+ *
+ * <p>A batch is sent once it holds {@code maxBatchSize} items or once {@code lingerNanos} have
+ * elapsed since its first item was added, whichever comes first. Each submitter gets a future for
+ * the result of its own item.
+ */
+final class MicroBatcher<I, O> implements AutoCloseable {
+
+  private final Function<List<I>, CompletableFuture<List<O>>> sendBatch;
+  private final int maxBatchSize;
+  private final long lingerNanos;
+  private final ScheduledExecutorService scheduler;
+
+  private List<I> items = new ArrayList<>();
+  private List<CompletableFuture<O>> futures = new ArrayList<>();
+  private ScheduledFuture<?> lingerTimer;
+  private long generation = 0;
+  private boolean closed = false;
+
+  MicroBatcher(
+      Function<List<I>, CompletableFuture<List<O>>> sendBatch,
+      int maxBatchSize,
+      long lingerNanos,
+      ScheduledExecutorService scheduler) {
+    if (maxBatchSize < 1) {
+      throw new IllegalArgumentException("maxBatchSize must be at least 1.");
+    }
+    if (lingerNanos < 0) {
+      throw new IllegalArgumentException("linger cannot be negative.");
+    }
+    this.sendBatch = sendBatch;
+    this.maxBatchSize = maxBatchSize;
+    this.lingerNanos = lingerNanos;
+    this.scheduler = scheduler;
+  }
+
+  /** Adds an item to the current batch and returns a future for its result. */
+  CompletableFuture<O> submit(I item) {
+    CompletableFuture<O> future = new CompletableFuture<>();
+    Batch<I, O> full = null;
+    synchronized (this) {
+      if (closed) {
+        throw new IllegalStateException("The batcher is closed.");
+      }
+      items.add(item);
+      futures.add(future);
+      if (items.size() >= maxBatchSize) {
+        full = takeBatch();
+      } else if (items.size() == 1) {
+        long batchGeneration = generation;
+        lingerTimer =
+            scheduler.schedule(
+                () -> flush(batchGeneration), lingerNanos, TimeUnit.NANOSECONDS);
+      }
+    }
+    if (full != null) {
+      send(full);
+    }
+    return future;
+  }
+
+  /** Sends the current batch now, regardless of its size. */
+  void flush() {
+    Batch<I, O> batch;
+    synchronized (this) {
+      batch = items.isEmpty() ? null : takeBatch();
+    }
+    if (batch != null) {
+      send(batch);
+    }
+  }
+
+  /** Sends the pending items and rejects new ones. Already sent batches are not cancelled. */
+  @Override
+  public void close() {
+    synchronized (this) {
+      closed = true;
+    }
+    flush();
+  }
+
+  /** Flushes the batch started in {@code batchGeneration}, unless it was already sent. */
+  private void flush(long batchGeneration) {
+    Batch<I, O> batch;
+    synchronized (this) {
+      batch = (generation == batchGeneration && !items.isEmpty()) ? takeBatch() : null;
+    }
+    if (batch != null) {
+      send(batch);
+    }
+  }
+
+  private Batch<I, O> takeBatch() {
+    Batch<I, O> batch = new Batch<>(items, futures);
+    items = new ArrayList<>();
+    futures = new ArrayList<>();
+    generation++;
+    if (lingerTimer != null) {
+      lingerTimer.cancel(false);
+      lingerTimer = null;
+    }
+    return batch;
+  }
+
+  private void send(Batch<I, O> batch) {
+    CompletableFuture<List<O>> results;
+    try {
+      results = sendBatch.apply(batch.items);
+    } catch (RuntimeException e) {
+      results = new CompletableFuture<>();
+      results.completeExceptionally(e);
+    }
+    results.whenComplete(
+        (outputs, error) -> {
+          Throwable failure = error;
+          if (failure == null && (outputs == null || outputs.size() != batch.items.size())) {
+            failure =
+                new IllegalStateException(
+                    String.format(
+                        "Expected %d results for the batch but received %d.",
+                        batch.items.size(), outputs == null ? 0 : outputs.size()));
+          }
+          for (int i = 0; i < batch.futures.size(); i++) {
+            if (failure != null) {
+              batch.futures.get(i).completeExceptionally(failure);
+            } else {
+              batch.futures.get(i).complete(outputs.get(i));
+            }
+          }
+        });
+  }
+
+  /** The items of a batch together with the futures of their submitters. */
+  private static final class Batch<I, O> {
+    final List<I> items;
+    final List<CompletableFuture<O>> futures;
+
+    Batch(List<I> items, List<CompletableFuture<O>> futures) {
+      this.items = items;
+      this.futures = futures;
+    }
+  }
+}
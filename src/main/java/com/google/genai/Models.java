@@ -7224,32 +7224,51 @@ public final class Models {
             remainingRemoteCalls));
     GenerateContentResponse response = null;
     List<Content> automaticFunctionCallingHistory = new ArrayList<>(contents);
-    while (remainingRemoteCalls > 0) {
-      i++;
-      response = privateGenerateContent(model, contents, transformedConfig);
-      logger.info(String.format("Automatic function calling remote call %d is done", i));
-      remainingRemoteCalls--;
-      if (remainingRemoteCalls == 0) {
-        logger.info("Reached max remote calls for automatic function calling.");
-      }
-      if (!response.candidates().isPresent()
-          || response.candidates().get().isEmpty()
-          || !response.candidates().get().get(0).content().isPresent()
-          || !response.candidates().get().get(0).content().get().parts().isPresent()
-          || response.candidates().get().get(0).content().get().parts().get().isEmpty()) {
-        break;
-      }
-      ImmutableList<Part> functionResponseParts =
-          AfcUtil.getFunctionResponseParts(response, functionMap);
-      if (functionResponseParts.isEmpty()) {
-        break;
+    ClientTracing tracing = apiClient.tracing;
+    TraceRecorder.Span afcSpan = ClientTracing.startAutomaticFunctionCalling(tracing, model);
+    RuntimeException error = null;
+    try {
+      while (remainingRemoteCalls > 0) {
+        i++;
+        TraceRecorder.Span roundSpan = ClientTracing.startRound(tracing, afcSpan, i);
+        RuntimeException roundError = null;
+        try (ClientTracing.Scope scope = ClientTracing.makeCurrent(roundSpan)) {
+          response = privateGenerateContent(model, contents, transformedConfig);
+          logger.info(String.format("Automatic function calling remote call %d is done", i));
+          remainingRemoteCalls--;
+          if (remainingRemoteCalls == 0) {
+            logger.info("Reached max remote calls for automatic function calling.");
+          }
+          if (!response.candidates().isPresent()
+              || response.candidates().get().isEmpty()
+              || !response.candidates().get().get(0).content().isPresent()
+              || !response.candidates().get().get(0).content().get().parts().isPresent()
+              || response.candidates().get().get(0).content().get().parts().get().isEmpty()) {
+            break;
+          }
+          ImmutableList<Part> functionResponseParts =
+              AfcUtil.getFunctionResponseParts(response, functionMap, tracing, roundSpan);
+          if (functionResponseParts.isEmpty()) {
+            break;
+          }
+          Content functionCallContent = response.candidates().get().get(0).content().get();
+          Content functionResponseContent =
+              Content.builder().role("user").parts(functionResponseParts).build();
+          automaticFunctionCallingHistory.add(functionCallContent);
+          automaticFunctionCallingHistory.add(functionResponseContent);
+          contents = automaticFunctionCallingHistory;
+        } catch (RuntimeException e) {
+          roundError = e;
+          throw e;
+        } finally {
+          ClientTracing.end(roundSpan, roundError);
+        }
       }
-      Content functionCallContent = response.candidates().get().get(0).content().get();
-      Content functionResponseContent =
-          Content.builder().role("user").parts(functionResponseParts).build();
-      automaticFunctionCallingHistory.add(functionCallContent);
-      automaticFunctionCallingHistory.add(functionResponseContent);
-      contents = automaticFunctionCallingHistory;
+    } catch (RuntimeException e) {
+      error = e;
+      throw e;
+    } finally {
+      ClientTracing.end(afcSpan, error);
     }
     if (AfcUtil.shouldAppendAfcHistory(transformedConfig)) {
       ObjectNode responseNode = JsonSerializable.objectMapper.valueToTree(response);
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import com.google.genai.errors.GenAiIOException;
+import com.google.genai.types.GenerateVideosOperation;
+import com.google.genai.types.ImportFileOperation;
+import com.google.genai.types.Operation;
+import com.google.genai.types.UploadToFileSearchStoreOperation;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Polls a long-running operation until it is done.
+ *
+ * <p>The delay between two polls starts at the initial delay and grows by half after every poll, up
+ * to the maximum delay, with a little jitter so that operations started together don't keep
+ * polling together. Polls are scheduled on a {@link ScheduledExecutorService} and fetched
+ * asynchronously, so any number of waiting operations share its thread.
+ */
+final class OperationPoller {
+
+  private final OperationWaitConfig config;
+  private final ScheduledExecutorService scheduler;
+
+  OperationPoller(OperationWaitConfig config, ScheduledExecutorService scheduler) {
+    this.config = config;
+    this.scheduler = scheduler;
+  }
+
+  /** Returns the delay before the first poll of an operation of the given kind. */
+  static Duration defaultInitialDelay(Operation<?, ?> operation) {
+    if (operation instanceof GenerateVideosOperation) {
+      return Duration.ofSeconds(10);
+    }
+    if (operation instanceof ImportFileOperation
+        || operation instanceof UploadToFileSearchStoreOperation) {
+      return Duration.ofSeconds(1);
+    }
+    return Duration.ofSeconds(5);
+  }
+
+  /**
+   * Returns a future that completes with the operation once it is done. Cancelling the future
+   * stops the polling.
+   *
+   * @param operation The operation to wait for.
+   * @param get Fetches the latest status of an operation.
+   */
+  <U extends Operation<?, U>> CompletableFuture<U> waitForCompletion(
+      U operation, Function<U, CompletableFuture<U>> get) {
+    if (!operation.name().isPresent()) {
+      throw new IllegalArgumentException("Operation name is required.");
+    }
+    long maxDelayNanos = config.maxDelay().toNanos();
+    return poll(
+        operation,
+        "Operation " + operation.name().get(),
+        next -> next.done().orElse(false),
+        get,
+        config.initialDelay().orElseGet(() -> defaultInitialDelay(operation)).toNanos(),
+        (previous, next, delayNanos) ->
+            Math.min(Math.max(delayNanos, maxDelayNanos), delayNanos + delayNanos / 2),
+        config.timeout(),
+        scheduler);
+  }
+
+  /** Returns the delay before the poll that follows the one that returned {@code next}. */
+  interface Backoff<T> {
+    long nextDelayNanos(T previous, T next, long delayNanos);
+  }
+
+  /**
+   * Polls a resource until it is done, which is the loop shared by operations and batch jobs. Each
+   * delay is jittered by up to a tenth either way. Cancelling the returned future stops the
+   * polling.
+   *
+   * @param resource The resource as last fetched.
+   * @param description Names the resource in the timeout error, such as {@code "Operation x"}.
+   * @param isDone Whether a fetched resource is done.
+   * @param get Fetches the latest status of the resource.
+   * @param initialDelayNanos The delay before the first poll.
+   * @param backoff Computes the delay before each following poll.
+   * @param timeout How long to wait before failing, if set.
+   * @param scheduler Schedules the polls.
+   */
+  static <T> CompletableFuture<T> poll(
+      T resource,
+      String description,
+      Predicate<T> isDone,
+      Function<T, CompletableFuture<T>> get,
+      long initialDelayNanos,
+      Backoff<T> backoff,
+      Optional<Duration> timeout,
+      ScheduledExecutorService scheduler) {
+    Loop<T> loop = new Loop<>(description, isDone, get, backoff, timeout, scheduler);
+    loop.poll(resource, initialDelayNanos);
+    return loop.done;
+  }
+
+  /** The state of one wait. */
+  private static final class Loop<T> {
+    final CompletableFuture<T> done = new CompletableFuture<>();
+    private final String description;
+    private final Predicate<T> isDone;
+    private final Function<T, CompletableFuture<T>> get;
+    private final Backoff<T> backoff;
+    private final Optional<Duration> timeout;
+    private final long startNanos = System.nanoTime();
+    private final ScheduledExecutorService scheduler;
+    private final AtomicReference<ScheduledFuture<?>> nextPoll = new AtomicReference<>();
+
+    Loop(
+        String description,
+        Predicate<T> isDone,
+        Function<T, CompletableFuture<T>> get,
+        Backoff<T> backoff,
+        Optional<Duration> timeout,
+        ScheduledExecutorService scheduler) {
+      this.description = description;
+      this.isDone = isDone;
+      this.get = get;
+      this.backoff = backoff;
+      this.timeout = timeout;
+      this.scheduler = scheduler;
+      done.whenComplete(
+          (result, error) -> {
+            ScheduledFuture<?> scheduled = nextPoll.get();
+            if (scheduled != null) {
+              scheduled.cancel(false);
+            }
+          });
+    }
+
+    void poll(T resource, long delayNanos) {
+      if (isDone.test(resource)) {
+        done.complete(resource);
+        return;
+      }
+      if (done.isDone()) {
+        // The caller cancelled the wait.
+        return;
+      }
+      long jitteredDelayNanos =
+          delayNanos - delayNanos / 10 + ThreadLocalRandom.current().nextLong(delayNanos / 5 + 1);
+      if (timeout.isPresent()) {
+        long remainingNanos = timeout.get().toNanos() - (System.nanoTime() - startNanos);
+        if (remainingNanos <= 0) {
+          done.completeExceptionally(
+              new GenAiIOException(
+                  description + " did not complete within " + timeout.get() + "."));
+          return;
+        }
+        // The last poll happens at the deadline rather than one delay before it.
+        jitteredDelayNanos = Math.min(jitteredDelayNanos, remainingNanos);
+      }
+      nextPoll.set(
+          scheduler.schedule(
+              () -> {
+                CompletableFuture<T> polled;
+                try {
+                  polled = get.apply(resource);
+                } catch (RuntimeException e) {
+                  done.completeExceptionally(e);
+                  return;
+                }
+                polled.whenComplete(
+                    (next, error) -> {
+                      if (error != null) {
+                        done.completeExceptionally(error);
+                        return;
+                      }
+                      poll(next, backoff.nextDelayNanos(resource, next, delayNanos));
+                    });
+              },
+              jitteredDelayNanos,
+              TimeUnit.NANOSECONDS));
+      if (done.isDone()) {
+        // Cancelled while scheduling; the completion callback may have missed this poll.
+        nextPoll.get().cancel(false);
+      }
+    }
+  }
+}
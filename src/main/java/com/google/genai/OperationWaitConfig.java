@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.time.Duration;
+import java.util.Optional;
+
+/** Configuration of how {@link Operations#waitForCompletion} polls a long-running operation. */
+public final class OperationWaitConfig {
+
+  private final Optional<Duration> initialDelay;
+  private final Duration maxDelay;
+  private final Optional<Duration> timeout;
+
+  private OperationWaitConfig(Builder builder) {
+    this.initialDelay = builder.initialDelay;
+    this.maxDelay = builder.maxDelay;
+    this.timeout = builder.timeout;
+  }
+
+  /** Returns a new {@link Builder}. */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns the delay before the first poll, if set. When unset, it depends on the kind of
+   * operation: video generation is polled later than file imports, which usually complete within
+   * seconds.
+   */
+  public Optional<Duration> initialDelay() {
+    return initialDelay;
+  }
+
+  /** Returns the upper bound of the delay between two polls. */
+  public Duration maxDelay() {
+    return maxDelay;
+  }
+
+  /** Returns how long to wait for the operation before failing, if set. */
+  public Optional<Duration> timeout() {
+    return timeout;
+  }
+
+  /** Builder for {@link OperationWaitConfig}. */
+  public static final class Builder {
+    private Optional<Duration> initialDelay = Optional.empty();
+    private Duration maxDelay = Duration.ofMinutes(1);
+    private Optional<Duration> timeout = Optional.empty();
+
+    private Builder() {}
+
+    /**
+     * Sets the delay before the first poll. The delay grows by half after every poll, up to {@link
+     * #maxDelay(Duration)}.
+     */
+    @CanIgnoreReturnValue
+    public Builder initialDelay(Duration initialDelay) {
+      checkNotNull(initialDelay, "initialDelay cannot be null");
+      checkArgument(!initialDelay.isNegative(), "initialDelay cannot be negative");
+      this.initialDelay = Optional.of(initialDelay);
+      return this;
+    }
+
+    /** Sets the upper bound of the delay between two polls. Defaults to 1 minute. */
+    @CanIgnoreReturnValue
+    public Builder maxDelay(Duration maxDelay) {
+      checkNotNull(maxDelay, "maxDelay cannot be null");
+      checkArgument(!maxDelay.isNegative(), "maxDelay cannot be negative");
+      this.maxDelay = maxDelay;
+      return this;
+    }
+
+    /** Sets how long to wait for the operation before failing. Defaults to no limit. */
+    @CanIgnoreReturnValue
+    public Builder timeout(Duration timeout) {
+      checkNotNull(timeout, "timeout cannot be null");
+      checkArgument(!timeout.isNegative(), "timeout cannot be negative");
+      this.timeout = Optional.of(timeout);
+      return this;
+    }
+
+    /** Builds the {@link OperationWaitConfig} instance. */
+    public OperationWaitConfig build() {
+      return new OperationWaitConfig(this);
+    }
+  }
+}
@@ -33,6 +33,8 @@ import com.google.genai.types.HttpOptions;
 import com.google.genai.types.Operation;
 import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import okhttp3.ResponseBody;
 
 /**
@@ -507,4 +509,43 @@ public final class Operations {
       return operation.fromApiResponse(response, false);
     }
   }
+
+  /**
+   * Waits for an operation to complete, such as the ones returned by {@link Models#generateVideos}
+   * or {@link FileSearchStores#importFile}. The operation is polled with a growing delay, and the
+   * calling thread blocks until it is done.
+   *
+   * @param operation An Operation.
+   * @param config The configuration for polling the operation.
+   * @return The done operation, which holds either the response or the error.
+   * @throws GenAiIOException if the operation is not done within {@link
+   *     OperationWaitConfig#timeout()}, or the waiting thread is interrupted.
+   */
+  public <T, U extends Operation<T, U>> U waitForCompletion(
+      U operation, OperationWaitConfig config) {
+    CompletableFuture<U> done = new AsyncOperations(apiClient).waitForCompletion(operation, config);
+    try {
+      return done.get();
+    } catch (InterruptedException e) {
+      done.cancel(false);
+      Thread.currentThread().interrupt();
+      throw new GenAiIOException("Interrupted while waiting for the operation.", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new GenAiIOException("Failed to wait for the operation.", e.getCause());
+    }
+  }
+
+  /**
+   * Waits for an operation to complete, with the default polling configuration. See {@link
+   * #waitForCompletion(Operation, OperationWaitConfig)}.
+   *
+   * @param operation An Operation.
+   * @return The done operation.
+   */
+  public <T, U extends Operation<T, U>> U waitForCompletion(U operation) {
+    return waitForCompletion(operation, OperationWaitConfig.builder().build());
+  }
 }
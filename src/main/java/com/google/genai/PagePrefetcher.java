@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Reads pages ahead of the consumer of a pager.
+ *
+ * <p>Page tokens are chained, so the request for page N+1 can only be issued once page N has
+ * arrived. The prefetcher issues that request as soon as the response arrives and keeps doing so
+ * until {@code depth} pages are buffered ahead of the consumer. Buffered pages are keyed by their
+ * page token, so the consumer always gets the page it asks for, even when it asks for it before
+ * the prefetcher has seen the previous page arrive.
+ */
+final class PagePrefetcher {
+
+  private final Function<ObjectNode, CompletableFuture<JsonNode>> fetcher;
+  private final ObjectNode requestConfig;
+  private final int depth;
+
+  // The pages requested and not yet taken, by page token, in request order.
+  private final Map<String, CompletableFuture<JsonNode>> buffered = new LinkedHashMap<>();
+  // The token of the last page requested, whose response gives the next token to request.
+  private @Nullable String lastRequested;
+  private boolean inFlight = false;
+  private @Nullable String nextPageToken;
+
+  /**
+   * Constructs a PagePrefetcher.
+   *
+   * @param fetcher Issues the list request for the given request config.
+   * @param requestConfig The request config of the pager, copied before being modified.
+   * @param depth The maximum number of pages to buffer ahead of the consumer.
+   */
+  PagePrefetcher(
+      Function<ObjectNode, CompletableFuture<JsonNode>> fetcher,
+      ObjectNode requestConfig,
+      int depth) {
+    if (depth < 1) {
+      throw new IllegalArgumentException("Prefetch depth must be at least 1.");
+    }
+    this.fetcher = fetcher;
+    this.requestConfig = requestConfig.deepCopy();
+    this.depth = depth;
+  }
+
+  /** Starts reading ahead from the given page token, if nothing has been requested yet. */
+  synchronized void prime(@Nullable String pageToken) {
+    if (pageToken != null && lastRequested == null) {
+      issue(pageToken);
+    }
+  }
+
+  /**
+   * Returns the response for the page identified by {@code pageToken}. Requests the page now if it
+   * has not been read ahead, in which case reading ahead continues from it.
+   */
+  synchronized CompletableFuture<JsonNode> take(String pageToken) {
+    CompletableFuture<JsonNode> page = buffered.remove(pageToken);
+    if (page == null) {
+      // The consumer asked for a page that was not requested: reading ahead has not reached it
+      // yet, because the previous page arrived but its token has not been read, or the consumer
+      // went elsewhere. The buffered pages are not the ones that follow it.
+      buffered.clear();
+      issue(pageToken);
+      page = buffered.remove(pageToken);
+    }
+    maybeIssue();
+    return page;
+  }
+
+  /** Returns the number of pages currently requested ahead of the consumer. */
+  synchronized int bufferedPages() {
+    return buffered.size();
+  }
+
+  private void issue(String pageToken) {
+    CompletableFuture<JsonNode> future;
+    try {
+      future = fetcher.apply(configWithPageToken(pageToken));
+    } catch (RuntimeException e) {
+      future = new CompletableFuture<>();
+      future.completeExceptionally(e);
+    }
+    buffered.put(pageToken, future);
+    lastRequested = pageToken;
+    inFlight = true;
+    nextPageToken = null;
+    future.whenComplete((response, error) -> onPageArrived(pageToken, response, error));
+  }
+
+  private synchronized void onPageArrived(String pageToken, JsonNode response, Throwable error) {
+    if (!pageToken.equals(lastRequested)) {
+      // A later page was requested since; its response gives the next token.
+      return;
+    }
+    inFlight = false;
+    if (error != null || response == null) {
+      // Stop reading ahead; the consumer sees the error when it takes this page.
+      return;
+    }
+    JsonNode token = response.get("nextPageToken");
+    nextPageToken = (token == null || token.asText().isEmpty()) ? null : token.asText();
+    maybeIssue();
+  }
+
+  private void maybeIssue() {
+    if (!inFlight && nextPageToken != null && buffered.size() < depth) {
+      issue(nextPageToken);
+    }
+  }
+
+  private ObjectNode configWithPageToken(String pageToken) {
+    ObjectNode config = requestConfig.deepCopy();
+    config.put("pageToken", pageToken);
+    return config;
+  }
+}
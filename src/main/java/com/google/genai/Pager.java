@@ -23,12 +23,20 @@ import com.google.genai.errors.GenAiIOException;
 import com.google.genai.types.HttpResponse;
 import java.util.Iterator;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /** Pager class for iterating through paginated results. */
 public class Pager<T extends JsonSerializable> extends BasePager<T> implements Iterable<T> {
 
   private final PagerIterator iterator;
+  private PagePrefetcher prefetcher;
 
   /** Constructs a Pager. */
   Pager(
@@ -53,6 +61,60 @@ public class Pager<T extends JsonSerializable> extends BasePager<T> implements I
     return iterator;
   }
 
+  /**
+   * Returns a {@link Spliterator} over the remaining items of this pager. It shares its position
+   * with {@link #iterator()}.
+   */
+  @Override
+  public Spliterator<T> spliterator() {
+    return Spliterators.spliteratorUnknownSize(
+        iterator, Spliterator.ORDERED | Spliterator.NONNULL);
+  }
+
+  /**
+   * Returns a sequential {@link Stream} over the remaining items of this pager. Next pages are
+   * queried lazily as the stream is consumed; combine with {@link #prefetch(int, Executor)} to
+   * process items while later pages load.
+   */
+  public Stream<T> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  /**
+   * Enables read-ahead for this pager. The request for the next page is issued as soon as the
+   * current page arrives, instead of when the caller has consumed it, and up to {@code depth} pages
+   * are buffered ahead of the caller.
+   *
+   * @param depth The maximum number of pages to read ahead. Must be at least 1.
+   * @param executor The executor that issues the read-ahead requests. Each request blocks one of
+   *     its threads until the page arrives.
+   * @return This pager.
+   */
+  public Pager<T> prefetch(int depth, Executor executor) {
+    if (executor == null) {
+      throw new IllegalArgumentException("Executor cannot be null.");
+    }
+    if (prefetcher != null) {
+      throw new IllegalStateException("Prefetch is already enabled for this pager.");
+    }
+    Function<JsonSerializable, Object> request = iterator.request;
+    prefetcher =
+        new PagePrefetcher(
+            config ->
+                CompletableFuture.supplyAsync(
+                    () ->
+                        JsonSerializable.toJsonNode(
+                            request.apply(
+                                JsonSerializable.fromJsonNode(
+                                    config, pagedItem.requestConfigClass()))),
+                    executor),
+            requestConfig,
+            depth);
+    JsonNode pageToken = requestConfig.get("pageToken");
+    prefetcher.prime(pageToken == null ? null : pageToken.asText());
+    return this;
+  }
+
   /** Returns the name of the item for this pager. */
   public String name() {
     return pagedItem.fieldName();
@@ -97,11 +159,19 @@ public class Pager<T extends JsonSerializable> extends BasePager<T> implements I
       }
 
       try {
-        initNewPage(
-            JsonSerializable.toJsonNode(
-                request.apply(
-                    JsonSerializable.fromJsonNode(requestConfig, pagedItem.requestConfigClass()))));
+        if (prefetcher != null) {
+          initNewPage(prefetcher.take(requestConfig.get("pageToken").asText()).join());
+        } else {
+          initNewPage(
+              JsonSerializable.toJsonNode(
+                  request.apply(
+                      JsonSerializable.fromJsonNode(
+                          requestConfig, pagedItem.requestConfigClass()))));
+        }
         this.currentIndex = 0;
+      } catch (CompletionException e) {
+        Throwable cause = e.getCause() == null ? e : e.getCause();
+        throw new GenAiIOException("Failed to fetch the next page. " + cause.getMessage());
       } catch (Exception e) {
         throw new GenAiIOException("Failed to fetch the next page. " + e.getMessage());
       }
@@ -24,6 +24,8 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.api.core.InternalApi;
 import com.google.auth.oauth2.GoogleCredentials;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableMap;
 import com.google.genai.errors.GenAiIOException;
 import com.google.genai.types.ClientOptions;
@@ -36,6 +38,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -51,15 +54,25 @@ import okhttp3.Request;
 import okhttp3.RequestBody;
 import okio.Buffer;
 
-/** Base client for the HTTP APIs. */
+/**
+ * Base client for the HTTP APIs.
+ *
+ * <p>In the "replay" client mode, requests must arrive in the recorded order. In the
+ * "indexed-replay" client mode, each request is served the recorded interaction with the same
+ * method, URL and body, so requests may arrive in any order and from any number of threads.
+ */
 @InternalApi
 @ExcludeFromGeneratedCoverageReport
 public final class ReplayApiClient extends ApiClient {
+  static final String INDEXED_REPLAY_MODE = "indexed-replay";
+
   private final String clientMode;
   private final String replaysDirectory;
   private String replayId;
   private int replayInteractionIndex;
   private List<ReplayInteraction> replayInteractions;
+  private volatile Supplier<ReplayIndex> replayIndex;
+  private volatile Duration chunkDelay = Duration.ZERO;
 
   /** Constructs an ApiClient for Google AI APIs. */
   public ReplayApiClient(
@@ -77,6 +90,9 @@ public final class ReplayApiClient extends ApiClient {
     this.replaysDirectory = replaysDirectory;
     this.replayId = replayId;
     this.clientMode = clientMode;
+    if (clientMode.equals(INDEXED_REPLAY_MODE) && !replayId.isEmpty()) {
+      initializeReplaySession(replayId);
+    }
   }
 
   /** Constructs an ApiClient for Vertex AI APIs. */
@@ -98,6 +114,9 @@ public final class ReplayApiClient extends ApiClient {
     this.replaysDirectory = replaysDirectory;
     this.replayId = replayId;
     this.clientMode = clientMode;
+    if (clientMode.equals(INDEXED_REPLAY_MODE) && !replayId.isEmpty()) {
+      initializeReplaySession(replayId);
+    }
   }
 
   /** Reads a string from a file path. */
@@ -109,10 +128,17 @@ public final class ReplayApiClient extends ApiClient {
     }
   }
 
-  /** Initializes the replay session. */
+  /**
+   * Initializes the replay session. In the "indexed-replay" client mode, the replay file is only
+   * read by the first request.
+   */
   public void initializeReplaySession(String replayId) {
     this.replayId = replayId;
     String replayPath = this.replaysDirectory + "/" + this.replayId;
+    if (this.clientMode.equals(INDEXED_REPLAY_MODE)) {
+      this.replayIndex = Suppliers.memoize(() -> ReplayIndex.load(Paths.get(replayPath)));
+      return;
+    }
     String replayData = readString(Paths.get(replayPath));
     this.replayInteractions =
         ReplayFile.fromJson(replayData)
@@ -125,11 +151,21 @@ public final class ReplayApiClient extends ApiClient {
     this.replayInteractionIndex = 0;
   }
 
+  /**
+   * Sets the delay between two chunks of a replayed streaming response, to approximate the timing
+   * of the recorded stream. Only used in the "indexed-replay" client mode. Defaults to no delay.
+   */
+  void setChunkDelay(Duration chunkDelay) {
+    this.chunkDelay = checkNotNull(chunkDelay, "chunkDelay cannot be null");
+  }
+
   /** Sends a Http Post request given the path and request json string. */
   @Override
   public ApiResponse request(
       String httpMethod, String path, String requestJson, Optional<HttpOptions> httpOptions) {
-    if (this.clientMode.equals("replay")) {
+    if (this.clientMode.equals(INDEXED_REPLAY_MODE)) {
+      return indexedRequest(buildRequest(httpMethod, path, requestJson, httpOptions));
+    } else if (this.clientMode.equals("replay")) {
       ReplayInteraction currentInteraction = replayInteractions.get(this.replayInteractionIndex);
       this.replayInteractionIndex++;
       matchRequest(
@@ -175,6 +211,38 @@ public final class ReplayApiClient extends ApiClient {
     throw new UnsupportedOperationException("Not implemented yet.");
   }
 
+  /** Serves the recorded interaction whose request has the same key as the actual request. */
+  private ApiResponse indexedRequest(Request actualRequest) {
+    Supplier<ReplayIndex> index = this.replayIndex;
+    if (index == null) {
+      throw new IllegalStateException("The replay session has not been initialized.");
+    }
+    String method = actualRequest.method();
+    JsonNode body = null;
+    if (actualRequest.body() != null) {
+      body = JsonSerializable.stringToJsonNode(requestBodyToString(actualRequest.body()));
+    }
+    ReplayInteraction interaction =
+        index
+            .get()
+            .next(
+                ReplayIndex.key(method, redactRequestUrl(actualRequest.url().toString()), body));
+    boolean isStream = actualRequest.url().encodedPath().contains("streamGenerateContent");
+    ReplayResponse replayResponse =
+        interaction
+            .response()
+            .orElseThrow(() -> new IllegalArgumentException("Replay response is null."));
+    JsonNode bodyNode =
+        JsonSerializable.toJsonNode(replayResponse.bodySegments().orElse(new ArrayList<>()));
+    Headers headers = Headers.of(replayResponse.headers().orElse(ImmutableMap.of()));
+    return new ReplayApiResponse(
+        (ArrayNode) bodyNode,
+        replayResponse.statusCode().orElse(0),
+        headers,
+        isStream,
+        isStream ? chunkDelay : Duration.ZERO);
+  }
+
   /** Makes sure the replay request matches the actual request message. */
   private void matchRequest(ReplayRequest replayRequest, Request actualRequest) {
     if (replayRequest == null) {
@@ -243,7 +311,7 @@ public final class ReplayApiClient extends ApiClient {
         (ArrayNode) bodyNode, replayResponse.statusCode().orElse(0), headers, isStream);
   }
 
-  private static String formatUrl(String url) {
+  static String formatUrl(String url) {
     String result = url.replace("True", "true");
     result = result.replace("False", "false");
     return result;
@@ -253,7 +321,7 @@ public final class ReplayApiClient extends ApiClient {
    * Redact all the url parts before the resource name, so the test can work against any project,
    * location, version, or whether it's GCP Express (API keys on Vertex AI).
    */
-  private static String redactRequestUrl(String requestUrl) {
+  static String redactRequestUrl(String requestUrl) {
     String result =
         requestUrl.replaceAll(".*/projects/[^/]+/locations/[^/]+/", "{VERTEX_URL_PREFIX}/");
 
@@ -302,7 +370,7 @@ public final class ReplayApiClient extends ApiClient {
   }
 
   /** Redact the request body to make it robust to replay files. */
-  private static JsonNode redactRequestBody(JsonNode requestBody) {
+  static JsonNode redactRequestBody(JsonNode requestBody) {
     ObjectNode redactedNode = JsonSerializable.objectMapper.createObjectNode();
     requestBody
         .fields()
@@ -331,7 +399,7 @@ public final class ReplayApiClient extends ApiClient {
    * <p>e.g., {'my_key': 'my_value'} -> {'myKey': 'myValue'}
    */
   @SuppressWarnings("PatternMatchingInstanceOf")
-  private static Object normalizeKeyCase(Object obj) {
+  static Object normalizeKeyCase(Object obj) {
     if (obj instanceof Map) {
       Map<?, ?> originalMap = (Map<?, ?>) obj;
       Map<String, Object> normalizedMap = new HashMap<>();
@@ -23,10 +23,18 @@ import com.google.genai.errors.ApiException;
 import com.google.genai.errors.GenAiIOException;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import okhttp3.Headers;
 import okhttp3.MediaType;
 import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.Okio;
+import okio.Source;
+import okio.Timeout;
 
 /** Provides a simulated HTTP response from a replay file. */
 @InternalApi
@@ -40,11 +48,35 @@ public final class ReplayApiResponse extends ApiResponse {
 
   public ReplayApiResponse(
       ArrayNode bodySegments, int statusCode, Headers headers, boolean isStream) {
+    this(bodySegments, statusCode, headers, isStream, Duration.ZERO);
+  }
+
+  /**
+   * Creates a response whose streamed body releases one segment at a time, waiting the given
+   * delay before every segment but the first.
+   */
+  ReplayApiResponse(
+      ArrayNode bodySegments,
+      int statusCode,
+      Headers headers,
+      boolean isStream,
+      Duration chunkDelay) {
     this.bodySegments = bodySegments;
     this.statusCode = statusCode;
     this.headers = headers;
     if (bodySegments.size() == 0) {
-      this.body = ResponseBody.create(MediaType.parse("application/json"), "");
+      this.body = ResponseBody.create("", MediaType.parse("application/json"));
+    } else if ((isStream || bodySegments.size() > 1) && !chunkDelay.isZero()) {
+      List<byte[]> events = new ArrayList<>(bodySegments.size());
+      for (JsonNode segment : bodySegments) {
+        String event = "data: " + JsonSerializable.toJsonString(segment) + "\n\n";
+        events.add(event.getBytes(StandardCharsets.UTF_8));
+      }
+      this.body =
+          ResponseBody.create(
+              Okio.buffer(new DelayedEventSource(events, chunkDelay.toNanos())),
+              MediaType.parse("application/json"),
+              -1);
     } else if (isStream || bodySegments.size() > 1) {
       // For streaming response
       try {
@@ -87,4 +119,47 @@ public final class ReplayApiResponse extends ApiResponse {
 
   @Override
   public void close() {}
+
+  /** Emits server-sent events one at a time, sleeping between them like a live stream. */
+  private static final class DelayedEventSource implements Source {
+    private final List<byte[]> events;
+    private final long delayNanos;
+    private final Buffer pending = new Buffer();
+    private int next;
+
+    DelayedEventSource(List<byte[]> events, long delayNanos) {
+      this.events = events;
+      this.delayNanos = delayNanos;
+    }
+
+    @Override
+    public long read(Buffer sink, long byteCount) throws IOException {
+      if (pending.size() == 0) {
+        if (next == events.size()) {
+          return -1;
+        }
+        if (next > 0) {
+          try {
+            Thread.sleep(delayNanos / 1_000_000, (int) (delayNanos % 1_000_000));
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while replaying a stream");
+          }
+        }
+        pending.write(events.get(next++));
+      }
+      return pending.read(sink, Math.min(byteCount, pending.size()));
+    }
+
+    @Override
+    public Timeout timeout() {
+      return Timeout.NONE;
+    }
+
+    @Override
+    public void close() {
+      pending.clear();
+      next = events.size();
+    }
+  }
 }
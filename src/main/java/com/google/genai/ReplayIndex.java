@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hashing;
+import com.google.genai.errors.GenAiIOException;
+import com.google.genai.types.ReplayFile;
+import com.google.genai.types.ReplayInteraction;
+import com.google.genai.types.ReplayRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The interactions of a replay file, indexed by a normalized key of their request so that they can
+ * be served in any order and from any number of threads.
+ *
+ * <p>The key is the lowercase method, the redacted URL and a SHA-256 hash of the redacted,
+ * key-case-normalized request body with its object keys sorted. Interactions that share a key are
+ * served in recorded order, wrapping around once they are exhausted. Serving only reads the index
+ * and bumps a per-key counter, so it takes no lock.
+ */
+final class ReplayIndex {
+
+  private static final ObjectMapper CANONICAL_MAPPER =
+      JsonSerializable.objectMapper.copy().enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+  private final Path path;
+  private final ImmutableMap<String, Entry> entries;
+
+  private ReplayIndex(Path path, ImmutableMap<String, Entry> entries) {
+    this.path = path;
+    this.entries = entries;
+  }
+
+  /** Loads and indexes the replay file at the given path, reading it through a memory map. */
+  static ReplayIndex load(Path path) {
+    JsonNode replayFile;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      try (InputStream input = new ByteBufferBackedInputStream(buffer)) {
+        replayFile = JsonSerializable.objectMapper.readTree(input);
+      }
+    } catch (IOException e) {
+      throw new GenAiIOException("Failed to read replay file from path: " + path, e);
+    }
+    List<ReplayInteraction> interactions =
+        JsonSerializable.fromJsonNode(replayFile, ReplayFile.class)
+            .interactions()
+            .orElseThrow(
+                () ->
+                    new GenAiIOException(
+                        String.format("The replay file %s does not have interactions.", path)));
+
+    Map<String, ImmutableList.Builder<ReplayInteraction>> grouped = new LinkedHashMap<>();
+    for (ReplayInteraction interaction : interactions) {
+      ReplayRequest request =
+          interaction
+              .request()
+              .orElseThrow(() -> new IllegalArgumentException("Replay request is null."));
+      String method = request.method().orElse("");
+      JsonNode body =
+          request
+              .bodySegments()
+              .flatMap(segments -> segments.stream().findFirst())
+              .map(JsonSerializable::toJsonNode)
+              .orElse(null);
+      String key = key(method, ReplayApiClient.formatUrl(request.url().orElse("")), body);
+      grouped.computeIfAbsent(key, k -> ImmutableList.builder()).add(interaction);
+    }
+    ImmutableMap.Builder<String, Entry> entries = ImmutableMap.builder();
+    grouped.forEach((key, group) -> entries.put(key, new Entry(group.build())));
+    return new ReplayIndex(path, entries.build());
+  }
+
+  /**
+   * Returns the normalized key of a request.
+   *
+   * @param method The HTTP method.
+   * @param url The redacted URL, as recorded in replay files.
+   * @param body The request body, or null if the request has none.
+   */
+  static String key(String method, String url, JsonNode body) {
+    String lowerMethod = method.toLowerCase(Locale.ROOT);
+    String bodyHash = "";
+    if (body != null && !lowerMethod.equals("get") && !lowerMethod.equals("delete")) {
+      JsonNode canonicalBody =
+          (JsonNode) ReplayApiClient.normalizeKeyCase(ReplayApiClient.redactRequestBody(body));
+      try {
+        // Sort object keys through a Map, as JsonNodes serialize in insertion order.
+        Object sortable = CANONICAL_MAPPER.treeToValue(canonicalBody, Object.class);
+        bodyHash =
+            Hashing.sha256().hashBytes(CANONICAL_MAPPER.writeValueAsBytes(sortable)).toString();
+      } catch (IOException e) {
+        throw new GenAiIOException("Failed to hash the request body.", e);
+      }
+    }
+    return lowerMethod + " " + url + " " + bodyHash;
+  }
+
+  /** Returns the number of distinct request keys. */
+  int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns the next recorded interaction for the given request key.
+   *
+   * @throws AssertionError if no recorded interaction has the key.
+   */
+  ReplayInteraction next(String key) {
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      throw new AssertionError(
+          String.format(
+              "No interaction in %s matches the request:\n%s\nRecorded requests:\n%s",
+              path, key, String.join("\n", entries.keySet())));
+    }
+    return entry.next();
+  }
+
+  private static final class Entry {
+    private final ImmutableList<ReplayInteraction> interactions;
+    private final AtomicInteger served = new AtomicInteger();
+
+    Entry(ImmutableList<ReplayInteraction> interactions) {
+      this.interactions = interactions;
+    }
+
+    ReplayInteraction next() {
+      return interactions.get(Math.floorMod(served.getAndIncrement(), interactions.size()));
+    }
+  }
+}
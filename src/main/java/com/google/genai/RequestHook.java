@@ -0,0 +1,375 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import java.time.Duration;
+import java.util.Optional;
+import okhttp3.Headers;
+
+/**
+ * Observes the HTTP calls made by a {@link Client}, for logging, metrics or tracing.
+ *
+ * <p>Hooks are registered with {@link com.google.genai.types.ClientOptions.Builder#requestHooks}
+ * and fire for every HTTP call of the client: {@code Models}, {@code Files}, {@code Batches},
+ * {@code Caches}, the other REST modules and the Interactions API. Live sessions use a WebSocket
+ * and are not observed. A call goes through the following events:
+ *
+ * <ol>
+ *   <li>{@link #beforeRequest} once, before the first attempt is sent.
+ *   <li>{@link #onRetry} before each further attempt.
+ *   <li>{@link #onResponseHeaders} once the headers of the final response have arrived.
+ *   <li>{@link #onStreamChunk} for each chunk of a streamed response, as the caller reads it.
+ *   <li>{@link #onComplete} once the response body has been read or closed, or {@link #onError}
+ *       if the call fails without a response or while its body is read.
+ * </ol>
+ *
+ * <p>Hooks run on the thread that makes the call or reads the stream, so they should return
+ * quickly. Exceptions thrown by a hook are logged and do not affect the call. A client without
+ * hooks does not install any of this machinery.
+ */
+public interface RequestHook {
+
+  /** Called before the first attempt of a call is sent. */
+  default void beforeRequest(Context context) {}
+
+  /** Called before an attempt is retried, after the previous attempt failed. */
+  default void onRetry(Context context, RetryInfo retry) {}
+
+  /** Called when the headers of the response to the last attempt have arrived. */
+  default void onResponseHeaders(Context context, ResponseInfo response) {}
+
+  /** Called for each chunk of a streamed response, when the caller reads it. */
+  default void onStreamChunk(Context context, ChunkInfo chunk) {}
+
+  /** Called when the response body has been fully read or closed. */
+  default void onComplete(Context context, CompletionInfo completion) {}
+
+  /** Called when the call fails without a response, or while its response body is read. */
+  default void onError(Context context, Throwable error) {}
+
+  /**
+   * Describes a call. The same instance is passed to every event of the call, and {@link
+   * #attempt()} advances as the call is retried.
+   */
+  final class Context {
+    private final String httpMethod;
+    private final String path;
+    private final String operation;
+    private final Optional<String> model;
+    private final Optional<Long> requestBytes;
+    private final Optional<Duration> queueWait;
+    private final long startNanos;
+    private volatile int attempt = 1;
+
+    Context(
+        String httpMethod,
+        String path,
+        String operation,
+        Optional<String> model,
+        Optional<Long> requestBytes,
+        Optional<Duration> queueWait,
+        long startNanos) {
+      this.httpMethod = httpMethod;
+      this.path = path;
+      this.operation = operation;
+      this.model = model;
+      this.requestBytes = requestBytes;
+      this.queueWait = queueWait;
+      this.startNanos = startNanos;
+    }
+
+    /** Returns the HTTP method, such as {@code POST}. */
+    public String httpMethod() {
+      return httpMethod;
+    }
+
+    /** Returns the path of the request URL, without the query, which may hold credentials. */
+    public String path() {
+      return path;
+    }
+
+    /**
+     * Returns the name of the operation, derived from the URL: the custom method for calls such as
+     * {@code generateContent} or {@code streamGenerateContent}, and the HTTP method followed by
+     * the resource collection for the others, such as {@code GET files} or {@code POST batches}.
+     */
+    public String operation() {
+      return operation;
+    }
+
+    /** Returns the model the call is made to, if the URL names one, such as {@code gemini-pro}. */
+    public Optional<String> model() {
+      return model;
+    }
+
+    /** Returns the size of the request body in bytes, if it has a body of known size. */
+    public Optional<Long> requestBytes() {
+      return requestBytes;
+    }
+
+    /**
+     * Returns how long an asynchronous call waited in the queue of the HTTP client's dispatcher
+     * before it started. Empty for synchronous calls, which are not queued.
+     */
+    public Optional<Duration> queueWait() {
+      return queueWait;
+    }
+
+    /** Returns the number of the current attempt, starting at 1. */
+    public int attempt() {
+      return attempt;
+    }
+
+    /** Returns the time since the call started. */
+    public Duration elapsed() {
+      return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+
+    long startNanos() {
+      return startNanos;
+    }
+
+    void attempt(int attempt) {
+      this.attempt = attempt;
+    }
+  }
+
+  /** Describes a retry. */
+  final class RetryInfo {
+    private final int attempt;
+    private final Duration delay;
+    private final Optional<Integer> statusCode;
+    private final Optional<Throwable> error;
+
+    RetryInfo(
+        int attempt, Duration delay, Optional<Integer> statusCode, Optional<Throwable> error) {
+      this.attempt = attempt;
+      this.delay = delay;
+      this.statusCode = statusCode;
+      this.error = error;
+    }
+
+    /** Returns the number of the attempt about to be made, starting at 2. */
+    public int attempt() {
+      return attempt;
+    }
+
+    /** Returns how long the client waits before the attempt. */
+    public Duration delay() {
+      return delay;
+    }
+
+    /** Returns the status code of the failed attempt, if it got a response. */
+    public Optional<Integer> statusCode() {
+      return statusCode;
+    }
+
+    /** Returns the error of the failed attempt, if it got no response. */
+    public Optional<Throwable> error() {
+      return error;
+    }
+  }
+
+  /** Describes the response to the last attempt of a call. */
+  final class ResponseInfo {
+    private final int statusCode;
+    private final Headers headers;
+    private final Optional<Long> contentLength;
+    private final Optional<Duration> serverTiming;
+
+    ResponseInfo(
+        int statusCode,
+        Headers headers,
+        Optional<Long> contentLength,
+        Optional<Duration> serverTiming) {
+      this.statusCode = statusCode;
+      this.headers = headers;
+      this.contentLength = contentLength;
+      this.serverTiming = serverTiming;
+    }
+
+    /** Returns the HTTP status code. */
+    public int statusCode() {
+      return statusCode;
+    }
+
+    /** Returns the response headers. */
+    public Headers headers() {
+      return headers;
+    }
+
+    /** Returns the size of the response body in bytes, if the server announced it. */
+    public Optional<Long> contentLength() {
+      return contentLength;
+    }
+
+    /**
+     * Returns the time the server spent on the request, from the first {@code dur} of the {@code
+     * Server-Timing} header, if the response has one.
+     */
+    public Optional<Duration> serverTiming() {
+      return serverTiming;
+    }
+  }
+
+  /** Describes a chunk of a streamed response. */
+  final class ChunkInfo {
+    private final int index;
+    private final long bytes;
+    private final Optional<TokenUsage> usage;
+    private final Duration elapsed;
+    private final Duration sincePrevious;
+
+    ChunkInfo(
+        int index,
+        long bytes,
+        Optional<TokenUsage> usage,
+        Duration elapsed,
+        Duration sincePrevious) {
+      this.index = index;
+      this.bytes = bytes;
+      this.usage = usage;
+      this.elapsed = elapsed;
+      this.sincePrevious = sincePrevious;
+    }
+
+    /** Returns the position of the chunk in the stream, starting at 0. */
+    public int index() {
+      return index;
+    }
+
+    /** Returns the size of the chunk's JSON in bytes. */
+    public long bytes() {
+      return bytes;
+    }
+
+    /** Returns the token usage reported by the chunk, if it has any. */
+    public Optional<TokenUsage> usage() {
+      return usage;
+    }
+
+    /** Returns the time from the start of the call to this chunk. */
+    public Duration elapsed() {
+      return elapsed;
+    }
+
+    /**
+     * Returns the time since the previous chunk, or since the start of the call for the first
+     * chunk.
+     */
+    public Duration sincePrevious() {
+      return sincePrevious;
+    }
+  }
+
+  /** Describes a call whose response body has been read or closed. */
+  final class CompletionInfo {
+    private final int statusCode;
+    private final long responseBytes;
+    private final Optional<TokenUsage> usage;
+    private final Duration elapsed;
+    private final Optional<Duration> timeToFirstChunk;
+
+    CompletionInfo(
+        int statusCode,
+        long responseBytes,
+        Optional<TokenUsage> usage,
+        Duration elapsed,
+        Optional<Duration> timeToFirstChunk) {
+      this.statusCode = statusCode;
+      this.responseBytes = responseBytes;
+      this.usage = usage;
+      this.elapsed = elapsed;
+      this.timeToFirstChunk = timeToFirstChunk;
+    }
+
+    /** Returns the HTTP status code of the response. */
+    public int statusCode() {
+      return statusCode;
+    }
+
+    /** Returns the number of response body bytes read. */
+    public long responseBytes() {
+      return responseBytes;
+    }
+
+    /**
+     * Returns the token usage of the call, if the response reported it. For a stream, this is the
+     * usage of the last chunk that had one.
+     */
+    public Optional<TokenUsage> usage() {
+      return usage;
+    }
+
+    /** Returns the time from the start of the call to its completion. */
+    public Duration elapsed() {
+      return elapsed;
+    }
+
+    /** Returns the time from the start of the call to its first chunk, if it was streamed. */
+    public Optional<Duration> timeToFirstChunk() {
+      return timeToFirstChunk;
+    }
+  }
+
+  /** The token counts of a response's {@code usageMetadata}. */
+  final class TokenUsage {
+    private final Optional<Integer> promptTokens;
+    private final Optional<Integer> outputTokens;
+    private final Optional<Integer> thoughtsTokens;
+    private final Optional<Integer> cachedTokens;
+    private final Optional<Integer> totalTokens;
+
+    TokenUsage(
+        Optional<Integer> promptTokens,
+        Optional<Integer> outputTokens,
+        Optional<Integer> thoughtsTokens,
+        Optional<Integer> cachedTokens,
+        Optional<Integer> totalTokens) {
+      this.promptTokens = promptTokens;
+      this.outputTokens = outputTokens;
+      this.thoughtsTokens = thoughtsTokens;
+      this.cachedTokens = cachedTokens;
+      this.totalTokens = totalTokens;
+    }
+
+    /** Returns the number of tokens in the prompt. */
+    public Optional<Integer> promptTokens() {
+      return promptTokens;
+    }
+
+    /** Returns the number of tokens in the generated candidates. */
+    public Optional<Integer> outputTokens() {
+      return outputTokens;
+    }
+
+    /** Returns the number of tokens spent on thinking. */
+    public Optional<Integer> thoughtsTokens() {
+      return thoughtsTokens;
+    }
+
+    /** Returns the number of prompt tokens served from the cache. */
+    public Optional<Integer> cachedTokens() {
+      return cachedTokens;
+    }
+
+    /** Returns the total number of tokens of the call. */
+    public Optional<Integer> totalTokens() {
+      return totalTokens;
+    }
+  }
+}
@@ -0,0 +1,391 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Utf8;
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Interceptor that reports the calls of an HTTP client to the registered {@link RequestHook}s.
+ *
+ * <p>It is installed in front of the {@link RetryInterceptor} only when hooks are registered, and
+ * tags each request with its {@link Call} so that the retry interceptor and {@link ResponseStream}
+ * can report their events to the same call.
+ */
+final class RequestHooks implements Interceptor {
+
+  private static final Logger logger = Logger.getLogger(RequestHooks.class.getName());
+
+  private static final Pattern API_VERSION = Pattern.compile("v\\d+\\w*");
+  private static final Pattern SERVER_TIMING_DURATION = Pattern.compile("\\bdur=([0-9.]+)");
+
+  private final ImmutableList<RequestHook> hooks;
+
+  RequestHooks(List<RequestHook> hooks) {
+    this.hooks = ImmutableList.copyOf(hooks);
+  }
+
+  @Override
+  public Response intercept(Chain chain) throws IOException {
+    Request request = chain.request();
+    Call call = new Call(hooks, context(request));
+    call.each(hook -> hook.beforeRequest(call.context));
+
+    Response response;
+    try {
+      response = chain.proceed(request.newBuilder().tag(Call.class, call).build());
+    } catch (IOException | RuntimeException e) {
+      call.error(e);
+      throw e;
+    }
+
+    ResponseBody body = response.body();
+    RequestHook.ResponseInfo info =
+        new RequestHook.ResponseInfo(
+            response.code(),
+            response.headers(),
+            body != null && body.contentLength() >= 0
+                ? Optional.of(body.contentLength())
+                : Optional.empty(),
+            serverTiming(response.header("Server-Timing")));
+    call.each(hook -> hook.onResponseHeaders(call.context, info));
+
+    if (body == null) {
+      call.complete(response.code(), 0, Optional.empty());
+      return response;
+    }
+    MediaType contentType = body.contentType();
+    if (contentType != null && "json".equals(contentType.subtype())) {
+      // JSON responses are read whole by the SDK anyway, so reading them here only moves the work
+      // earlier and lets the completion report the token usage.
+      byte[] bytes;
+      try {
+        bytes = body.bytes();
+      } catch (IOException e) {
+        call.error(e);
+        throw e;
+      }
+      call.complete(response.code(), bytes.length, usage(bytes));
+      return response.newBuilder().body(ResponseBody.create(bytes, contentType)).build();
+    }
+    return response.newBuilder().body(new ObservedBody(body, call, response.code())).build();
+  }
+
+  /** Describes the given request for the hooks. */
+  static RequestHook.Context context(Request request) {
+    List<String> segments = request.url().pathSegments();
+    int start = 0;
+    if (start < segments.size() && segments.get(start).equals("upload")) {
+      start++;
+    }
+    if (start < segments.size() && API_VERSION.matcher(segments.get(start)).matches()) {
+      start++;
+    }
+    if (segments.size() - start >= 4
+        && segments.get(start).equals("projects")
+        && segments.get(start + 2).equals("locations")) {
+      start += 4;
+    }
+    List<String> resource = segments.subList(start, segments.size());
+
+    Optional<String> model = Optional.empty();
+    for (int i = 0; i + 1 < resource.size(); i++) {
+      if (resource.get(i).equals("models")) {
+        String name = resource.get(i + 1);
+        int colon = name.indexOf(':');
+        model = Optional.of(colon >= 0 ? name.substring(0, colon) : name);
+      }
+    }
+
+    String operation;
+    String last = resource.isEmpty() ? "" : resource.get(resource.size() - 1);
+    int colon = last.indexOf(':');
+    if (colon >= 0) {
+      operation = last.substring(colon + 1);
+    } else if (resource.isEmpty()) {
+      operation = request.method();
+    } else {
+      // Resource names alternate between collections and ids, so the collection of the resource
+      // is at the last even position.
+      int lastIndex = resource.size() - 1;
+      operation = request.method() + " " + resource.get(lastIndex - lastIndex % 2);
+    }
+
+    Optional<Long> requestBytes = Optional.empty();
+    if (request.body() != null) {
+      try {
+        long length = request.body().contentLength();
+        if (length >= 0) {
+          requestBytes = Optional.of(length);
+        }
+      } catch (IOException e) {
+        // The size is unknown.
+      }
+    }
+
+    long now = System.nanoTime();
+    Enqueued enqueued = request.tag(Enqueued.class);
+    return new RequestHook.Context(
+        request.method(),
+        request.url().encodedPath(),
+        operation,
+        model,
+        requestBytes,
+        enqueued != null ? Optional.of(Duration.ofNanos(now - enqueued.nanos)) : Optional.empty(),
+        now);
+  }
+
+  /** Returns the first duration of a {@code Server-Timing} header, which is in milliseconds. */
+  static Optional<Duration> serverTiming(@Nullable String header) {
+    if (header == null) {
+      return Optional.empty();
+    }
+    Matcher matcher = SERVER_TIMING_DURATION.matcher(header);
+    if (!matcher.find()) {
+      return Optional.empty();
+    }
+    try {
+      double millis = Double.parseDouble(matcher.group(1));
+      return Optional.of(Duration.ofNanos((long) (millis * 1_000_000)));
+    } catch (NumberFormatException e) {
+      return Optional.empty();
+    }
+  }
+
+  /** Reads the top-level {@code usageMetadata} of a JSON response, skipping everything else. */
+  private static Optional<RequestHook.TokenUsage> usage(byte[] json) {
+    try (JsonParser parser = JsonSerializable.objectMapper.getFactory().createParser(json)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return Optional.empty();
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String name = parser.currentName();
+        parser.nextToken();
+        if (name.equals("usageMetadata")) {
+          return usage((JsonNode) parser.readValueAsTree());
+        }
+        parser.skipChildren();
+      }
+    } catch (IOException e) {
+      // Not JSON after all; the SDK reports it when it parses the response.
+    }
+    return Optional.empty();
+  }
+
+  /** Converts a {@code usageMetadata} node to its token counts. */
+  static Optional<RequestHook.TokenUsage> usage(@Nullable JsonNode usageMetadata) {
+    if (usageMetadata == null || !usageMetadata.isObject()) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        new RequestHook.TokenUsage(
+            count(usageMetadata, "promptTokenCount"),
+            count(usageMetadata, "candidatesTokenCount"),
+            count(usageMetadata, "thoughtsTokenCount"),
+            count(usageMetadata, "cachedContentTokenCount"),
+            count(usageMetadata, "totalTokenCount")));
+  }
+
+  private static Optional<Integer> count(JsonNode node, String field) {
+    JsonNode value = node.get(field);
+    return value != null && value.canConvertToInt()
+        ? Optional.of(value.intValue())
+        : Optional.empty();
+  }
+
+  /** Tags an asynchronous request with the time it was handed to the dispatcher. */
+  static final class Enqueued {
+    final long nanos;
+
+    Enqueued(long nanos) {
+      this.nanos = nanos;
+    }
+  }
+
+  /** The hooks of one call and the state shared between its events. */
+  static final class Call {
+    private final ImmutableList<RequestHook> hooks;
+    final RequestHook.Context context;
+    private final AtomicBoolean finished = new AtomicBoolean();
+    private volatile Optional<RequestHook.TokenUsage> lastUsage = Optional.empty();
+    // Only touched by the thread reading the stream.
+    private int chunks = 0;
+    private long previousChunkNanos;
+    private volatile long firstChunkNanos;
+
+    Call(ImmutableList<RequestHook> hooks, RequestHook.Context context) {
+      this.hooks = hooks;
+      this.context = context;
+    }
+
+    /** Reports that the given attempt is about to be made after a delay. */
+    void retry(
+        int attempt, long delayMillis, @Nullable Integer statusCode, @Nullable Throwable error) {
+      context.attempt(attempt);
+      RequestHook.RetryInfo info =
+          new RequestHook.RetryInfo(
+              attempt,
+              Duration.ofMillis(delayMillis),
+              Optional.ofNullable(statusCode),
+              Optional.ofNullable(error));
+      each(hook -> hook.onRetry(context, info));
+    }
+
+    /** Reports a chunk of a streamed response. */
+    void chunk(String json, JsonNode node) {
+      Optional<RequestHook.TokenUsage> usage =
+          node.isObject() ? usage(node.get("usageMetadata")) : Optional.empty();
+      if (usage.isPresent()) {
+        lastUsage = usage;
+      }
+      long now = System.nanoTime();
+      long start = context.startNanos();
+      if (chunks == 0) {
+        previousChunkNanos = start;
+        firstChunkNanos = now;
+      }
+      RequestHook.ChunkInfo info =
+          new RequestHook.ChunkInfo(
+              chunks++,
+              Utf8.encodedLength(json),
+              usage,
+              Duration.ofNanos(now - start),
+              Duration.ofNanos(now - previousChunkNanos));
+      previousChunkNanos = now;
+      each(hook -> hook.onStreamChunk(context, info));
+    }
+
+    void complete(int statusCode, long responseBytes, Optional<RequestHook.TokenUsage> usage) {
+      if (finished.compareAndSet(false, true)) {
+        long firstChunk = firstChunkNanos;
+        RequestHook.CompletionInfo info =
+            new RequestHook.CompletionInfo(
+                statusCode,
+                responseBytes,
+                usage,
+                context.elapsed(),
+                firstChunk != 0
+                    ? Optional.of(Duration.ofNanos(firstChunk - context.startNanos()))
+                    : Optional.empty());
+        each(hook -> hook.onComplete(context, info));
+      }
+    }
+
+    void error(Throwable error) {
+      if (finished.compareAndSet(false, true)) {
+        each(hook -> hook.onError(context, error));
+      }
+    }
+
+    private void each(Consumer<RequestHook> event) {
+      for (RequestHook hook : hooks) {
+        try {
+          event.accept(hook);
+        } catch (RuntimeException e) {
+          logger.log(Level.WARNING, "A request hook failed.", e);
+        }
+      }
+    }
+  }
+
+  /** A response body that reports its completion once it is exhausted or closed. */
+  private static final class ObservedBody extends ResponseBody {
+    private final ResponseBody delegate;
+    private final Call call;
+    private final int statusCode;
+    private @Nullable BufferedSource source;
+    private long bytesRead = 0;
+
+    ObservedBody(ResponseBody delegate, Call call, int statusCode) {
+      this.delegate = delegate;
+      this.call = call;
+      this.statusCode = statusCode;
+    }
+
+    @Override
+    public @Nullable MediaType contentType() {
+      return delegate.contentType();
+    }
+
+    @Override
+    public long contentLength() {
+      return delegate.contentLength();
+    }
+
+    @Override
+    public BufferedSource source() {
+      if (source == null) {
+        source =
+            Okio.buffer(
+                new ForwardingSource(delegate.source()) {
+                  @Override
+                  public long read(Buffer sink, long byteCount) throws IOException {
+                    long read;
+                    try {
+                      read = super.read(sink, byteCount);
+                    } catch (IOException e) {
+                      call.error(e);
+                      throw e;
+                    }
+                    if (read < 0) {
+                      call.complete(statusCode, bytesRead, call.lastUsage);
+                    } else {
+                      bytesRead += read;
+                    }
+                    return read;
+                  }
+
+                  @Override
+                  public void close() throws IOException {
+                    call.complete(statusCode, bytesRead, call.lastUsage);
+                    super.close();
+                  }
+                });
+      }
+      return source;
+    }
+
+    @Override
+    public void close() {
+      call.complete(statusCode, bytesRead, call.lastUsage);
+      delegate.close();
+    }
+  }
+}
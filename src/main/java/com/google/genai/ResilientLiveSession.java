@@ -0,0 +1,430 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import com.google.genai.errors.GenAiIOException;
+import com.google.genai.types.LiveSendClientContentParameters;
+import com.google.genai.types.LiveSendRealtimeInputParameters;
+import com.google.genai.types.LiveSendToolResponseParameters;
+import com.google.genai.types.LiveServerMessage;
+import com.google.genai.types.LiveServerSessionResumptionUpdate;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A live session that survives the end of its WebSocket connection. The live module is
+ * experimental.
+ *
+ * <p>The session tracks the resumption handles sent by the server. When the connection fails, or
+ * the server announces with {@code goAway} that it will close it, the session connects again with
+ * the latest handle, so that the conversation continues where it left off. Outgoing messages sent
+ * in the meantime are buffered and sent once the new connection is set up, and incoming messages
+ * keep arriving at the same callback, so a reconnect looks like a short stall.
+ *
+ * <p>After a {@code goAway}, the session keeps the old connection until the turn in progress is
+ * complete and the server reports that the session can be resumed, or until the time left
+ * announced by the server runs out. A handle is only used while the latest {@code
+ * sessionResumptionUpdate} reports that the session is resumable; otherwise, such as when the
+ * connection fails while the model is generating, a new session is started.
+ *
+ * <p>Create one with {@link AsyncLive#connectResilient}.
+ */
+public final class ResilientLiveSession {
+
+  private static final Logger logger = Logger.getLogger(ResilientLiveSession.class.getName());
+
+  private final Function<Optional<String>, CompletableFuture<AsyncSession>> connector;
+  private final LiveReconnectConfig config;
+  private final ScheduledExecutorService scheduler;
+  private final CompletableFuture<Void> closeFuture = new CompletableFuture<>();
+
+  // Guards the fields below. Buffered messages are flushed under it, and AsyncSession queues each
+  // frame on the calling thread, so they reach the socket ahead of any later message.
+  private final Object lock = new Object();
+  private final ArrayDeque<Function<AsyncSession, CompletableFuture<Void>>> bufferedSends =
+      new ArrayDeque<>();
+  private AsyncSession session;
+  private Consumer<LiveServerMessage> messageCallback;
+  private boolean closed = false;
+  private String resumptionHandle;
+  private boolean resumable = false;
+  private boolean turnInProgress = false;
+  // Set once the server has announced that the current session will close.
+  private boolean goingAway = false;
+  private ScheduledFuture<?> goAwayTimer;
+  private int reconnectCount = 0;
+  private long droppedMessageCount = 0;
+
+  private ResilientLiveSession(
+      Function<Optional<String>, CompletableFuture<AsyncSession>> connector,
+      LiveReconnectConfig config,
+      ScheduledExecutorService scheduler) {
+    this.connector = connector;
+    this.config = config;
+    this.scheduler = scheduler;
+  }
+
+  /**
+   * Opens the first connection.
+   *
+   * @param connector Connects a session, resuming the given handle if present.
+   */
+  static CompletableFuture<ResilientLiveSession> connect(
+      Function<Optional<String>, CompletableFuture<AsyncSession>> connector,
+      LiveReconnectConfig config,
+      ScheduledExecutorService scheduler) {
+    ResilientLiveSession resilientSession =
+        new ResilientLiveSession(connector, config, scheduler);
+    return connector
+        .apply(Optional.empty())
+        .thenApply(
+            session -> {
+              resilientSession.attach(session);
+              return resilientSession;
+            });
+  }
+
+  /**
+   * Sends client content to the live session, or buffers it while reconnecting.
+   *
+   * @param clientContent A {@link LiveSendClientContentParameters} to send.
+   * @return A {@link CompletableFuture} that completes when the client content has been sent or
+   *     buffered. The future will fail if the session is closed.
+   */
+  public CompletableFuture<Void> sendClientContent(LiveSendClientContentParameters clientContent) {
+    return send(session -> session.sendClientContent(clientContent));
+  }
+
+  /**
+   * Sends realtime input to the live session, or buffers it while reconnecting.
+   *
+   * @param realtimeInput A {@link LiveSendRealtimeInputParameters} to send.
+   * @return A {@link CompletableFuture} that completes when the realtime input has been sent or
+   *     buffered. The future will fail if the session is closed.
+   */
+  public CompletableFuture<Void> sendRealtimeInput(LiveSendRealtimeInputParameters realtimeInput) {
+    return send(session -> session.sendRealtimeInput(realtimeInput));
+  }
+
+  /**
+   * Sends a chunk of audio to the live session, or buffers a copy of it while reconnecting. See
+   * {@link AsyncSession#sendAudio(byte[], int, int, String)}.
+   *
+   * @return A {@link CompletableFuture} that completes when the audio has been queued or buffered.
+   *     The future will fail if the session is closed.
+   */
+  public CompletableFuture<Void> sendAudio(byte[] data, int offset, int length, String mimeType) {
+    AsyncSession current;
+    synchronized (lock) {
+      current = session;
+      if (current == null) {
+        byte[] copy = Arrays.copyOfRange(data, offset, offset + length);
+        return bufferLocked(session -> session.sendAudio(copy, mimeType));
+      }
+    }
+    return current.sendAudio(data, offset, length, mimeType);
+  }
+
+  /**
+   * Sends a chunk of audio to the live session, or buffers it while reconnecting.
+   *
+   * @param data The audio bytes.
+   * @param mimeType The MIME type of the audio, for example {@code "audio/pcm;rate=16000"}.
+   * @return A {@link CompletableFuture} that completes when the audio has been queued or buffered.
+   */
+  public CompletableFuture<Void> sendAudio(byte[] data, String mimeType) {
+    return sendAudio(data, 0, data.length, mimeType);
+  }
+
+  /**
+   * Sends tool response to the live session, or buffers it while reconnecting.
+   *
+   * @param toolResponse A {@link LiveSendToolResponseParameters} to send.
+   * @return A {@link CompletableFuture} that completes when the tool response has been sent or
+   *     buffered. The future will fail if the session is closed.
+   */
+  public CompletableFuture<Void> sendToolResponse(LiveSendToolResponseParameters toolResponse) {
+    return send(session -> session.sendToolResponse(toolResponse));
+  }
+
+  /**
+   * Registers a callback to receive messages from the live session, across reconnects. Only one
+   * callback can be registered at a time.
+   *
+   * @param onMessage A {@link Consumer} that will be called for each {@link LiveServerMessage}
+   *     received.
+   * @return A {@link CompletableFuture} that completes when the callback has been registered.
+   */
+  public CompletableFuture<Void> receive(Consumer<LiveServerMessage> onMessage) {
+    synchronized (lock) {
+      messageCallback = onMessage;
+      if (session != null) {
+        AsyncSession current = session;
+        current.receive(message -> onMessage(current, message));
+      }
+    }
+    return CompletableFuture.completedFuture(null);
+  }
+
+  /**
+   * Closes the live session. It won't reconnect afterwards.
+   *
+   * @return A {@link CompletableFuture} that completes when the connection has been closed.
+   */
+  public CompletableFuture<Void> close() {
+    AsyncSession current;
+    synchronized (lock) {
+      closed = true;
+      current = session;
+      session = null;
+      bufferedSends.clear();
+      cancelGoAwayTimerLocked();
+    }
+    closeFuture.complete(null);
+    return current == null ? CompletableFuture.completedFuture(null) : current.close();
+  }
+
+  /**
+   * Returns a future that completes when the session is closed by {@link #close()}, or fails when
+   * it could not reconnect.
+   */
+  public CompletableFuture<Void> closeFuture() {
+    return closeFuture;
+  }
+
+  /** Returns the latest resumption handle sent by the server, if any. */
+  public Optional<String> resumptionHandle() {
+    synchronized (lock) {
+      return Optional.ofNullable(resumptionHandle);
+    }
+  }
+
+  /** Returns whether the session is currently reconnecting. */
+  public boolean isReconnecting() {
+    synchronized (lock) {
+      return session == null && !closed;
+    }
+  }
+
+  /** Returns the number of times the session has reconnected. */
+  public int reconnectCount() {
+    synchronized (lock) {
+      return reconnectCount;
+    }
+  }
+
+  /** Returns the number of outgoing messages dropped because the buffer was full. */
+  public long droppedMessageCount() {
+    synchronized (lock) {
+      return droppedMessageCount;
+    }
+  }
+
+  private CompletableFuture<Void> send(Function<AsyncSession, CompletableFuture<Void>> send) {
+    AsyncSession current;
+    synchronized (lock) {
+      current = session;
+      if (current == null) {
+        return bufferLocked(send);
+      }
+    }
+    return send.apply(current);
+  }
+
+  private CompletableFuture<Void> bufferLocked(
+      Function<AsyncSession, CompletableFuture<Void>> send) {
+    if (closed) {
+      CompletableFuture<Void> failed = new CompletableFuture<>();
+      failed.completeExceptionally(new GenAiIOException("The live session is closed."));
+      return failed;
+    }
+    if (config.maxBufferedMessages() == 0) {
+      droppedMessageCount++;
+      return CompletableFuture.completedFuture(null);
+    }
+    if (bufferedSends.size() >= config.maxBufferedMessages()) {
+      bufferedSends.poll();
+      droppedMessageCount++;
+    }
+    bufferedSends.add(send);
+    return CompletableFuture.completedFuture(null);
+  }
+
+  /** Makes {@code newSession} the current session and sends the buffered messages to it. */
+  private void attach(AsyncSession newSession) {
+    synchronized (lock) {
+      if (closed) {
+        newSession.close();
+        return;
+      }
+      session = newSession;
+      turnInProgress = false;
+      goingAway = false;
+      // Listen before anything is sent, so that a close at any point reaches reconnect. If the
+      // connection has already closed, the listener runs now and replaces the session again.
+      newSession.addCloseListener(error -> reconnect(newSession, error));
+      if (session != newSession) {
+        return;
+      }
+      if (messageCallback != null) {
+        newSession.receive(message -> onMessage(newSession, message));
+      }
+      while (!bufferedSends.isEmpty()) {
+        bufferedSends.poll().apply(newSession);
+      }
+    }
+  }
+
+  private void onMessage(AsyncSession source, LiveServerMessage message) {
+    Consumer<LiveServerMessage> callback;
+    boolean replace = false;
+    synchronized (lock) {
+      if (source != session) {
+        // A late message from a connection that has been replaced.
+        return;
+      }
+      if (message.sessionResumptionUpdate().isPresent()) {
+        LiveServerSessionResumptionUpdate update = message.sessionResumptionUpdate().get();
+        resumable = update.resumable().orElse(false);
+        if (resumable && update.newHandle().isPresent()) {
+          resumptionHandle = update.newHandle().get();
+        }
+      }
+      if (message.serverContent().isPresent()) {
+        turnInProgress = !message.serverContent().get().turnComplete().orElse(false);
+      } else if (message.toolCall().isPresent()) {
+        turnInProgress = true;
+      }
+      if (message.goAway().isPresent() && !goingAway) {
+        goingAway = true;
+        Optional<Duration> timeLeft = message.goAway().get().timeLeft();
+        if (timeLeft.isPresent()) {
+          goAwayTimer =
+              scheduler.schedule(
+                  () -> reconnect(source, null),
+                  timeLeft.get().toMillis(),
+                  TimeUnit.MILLISECONDS);
+        }
+      }
+      // Move to a new connection once the turn is over and it can be resumed, rather than wait
+      // for the server to close this one. Without a handle, there is nothing to resume.
+      replace = goingAway && !turnInProgress && (resumable || resumptionHandle == null);
+      callback = messageCallback;
+    }
+    if (callback != null) {
+      callback.accept(message);
+    }
+    if (replace) {
+      reconnect(source, null);
+    }
+  }
+
+  /** Replaces {@code oldSession} with a new connection, unless it was already replaced. */
+  private void reconnect(AsyncSession oldSession, Throwable error) {
+    synchronized (lock) {
+      if (closed || oldSession != session) {
+        return;
+      }
+      session = null;
+      reconnectCount++;
+      cancelGoAwayTimerLocked();
+    }
+    if (error != null) {
+      logger.log(Level.WARNING, "Live session connection failed, reconnecting", error);
+    } else {
+      logger.info("Live session connection ended, reconnecting");
+    }
+    oldSession.close();
+    scheduleAttempt(1, 0);
+  }
+
+  private void cancelGoAwayTimerLocked() {
+    if (goAwayTimer != null) {
+      goAwayTimer.cancel(false);
+      goAwayTimer = null;
+    }
+  }
+
+  private void scheduleAttempt(int attempt, long delayMillis) {
+    // Connecting may refresh credentials, so it runs off the scheduler and the socket threads.
+    if (delayMillis == 0) {
+      CompletableFuture.runAsync(() -> attemptConnect(attempt));
+    } else {
+      scheduler.schedule(
+          () -> CompletableFuture.runAsync(() -> attemptConnect(attempt)),
+          delayMillis,
+          TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private void attemptConnect(int attempt) {
+    Optional<String> handle;
+    synchronized (lock) {
+      if (closed) {
+        return;
+      }
+      handle = resumable ? Optional.ofNullable(resumptionHandle) : Optional.empty();
+    }
+    CompletableFuture<AsyncSession> connection;
+    try {
+      connection = connector.apply(handle);
+    } catch (RuntimeException e) {
+      connection = new CompletableFuture<>();
+      connection.completeExceptionally(e);
+    }
+    connection.whenComplete(
+        (newSession, error) -> {
+          if (error == null) {
+            attach(newSession);
+          } else if (attempt >= config.maxAttempts()) {
+            fail(error);
+          } else {
+            long backoff =
+                Math.min(
+                    config.initialBackoff().toMillis() << Math.min(attempt - 1, 30),
+                    config.maxBackoff().toMillis());
+            logger.log(
+                Level.WARNING,
+                "Failed to reconnect the live session, retrying in " + backoff + " ms",
+                error);
+            scheduleAttempt(attempt + 1, Math.max(backoff, 1));
+          }
+        });
+  }
+
+  private void fail(Throwable error) {
+    synchronized (lock) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      bufferedSends.clear();
+    }
+    closeFuture.completeExceptionally(
+        new GenAiIOException("Failed to reconnect the live session.", error));
+  }
+}
@@ -117,6 +117,9 @@ public class ResponseStream<T extends JsonSerializable> implements Iterable<T>,
       nextJson = readNextJson();
       try {
         JsonNode currentJsonNode = JsonSerializable.stringToJsonNode(currentJson);
+        if (hooks != null) {
+          hooks.chunk(currentJson, currentJsonNode);
+        }
 
         if (currentJsonNode.isObject() && currentJsonNode.has("error")) {
           int extractedCode = 500;
@@ -208,6 +211,7 @@ public class ResponseStream<T extends JsonSerializable> implements Iterable<T>,
   private final ResponseStreamIterator iterator;
   private final ApiResponse response;
   private final BufferedReader reader;
+  private final RequestHooks.@Nullable Call hooks;
 
   public ResponseStream(Class<T> clazz, ApiResponse response, Object obj, String converterName) {
     this(clazz, response, obj, converterName, false, false);
@@ -222,6 +226,7 @@ public class ResponseStream<T extends JsonSerializable> implements Iterable<T>,
       boolean canReturnHttpHeaders) {
     InputStream responseStream = response.getBody().byteStream();
     this.reader = new BufferedReader(new InputStreamReader(responseStream, StandardCharsets.UTF_8));
+    this.hooks = response.hookCall();
     Headers headers = null;
     if (canReturnHttpHeaders) {
       headers = response.getHeaders();
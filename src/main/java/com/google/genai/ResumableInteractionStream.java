@@ -0,0 +1,460 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.genai.errors.GenAiIOException;
+import com.google.genai.errors.ServerException;
+import com.google.genai.gaos.models.interactions.ErrorEvent;
+import com.google.genai.gaos.models.interactions.InteractionCompletedEvent;
+import com.google.genai.gaos.models.interactions.InteractionCreatedEvent;
+import com.google.genai.gaos.models.interactions.InteractionSSEEvent;
+import com.google.genai.gaos.models.interactions.InteractionSSEStreamEvent;
+import com.google.genai.gaos.models.interactions.InteractionSseEventInteraction;
+import com.google.genai.gaos.models.interactions.InteractionStatusUpdate;
+import com.google.genai.gaos.models.interactions.StepDelta;
+import com.google.genai.gaos.models.interactions.StepStart;
+import com.google.genai.gaos.models.interactions.StepStop;
+import com.google.genai.gaos.models.interactions.UnknownInteractionSSEEvent;
+import com.google.genai.gaos.models.operations.CreateInteractionRequestBody;
+import com.google.genai.gaos.models.operations.GetInteractionByIdRequest;
+import com.google.genai.gaos.utils.EventStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An interaction event stream that survives the end of its HTTP connection.
+ *
+ * <p>The stream tracks the id of the interaction and the {@code event_id} of the latest event.
+ * When reading the stream fails with an I/O error, or reconnecting fails with an I/O or server
+ * error, it reconnects with {@code interactions.get(id, stream=true, lastEventId)} after an
+ * exponential backoff. Events that were already returned are skipped, so the caller iterates over
+ * one uninterrupted stream. Other errors are thrown from the iterator.
+ *
+ * <pre>{@code
+ * try (ResumableInteractionStream stream =
+ *     ResumableInteractionStream.builder(client).create(requestBody)) {
+ *   for (InteractionSSEStreamEvent event : stream) {
+ *     ...
+ *   }
+ * }
+ * }</pre>
+ *
+ * <p>The stream is iterated by one thread at a time. It can be closed from any thread, which ends
+ * the iteration.
+ */
+public final class ResumableInteractionStream
+    implements Iterable<InteractionSSEStreamEvent>, AutoCloseable {
+
+  private static final Logger logger = Logger.getLogger(ResumableInteractionStream.class.getName());
+
+  // The ids of recent events, to skip the ones the server sends again after a reconnect.
+  private static final int MAX_RECENT_EVENT_IDS = 1024;
+
+  /** The API call used to reconnect. */
+  interface Backend {
+    /** Streams the events of an interaction, after the given event if present. */
+    CompletableFuture<EventStream<InteractionSSEStreamEvent>> get(
+        String interactionId, Optional<String> lastEventId);
+  }
+
+  private final Backend backend;
+  private final int maxAttempts;
+  private final Duration initialBackoff;
+  private final Duration maxBackoff;
+  private final Map<String, Boolean> recentEventIds =
+      new LinkedHashMap<String, Boolean>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+          return size() > MAX_RECENT_EVENT_IDS;
+        }
+      };
+
+  private volatile CompletableFuture<EventStream<InteractionSSEStreamEvent>> connection;
+  private volatile EventStream<InteractionSSEStreamEvent> stream;
+  private volatile boolean closed = false;
+  private volatile String interactionId;
+  private volatile String lastEventId;
+  private InteractionSSEStreamEvent pending;
+  private boolean finished = false;
+  private int failedAttempts = 0;
+  private int reconnectCount = 0;
+
+  ResumableInteractionStream(
+      Backend backend,
+      CompletableFuture<EventStream<InteractionSSEStreamEvent>> connection,
+      Optional<String> interactionId,
+      Optional<String> lastEventId,
+      int maxAttempts,
+      Duration initialBackoff,
+      Duration maxBackoff) {
+    this.backend = backend;
+    this.connection = connection;
+    this.interactionId = interactionId.orElse(null);
+    this.lastEventId = lastEventId.orElse(null);
+    this.maxAttempts = maxAttempts;
+    this.initialBackoff = initialBackoff;
+    this.maxBackoff = maxBackoff;
+  }
+
+  /** Returns a new {@link Builder} that connects through the given client. */
+  public static Builder builder(Client client) {
+    return new Builder(client);
+  }
+
+  /** Returns the id of the interaction, once the stream has reported it. */
+  public Optional<String> interactionId() {
+    return Optional.ofNullable(interactionId);
+  }
+
+  /**
+   * Returns the id of the latest event, which can be passed to {@link Builder#resume} to continue
+   * the stream later, for example from another process.
+   */
+  public Optional<String> lastEventId() {
+    return Optional.ofNullable(lastEventId);
+  }
+
+  /** Returns the number of times the stream has reconnected. */
+  public int reconnectCount() {
+    return reconnectCount;
+  }
+
+  /**
+   * Returns an iterator over the events. Every iterator reads from the same stream.
+   *
+   * @throws GenAiIOException from {@code hasNext} if the stream cannot be resumed.
+   */
+  @Override
+  public Iterator<InteractionSSEStreamEvent> iterator() {
+    return new Iterator<InteractionSSEStreamEvent>() {
+      @Override
+      public boolean hasNext() {
+        return advance();
+      }
+
+      @Override
+      public InteractionSSEStreamEvent next() {
+        if (!advance()) {
+          throw new NoSuchElementException();
+        }
+        InteractionSSEStreamEvent event = pending;
+        pending = null;
+        return event;
+      }
+    };
+  }
+
+  /** Closes the current connection and ends the iteration. */
+  @Override
+  public void close() {
+    closed = true;
+    CompletableFuture<EventStream<InteractionSSEStreamEvent>> currentConnection = connection;
+    if (currentConnection != null) {
+      currentConnection.cancel(true);
+      currentConnection.thenAccept(ResumableInteractionStream::closeQuietly);
+    }
+    closeQuietly(stream);
+  }
+
+  private boolean advance() {
+    while (!finished) {
+      if (closed) {
+        finished = true;
+        pending = null;
+        closeQuietly(stream);
+        break;
+      }
+      if (pending != null) {
+        break;
+      }
+      try {
+        if (stream == null) {
+          stream = connection.join();
+          connection = null;
+        }
+        Optional<InteractionSSEStreamEvent> event = stream.next();
+        if (!event.isPresent()) {
+          finished = true;
+          closeQuietly(stream);
+          break;
+        }
+        accept(event.get());
+      } catch (IOException | UncheckedIOException | CompletionException | CancellationException e) {
+        Throwable cause =
+            e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (closed) {
+          continue;
+        }
+        if (!isResumable(cause)) {
+          finished = true;
+          closeQuietly(stream);
+          if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+          }
+          throw new GenAiIOException("Failed to read the interaction stream.", cause);
+        }
+        reconnect(cause);
+      }
+    }
+    return pending != null;
+  }
+
+  private void accept(InteractionSSEStreamEvent event) {
+    Optional<InteractionSSEEvent> data = event.data();
+    if (data.isPresent()) {
+      if (interactionId == null) {
+        interactionId = interactionId(data.get()).orElse(null);
+      }
+      Optional<String> eventId = eventId(data.get());
+      if (eventId.isPresent()) {
+        if (recentEventIds.put(eventId.get(), Boolean.TRUE) != null) {
+          return;
+        }
+        lastEventId = eventId.get();
+      }
+    }
+    failedAttempts = 0;
+    pending = event;
+  }
+
+  private void reconnect(Throwable cause) {
+    closeQuietly(stream);
+    stream = null;
+    connection = null;
+    if (interactionId == null) {
+      finished = true;
+      throw new GenAiIOException(
+          "The interaction stream failed before it reported the interaction id.", cause);
+    }
+    failedAttempts++;
+    if (failedAttempts > maxAttempts) {
+      finished = true;
+      throw new GenAiIOException(
+          String.format(
+              "Failed to resume the stream of interaction %s after %d attempts.",
+              interactionId, maxAttempts),
+          cause);
+    }
+    long backoff =
+        Math.min(
+            initialBackoff.toMillis() << Math.min(failedAttempts - 1, 30), maxBackoff.toMillis());
+    logger.log(
+        Level.WARNING,
+        String.format(
+            "The stream of interaction %s failed, resuming after event %s in %d ms",
+            interactionId, lastEventId, backoff),
+        cause);
+    try {
+      Thread.sleep(backoff);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      finished = true;
+      throw new GenAiIOException("Interrupted while resuming the interaction stream.", e);
+    }
+    if (closed) {
+      return;
+    }
+    reconnectCount++;
+    try {
+      connection = backend.get(interactionId, Optional.ofNullable(lastEventId));
+    } catch (RuntimeException e) {
+      CompletableFuture<EventStream<InteractionSSEStreamEvent>> failed = new CompletableFuture<>();
+      failed.completeExceptionally(e);
+      connection = failed;
+    }
+  }
+
+  /** Returns whether a failure is worth a reconnect: an I/O error or a server error. */
+  static boolean isResumable(Throwable error) {
+    for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+      if (cause instanceof IOException
+          || cause instanceof UncheckedIOException
+          || cause instanceof GenAiIOException
+          || cause instanceof ServerException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Returns the {@code event_id} of an event, if it has one. */
+  static Optional<String> eventId(InteractionSSEEvent event) {
+    if (event instanceof StepDelta) {
+      return ((StepDelta) event).eventId();
+    } else if (event instanceof StepStart) {
+      return ((StepStart) event).eventId();
+    } else if (event instanceof StepStop) {
+      return ((StepStop) event).eventId();
+    } else if (event instanceof InteractionStatusUpdate) {
+      return ((InteractionStatusUpdate) event).eventId();
+    } else if (event instanceof InteractionCreatedEvent) {
+      return ((InteractionCreatedEvent) event).eventId();
+    } else if (event instanceof InteractionCompletedEvent) {
+      return ((InteractionCompletedEvent) event).eventId();
+    } else if (event instanceof ErrorEvent) {
+      return ((ErrorEvent) event).eventId();
+    } else if (event instanceof UnknownInteractionSSEEvent) {
+      JsonNode eventId = ((UnknownInteractionSSEEvent) event).asJson().get("event_id");
+      return eventId != null && eventId.isTextual()
+          ? Optional.of(eventId.asText())
+          : Optional.empty();
+    }
+    return Optional.empty();
+  }
+
+  /** Returns the id of the interaction an event belongs to, if the event reports it. */
+  static Optional<String> interactionId(InteractionSSEEvent event) {
+    if (event instanceof InteractionCreatedEvent) {
+      return ((InteractionCreatedEvent) event)
+          .interaction()
+          .flatMap(InteractionSseEventInteraction::id);
+    } else if (event instanceof InteractionCompletedEvent) {
+      return ((InteractionCompletedEvent) event)
+          .interaction()
+          .flatMap(InteractionSseEventInteraction::id);
+    } else if (event instanceof InteractionStatusUpdate) {
+      return ((InteractionStatusUpdate) event).interactionId();
+    }
+    return Optional.empty();
+  }
+
+  private static void closeQuietly(EventStream<?> stream) {
+    if (stream == null) {
+      return;
+    }
+    try {
+      stream.close();
+    } catch (Exception e) {
+      logger.log(Level.FINE, "Failed to close the interaction stream", e);
+    }
+  }
+
+  /** Builder for {@link ResumableInteractionStream}. */
+  public static final class Builder {
+    private final Client client;
+    private int maxAttempts = 5;
+    private Duration initialBackoff = Duration.ofMillis(500);
+    private Duration maxBackoff = Duration.ofSeconds(30);
+    private Optional<String> apiVersion = Optional.empty();
+
+    private Builder(Client client) {
+      this.client = checkNotNull(client, "client cannot be null");
+    }
+
+    /**
+     * Sets the number of reconnects in a row, without an event in between, before giving up.
+     * Defaults to 5.
+     */
+    @CanIgnoreReturnValue
+    public Builder maxAttempts(int maxAttempts) {
+      checkArgument(maxAttempts >= 0, "maxAttempts cannot be negative");
+      this.maxAttempts = maxAttempts;
+      return this;
+    }
+
+    /**
+     * Sets the delay before the first reconnect. It doubles after each failed one. Defaults to 500
+     * milliseconds.
+     */
+    @CanIgnoreReturnValue
+    public Builder initialBackoff(Duration initialBackoff) {
+      checkNotNull(initialBackoff, "initialBackoff cannot be null");
+      checkArgument(!initialBackoff.isNegative(), "initialBackoff cannot be negative");
+      this.initialBackoff = initialBackoff;
+      return this;
+    }
+
+    /** Sets the upper bound of the delay between reconnects. Defaults to 30 seconds. */
+    @CanIgnoreReturnValue
+    public Builder maxBackoff(Duration maxBackoff) {
+      checkNotNull(maxBackoff, "maxBackoff cannot be null");
+      checkArgument(!maxBackoff.isNegative(), "maxBackoff cannot be negative");
+      this.maxBackoff = maxBackoff;
+      return this;
+    }
+
+    /** Sets the API version of the requests. Defaults to the version of the client. */
+    @CanIgnoreReturnValue
+    public Builder apiVersion(String apiVersion) {
+      this.apiVersion = Optional.of(checkNotNull(apiVersion, "apiVersion cannot be null"));
+      return this;
+    }
+
+    /**
+     * Creates an interaction and streams its events. The request body must set {@code stream}.
+     *
+     * <p>The stream can only resume once the server has reported the interaction id, which it
+     * does in the first event.
+     */
+    public ResumableInteractionStream create(CreateInteractionRequestBody body) {
+      checkNotNull(body, "body cannot be null");
+      return build(
+          client.async.interactions.create(apiVersion.orElse(null), body, null),
+          Optional.empty(),
+          Optional.empty());
+    }
+
+    /** Streams the events of an existing interaction from the start. */
+    public ResumableInteractionStream get(String interactionId) {
+      checkNotNull(interactionId, "interactionId cannot be null");
+      return build(null, Optional.of(interactionId), Optional.empty());
+    }
+
+    /** Streams the events of an existing interaction that follow the given event. */
+    public ResumableInteractionStream resume(String interactionId, String lastEventId) {
+      checkNotNull(interactionId, "interactionId cannot be null");
+      checkNotNull(lastEventId, "lastEventId cannot be null");
+      return build(null, Optional.of(interactionId), Optional.of(lastEventId));
+    }
+
+    private ResumableInteractionStream build(
+        CompletableFuture<EventStream<InteractionSSEStreamEvent>> connection,
+        Optional<String> interactionId,
+        Optional<String> lastEventId) {
+      Backend backend =
+          (id, after) ->
+              client.async.interactions.get(
+                  GetInteractionByIdRequest.builder()
+                      .id(id)
+                      .stream(true)
+                      .lastEventId(after.orElse(null))
+                      .apiVersion(apiVersion.orElse(null))
+                      .build());
+      if (connection == null) {
+        connection = backend.get(interactionId.get(), lastEventId);
+      }
+      return new ResumableInteractionStream(
+          backend, connection, interactionId, lastEventId, maxAttempts, initialBackoff, maxBackoff);
+    }
+  }
+}
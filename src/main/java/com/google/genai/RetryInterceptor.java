@@ -29,11 +29,11 @@ import okhttp3.Response;
 class RetryInterceptor implements Interceptor {
 
   // Default retry options.
-  private static final int RETRY_MAX_ATTEMPTS = 5;
-  private static final double RETRY_INITIAL_DELAY = 1.0; // in seconds
-  private static final double RETRY_MAX_DELAY = 60.0; // in seconds
-  private static final double RETRY_EXP_BASE = 2.0;
-  private static final double RETRY_JITTER = 1.0;
+  static final int RETRY_MAX_ATTEMPTS = 5;
+  static final double RETRY_INITIAL_DELAY = 1.0; // in seconds
+  static final double RETRY_MAX_DELAY = 60.0; // in seconds
+  static final double RETRY_EXP_BASE = 2.0;
+  static final double RETRY_JITTER = 1.0;
   private static final ImmutableList<Integer> RETRY_HTTP_STATUS_CODES =
       ImmutableList.of(
           408, // Request timeout.
@@ -72,12 +72,14 @@ class RetryInterceptor implements Interceptor {
       return chain.proceed(request);
     }
 
+    RequestHooks.Call hooks = request.tag(RequestHooks.Call.class);
     Response response = null;
     int maxAttempts = options.attempts().orElse(RETRY_MAX_ATTEMPTS);
     maxAttempts = Math.max(maxAttempts, 1);
     List<Integer> httpStatusCodes = options.httpStatusCodes().orElse(RETRY_HTTP_STATUS_CODES);
 
     for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+      IOException failure = null;
       try {
         response = chain.proceed(request);
         // If the response is successful or the response code is not in the retry list, exist the
@@ -90,14 +92,24 @@ class RetryInterceptor implements Interceptor {
           response.close();
         }
       } catch (IOException e) {
-        if (attempt == maxAttempts) {
+        // A cancelled call, such as the losing attempt of a hedged call, is not retried.
+        if (attempt == maxAttempts || chain.call().isCanceled()) {
           throw e;
         }
+        failure = e;
+      }
+      if (attempt == maxAttempts) {
+        // Return the last response without waiting for an attempt that will not be made.
+        break;
       }
 
+      long delay = calculateDelay(options, attempt);
+      if (hooks != null) {
+        hooks.retry(attempt + 1, delay, failure == null ? response.code() : null, failure);
+      }
       try {
         // Blocking sleep before retrying.
-        Thread.sleep(calculateDelay(options, attempt));
+        Thread.sleep(delay);
       } catch (InterruptedException e) {
         Thread.currentThread().interrupt();
         throw new IOException("Retry was interrupted.", e);
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * A lazily created daemon scheduler shared by SDK helpers that need timers, such as backoff and
+ * linger delays. Scheduled tasks must be short and must not block.
+ */
+final class SharedScheduler {
+
+  private SharedScheduler() {}
+
+  private static final class Holder {
+    static final ScheduledExecutorService INSTANCE =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "genai-scheduler");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /** Returns the shared scheduler. */
+  static ScheduledExecutorService get() {
+    return Holder.INSTANCE;
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import java.util.Map;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Receives the spans of a {@link Client}'s calls, for a tracing backend such as OpenTelemetry.
+ *
+ * <p>Set a recorder with {@link com.google.genai.types.ClientOptions.Builder#traceRecorder} to
+ * have the client trace its calls. Without a recorder, nothing is traced. The client records:
+ *
+ * <ul>
+ *   <li>a span per HTTP call, named after its operation and model, such as {@code
+ *       generate_content gemini-2.5-flash}, with the {@code gen_ai.*} attributes of the
+ *       OpenTelemetry semantic conventions, the token usage, and an event per chunk of a stream;
+ *   <li>a child span per attempt of the call, named after its HTTP method, whose W3C {@code
+ *       traceparent} is sent with the attempt;
+ *   <li>for automatic function calling, a span around the whole exchange, a span per round, and
+ *       an {@code execute_tool} span per function invoked.
+ * </ul>
+ *
+ * <p>An OpenTelemetry bridge is a few lines:
+ *
+ * <pre>{@code
+ * TraceRecorder recorder = new TraceRecorder() {
+ *   public TraceRecorder.Span startSpan(String name, SpanKind kind, TraceRecorder.Span parent) {
+ *     Context context = parent == null ? Context.current() : ((OtelSpan) parent).context;
+ *     return new OtelSpan(tracer.spanBuilder(name).setParent(context)
+ *         .setSpanKind(kind == SpanKind.CLIENT ? CLIENT : INTERNAL).startSpan());
+ *   }
+ *   public TraceRecorder.Span currentSpan() {
+ *     return new OtelSpan(Span.current());
+ *   }
+ * };
+ * }</pre>
+ *
+ * <p>where {@code OtelSpan} delegates each method of {@link Span} to the OpenTelemetry span and
+ * its {@code SpanContext}. Methods are called on the threads that make the calls and read the
+ * streams, so they must be thread-safe and should not block.
+ */
+public interface TraceRecorder {
+
+  /** The kind of a span. */
+  enum SpanKind {
+    /** A span for work done in the client, such as a function call. */
+    INTERNAL,
+    /** A span for a request to the API. */
+    CLIENT
+  }
+
+  /**
+   * Starts a span.
+   *
+   * @param name the name of the span
+   * @param kind the kind of the span
+   * @param parent the parent of the span, or null to use the backend's current span, if any
+   */
+  Span startSpan(String name, SpanKind kind, @Nullable Span parent);
+
+  /**
+   * Returns the backend's current span on this thread, if any. Asynchronous calls run on other
+   * threads, so the client captures it when such a call is made and uses it as the call's parent.
+   */
+  default @Nullable Span currentSpan() {
+    return null;
+  }
+
+  /** A span started by a {@link TraceRecorder}. */
+  interface Span {
+
+    /** Sets an attribute of the span. */
+    default void setAttribute(String key, String value) {}
+
+    /** Sets an attribute of the span. */
+    default void setAttribute(String key, long value) {}
+
+    /** Adds an event to the span. */
+    default void addEvent(String name, Map<String, Long> attributes) {}
+
+    /** Records that the work of the span failed with the given error. */
+    default void recordError(Throwable error) {}
+
+    /**
+     * Returns the trace id of the span as 32 lowercase hex digits, or an empty string if the span
+     * is not propagated.
+     */
+    default String traceId() {
+      return "";
+    }
+
+    /** Returns the id of the span as 16 lowercase hex digits, or an empty string. */
+    default String spanId() {
+      return "";
+    }
+
+    /** Returns whether the span is sampled. */
+    default boolean isSampled() {
+      return false;
+    }
+
+    /** Ends the span. */
+    void end();
+  }
+}
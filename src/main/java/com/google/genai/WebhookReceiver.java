@@ -0,0 +1,549 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.genai.errors.GenAiIOException;
+import com.google.genai.gaos.models.webhooks.Webhook;
+import com.google.genai.gaos.models.webhooks.WebhookInput;
+import com.google.genai.gaos.models.webhooks.WebhookSubscribedEvent;
+import com.google.genai.types.BatchJob;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * An embedded HTTP endpoint that receives webhook events from the Gemini Developer API, so that
+ * waiting for a batch job doesn't take a stream of status polls.
+ *
+ * <p>On start, the receiver registers a webhook for the batch events through {@code
+ * client.webhooks}, unless it is given the signing secret of an existing one. Events are accepted
+ * only with a valid signature, following the Standard Webhooks scheme: the {@code
+ * webhook-signature} header holds the Base64 HMAC-SHA256 of {@code
+ * <webhook-id>.<webhook-timestamp>.<body>}. An event only triggers a status fetch of its job, so
+ * the returned job is always the one reported by the API. A slow poll stays as a fallback for
+ * missed events.
+ *
+ * <pre>{@code
+ * try (WebhookReceiver receiver =
+ *     WebhookReceiver.builder(client).publicUri("https://example.com/genai-webhook").build()) {
+ *   BatchJob job = receiver.awaitBatchJob(client.batches.create(...)).get();
+ * }
+ * }</pre>
+ */
+public final class WebhookReceiver implements AutoCloseable {
+
+  private static final Logger logger = Logger.getLogger(WebhookReceiver.class.getName());
+
+  static final String ID_HEADER = "webhook-id";
+  static final String TIMESTAMP_HEADER = "webhook-timestamp";
+  static final String SIGNATURE_HEADER = "webhook-signature";
+
+  private static final int MAX_BODY_BYTES = 1 << 20;
+  // The names of jobs with recent events, for jobs that finish before they are awaited.
+  private static final int MAX_RECENT_EVENTS = 1000;
+
+  private static final ImmutableList<WebhookSubscribedEvent> BATCH_EVENTS =
+      ImmutableList.of(
+          WebhookSubscribedEvent.BATCH_SUCCEEDED,
+          WebhookSubscribedEvent.BATCH_FAILED,
+          WebhookSubscribedEvent.BATCH_EXPIRED);
+
+  /** The API calls used by the receiver. */
+  interface Backend {
+    /** Registers a webhook for the given URI and events. */
+    CompletableFuture<Webhook> createWebhook(String uri, List<WebhookSubscribedEvent> events);
+
+    CompletableFuture<Void> deleteWebhook(String id);
+
+    CompletableFuture<BatchJob> getBatchJob(String name);
+  }
+
+  private final Backend backend;
+  private final HttpServer server;
+  private final byte[] signingKey;
+  private final Optional<String> webhookId;
+  private final long maxTimestampSkewSeconds;
+  private final BatchJobPoller fallbackPoller;
+  private final Map<String, CompletableFuture<BatchJob>> pendingBatchJobs =
+      new ConcurrentHashMap<>();
+  private final Set<String> recentEvents =
+      Collections.newSetFromMap(
+          Collections.synchronizedMap(
+              new LinkedHashMap<String, Boolean>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                  return size() > MAX_RECENT_EVENTS;
+                }
+              }));
+  private final AtomicLong acceptedEventCount = new AtomicLong();
+  private final AtomicLong rejectedEventCount = new AtomicLong();
+
+  private WebhookReceiver(
+      Backend backend,
+      HttpServer server,
+      String path,
+      String signingSecret,
+      Optional<String> webhookId,
+      Duration maxTimestampSkew,
+      BatchJobPoller fallbackPoller) {
+    this.backend = backend;
+    this.server = server;
+    this.signingKey = signingKey(signingSecret);
+    this.webhookId = webhookId;
+    this.maxTimestampSkewSeconds = maxTimestampSkew.getSeconds();
+    this.fallbackPoller = fallbackPoller;
+    server.createContext(path, this::handle);
+  }
+
+  /**
+   * Binds the server, registers a webhook if no signing secret is given, and starts receiving.
+   */
+  static WebhookReceiver start(
+      Backend backend,
+      InetSocketAddress address,
+      String path,
+      Optional<String> publicUri,
+      Optional<String> signingSecret,
+      Duration maxTimestampSkew,
+      BatchJobPoller fallbackPoller) {
+    HttpServer server;
+    try {
+      server = HttpServer.create(address, 0);
+    } catch (IOException e) {
+      throw new GenAiIOException("Failed to start the webhook receiver on " + address + ".", e);
+    }
+    String secret;
+    Optional<String> webhookId = Optional.empty();
+    if (signingSecret.isPresent()) {
+      secret = signingSecret.get();
+    } else {
+      Webhook webhook;
+      try {
+        webhook = backend.createWebhook(publicUri.get(), BATCH_EVENTS).join();
+      } catch (CompletionException e) {
+        server.stop(0);
+        throw new GenAiIOException("Failed to register the webhook.", e.getCause());
+      }
+      webhookId = webhook.id();
+      if (!webhook.newSigningSecret().isPresent()) {
+        server.stop(0);
+        throw new GenAiIOException("The created webhook has no signing secret.");
+      }
+      secret = webhook.newSigningSecret().get();
+    }
+    WebhookReceiver receiver =
+        new WebhookReceiver(
+            backend, server, path, secret, webhookId, maxTimestampSkew, fallbackPoller);
+    server.start();
+    return receiver;
+  }
+
+  /** Returns a {@link Builder} for a receiver of the given client's events. */
+  public static Builder builder(Client client) {
+    return new Builder(client);
+  }
+
+  /**
+   * Returns a future that completes with the batch job once it has reached a terminal state. The
+   * future completes when the job's webhook event arrives, or at the latest on the next fallback
+   * poll. Callers waiting on the same job share its polls, but each gets its own future, so
+   * cancelling one does not affect the others.
+   *
+   * @param job The batch job to wait for, as returned by {@code batches.create}.
+   */
+  public CompletableFuture<BatchJob> awaitBatchJob(BatchJob job) {
+    String name =
+        job.name().orElseThrow(() -> new IllegalArgumentException("Batch job has no name."));
+    if (BatchJobPoller.isDone(job)) {
+      return CompletableFuture.completedFuture(job);
+    }
+    CompletableFuture<BatchJob> existing = pendingBatchJobs.get(name);
+    if (existing != null) {
+      return existing.thenApply(result -> result);
+    }
+    CompletableFuture<BatchJob> done = fallbackPoller.waitForCompletion(job);
+    existing = pendingBatchJobs.putIfAbsent(name, done);
+    if (existing != null) {
+      done.cancel(false);
+      return existing.thenApply(result -> result);
+    }
+    done.whenComplete((result, error) -> pendingBatchJobs.remove(name, done));
+    if (recentEvents.contains(name)) {
+      refresh(name, done);
+    }
+    return done.thenApply(result -> result);
+  }
+
+  /** Returns the number of events received with a valid signature. */
+  public long acceptedEventCount() {
+    return acceptedEventCount.get();
+  }
+
+  /** Returns the number of requests rejected because of a missing or invalid signature. */
+  public long rejectedEventCount() {
+    return rejectedEventCount.get();
+  }
+
+  /** Returns the port the receiver listens on. */
+  public int port() {
+    return server.getAddress().getPort();
+  }
+
+  /**
+   * Stops the server and deletes the webhook it registered. Pending waits continue with the
+   * fallback polls.
+   */
+  @Override
+  public void close() {
+    server.stop(0);
+    if (webhookId.isPresent()) {
+      try {
+        backend.deleteWebhook(webhookId.get()).join();
+      } catch (CompletionException e) {
+        logger.log(Level.WARNING, "Failed to delete webhook " + webhookId.get(), e.getCause());
+      }
+    }
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try {
+      if (!"POST".equals(exchange.getRequestMethod())) {
+        exchange.sendResponseHeaders(405, -1);
+        return;
+      }
+      byte[] body = readBody(exchange.getRequestBody());
+      if (body == null) {
+        exchange.sendResponseHeaders(413, -1);
+        return;
+      }
+      if (!isAuthentic(exchange, body)) {
+        rejectedEventCount.incrementAndGet();
+        exchange.sendResponseHeaders(401, -1);
+        return;
+      }
+      acceptedEventCount.incrementAndGet();
+      exchange.sendResponseHeaders(204, -1);
+      dispatch(body);
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private boolean isAuthentic(HttpExchange exchange, byte[] body) {
+    String id = exchange.getRequestHeaders().getFirst(ID_HEADER);
+    String timestamp = exchange.getRequestHeaders().getFirst(TIMESTAMP_HEADER);
+    String signature = exchange.getRequestHeaders().getFirst(SIGNATURE_HEADER);
+    if (id == null || timestamp == null || signature == null) {
+      return false;
+    }
+    long sentSeconds;
+    try {
+      sentSeconds = Long.parseLong(timestamp);
+    } catch (NumberFormatException e) {
+      return false;
+    }
+    // Old events are refused so that a captured request cannot be replayed later.
+    long nowSeconds = System.currentTimeMillis() / 1000;
+    if (Math.abs(nowSeconds - sentSeconds) > maxTimestampSkewSeconds) {
+      return false;
+    }
+    return verifySignature(signingKey, id, timestamp, body, signature);
+  }
+
+  private void dispatch(byte[] body) {
+    JsonNode event;
+    try {
+      event = JsonSerializable.objectMapper.readTree(body);
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Ignoring a webhook event that is not JSON", e);
+      return;
+    }
+    if (!event.path("type").asText().startsWith("batch.")) {
+      return;
+    }
+    Optional<String> name = batchJobName(event);
+    if (!name.isPresent()) {
+      logger.warning("Ignoring a batch webhook event without a job name");
+      return;
+    }
+    recentEvents.add(name.get());
+    CompletableFuture<BatchJob> done = pendingBatchJobs.get(name.get());
+    if (done != null) {
+      refresh(name.get(), done);
+    }
+  }
+
+  /** Fetches the job and completes {@code done} if the job has finished. */
+  private void refresh(String name, CompletableFuture<BatchJob> done) {
+    backend
+        .getBatchJob(name)
+        .whenComplete(
+            (job, error) -> {
+              if (error != null) {
+                // The fallback poll will try again.
+                logger.log(Level.WARNING, "Failed to get batch job " + name, error);
+              } else if (BatchJobPoller.isDone(job)) {
+                done.complete(job);
+              }
+            });
+  }
+
+  /**
+   * Returns the batch job an event is about. The job is looked up in the event data by its {@code
+   * name}, or by its {@code id} which is then prefixed with {@code batches/}.
+   */
+  static Optional<String> batchJobName(JsonNode event) {
+    JsonNode data = event.path("data");
+    String name = data.path("name").asText("");
+    if (name.isEmpty()) {
+      String id = data.path("id").asText("");
+      if (id.isEmpty()) {
+        return Optional.empty();
+      }
+      name = id.contains("/") ? id : "batches/" + id;
+    }
+    return Optional.of(name);
+  }
+
+  /**
+   * Returns the HMAC key of a signing secret. Secrets in the {@code whsec_} format carry the
+   * Base64 of the key; others are used as is.
+   */
+  static byte[] signingKey(String secret) {
+    if (secret.startsWith("whsec_")) {
+      return Base64.getDecoder().decode(secret.substring("whsec_".length()));
+    }
+    return secret.getBytes(UTF_8);
+  }
+
+  /**
+   * Returns whether one of the space-separated {@code v1,<signature>} entries of {@code
+   * signatures} signs the event.
+   */
+  static boolean verifySignature(
+      byte[] key, String id, String timestamp, byte[] body, String signatures) {
+    byte[] expected;
+    try {
+      Mac mac = Mac.getInstance("HmacSHA256");
+      mac.init(new SecretKeySpec(key, "HmacSHA256"));
+      mac.update((id + "." + timestamp + ".").getBytes(UTF_8));
+      expected = mac.doFinal(body);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("HmacSHA256 is not available.", e);
+    }
+    for (String signature : signatures.split(" ")) {
+      if (!signature.startsWith("v1,")) {
+        continue;
+      }
+      byte[] actual;
+      try {
+        actual = Base64.getDecoder().decode(signature.substring("v1,".length()));
+      } catch (IllegalArgumentException e) {
+        continue;
+      }
+      if (MessageDigest.isEqual(expected, actual)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Reads the request body, or returns null if it is larger than {@link #MAX_BODY_BYTES}. */
+  private static byte[] readBody(InputStream in) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[8192];
+    int read;
+    while ((read = in.read(buffer)) != -1) {
+      if (out.size() + read > MAX_BODY_BYTES) {
+        return null;
+      }
+      out.write(buffer, 0, read);
+    }
+    return out.toByteArray();
+  }
+
+  /** Builder for {@link WebhookReceiver}. */
+  public static final class Builder {
+    private final Client client;
+    private InetSocketAddress address = new InetSocketAddress(8080);
+    private String path = "/genai-webhook";
+    private Optional<String> publicUri = Optional.empty();
+    private Optional<String> signingSecret = Optional.empty();
+    private Duration fallbackPollInterval = Duration.ofMinutes(5);
+    private Duration maxTimestampSkew = Duration.ofMinutes(5);
+    private Optional<ScheduledExecutorService> scheduler = Optional.empty();
+
+    private Builder(Client client) {
+      this.client = checkNotNull(client, "client cannot be null");
+    }
+
+    /** Sets the local address the server binds to. Defaults to port 8080 on every interface. */
+    @CanIgnoreReturnValue
+    public Builder address(InetSocketAddress address) {
+      this.address = checkNotNull(address, "address cannot be null");
+      return this;
+    }
+
+    /** Sets the path events are posted to. Defaults to {@code /genai-webhook}. */
+    @CanIgnoreReturnValue
+    public Builder path(String path) {
+      checkNotNull(path, "path cannot be null");
+      checkArgument(path.startsWith("/"), "path must start with /");
+      this.path = path;
+      return this;
+    }
+
+    /**
+     * Sets the public HTTPS URI at which the API reaches this server's path, for example through a
+     * load balancer. The webhook is registered with it.
+     */
+    @CanIgnoreReturnValue
+    public Builder publicUri(String publicUri) {
+      this.publicUri = Optional.of(checkNotNull(publicUri, "publicUri cannot be null"));
+      return this;
+    }
+
+    /**
+     * Sets the signing secret of an existing webhook that posts to this server. No webhook is
+     * registered then.
+     */
+    @CanIgnoreReturnValue
+    public Builder signingSecret(String signingSecret) {
+      this.signingSecret = Optional.of(checkNotNull(signingSecret, "signingSecret cannot be null"));
+      return this;
+    }
+
+    /** Sets the interval of the fallback status polls. Defaults to 5 minutes. */
+    @CanIgnoreReturnValue
+    public Builder fallbackPollInterval(Duration fallbackPollInterval) {
+      checkNotNull(fallbackPollInterval, "fallbackPollInterval cannot be null");
+      checkArgument(!fallbackPollInterval.isNegative(), "fallbackPollInterval cannot be negative");
+      this.fallbackPollInterval = fallbackPollInterval;
+      return this;
+    }
+
+    /**
+     * Sets how far the timestamp of an event may be from the local clock. Defaults to 5 minutes.
+     */
+    @CanIgnoreReturnValue
+    public Builder maxTimestampSkew(Duration maxTimestampSkew) {
+      checkNotNull(maxTimestampSkew, "maxTimestampSkew cannot be null");
+      checkArgument(!maxTimestampSkew.isNegative(), "maxTimestampSkew cannot be negative");
+      this.maxTimestampSkew = maxTimestampSkew;
+      return this;
+    }
+
+    /** Sets the scheduler for the fallback polls. Defaults to a shared daemon scheduler. */
+    @CanIgnoreReturnValue
+    public Builder scheduler(ScheduledExecutorService scheduler) {
+      checkNotNull(scheduler, "scheduler cannot be null");
+      this.scheduler = Optional.of(scheduler);
+      return this;
+    }
+
+    /**
+     * Starts the receiver, registering the webhook unless a signing secret was set.
+     *
+     * @throws UnsupportedOperationException if the client uses Vertex AI.
+     * @throws GenAiIOException if the server cannot bind or the webhook cannot be registered.
+     */
+    public WebhookReceiver build() {
+      if (client.vertexAI()) {
+        throw new UnsupportedOperationException(
+            "Gemini Enterprise Agent Platform (previously known as Vertex AI) does not support"
+                + " webhooks.");
+      }
+      checkArgument(
+          publicUri.isPresent() || signingSecret.isPresent(),
+          "Either publicUri or signingSecret must be set.");
+      Backend backend =
+          new Backend() {
+            @Override
+            public CompletableFuture<Webhook> createWebhook(
+                String uri, List<WebhookSubscribedEvent> events) {
+              WebhookInput input =
+                  WebhookInput.builder()
+                      .name("genai-java-webhook-receiver")
+                      .uri(uri)
+                      .subscribedEvents(events)
+                      .build();
+              return client
+                  .async
+                  .webhooks
+                  .create(input)
+                  .thenApply(
+                      response ->
+                          response
+                              .webhook()
+                              .orElseThrow(
+                                  () -> new GenAiIOException("The webhook was not created.")));
+            }
+
+            @Override
+            public CompletableFuture<Void> deleteWebhook(String id) {
+              return client.async.webhooks.delete(id).thenApply(response -> null);
+            }
+
+            @Override
+            public CompletableFuture<BatchJob> getBatchJob(String name) {
+              return client.async.batches.get(name, null);
+            }
+          };
+      return start(
+          backend,
+          address,
+          path,
+          publicUri,
+          signingSecret,
+          maxTimestampSkew,
+          new BatchJobPoller(
+              backend::getBatchJob,
+              fallbackPollInterval,
+              fallbackPollInterval,
+              scheduler.orElseGet(SharedScheduler::get)));
+    }
+  }
+}
@@ -41,6 +41,7 @@ import com.google.genai.gaos.operations.CreateInteraction;
 import com.google.genai.gaos.operations.DeleteInteraction;
 import com.google.genai.gaos.operations.GetInteractionById;
 import com.google.genai.gaos.operations.Operations;
+import com.google.genai.gaos.utils.EventPublisher;
 import com.google.genai.gaos.utils.EventStream;
 import com.google.genai.gaos.utils.Headers;
 import com.google.genai.gaos.utils.Options;
@@ -124,6 +125,50 @@ public class AsyncInteractions {
                         Optional.of("[DONE]")), Operations.streamCompletionExecutor()), operation);
     }
 
+    /**
+     * Creating an interaction
+     * 
+     * <p>Creates a new interaction and publishes its events as the subscriber requests them.
+     * 
+     * @param body The request body.
+     * @return A publisher that sends the request when subscribed to
+     */
+    public EventPublisher<InteractionSSEStreamEvent> createPublisher(@Nonnull CreateInteractionRequestBody body) {
+        return createPublisher(null, body, null);
+    }
+
+    /**
+     * Creating an interaction
+     * 
+     * <p>Creates a new interaction and publishes its events as the subscriber requests them.
+     * 
+     * @param apiVersion Which version of the API to use.
+     * @param body The request body.
+     * @param options additional options
+     * @return A publisher that sends the request when subscribed to. The response body is read only
+     * while the subscriber has outstanding demand; cancelling the subscription closes the connection.
+     */
+    public EventPublisher<InteractionSSEStreamEvent> createPublisher(
+            @Nullable String apiVersion, @Nonnull CreateInteractionRequestBody body,
+            @Nullable Options options) {
+        CreateInteractionRequest request = new CreateInteractionRequest(apiVersion, body);
+        return new EventPublisher<InteractionSSEStreamEvent>(
+                () -> {
+                    AsyncRequestOperation<CreateInteractionRequest, CreateInteractionResponse> operation
+                          = new CreateInteraction.Async(
+                                                sdkConfiguration, options, sdkConfiguration.retryScheduler(),
+                                                _headers);
+                    return Operations.relayCancel(Operations.applyBodyReadAsync(operation.doRequest(request),
+                            operation::handleResponse)
+                            .thenApply(response -> response.rawResponse().body()), operation);
+                },
+                new TypeReference<InteractionSSEStreamEvent>() {
+                },
+                Utils.mapper(),
+                Optional.of("[DONE]"),
+                Operations.streamCompletionExecutor());
+    }
+
 
     /**
      * Retrieving an interaction
@@ -173,6 +218,46 @@ public class AsyncInteractions {
                         Optional.of("[DONE]")), Operations.streamCompletionExecutor()), operation);
     }
 
+    /**
+     * Retrieving an interaction
+     * 
+     * <p>Streams the events of an interaction, publishing them as the subscriber requests them.
+     * 
+     * @param request The request object containing all the parameters for the API call.
+     * @return A publisher that sends the request when subscribed to
+     */
+    public EventPublisher<InteractionSSEStreamEvent> getPublisher(@Nonnull GetInteractionByIdRequest request) {
+        return getPublisher(request, null);
+    }
+
+    /**
+     * Retrieving an interaction
+     * 
+     * <p>Streams the events of an interaction, publishing them as the subscriber requests them.
+     * 
+     * @param request The request object containing all the parameters for the API call.
+     * @param options additional options
+     * @return A publisher that sends the request when subscribed to. The response body is read only
+     * while the subscriber has outstanding demand; cancelling the subscription closes the connection.
+     */
+    public EventPublisher<InteractionSSEStreamEvent> getPublisher(@Nonnull GetInteractionByIdRequest request, @Nullable Options options) {
+        return new EventPublisher<InteractionSSEStreamEvent>(
+                () -> {
+                    AsyncRequestOperation<GetInteractionByIdRequest, GetInteractionByIdResponse> operation
+                          = new GetInteractionById.Async(
+                                                sdkConfiguration, options, sdkConfiguration.retryScheduler(),
+                                                _headers);
+                    return Operations.relayCancel(Operations.applyBodyReadAsync(operation.doRequest(request),
+                            operation::handleResponse)
+                            .thenApply(response -> response.rawResponse().body()), operation);
+                },
+                new TypeReference<InteractionSSEStreamEvent>() {
+                },
+                Utils.mapper(),
+                Optional.of("[DONE]"),
+                Operations.streamCompletionExecutor());
+    }
+
 
     /**
      * Deleting an interaction
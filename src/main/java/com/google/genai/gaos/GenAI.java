@@ -23,6 +23,7 @@ package com.google.genai.gaos;
 import com.google.genai.gaos.utils.HTTPClient;
 import com.google.genai.gaos.utils.Headers;
 import com.google.genai.gaos.utils.Java8Compat;
+import com.google.genai.gaos.utils.RetryBudget;
 import com.google.genai.gaos.utils.RetryConfig;
 import com.google.genai.gaos.utils.SpeakeasyHTTPClient;
 import com.google.genai.gaos.utils.Utils;
@@ -189,8 +190,21 @@ public class GenAI implements java.lang.AutoCloseable {
             return this;
         }
 
+        /**
+         * Overrides the budget that limits retries across all requests of the SDK.
+         * Use {@link RetryBudget#unlimited()} to disable the limit.
+         *
+         * @param retryBudget The retry budget to use for all async requests.
+         * @return The builder instance.
+         */
+        public Builder retryBudget(RetryBudget retryBudget) {
+            this.sdkConfiguration.setRetryBudget(retryBudget);
+            return this;
+        }
+
         /**
          * Configures the SDK to use a custom ScheduledExecutorService for async retries.
+         * By default, retries are scheduled on a daemon scheduler shared by all SDK instances.
          *
          * @param retryScheduler The ScheduledExecutorService to use.
          * @return The builder instance.
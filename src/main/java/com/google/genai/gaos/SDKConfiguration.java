@@ -21,9 +21,11 @@ package com.google.genai.gaos;
 
 import com.google.genai.gaos.hooks.SDKHooks;
 import com.google.genai.gaos.utils.AsyncHooks;
+import com.google.genai.gaos.utils.AsyncRetries;
 import com.google.genai.gaos.utils.Globals;
 import com.google.genai.gaos.utils.HTTPClient;
 import com.google.genai.gaos.utils.Hooks;
+import com.google.genai.gaos.utils.RetryBudget;
 import com.google.genai.gaos.utils.RetryConfig;
 import com.google.genai.gaos.utils.SpeakeasyHTTPClient;
 import com.google.genai.gaos.utils.Utils;
@@ -148,7 +150,7 @@ public class SDKConfiguration {
         Utils.checkNotNull(retryConfig, "retryConfig");
         this.retryConfig = retryConfig;
     }
-    private ScheduledExecutorService retryScheduler = java.util.concurrent.Executors.newSingleThreadScheduledExecutor();
+    private ScheduledExecutorService retryScheduler = AsyncRetries.defaultScheduler();
     
     public ScheduledExecutorService retryScheduler() {
         return retryScheduler;
@@ -159,6 +161,17 @@ public class SDKConfiguration {
         this.retryScheduler = retryScheduler;
     }
 
+    private RetryBudget retryBudget = RetryBudget.withDefaults();
+
+    public RetryBudget retryBudget() {
+        return retryBudget;
+    }
+
+    public void setRetryBudget(RetryBudget retryBudget) {
+        Utils.checkNotNull(retryBudget, "retryBudget");
+        this.retryBudget = retryBudget;
+    }
+
     private AsyncHooks _asyncHooks = new AsyncHooks();
 
     public AsyncHooks asyncHooks() {
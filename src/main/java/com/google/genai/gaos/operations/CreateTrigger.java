@@ -286,6 +286,8 @@ public class CreateTrigger {
                     .retryConfig(retryConfig)
                     .statusCodes(retryStatusCodes)
                     .scheduler(retryScheduler)
+                    .retryBudget(sdkConfiguration.retryBudget())
+                    .onRetry(event -> sdkConfiguration.asyncHooks().beforeRetry(createBeforeRequestContext(), event))
                     .build();
             return retries.retry((attempt) -> unchecked(() -> onBuildRequest(request)).get()
                             .thenCompose(req -> cancellationRelay.track(client.sendAsync(req)))
@@ -102,6 +102,25 @@ public final class AsyncHook {
                     .orElse(Java8Compat.failedFuture(error));
     }
 
+    /**
+     * Observes retries of failed attempts.
+     */
+    @FunctionalInterface
+    public interface BeforeRetry {
+
+        /**
+         * Called before a failed attempt is retried. The hook runs on the thread that
+         * completed the failed attempt and must not block; exceptions it throws are
+         * logged and ignored.
+         *
+         * @param context context for the hook call
+         * @param event   the retry that is about to be scheduled
+         */
+        void beforeRetry(Hook.HookContext context, AsyncRetries.RetryEvent event);
+
+        BeforeRetry DEFAULT = (context, event) -> {};
+    }
+
     public static final class IdempotencyHook implements BeforeRequest {
 
         @Override
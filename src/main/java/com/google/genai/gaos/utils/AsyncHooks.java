@@ -30,9 +30,11 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import com.google.genai.gaos.utils.AsyncHook.AfterError;
 import com.google.genai.gaos.utils.AsyncHook.AfterSuccess;
 import com.google.genai.gaos.utils.AsyncHook.BeforeRequest;
+import com.google.genai.gaos.utils.AsyncHook.BeforeRetry;
 import com.google.genai.gaos.utils.Hook.AfterErrorContext;
 import com.google.genai.gaos.utils.Hook.AfterSuccessContext;
 import com.google.genai.gaos.utils.Hook.BeforeRequestContext;
+import com.google.genai.gaos.utils.Hook.HookContext;
 import com.google.genai.gaos.utils.Hooks.FailEarlyException;
 
 /**
@@ -48,7 +50,7 @@ import com.google.genai.gaos.utils.Hooks.FailEarlyException;
  * </pre>
  */
 // ThreadSafe
-public class AsyncHooks implements BeforeRequest, AfterSuccess, AfterError {
+public class AsyncHooks implements BeforeRequest, AfterSuccess, AfterError, BeforeRetry {
 
     private static final SpeakeasyLogger logger = SpeakeasyLogger.getLogger(AsyncHooks.class);
 
@@ -56,6 +58,7 @@ public class AsyncHooks implements BeforeRequest, AfterSuccess, AfterError {
     private final List<BeforeRequest> beforeRequestHooks = new CopyOnWriteArrayList<>();
     private final List<AfterSuccess> afterSuccessHooks = new CopyOnWriteArrayList<>();
     private final List<AfterError> afterErrorHooks = new CopyOnWriteArrayList<>();
+    private final List<BeforeRetry> beforeRetryHooks = new CopyOnWriteArrayList<>();
 
     public AsyncHooks() {
     }
@@ -99,6 +102,19 @@ public class AsyncHooks implements BeforeRequest, AfterSuccess, AfterError {
         return this;
     }
 
+    /**
+     * Registers a before-retry hook. Hooks are called in registration order.
+     *
+     * @param beforeRetry hook observing each retry of a failed attempt
+     * @return this
+     */
+    public AsyncHooks registerBeforeRetry(BeforeRetry beforeRetry) {
+        Utils.checkNotNull(beforeRetry, "beforeRetry");
+        this.beforeRetryHooks.add(beforeRetry);
+        logger.debug("Registered async BeforeRetry hook: {} (total: {})", beforeRetry.getClass().getSimpleName(), beforeRetryHooks.size());
+        return this;
+    }
+
     @Override
     public CompletableFuture<HttpRequest> beforeRequest(BeforeRequestContext context, HttpRequest request) {
         Utils.checkNotNull(context, "context");
@@ -197,4 +213,18 @@ public class AsyncHooks implements BeforeRequest, AfterSuccess, AfterError {
         return result;
     }
 
+    @Override
+    public void beforeRetry(HookContext context, AsyncRetries.RetryEvent event) {
+        Utils.checkNotNull(context, "context");
+        Utils.checkNotNull(event, "event");
+
+        for (BeforeRetry hook : beforeRetryHooks) {
+            try {
+                hook.beforeRetry(context, event);
+            } catch (RuntimeException e) {
+                logger.debug("Async beforeRetry hook threw exception: {}", e.getClass().getSimpleName());
+            }
+        }
+    }
+
 }
@@ -29,7 +29,10 @@ import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.io.InputStream;
 
@@ -40,6 +43,8 @@ public class AsyncRetries {
     private final RetryConfig retryConfig;
     private final List<String> retriableStatusCodes;
     private final ScheduledExecutorService scheduler;
+    private final RetryBudget retryBudget;
+    private final Consumer<RetryEvent> onRetry;
 
     @FunctionalInterface
     public interface RetryTask {
@@ -48,7 +53,9 @@ public class AsyncRetries {
 
     private AsyncRetries(RetryConfig retryConfig,
                          List<String> retriableStatusCodes,
-                         ScheduledExecutorService scheduler) {
+                         ScheduledExecutorService scheduler,
+                         RetryBudget retryBudget,
+                         Consumer<RetryEvent> onRetry) {
         Utils.checkNotNull(retryConfig, "retryConfig");
         Utils.checkNotNull(retriableStatusCodes, "statusCodes");
         if (retriableStatusCodes.isEmpty()) {
@@ -56,7 +63,37 @@ public class AsyncRetries {
         }
         this.retryConfig = retryConfig;
         this.retriableStatusCodes = retriableStatusCodes;
-        this.scheduler = scheduler;
+        this.scheduler = scheduler == null ? defaultScheduler() : scheduler;
+        this.retryBudget = retryBudget == null ? RetryBudget.unlimited() : retryBudget;
+        this.onRetry = onRetry;
+    }
+
+    /**
+     * Returns the scheduler shared by every SDK instance that does not configure its own.
+     *
+     * <p>The scheduler only waits out backoff delays and then starts the next attempt, which sends
+     * the request asynchronously, so a few daemon threads serve any number of concurrent retries.
+     *
+     * @return the shared scheduler
+     */
+    public static ScheduledExecutorService defaultScheduler() {
+        return DefaultScheduler.INSTANCE;
+    }
+
+    private static final class DefaultScheduler {
+        static final ScheduledExecutorService INSTANCE = create();
+
+        private static ScheduledExecutorService create() {
+            AtomicInteger threadCount = new AtomicInteger();
+            int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(threads, runnable -> {
+                Thread thread = new Thread(runnable, "gaos-retry-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
     }
 
     public CompletableFuture<HttpResponse<InputStream>> retry(
@@ -108,9 +145,11 @@ public class AsyncRetries {
             if (throwable == null) {
                 RetryDecision decision = shouldRetry(response);
                 if (decision.retry()) {
+                    retryBudget.onFailure();
                     maybeRetry(task, result, backoff, state, new AsyncRetryableException(response));
                     return;
                 }
+                retryBudget.onSuccess();
                 result.complete(response);
                 return;
             }
@@ -127,11 +166,13 @@ public class AsyncRetries {
                 ? throwable.getCause()
                 : throwable;
         if (e instanceof AsyncRetryableException) {
+            retryBudget.onFailure();
             maybeRetry(task, result, backoff, state, e);
             return;
         }
         if (e instanceof IOException) {
             if (shouldRetryIOException(e, backoff)) {
+                retryBudget.onFailure();
                 maybeRetry(task, result, backoff, state, e);
                 return;
             }
@@ -203,22 +244,18 @@ public class AsyncRetries {
         if (retryConfig.strategy() == RetryConfig.Strategy.ATTEMPT_COUNT_BACKOFF
                 && state.count() >= retryConfig.maxRetries().orElse(0)) {
             logger.debug("Async retry exhausted after {} attempts", state.count() + 1);
-            if (e instanceof AsyncRetryableException) {
-                result.complete(((AsyncRetryableException) e).response());
-                return;
-            }
-            result.completeExceptionally(e);
+            giveUp(result, e);
             return;
         }
-        if (retryConfig.strategy() == RetryConfig.Strategy.BACKOFF
-                && timeSinceStart.toMillis() > backoff.maxElapsedTimeMs()) {
+        if (timeSinceStart.toMillis() > backoff.maxElapsedTimeMs()) {
             // retry exhausted
             logger.debug("Async retry exhausted after {}ms, {} attempts", timeSinceStart.toMillis(), state.count() + 1);
-            if (e instanceof AsyncRetryableException) {
-                result.complete(((AsyncRetryableException) e).response());
-                return;
-            }
-            result.completeExceptionally(e);
+            giveUp(result, e);
+            return;
+        }
+        if (!retryBudget.canRetry()) {
+            logger.debug("Async retry budget exhausted after {} attempts", state.count() + 1);
+            giveUp(result, e);
             return;
         }
 
@@ -241,6 +278,29 @@ public class AsyncRetries {
             intervalMs = (long) computed;
         }
 
+        if (timeSinceStart.toMillis() + intervalMs > backoff.maxElapsedTimeMs()) {
+            // The next attempt would start after the budget, so waiting for it is pointless.
+            logger.debug("Async retry exhausted after {}ms, {} attempts", timeSinceStart.toMillis(), state.count() + 1);
+            giveUp(result, e);
+            return;
+        }
+
+        if (onRetry != null) {
+            RetryEvent event = new RetryEvent(
+                    (int) state.count() + 1,
+                    Duration.ofMillis(intervalMs),
+                    timeSinceStart,
+                    e instanceof AsyncRetryableException
+                            ? Optional.of(((AsyncRetryableException) e).response().statusCode())
+                            : Optional.empty(),
+                    e instanceof AsyncRetryableException ? Optional.empty() : Optional.of(e));
+            try {
+                onRetry.accept(event);
+            } catch (RuntimeException hookError) {
+                logger.debug("Retry listener threw exception: {}", hookError.getClass().getSimpleName());
+            }
+        }
+
         if (logger.isTraceEnabled()) {
             String reason = e instanceof AsyncRetryableException
                 ? "status " + ((AsyncRetryableException) e).response().statusCode()
@@ -252,11 +312,6 @@ public class AsyncRetries {
             closeQuietly(((AsyncRetryableException) e).response());
         }
 
-        if (scheduler == null) {
-            result.completeExceptionally(new IllegalStateException("Async retry scheduler is not configured. Please provide a ScheduledExecutorService."));
-            return;
-        }
-
         try {
             scheduler.schedule(
                     () -> attempt(task, result, backoff, state.countAttempt()),
@@ -267,6 +322,14 @@ public class AsyncRetries {
         }
     }
 
+    private static void giveUp(CompletableFuture<HttpResponse<InputStream>> result, Throwable e) {
+        if (e instanceof AsyncRetryableException) {
+            result.complete(((AsyncRetryableException) e).response());
+            return;
+        }
+        result.completeExceptionally(e);
+    }
+
     private static void closeQuietly(HttpResponse<InputStream> response) {
         try {
             InputStream body = response.body();
@@ -278,7 +341,9 @@ public class AsyncRetries {
     }
 
     public void shutdown() {
-        scheduler.shutdown();
+        if (scheduler != defaultScheduler()) {
+            scheduler.shutdown();
+        }
     }
 
     public static Builder builder() {
@@ -290,6 +355,8 @@ public class AsyncRetries {
         private RetryConfig retryConfig;
         private List<String> statusCodes;
         private ScheduledExecutorService scheduler;
+        private RetryBudget retryBudget;
+        private Consumer<RetryEvent> onRetry;
 
         private Builder() {
         }
@@ -323,7 +390,8 @@ public class AsyncRetries {
 
         /**
          * Defines the scheduler that will be used to schedule and execute retry attempts.
-         * Recommend using a globally shared executor for this.
+         * Recommend using a globally shared executor for this. Defaults to
+         * {@link AsyncRetries#defaultScheduler()}.
          *
          * @param scheduler An instance of {@link ScheduledExecutorService}
          * @return The builder instance.
@@ -333,8 +401,88 @@ public class AsyncRetries {
             return this;
         }
 
+        /**
+         * Defines the budget that retries draw from. Defaults to an unlimited budget.
+         *
+         * @param retryBudget The budget, usually shared by every request of an SDK instance.
+         * @return The builder instance.
+         */
+        public Builder retryBudget(RetryBudget retryBudget) {
+            Utils.checkNotNull(retryBudget, "retryBudget");
+            this.retryBudget = retryBudget;
+            return this;
+        }
+
+        /**
+         * Defines a listener that is called before each retry is scheduled. The listener runs on
+         * the thread that completed the failed attempt and must not block.
+         *
+         * @param onRetry The listener.
+         * @return The builder instance.
+         */
+        public Builder onRetry(Consumer<RetryEvent> onRetry) {
+            Utils.checkNotNull(onRetry, "onRetry");
+            this.onRetry = onRetry;
+            return this;
+        }
+
         public AsyncRetries build() {
-            return new AsyncRetries(retryConfig, statusCodes, scheduler);
+            return new AsyncRetries(retryConfig, statusCodes, scheduler, retryBudget, onRetry);
+        }
+    }
+
+    /**
+     * Describes a retry that is about to be scheduled.
+     */
+    public static final class RetryEvent {
+        private final int retry;
+        private final Duration delay;
+        private final Duration elapsed;
+        private final Optional<Integer> statusCode;
+        private final Optional<Throwable> error;
+
+        RetryEvent(int retry, Duration delay, Duration elapsed,
+                   Optional<Integer> statusCode, Optional<Throwable> error) {
+            this.retry = retry;
+            this.delay = delay;
+            this.elapsed = elapsed;
+            this.statusCode = statusCode;
+            this.error = error;
+        }
+
+        /**
+         * Returns the number of the retry, starting at 1 for the first retry.
+         */
+        public int retry() {
+            return retry;
+        }
+
+        /**
+         * Returns how long the retry waits before sending the request again.
+         */
+        public Duration delay() {
+            return delay;
+        }
+
+        /**
+         * Returns the time since the first attempt started.
+         */
+        public Duration elapsed() {
+            return elapsed;
+        }
+
+        /**
+         * Returns the status code of the failed attempt, if the server answered.
+         */
+        public Optional<Integer> statusCode() {
+            return statusCode;
+        }
+
+        /**
+         * Returns the error of the failed attempt, if the server did not answer.
+         */
+        public Optional<Throwable> error() {
+            return error;
         }
     }
 
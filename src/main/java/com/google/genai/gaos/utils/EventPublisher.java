@@ -0,0 +1,340 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai.gaos.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Publishes Server-Sent Events to a subscriber as it asks for them.
+ *
+ * <p>Unlike {@link EventStream}, which is iterated on a caller thread that blocks between events,
+ * the publisher pushes events to a {@link Subscriber}. The response body is fed in chunks to the
+ * incremental {@link StreamingParser}, and only while the subscriber has outstanding demand: a
+ * subscriber that stops requesting holds no thread, and a slow one is never sent more than it
+ * asked for. Reads run on a shared executor and events are delivered one at a time.
+ *
+ * <p>The {@link Subscriber} and {@link Subscription} interfaces have the shape of
+ * {@code java.util.concurrent.Flow} and Reactive Streams, which this library cannot depend on
+ * while it supports Java 8, so adapting the publisher to either takes a few lines.
+ *
+ * <p>The publisher is cold: the request is sent when a subscriber subscribes, and a publisher
+ * accepts a single subscriber.
+ *
+ * @param <T> the type that SSE {@code data} fields will be deserialized into
+ */
+public final class EventPublisher<T> {
+
+    private static final SpeakeasyLogger logger = SpeakeasyLogger.getLogger(EventPublisher.class);
+
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    /**
+     * Receives the events of an {@link EventPublisher}.
+     *
+     * @param <T> the type of the events
+     */
+    public interface Subscriber<T> {
+        /** Called once, before any other method, with the subscription to request events on. */
+        void onSubscribe(Subscription subscription);
+
+        /** Called with the next event, at most as many times as events were requested. */
+        void onNext(T item);
+
+        /** Called once if the stream fails. No other method is called afterwards. */
+        void onError(Throwable throwable);
+
+        /** Called once when the stream ends. No other method is called afterwards. */
+        void onComplete();
+    }
+
+    /** The link between an {@link EventPublisher} and its {@link Subscriber}. */
+    public interface Subscription {
+        /** Asks for up to {@code n} more events. {@code n} must be positive. */
+        void request(long n);
+
+        /** Stops the stream and releases its connection. */
+        void cancel();
+    }
+
+    private final Supplier<CompletableFuture<InputStream>> bodySupplier;
+    private final TypeReference<T> typeReference;
+    private final ObjectMapper mapper;
+    private final Optional<String> terminalMessage;
+    private final Executor executor;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    // Internal use only
+    public EventPublisher(
+            Supplier<CompletableFuture<InputStream>> bodySupplier,
+            TypeReference<T> typeReference,
+            ObjectMapper mapper,
+            Optional<String> terminalMessage,
+            Executor executor) {
+        this.bodySupplier = Utils.checkNotNull(bodySupplier, "bodySupplier");
+        this.typeReference = Utils.checkNotNull(typeReference, "typeReference");
+        this.mapper = Utils.checkNotNull(mapper, "mapper");
+        this.terminalMessage = Utils.checkNotNull(terminalMessage, "terminalMessage");
+        this.executor = Utils.checkNotNull(executor, "executor");
+    }
+
+    /**
+     * Sends the request and starts the stream for the given subscriber. Events are read once the
+     * subscriber requests them.
+     *
+     * @param subscriber the subscriber
+     */
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Utils.checkNotNull(subscriber, "subscriber");
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("An EventPublisher accepts a single subscriber"));
+            return;
+        }
+        EventSubscription subscription = new EventSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        CompletableFuture<InputStream> body;
+        try {
+            body = bodySupplier.get();
+        } catch (RuntimeException e) {
+            body = new CompletableFuture<>();
+            body.completeExceptionally(e);
+        }
+        subscription.attach(body);
+    }
+
+    private final class EventSubscription implements Subscription, Runnable {
+        private final Subscriber<? super T> subscriber;
+        private final StreamingParser<EventStreamMessage> parser = StreamingParser.forSSE();
+        private final byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger pendingDrains = new AtomicInteger();
+        private volatile CompletableFuture<InputStream> body;
+        private volatile boolean cancelled = false;
+        private volatile Throwable invalidRequest;
+        // Written and read by the draining thread only.
+        private InputStream in;
+        private boolean done = false;
+        private boolean sourceExhausted = false;
+        private boolean parserFinished = false;
+
+        EventSubscription(Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        void attach(CompletableFuture<InputStream> body) {
+            this.body = body;
+            if (cancelled) {
+                release(body);
+            }
+            body.whenComplete((in, error) -> scheduleDrain());
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("The number of requested events must be positive, got " + n);
+            } else {
+                demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            }
+            scheduleDrain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            CompletableFuture<InputStream> current = body;
+            if (current != null) {
+                // Closing the body unblocks a drain that waits for bytes.
+                release(current);
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (pendingDrains.getAndIncrement() != 0) {
+                return;
+            }
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                pendingDrains.set(0);
+                cancelled = true;
+                subscriber.onError(e);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                drain();
+                missed = pendingDrains.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drain() {
+            if (done) {
+                return;
+            }
+            if (cancelled) {
+                finish();
+                return;
+            }
+            if (invalidRequest != null) {
+                fail(invalidRequest);
+                return;
+            }
+            CompletableFuture<InputStream> current = body;
+            if (current == null || !current.isDone()) {
+                return;
+            }
+            if (in == null) {
+                try {
+                    in = current.join();
+                } catch (CompletionException e) {
+                    fail(e.getCause() != null ? e.getCause() : e);
+                    return;
+                } catch (RuntimeException e) {
+                    fail(e);
+                    return;
+                }
+            }
+            while (demand.get() > 0 && !done) {
+                Optional<T> event;
+                try {
+                    event = nextEvent();
+                } catch (IOException | RuntimeException e) {
+                    if (cancelled) {
+                        finish();
+                    } else {
+                        fail(e);
+                    }
+                    return;
+                }
+                if (cancelled) {
+                    finish();
+                    return;
+                }
+                if (!event.isPresent()) {
+                    finish();
+                    subscriber.onComplete();
+                    return;
+                }
+                demand.decrementAndGet();
+                try {
+                    subscriber.onNext(event.get());
+                } catch (RuntimeException e) {
+                    logger.debug("Subscriber failed to handle an event, cancelling the stream");
+                    cancelled = true;
+                    finish();
+                    return;
+                }
+            }
+        }
+
+        /** Reads until the next event, the terminal message or the end of the body. */
+        private Optional<T> nextEvent() throws IOException {
+            while (true) {
+                Optional<EventStreamMessage> message = parser.next();
+                if (!message.isPresent()) {
+                    if (parserFinished) {
+                        return Optional.empty();
+                    }
+                    if (sourceExhausted) {
+                        parserFinished = true;
+                        message = parser.finish();
+                        if (!message.isPresent()) {
+                            return Optional.empty();
+                        }
+                    } else {
+                        int read = in.read(readBuffer);
+                        if (read < 0) {
+                            sourceExhausted = true;
+                            continue;
+                        }
+                        message = parser.add(ByteBuffer.wrap(readBuffer, 0, read));
+                        if (!message.isPresent()) {
+                            continue;
+                        }
+                    }
+                }
+                EventStreamMessage msg = message.get();
+                boolean isTerminal = terminalMessage.flatMap(sentinel -> msg.data().map(sentinel::equals)).orElse(false);
+                if (isTerminal) {
+                    return Optional.empty();
+                }
+                if (!msg.data().isPresent()) {
+                    continue;
+                }
+                return Optional.of(Utils.asType(msg, mapper, typeReference));
+            }
+        }
+
+        private void fail(Throwable error) {
+            finish();
+            subscriber.onError(error);
+        }
+
+        private void finish() {
+            done = true;
+            closeQuietly(in);
+            CompletableFuture<InputStream> current = body;
+            if (current != null) {
+                release(current);
+            }
+        }
+    }
+
+    /** Cancels a pending response, or closes its body if it has already arrived. */
+    private static void release(CompletableFuture<InputStream> body) {
+        if (!body.cancel(true)) {
+            body.thenAccept(EventPublisher::closeQuietly);
+        }
+    }
+
+    private static void closeQuietly(InputStream in) {
+        if (in == null) {
+            return;
+        }
+        try {
+            in.close();
+        } catch (IOException e) {
+            logger.debug("Failed to close the event stream body");
+        }
+    }
+}
@@ -22,15 +22,41 @@ package com.google.genai.gaos.utils;
 import java.lang.reflect.Field;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 final class Metadata {
 
+    private static final Object ABSENT = new Object();
+
+    // Parsed metadata per declaring class, keyed by metadata name and field name. Callers only
+    // read the parsed objects, so one instance per field is shared.
+    private static final ClassValue<Map<String, Object>> PARSED = new ClassValue<Map<String, Object>>() {
+        @Override
+        protected Map<String, Object> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     private Metadata() {
         // prevent instantiation
     }
 
+    @SuppressWarnings("unchecked")
     static <T> T parse(String name, T metadata, Field field)
             throws IllegalArgumentException, IllegalAccessException {
+        Map<String, Object> parsed = PARSED.get(field.getDeclaringClass());
+        String key = name + ':' + field.getName();
+        Object cached = parsed.get(key);
+        if (cached == null) {
+            T result = parseUncached(name, metadata, field);
+            cached = result == null ? ABSENT : result;
+            parsed.put(key, cached);
+        }
+        return cached == ABSENT ? null : (T) cached;
+    }
+
+    private static <T> T parseUncached(String name, T metadata, Field field)
+            throws IllegalArgumentException, IllegalAccessException {
         SpeakeasyMetadata md = field.getAnnotation(SpeakeasyMetadata.class);
         if (md == null) {
             return null;
@@ -71,10 +97,9 @@ final class Metadata {
                 values.put(key, val);
             }
 
-            Field[] fields = metadata.getClass().getDeclaredFields();
+            Field[] fields = Reflections.accessibleFields(metadata.getClass());
 
             for (Field f : fields) {
-                f.setAccessible(true);
                 if (values.containsKey(f.getName())) {
                     String val = values.get(f.getName());
 
@@ -21,6 +21,7 @@ package com.google.genai.gaos.utils;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.SequenceInputStream;
 import java.io.UncheckedIOException;
 import java.net.URLEncoder;
@@ -281,6 +282,13 @@ public final class Multipart {
                 };
                 return new SequenceInputStream(en);
             }
+
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                for (HttpBody body : bodies) {
+                    body.writeTo(out);
+                }
+            }
         };
     }
 
@@ -32,10 +32,9 @@ public class QueryParameters {
             Globals globals) throws Exception {
         List<QueryParameter> allParams = new ArrayList<>();
 
-        Field[] fields = type.getDeclaredFields();
+        Field[] fields = Reflections.accessibleFields(type);
 
         for (Field field : fields) {
-            field.setAccessible(true);
             if (Modifier.isStatic(field.getModifiers())) {
                 continue;
             }
@@ -164,12 +163,11 @@ public class QueryParameters {
                     params.add(QueryParameter.of(queryParamsMetadata.name, Utils.valToString(unwrappedEnumValue.get()), queryParamsMetadata.allowReserved));
                     break;
                 }
-                Field[] fields = value.getClass().getDeclaredFields();
+                Field[] fields = Reflections.accessibleFields(value.getClass());
 
                 List<String> items = new ArrayList<>();
 
                 for (Field field : fields) {
-                    field.setAccessible(true);
                     Object val = field.get(value);
                     val = Utils.resolveOptionals(val);
                     if (val == null) {
@@ -232,10 +230,9 @@ public class QueryParameters {
                     throw new RuntimeException("DeepObject style only supports Map and Object types, not " + value.getClass());
                 }
 
-                Field[] fields = value.getClass().getDeclaredFields();
+                Field[] fields = Reflections.accessibleFields(value.getClass());
 
                 for (Field field : fields) {
-                    field.setAccessible(true);
                     Object val = field.get(value);
                     val = Utils.resolveOptionals(val);
                     if (val == null) {
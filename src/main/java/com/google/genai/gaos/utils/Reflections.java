@@ -19,6 +19,7 @@
  */
 package com.google.genai.gaos.utils;
 
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
@@ -31,6 +32,55 @@ import java.util.concurrent.atomic.AtomicLong;
 
 public class Reflections {
 
+    // Request building inspects the same few classes on every call, so what reflection finds
+    // about a class is computed once and kept for as long as the class is loaded.
+
+    private static final ClassValue<Field[]> ACCESSIBLE_FIELDS = new ClassValue<Field[]>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            Field[] fields = type.getDeclaredFields();
+            for (Field field : fields) {
+                field.setAccessible(true);
+            }
+            return fields;
+        }
+    };
+
+    private static final ClassValue<Optional<Method>> ENUM_WRAPPER_VALUE_METHODS = new ClassValue<Optional<Method>>() {
+        @Override
+        protected Optional<Method> computeValue(Class<?> type) {
+            return findEnumWrapperValueMethod(type);
+        }
+    };
+
+    /**
+     * Returns the declared fields of the given class, made accessible. The array is cached and
+     * shared between callers, so it must not be modified.
+     *
+     * @param clazz the class to examine
+     * @return the declared fields of the class
+     */
+    public static Field[] accessibleFields(Class<?> clazz) {
+        Objects.requireNonNull(clazz, "Class cannot be null");
+        return ACCESSIBLE_FIELDS.get(clazz);
+    }
+
+    /**
+     * Returns the declared field of the given class with the given name, made accessible.
+     *
+     * @param clazz the class to examine
+     * @param name  the name of the field
+     * @return the field, or {@code Optional.empty()} if the class declares no such field
+     */
+    public static Optional<Field> accessibleField(Class<?> clazz, String name) {
+        for (Field field : accessibleFields(clazz)) {
+            if (field.getName().equals(name)) {
+                return Optional.of(field);
+            }
+        }
+        return Optional.empty();
+    }
+
     /**
      * Extracts the underlying value from an enum wrapper instance if the class follows the enum wrapper pattern.
      *
@@ -56,27 +106,12 @@ public class Reflections {
     public static Optional<?> getUnwrappedEnumValue(Class<?> clazz, Object instance) {
         Objects.requireNonNull(clazz, "Class cannot be null");
 
+        Optional<Method> valueMethod = ENUM_WRAPPER_VALUE_METHODS.get(clazz);
+        if (!valueMethod.isPresent()) {
+            return Optional.empty();
+        }
         try {
-            // Check for factory method of(String) or of(Integer)
-            boolean hasFactoryMethod = Arrays.stream(clazz.getDeclaredMethods())
-                    .anyMatch(method -> isValidFactoryMethod(method, clazz));
-            if (!hasFactoryMethod) {
-                return Optional.empty();
-            }
-
-            // Check for at least one static constant of same type
-            if (!hasStaticConstants(clazz)) {
-                return Optional.empty();
-            }
-
-            // Check for value() method returning String or Integer
-            Method valueMethod = clazz.getMethod("value");
-            if (!isValidValueMethod(valueMethod)) {
-                return Optional.empty();
-            }
-
-            valueMethod.setAccessible(true);
-            return Optional.of(valueMethod.invoke(instance));
+            return Optional.of(valueMethod.get().invoke(instance));
         } catch (Exception e) {
             return Optional.empty();
         }
@@ -103,38 +138,46 @@ public class Reflections {
         if (clazz == null) {
             return false;
         }
+        return ENUM_WRAPPER_VALUE_METHODS.get(clazz).isPresent();
+    }
+
+    /**
+     * Checks if the given object is an instance of an enum wrapper class.
+     *
+     * @param obj the object to check
+     * @return true if the object is an instance of an enum wrapper class, false otherwise
+     */
+    public static boolean isEnumWrapper(Object obj) {
+        return obj != null && isEnumWrapper(obj.getClass());
+    }
 
+    private static Optional<Method> findEnumWrapperValueMethod(Class<?> clazz) {
         try {
             // Check for factory method of(String) or of(Integer)
             boolean hasFactoryMethod = Arrays.stream(clazz.getDeclaredMethods())
                     .anyMatch(method -> isValidFactoryMethod(method, clazz));
             if (!hasFactoryMethod) {
-                return false;
+                return Optional.empty();
             }
 
             // Check for at least one static constant of same type
             if (!hasStaticConstants(clazz)) {
-                return false;
+                return Optional.empty();
             }
 
             // Check for value() method returning String or Integer
             Method valueMethod = clazz.getMethod("value");
-            return isValidValueMethod(valueMethod);
+            if (!isValidValueMethod(valueMethod)) {
+                return Optional.empty();
+            }
+
+            valueMethod.setAccessible(true);
+            return Optional.of(valueMethod);
         } catch (Exception e) {
-            return false;
+            return Optional.empty();
         }
     }
 
-    /**
-     * Checks if the given object is an instance of an enum wrapper class.
-     *
-     * @param obj the object to check
-     * @return true if the object is an instance of an enum wrapper class, false otherwise
-     */
-    public static boolean isEnumWrapper(Object obj) {
-        return obj != null && isEnumWrapper(obj.getClass());
-    }
-
     private static boolean isNumericType(Class<?> type) {
         // Primitive numeric types
         if (type.isPrimitive()) {
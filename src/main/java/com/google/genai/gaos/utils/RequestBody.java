@@ -70,14 +70,7 @@ public final class RequestBody {
                     request);
         }
 
-        Field reqField = null;
-
-        try {
-            reqField = request.getClass().getDeclaredField(requestField);
-            reqField.setAccessible(true);
-        } catch (NoSuchFieldException e) {
-            // ignore
-        }
+        Field reqField = Reflections.accessibleField(request.getClass(), requestField).orElse(null);
         if (reqField == null) {
             return serializeContentType(requestField, SERIALIZATION_METHOD_TO_CONTENT_TYPE.get(serializationMethod),
                     request);
@@ -139,10 +132,9 @@ public final class RequestBody {
             throws IllegalArgumentException, IllegalAccessException, UnsupportedOperationException, IOException {
         Multipart.Builder builder = Multipart.builder();
 
-        Field[] fields = value.getClass().getDeclaredFields();
+        Field[] fields = Reflections.accessibleFields(value.getClass());
 
         for (Field field : fields) {
-            field.setAccessible(true);
             if (Modifier.isStatic(field.getModifiers())) {
                 continue;
             }
@@ -197,10 +189,9 @@ public final class RequestBody {
         String fileName = "";
         Object content = null;
 
-        Field[] fields = file.getClass().getDeclaredFields();
+        Field[] fields = Reflections.accessibleFields(file.getClass());
 
         for (Field field : fields) {
-            field.setAccessible(true);
             Object val = field.get(file);
 
             if (val == null) {
@@ -257,10 +248,9 @@ public final class RequestBody {
             if (!Utils.allowIntrospection(value.getClass())) {
                 throw new RuntimeException("Invalid type for form data");
             }
-            Field[] fields = value.getClass().getDeclaredFields();
+            Field[] fields = Reflections.accessibleFields(value.getClass());
 
             for (Field field : fields) {
-                field.setAccessible(true);
                 Object val = Utils.resolveOptionals(field.get(value));
 
                 if (val == null) {
@@ -290,12 +280,11 @@ public final class RequestBody {
                             params.add(new NameValue(metadata.name, String.valueOf(val)));
                         } else {
 
-                            Field[] valFields = val.getClass().getDeclaredFields();
+                            Field[] valFields = Reflections.accessibleFields(val.getClass());
 
                             List<String> items = new ArrayList<>();
 
                             for (Field valField : valFields) {
-                                valField.setAccessible(true);
                                 Object v = Utils.resolveOptionals(valField.get(val));
                                 if (v == null) {
                                     continue;
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai.gaos.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits retries across all requests of an SDK instance so that they cannot amplify an outage.
+ *
+ * <p>The budget holds up to {@code maxTokens} tokens and starts full. Each attempt that fails in a
+ * retryable way takes one token, and each attempt that the server answers takes back
+ * {@code tokenRatio} of a token. Retries are allowed only while more than half of the tokens are
+ * left, so when most attempts fail the client falls back to a single attempt per request until
+ * the service recovers. This is the retry throttling scheme used by gRPC.
+ */
+// ThreadSafe
+public final class RetryBudget {
+
+    private static final long SCALE = 1000;
+    private static final int DEFAULT_MAX_TOKENS = 20;
+    private static final double DEFAULT_TOKEN_RATIO = 0.1;
+    private static final RetryBudget UNLIMITED = new RetryBudget(0, 0, true);
+
+    private final long maxTokens;
+    private final long tokenRatio;
+    private final boolean unlimited;
+    private final AtomicLong tokens;
+
+    private RetryBudget(long maxTokens, long tokenRatio, boolean unlimited) {
+        this.maxTokens = maxTokens;
+        this.tokenRatio = tokenRatio;
+        this.unlimited = unlimited;
+        this.tokens = new AtomicLong(maxTokens);
+    }
+
+    /**
+     * Creates a budget.
+     *
+     * @param maxTokens the number of tokens the budget holds, must be positive
+     * @param tokenRatio the fraction of a token each answered attempt returns, must be positive
+     * @return a new, full budget
+     */
+    public static RetryBudget of(int maxTokens, double tokenRatio) {
+        if (maxTokens <= 0) {
+            throw new IllegalArgumentException("maxTokens must be positive");
+        }
+        if (!(tokenRatio > 0)) {
+            throw new IllegalArgumentException("tokenRatio must be positive");
+        }
+        return new RetryBudget(
+                maxTokens * SCALE, Math.max(1, Math.round(tokenRatio * SCALE)), false);
+    }
+
+    /**
+     * Creates a budget of 20 tokens with a token ratio of 0.1.
+     *
+     * @return a new, full budget
+     */
+    public static RetryBudget withDefaults() {
+        return of(DEFAULT_MAX_TOKENS, DEFAULT_TOKEN_RATIO);
+    }
+
+    /**
+     * Returns a budget that never limits retries.
+     *
+     * @return the unlimited budget
+     */
+    public static RetryBudget unlimited() {
+        return UNLIMITED;
+    }
+
+    /**
+     * Returns whether a failed attempt may be retried.
+     *
+     * @return true if more than half of the tokens are left
+     */
+    public boolean canRetry() {
+        return unlimited || tokens.get() > maxTokens / 2;
+    }
+
+    /** Records an attempt that the server answered without a retryable status. */
+    public void onSuccess() {
+        if (!unlimited) {
+            tokens.updateAndGet(current -> Math.min(maxTokens, current + tokenRatio));
+        }
+    }
+
+    /** Records an attempt that failed in a retryable way. */
+    public void onFailure() {
+        if (!unlimited) {
+            tokens.updateAndGet(current -> Math.max(0, current - SCALE));
+        }
+    }
+
+    /**
+     * Returns the number of tokens left.
+     *
+     * @return the tokens left, or {@link Double#POSITIVE_INFINITY} for the unlimited budget
+     */
+    public double tokens() {
+        return unlimited ? Double.POSITIVE_INFINITY : (double) tokens.get() / SCALE;
+    }
+}
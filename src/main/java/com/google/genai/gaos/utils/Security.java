@@ -46,19 +46,15 @@ public final class Security {
             if (allowedFields.length > 0) {
                 List<Field> ordered = new ArrayList<>();
                 for (String name : allowedFields) {
-                    try {
-                        ordered.add(security.getClass().getDeclaredField(name));
-                    } catch (NoSuchFieldException e) {
-                        // skip unknown fields
-                    }
+                    // skip unknown fields
+                    Reflections.accessibleField(security.getClass(), name).ifPresent(ordered::add);
                 }
                 fields = ordered.toArray(new Field[0]);
             } else {
-                fields = security.getClass().getDeclaredFields();
+                fields = Reflections.accessibleFields(security.getClass());
             }
 
             for (Field field : fields) {
-                field.setAccessible(true);
                 Object value = Utils.resolveOptionals(field.get(security));
                 if (value == null) {
                     continue;
@@ -92,10 +88,9 @@ public final class Security {
 
     private static void parseSecurityOption(HTTPRequest request, Object option)
             throws Exception {
-        Field[] fields = option.getClass().getDeclaredFields();
+        Field[] fields = Reflections.accessibleFields(option.getClass());
 
         for (Field field : fields) {
-            field.setAccessible(true);
             Object value = Utils.resolveOptionals(field.get(option));
             
             if (value == null) {
@@ -125,10 +120,9 @@ public final class Security {
                 return;
             }
 
-            Field[] fields = scheme.getClass().getDeclaredFields();
+            Field[] fields = Reflections.accessibleFields(scheme.getClass());
 
             for (Field field : fields) {
-                field.setAccessible(true);
                 Object value = Utils.resolveOptionals(field.get(scheme));
 
                 if (value == null) {
@@ -200,13 +194,12 @@ public final class Security {
 
     private static void parseBasicAuthScheme(HTTPRequest requestBuilder, Object scheme)
             throws IllegalAccessException {
-        Field[] fields = scheme.getClass().getDeclaredFields();
+        Field[] fields = Reflections.accessibleFields(scheme.getClass());
 
         String username = "";
         String password = "";
 
         for (Field field : fields) {
-            field.setAccessible(true);
             Object value = Utils.resolveOptionals(field.get(scheme));
 
             if (value == null) {
@@ -248,7 +241,7 @@ public final class Security {
         processed.add(object);
         while (!stack.isEmpty()) {
             Object o = stack.pop();
-            Field[] fields = o.getClass().getDeclaredFields();
+            Field[] fields = Reflections.accessibleFields(o.getClass());
             List<Field> annotatedFields = Arrays.stream(fields) //
                     .filter(f -> {
                         SpeakeasyMetadata[] anns = f.getDeclaredAnnotationsByType(SpeakeasyMetadata.class);
@@ -277,7 +270,6 @@ public final class Security {
 
     private static Object getUnwrappedFieldValue(Object o, Field f) {
         try {
-            f.setAccessible(true);
             Object value = f.get(o);
             if (value != null && value instanceof Optional) {
                 return ((Optional<?>) value).orElse(null);
@@ -290,7 +282,7 @@ public final class Security {
     }
     
     public static Stream<Field> findFieldsWhereMetadataContainsRegexes(Object o, String... regexes) {
-        Field[] fields = o.getClass().getDeclaredFields();
+        Field[] fields = Reflections.accessibleFields(o.getClass());
         return Arrays.stream(fields) //
                 .filter(f -> {
                     SpeakeasyMetadata[] anns = f.getDeclaredAnnotationsByType(SpeakeasyMetadata.class);
@@ -314,7 +306,6 @@ public final class Security {
     public static Optional<Object> findValueWhereMetadataContainsRegexes(Object o, String... regexes) {
         return findFieldsWhereMetadataContainsRegexes(o, regexes)
                    .flatMap(f -> {
-                        f.setAccessible(true);
                         Object result;
                         try {
                             result = f.get(o);
@@ -42,7 +42,6 @@ import okhttp3.Request;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
 import okio.BufferedSink;
-import okio.Okio;
 
 import com.google.genai.gaos.utils.Java8Compat;
 
@@ -265,14 +264,10 @@ public class SpeakeasyHTTPClient implements HTTPClient {
 
             @Override
             public void writeTo(BufferedSink sink) throws IOException {
-                InputStream in;
                 try {
-                    in = body.stream();
+                    body.writeTo(sink.outputStream());
                 } catch (IllegalStateException e) {
                     throw new IOException(e.getMessage(), e);
-                }
-                try (InputStream closeable = in) {
-                    sink.writeAll(Okio.source(closeable));
                 } catch (UncheckedIOException e) {
                     throw e.getCause();
                 }
@@ -131,10 +131,9 @@ public final class Utils {
 
         Map<String, String> pathParams = new HashMap<>();
 
-        Field[] fields = type.getDeclaredFields();
+        Field[] fields = Reflections.accessibleFields(type);
 
         for (Field field : fields) {
-            field.setAccessible(true);
             PathParamsMetadata pathParamsMetadata = PathParamsMetadata.parse(field);
             if (pathParamsMetadata == null) {
                 continue;
@@ -198,9 +197,8 @@ public final class Utils {
                                 }
                                 List<String> values = new ArrayList<>();
 
-                                Field[] valueFields = value.getClass().getDeclaredFields();
+                                Field[] valueFields = Reflections.accessibleFields(value.getClass());
                                 for (Field valueField : valueFields) {
-                                    valueField.setAccessible(true);
                                     PathParamsMetadata valuePathParamsMetadata = PathParamsMetadata.parse(valueField);
                                     if (valuePathParamsMetadata == null) {
                                         continue;
@@ -313,12 +311,12 @@ public final class Utils {
     }
     
     private static final String DOLLAR_MARKER = "D9qPtyhOYzkHGu3c";
+    private static final Pattern URL_PARAMETER = Pattern.compile("(\\{.*?\\})");
 
     public static String templateUrl(String url, Map<String, String> params) {
         StringBuffer sb = new StringBuffer();
 
-        Pattern p = Pattern.compile("(\\{.*?\\})");
-        Matcher m = p.matcher(url);
+        Matcher m = URL_PARAMETER.matcher(url);
 
         while (m.find()) {
             String match = m.group(1);
@@ -346,10 +344,9 @@ public final class Utils {
             return result;
         }
 
-        Field[] fields = headers.getClass().getDeclaredFields();
+        Field[] fields = Reflections.accessibleFields(headers.getClass());
 
         for (Field field : fields) {
-            field.setAccessible(true);
             HeaderMetadata headerMetadata = HeaderMetadata.parse(field);
             if (headerMetadata == null) {
                 continue;
@@ -375,9 +372,8 @@ public final class Utils {
                     }
 
                     List<String> items = new ArrayList<>();
-                    Field[] valueFields = value.getClass().getDeclaredFields();
+                    Field[] valueFields = Reflections.accessibleFields(value.getClass());
                     for (Field valueField : valueFields) {
-                        valueField.setAccessible(true);
                         HeaderMetadata valueHeaderMetadata = HeaderMetadata.parse(valueField);
                         if (valueHeaderMetadata == null || valueHeaderMetadata.name == null
                                 || Java8Compat.isBlank(valueHeaderMetadata.name)) {
@@ -489,8 +485,8 @@ public final class Utils {
     public static String valToString(Object value) {
         if (value.getClass().isEnum()) {
             try {
-                Field field = value.getClass().getDeclaredField("value");
-                field.setAccessible(true);
+                Field field = Reflections.accessibleField(value.getClass(), "value")
+                        .orElseThrow(() -> new NoSuchFieldException("value"));
                 return String.valueOf(field.get(value));
             } catch (IllegalArgumentException | IllegalAccessException | NoSuchFieldException | SecurityException e) {
                 return "ERROR_UNKNOWN_VALUE";
@@ -787,8 +783,8 @@ public final class Utils {
             // has a JsonShape of String and that we should convert BigInteger to 
             // BigIntegerString and BigDecimal to BigDecimalString
             // where explicitly mentioned in the TypeReference
-            Field tr = type.getDeclaredField(fieldName + "_typeReference");
-            tr.setAccessible(true);
+            Field tr = Reflections.accessibleField(type, fieldName + "_typeReference")
+                    .orElseThrow(() -> new NoSuchFieldException(fieldName + "_typeReference"));
             TypeReference<?> typeReference = (TypeReference<?>) tr.get(null);
             // adjust the value so BigInteger and BigDecimal serialize to string
             return convertToShape(value, JsonShape.STRING, typeReference);
@@ -1138,8 +1134,8 @@ public final class Utils {
             return;
         } else {
             try {
-                Field field = o.getClass().getDeclaredField("_eventSentinel");
-                field.setAccessible(true);
+                Field field = Reflections.accessibleField(o.getClass(), "_eventSentinel")
+                        .orElseThrow(() -> new NoSuchFieldException("_eventSentinel"));
                 field.set(o, Optional.of(value));
             } catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
                 // ignore
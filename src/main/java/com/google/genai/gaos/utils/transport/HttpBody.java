@@ -22,6 +22,7 @@ package com.google.genai.gaos.utils.transport;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -55,6 +56,21 @@ public abstract class HttpBody {
      */
     public abstract InputStream stream() throws IOException;
 
+    /**
+     * Writes the body content to the given stream, which is left open.
+     * Transports should prefer this to {@link #stream()}: in-memory bodies
+     * override it to write their bytes without an intermediate stream.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        try (InputStream in = stream()) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
     /**
      * Returns an empty, repeatable body.
      */
@@ -84,6 +100,11 @@ public abstract class HttpBody {
             public InputStream stream() {
                 return new ByteArrayInputStream(bytes);
             }
+
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                out.write(bytes);
+            }
         };
     }
 
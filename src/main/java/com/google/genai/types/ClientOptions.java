@@ -25,6 +25,11 @@ import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.google.auto.value.AutoValue;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.genai.JsonSerializable;
+import com.google.genai.MetricsRecorder;
+import com.google.genai.TraceRecorder;
+import com.google.genai.RequestHook;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import okhttp3.OkHttpClient;
 
@@ -48,6 +53,18 @@ public abstract class ClientOptions extends JsonSerializable {
   @JsonIgnore
   public abstract Optional<OkHttpClient> customHttpClient();
 
+  /** Hooks that observe every HTTP call of the client. */
+  @JsonIgnore
+  public abstract Optional<List<RequestHook>> requestHooks();
+
+  /** Recorder of the latency, throughput and load metrics of the client's HTTP calls. */
+  @JsonIgnore
+  public abstract Optional<MetricsRecorder> metricsRecorder();
+
+  /** Recorder of the spans of the client's calls, for distributed tracing. */
+  @JsonIgnore
+  public abstract Optional<TraceRecorder> traceRecorder();
+
   /** Instantiates a builder for ClientOptions. */
   @ExcludeFromGeneratedCoverageReport
   public static Builder builder() {
@@ -148,6 +165,71 @@ public abstract class ClientOptions extends JsonSerializable {
       return customHttpClient(Optional.empty());
     }
 
+    /**
+     * Setter for requestHooks.
+     *
+     * <p>requestHooks: Hooks that observe every HTTP call of the client.
+     */
+    @JsonIgnore
+    public abstract Builder requestHooks(List<RequestHook> requestHooks);
+
+    /**
+     * Setter for requestHooks.
+     *
+     * <p>requestHooks: Hooks that observe every HTTP call of the client.
+     */
+    @CanIgnoreReturnValue
+    public Builder requestHooks(RequestHook... requestHooks) {
+      return requestHooks(Arrays.asList(requestHooks));
+    }
+
+    @ExcludeFromGeneratedCoverageReport
+    abstract Builder requestHooks(Optional<List<RequestHook>> requestHooks);
+
+    /** Clears the value of requestHooks field. */
+    @ExcludeFromGeneratedCoverageReport
+    @CanIgnoreReturnValue
+    public Builder clearRequestHooks() {
+      return requestHooks(Optional.empty());
+    }
+
+    /**
+     * Setter for metricsRecorder.
+     *
+     * <p>metricsRecorder: Recorder of the latency, throughput and load metrics of the client's
+     * HTTP calls.
+     */
+    @JsonIgnore
+    public abstract Builder metricsRecorder(MetricsRecorder metricsRecorder);
+
+    @ExcludeFromGeneratedCoverageReport
+    abstract Builder metricsRecorder(Optional<MetricsRecorder> metricsRecorder);
+
+    /** Clears the value of metricsRecorder field. */
+    @ExcludeFromGeneratedCoverageReport
+    @CanIgnoreReturnValue
+    public Builder clearMetricsRecorder() {
+      return metricsRecorder(Optional.empty());
+    }
+
+    /**
+     * Setter for traceRecorder.
+     *
+     * <p>traceRecorder: Recorder of the spans of the client's calls, for distributed tracing.
+     */
+    @JsonIgnore
+    public abstract Builder traceRecorder(TraceRecorder traceRecorder);
+
+    @ExcludeFromGeneratedCoverageReport
+    abstract Builder traceRecorder(Optional<TraceRecorder> traceRecorder);
+
+    /** Clears the value of traceRecorder field. */
+    @ExcludeFromGeneratedCoverageReport
+    @CanIgnoreReturnValue
+    public Builder clearTraceRecorder() {
+      return traceRecorder(Optional.empty());
+    }
+
     public abstract ClientOptions build();
   }
 
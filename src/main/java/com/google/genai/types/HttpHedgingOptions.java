@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+// Auto-generated code. Do not edit.
+
+package com.google.genai.types;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.google.auto.value.AutoValue;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.genai.JsonSerializable;
+import java.util.Optional;
+
+/**
+ * HTTP hedging options for non-streaming generateContent, embedContent and countTokens requests.
+ * When set, a second attempt is sent if the first has not answered in time, the first response
+ * is used and the other attempt is cancelled.
+ */
+@AutoValue
+@JsonDeserialize(builder = HttpHedgingOptions.Builder.class)
+public abstract class HttpHedgingOptions extends JsonSerializable {
+  /**
+   * Percentile of the recent latencies of the same method and model after which the second attempt
+   * is sent, between 0 and 100. If not specified, default to 95.
+   */
+  @JsonProperty("delayPercentile")
+  public abstract Optional<Double> delayPercentile();
+
+  /**
+   * Delay before the second attempt, in fractions of a second, until enough latencies have been
+   * observed to compute the percentile. If not specified, default to 1.0 second.
+   */
+  @JsonProperty("initialDelay")
+  public abstract Optional<Double> initialDelay();
+
+  /**
+   * Maximum fraction of requests that may be hedged, between 0 and 1. Each request earns this
+   * fraction of a hedge, and a second attempt is only sent when a whole one is available. If not
+   * specified, default to 0.1.
+   */
+  @JsonProperty("budgetRatio")
+  public abstract Optional<Double> budgetRatio();
+
+  /**
+   * Base URL to send the second attempt to, such as another regional endpoint that serves the
+   * same resources. If not specified, the second attempt is sent to the same endpoint.
+   */
+  @JsonProperty("baseUrl")
+  public abstract Optional<String> baseUrl();
+
+  /** Instantiates a builder for HttpHedgingOptions. */
+  @ExcludeFromGeneratedCoverageReport
+  public static Builder builder() {
+    return new AutoValue_HttpHedgingOptions.Builder();
+  }
+
+  /** Creates a builder with the same values as this instance. */
+  public abstract Builder toBuilder();
+
+  /** Builder for HttpHedgingOptions. */
+  @AutoValue.Builder
+  public abstract static class Builder {
+    /** For internal usage. Please use `HttpHedgingOptions.builder()` for instantiation. */
+    @JsonCreator
+    private static Builder create() {
+      return new AutoValue_HttpHedgingOptions.Builder();
+    }
+
+    /**
+     * Setter for delayPercentile.
+     *
+     * <p>delayPercentile: Percentile of the recent latencies of the same method and model after
+     * which the second attempt is sent, between 0 and 100. If not specified, default to 95.
+     */
+    @JsonProperty("delayPercentile")
+    public abstract Builder delayPercentile(Double delayPercentile);
+
+    @ExcludeFromGeneratedCoverageReport
+    abstract Builder delayPercentile(Optional<Double> delayPercentile);
+
+    /** Clears the value of delayPercentile field. */
+    @ExcludeFromGeneratedCoverageReport
+    @CanIgnoreReturnValue
+    public Builder clearDelayPercentile() {
+      return delayPercentile(Optional.empty());
+    }
+
+    /**
+     * Setter for initialDelay.
+     *
+     * <p>initialDelay: Delay before the second attempt, in fractions of a second, until enough
+     * latencies have been observed to compute the percentile. If not specified, default to 1.0
+     * second.
+     */
+    @JsonProperty("initialDelay")
+    public abstract Builder initialDelay(Double initialDelay);
+
+    @ExcludeFromGeneratedCoverageReport
+    abstract Builder initialDelay(Optional<Double> initialDelay);
+
+    /** Clears the value of initialDelay field. */
+    @ExcludeFromGeneratedCoverageReport
+    @CanIgnoreReturnValue
+    public Builder clearInitialDelay() {
+      return initialDelay(Optional.empty());
+    }
+
+    /**
+     * Setter for budgetRatio.
+     *
+     * <p>budgetRatio: Maximum fraction of requests that may be hedged, between 0 and 1. Each
+     * request earns this fraction of a hedge, and a second attempt is only sent when a whole one is
+     * available. If not specified, default to 0.1.
+     */
+    @JsonProperty("budgetRatio")
+    public abstract Builder budgetRatio(Double budgetRatio);
+
+    @ExcludeFromGeneratedCoverageReport
+    abstract Builder budgetRatio(Optional<Double> budgetRatio);
+
+    /** Clears the value of budgetRatio field. */
+    @ExcludeFromGeneratedCoverageReport
+    @CanIgnoreReturnValue
+    public Builder clearBudgetRatio() {
+      return budgetRatio(Optional.empty());
+    }
+
+    /**
+     * Setter for baseUrl.
+     *
+     * <p>baseUrl: Base URL to send the second attempt to, such as another regional endpoint that
+     * serves the same resources. If not specified, the second attempt is sent to the same
+     * endpoint.
+     */
+    @JsonProperty("baseUrl")
+    public abstract Builder baseUrl(String baseUrl);
+
+    @ExcludeFromGeneratedCoverageReport
+    abstract Builder baseUrl(Optional<String> baseUrl);
+
+    /** Clears the value of baseUrl field. */
+    @ExcludeFromGeneratedCoverageReport
+    @CanIgnoreReturnValue
+    public Builder clearBaseUrl() {
+      return baseUrl(Optional.empty());
+    }
+
+    public abstract HttpHedgingOptions build();
+  }
+
+  /** Deserializes a JSON string to a HttpHedgingOptions object. */
+  @ExcludeFromGeneratedCoverageReport
+  public static HttpHedgingOptions fromJson(String jsonString) {
+    return JsonSerializable.fromJsonString(jsonString, HttpHedgingOptions.class);
+  }
+}
@@ -64,6 +64,10 @@ public abstract class HttpOptions extends JsonSerializable {
   @JsonProperty("retryOptions")
   public abstract Optional<HttpRetryOptions> retryOptions();
 
+  /** HTTP hedging options for the request. */
+  @JsonProperty("hedgingOptions")
+  public abstract Optional<HttpHedgingOptions> hedgingOptions();
+
   /** Instantiates a builder for HttpOptions. */
   @ExcludeFromGeneratedCoverageReport
   public static Builder builder() {
@@ -244,6 +248,34 @@ public abstract class HttpOptions extends JsonSerializable {
       return retryOptions(Optional.empty());
     }
 
+    /**
+     * Setter for hedgingOptions.
+     *
+     * <p>hedgingOptions: HTTP hedging options for the request.
+     */
+    @JsonProperty("hedgingOptions")
+    public abstract Builder hedgingOptions(HttpHedgingOptions hedgingOptions);
+
+    /**
+     * Setter for hedgingOptions builder.
+     *
+     * <p>hedgingOptions: HTTP hedging options for the request.
+     */
+    @CanIgnoreReturnValue
+    public Builder hedgingOptions(HttpHedgingOptions.Builder hedgingOptionsBuilder) {
+      return hedgingOptions(hedgingOptionsBuilder.build());
+    }
+
+    @ExcludeFromGeneratedCoverageReport
+    abstract Builder hedgingOptions(Optional<HttpHedgingOptions> hedgingOptions);
+
+    /** Clears the value of hedgingOptions field. */
+    @ExcludeFromGeneratedCoverageReport
+    @CanIgnoreReturnValue
+    public Builder clearHedgingOptions() {
+      return hedgingOptions(Optional.empty());
+    }
+
     public abstract HttpOptions build();
   }
 
@@ -278,7 +278,7 @@ public final class AfcUtilTest {
     GenerateContentResponse response =
         GenerateContentResponse.builder().candidates(Candidate.builder().content(content)).build();
     ImmutableList<Part> functionResponseParts =
-        AfcUtil.getFunctionResponseParts(response, functionMap);
+        AfcUtil.getFunctionResponseParts(response, functionMap, null, null);
     ImmutableList<Part> expectedFunctionResponseParts =
         ImmutableList.of(
             Part.fromFunctionResponse(
@@ -292,7 +292,7 @@ public final class AfcUtilTest {
     ImmutableMap<String, Method> functionMap = ImmutableMap.of();
     GenerateContentResponse response = GenerateContentResponse.builder().build();
     ImmutableList<Part> functionResponseParts =
-        AfcUtil.getFunctionResponseParts(response, functionMap);
+        AfcUtil.getFunctionResponseParts(response, functionMap, null, null);
     assertEquals(0, functionResponseParts.size());
   }
 
@@ -305,7 +305,7 @@ public final class AfcUtilTest {
     GenerateContentResponse response =
         GenerateContentResponse.builder().candidates(Candidate.builder().content(content)).build();
     ImmutableList<Part> functionResponseParts =
-        AfcUtil.getFunctionResponseParts(response, functionMap);
+        AfcUtil.getFunctionResponseParts(response, functionMap, null, null);
     assertEquals(0, functionResponseParts.size());
   }
 
@@ -319,7 +319,7 @@ public final class AfcUtilTest {
     GenerateContentResponse response =
         GenerateContentResponse.builder().candidates(Candidate.builder().content(content)).build();
     ImmutableList<Part> functionResponseParts =
-        AfcUtil.getFunctionResponseParts(response, functionMap);
+        AfcUtil.getFunctionResponseParts(response, functionMap, null, null);
     assertEquals(0, functionResponseParts.size());
   }
 
@@ -336,7 +336,7 @@ public final class AfcUtilTest {
     GenerateContentResponse response =
         GenerateContentResponse.builder().candidates(Candidate.builder().content(content)).build();
     ImmutableList<Part> functionResponseParts =
-        AfcUtil.getFunctionResponseParts(response, functionMap);
+        AfcUtil.getFunctionResponseParts(response, functionMap, null, null);
     ImmutableList<Part> expectedFunctionResponseParts =
         ImmutableList.of(
             Part.fromFunctionResponse(
@@ -362,7 +362,7 @@ public final class AfcUtilTest {
     GenerateContentResponse response =
         GenerateContentResponse.builder().candidates(Candidate.builder().content(content)).build();
     ImmutableList<Part> functionResponseParts =
-        AfcUtil.getFunctionResponseParts(response, functionMap);
+        AfcUtil.getFunctionResponseParts(response, functionMap, null, null);
     ImmutableList<Part> expectedFunctionResponseParts =
         ImmutableList.of(
             Part.fromFunctionResponse(
@@ -387,7 +387,7 @@ public final class AfcUtilTest {
     GenerateContentResponse response =
         GenerateContentResponse.builder().candidates(Candidate.builder().content(content)).build();
     ImmutableList<Part> functionResponseParts =
-        AfcUtil.getFunctionResponseParts(response, functionMap);
+        AfcUtil.getFunctionResponseParts(response, functionMap, null, null);
     ImmutableList<Part> expectedFunctionResponseParts =
         ImmutableList.of(
             Part.fromFunctionResponse(
@@ -415,7 +415,7 @@ public final class AfcUtilTest {
     GenerateContentResponse response =
         GenerateContentResponse.builder().candidates(Candidate.builder().content(content)).build();
     ImmutableList<Part> functionResponseParts =
-        AfcUtil.getFunctionResponseParts(response, functionMap);
+        AfcUtil.getFunctionResponseParts(response, functionMap, null, null);
     ImmutableList<Part> expectedFunctionResponseParts =
         ImmutableList.of(
             Part.fromFunctionResponse(
@@ -17,19 +17,26 @@
 package com.google.genai;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import com.google.auth.oauth2.AccessToken;
 import com.google.auth.oauth2.GoogleCredentials;
+import com.google.genai.errors.GenAiIOException;
 import com.google.genai.types.HttpOptions;
 import java.lang.reflect.Method;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -141,4 +148,33 @@ public class AsyncLiveTest {
     assertTrue(session.setupComplete().voiceConsentSignature().isPresent());
     assertEquals("test_sig", session.setupComplete().voiceConsentSignature().get().signature().get());
   }
+
+  @Test
+  public void testOnFailure_runsEveryCloseListener() throws Exception {
+    CompletableFuture<AsyncSession> future = new CompletableFuture<>();
+    AsyncLive.GenAiWebSocketClient client =
+        new AsyncLive.GenAiWebSocketClient(
+            new URI("wss://test"), new HashMap<>(), "{}", future, apiClient);
+    client.onMessage("{\"setupComplete\":{}}");
+    AsyncSession session = future.get();
+    List<Throwable> closes = new ArrayList<>();
+    Consumer<Throwable> removed = closes::add;
+    session.addCloseListener(closes::add);
+    session.addCloseListener(removed);
+    session.removeCloseListener(removed);
+    LiveMessageQueue messages = session.receiveQueue(LiveReceiveConfig.builder().build());
+
+    RuntimeException error = new RuntimeException("connection reset");
+    client.onFailure(null, error, null);
+
+    assertEquals(Arrays.asList(error), closes);
+    assertTrue(messages.isDone());
+    assertThrows(GenAiIOException.class, messages::poll);
+  }
+
+  @Test
+  public void testSendFrame_isFoundInOkHttp() {
+    // Text frames of bytes fall back to a String copy if OkHttp no longer has this method.
+    assertNotNull(AsyncLive.GenAiWebSocketClient.SEND_FRAME);
+  }
 }
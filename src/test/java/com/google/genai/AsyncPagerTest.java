@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.genai.types.ListModelsConfig;
+import com.google.genai.types.Model;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public final class AsyncPagerTest {
+
+  private final List<String> requestedTokens = new CopyOnWriteArrayList<>();
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    requestedTokens.clear();
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  private CompletableFuture<JsonNode> list(JsonSerializable config) {
+    String pageToken = ((ListModelsConfig) config).pageToken().get();
+    requestedTokens.add(pageToken);
+    return CompletableFuture.supplyAsync(
+        () -> PagerTest.page(Integer.parseInt(pageToken.substring(1))), executor);
+  }
+
+  @Test
+  public void testPrefetch_forEach_visitsEveryItemInOrder() throws Exception {
+    AsyncPager<Model> pager =
+        new AsyncPager<Model>(
+                Pager.PagedItem.MODELS,
+                this::list,
+                JsonSerializable.objectMapper.createObjectNode().put("pageSize", 3),
+                CompletableFuture.supplyAsync(() -> PagerTest.page(0), executor))
+            .prefetch(2);
+    List<String> names = new CopyOnWriteArrayList<>();
+
+    pager.forEach(model -> names.add(model.name().get())).get(10, TimeUnit.SECONDS);
+
+    assertEquals(PagerTest.allModelNames(), names);
+    assertEquals(PagerTest.expectedTokens(), requestedTokens);
+  }
+}
@@ -0,0 +1,368 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.genai.errors.GenAiIOException;
+import com.google.genai.types.BatchJob;
+import com.google.genai.types.BatchJobDestination;
+import com.google.genai.types.ContentEmbedding;
+import com.google.genai.types.EmbedContentConfig;
+import com.google.genai.types.EmbeddingsBatchJobSource;
+import com.google.genai.types.HttpOptions;
+import com.google.genai.types.InlinedEmbedContentResponse;
+import com.google.genai.types.JobState;
+import com.google.genai.types.SingleEmbedContentResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class BatchEmbeddingPipelineTest {
+
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+  @AfterEach
+  public void tearDown() {
+    scheduler.shutdownNow();
+  }
+
+  /** Embeds each text as a vector holding its length, once the job has been polled twice. */
+  private static final class FakeBackend implements BatchEmbeddingPipeline.Backend {
+    final Map<String, List<String>> jobs = new HashMap<>();
+    final Map<String, Integer> polls = new HashMap<>();
+    final Map<String, byte[]> files = new HashMap<>();
+    final List<String> uploads = new ArrayList<>();
+    final List<Path> uploadedFiles = new ArrayList<>();
+    final List<String> cancelled = new ArrayList<>();
+    final List<JsonNode> requests = new ArrayList<>();
+    boolean failJobs = false;
+    boolean failPolls = false;
+    boolean neverFinish = false;
+
+    @Override
+    public synchronized CompletableFuture<BatchJob> create(EmbeddingsBatchJobSource src) {
+      List<String> texts = new ArrayList<>();
+      if (src.inlinedRequests().isPresent()) {
+        src.inlinedRequests().get().contents().get().forEach(c -> texts.add(c.text()));
+      } else {
+        String jsonl = new String(files.get(src.fileName().get()), StandardCharsets.UTF_8);
+        for (String line : jsonl.split("\n")) {
+          JsonNode node = JsonSerializable.stringToJsonNode(line);
+          requests.add(node.get("request"));
+          texts.add(node.at("/request/content/parts/0/text").asText());
+        }
+      }
+      String name = "batches/" + jobs.size();
+      jobs.put(name, texts);
+      polls.put(name, 0);
+      return CompletableFuture.completedFuture(job(name, "JOB_STATE_PENDING", null));
+    }
+
+    @Override
+    public synchronized CompletableFuture<BatchJob> get(String name) {
+      int count = polls.merge(name, 1, Integer::sum);
+      if (failPolls) {
+        CompletableFuture<BatchJob> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new GenAiIOException("Poll failed."));
+        return failed;
+      }
+      if (count < 2 || neverFinish) {
+        return CompletableFuture.completedFuture(job(name, "JOB_STATE_RUNNING", null));
+      }
+      if (failJobs) {
+        return CompletableFuture.completedFuture(job(name, "JOB_STATE_FAILED", null));
+      }
+      List<String> texts = jobs.get(name);
+      BatchJobDestination.Builder dest = BatchJobDestination.builder();
+      if (uploads.isEmpty()) {
+        List<InlinedEmbedContentResponse> responses = new ArrayList<>();
+        for (String text : texts) {
+          responses.add(response(text));
+        }
+        dest.inlinedEmbedContentResponses(responses);
+      } else {
+        // Results files are not ordered.
+        StringBuilder jsonl = new StringBuilder();
+        for (int i = texts.size() - 1; i >= 0; i--) {
+          jsonl
+              .append("{\"key\":\"")
+              .append(i)
+              .append("\",")
+              .append(JsonSerializable.toJsonString(response(texts.get(i))).substring(1))
+              .append('\n');
+        }
+        files.put(name + "/results", jsonl.toString().getBytes(StandardCharsets.UTF_8));
+        dest.fileName(name + "/results");
+      }
+      return CompletableFuture.completedFuture(job(name, "JOB_STATE_SUCCEEDED", dest.build()));
+    }
+
+    @Override
+    public synchronized CompletableFuture<String> upload(Path jsonl) {
+      String name = "files/" + uploads.size();
+      uploads.add(name);
+      uploadedFiles.add(jsonl);
+      try {
+        files.put(name, java.nio.file.Files.readAllBytes(jsonl));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return CompletableFuture.completedFuture(name);
+    }
+
+    @Override
+    public synchronized CompletableFuture<Void> download(String fileName, Path path) {
+      try {
+        java.nio.file.Files.write(path, files.get(fileName));
+      } catch (java.io.IOException e) {
+        throw new java.io.UncheckedIOException(e);
+      }
+      return CompletableFuture.completedFuture(null);
+    }
+
+    synchronized int polls(String name) {
+      return polls.getOrDefault(name, 0);
+    }
+
+    synchronized List<String> cancelled() {
+      return new ArrayList<>(cancelled);
+    }
+
+    @Override
+    public synchronized CompletableFuture<Void> cancel(String name) {
+      cancelled.add(name);
+      return CompletableFuture.completedFuture(null);
+    }
+
+    private static BatchJob job(String name, String state, BatchJobDestination dest) {
+      BatchJob.Builder job = BatchJob.builder().name(name).state(new JobState(state));
+      if (dest != null) {
+        job.dest(dest);
+      }
+      return job.build();
+    }
+
+    private static InlinedEmbedContentResponse response(String text) {
+      return InlinedEmbedContentResponse.builder()
+          .response(
+              SingleEmbedContentResponse.builder()
+                  .embedding(
+                      ContentEmbedding.builder()
+                          .values(Collections.singletonList((float) text.length()))))
+          .build();
+    }
+  }
+
+  private BatchEmbeddingPipeline pipeline(FakeBackend backend, long maxInlineBytes) {
+    return pipeline(backend, maxInlineBytes, Optional.empty());
+  }
+
+  private BatchEmbeddingPipeline pipeline(
+      FakeBackend backend, long maxInlineBytes, Optional<EmbedContentConfig> config) {
+    return new BatchEmbeddingPipeline(
+        backend,
+        config,
+        3,
+        maxInlineBytes,
+        2,
+        new BatchJobPoller(backend::get, Duration.ZERO, Duration.ofMillis(1), scheduler));
+  }
+
+  private static List<String> texts(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> String.join("", Collections.nCopies(i + 1, "x")))
+        .collect(Collectors.toList());
+  }
+
+  private static float value(InlinedEmbedContentResponse response) {
+    return response.response().get().embedding().get().values().get().get(0);
+  }
+
+  @Test
+  public void testEmbed_inline_returnsResultsInInputOrder() {
+    FakeBackend backend = new FakeBackend();
+
+    List<InlinedEmbedContentResponse> results =
+        pipeline(backend, BatchEmbeddingPipeline.DEFAULT_MAX_INLINE_BYTES)
+            .embed(texts(8).stream())
+            .collect(Collectors.toList());
+
+    assertEquals(8, results.size());
+    for (int i = 0; i < 8; i++) {
+      assertEquals(i + 1, value(results.get(i)));
+    }
+    assertEquals(3, backend.jobs.size());
+    assertTrue(backend.uploads.isEmpty());
+  }
+
+  @Test
+  public void testEmbed_largeJobs_uploadFilesAndReorderResultsByKey() {
+    FakeBackend backend = new FakeBackend();
+
+    List<InlinedEmbedContentResponse> results =
+        pipeline(backend, 0).embed(texts(5).stream()).collect(Collectors.toList());
+
+    assertEquals(5, results.size());
+    for (int i = 0; i < 5; i++) {
+      assertEquals(i + 1, value(results.get(i)));
+    }
+    assertEquals(2, backend.uploads.size());
+    for (Path uploaded : backend.uploadedFiles) {
+      assertFalse(java.nio.file.Files.exists(uploaded));
+    }
+  }
+
+  @Test
+  public void testEmbed_readsInputLazily() {
+    FakeBackend backend = new FakeBackend();
+    Iterator<InlinedEmbedContentResponse> results =
+        pipeline(backend, BatchEmbeddingPipeline.DEFAULT_MAX_INLINE_BYTES)
+            .embed(texts(100).iterator());
+
+    assertTrue(backend.jobs.isEmpty());
+    results.next();
+    // Two running jobs, plus the job whose results are being consumed.
+    assertEquals(3, backend.jobs.size());
+  }
+
+  @Test
+  public void testEmbed_emptyInput() {
+    FakeBackend backend = new FakeBackend();
+
+    assertFalse(
+        pipeline(backend, BatchEmbeddingPipeline.DEFAULT_MAX_INLINE_BYTES)
+            .embed(Stream.<String>empty())
+            .findAny()
+            .isPresent());
+    assertTrue(backend.jobs.isEmpty());
+  }
+
+  @Test
+  public void testEmbed_failedJob_throws() {
+    FakeBackend backend = new FakeBackend();
+    backend.failJobs = true;
+
+    GenAiIOException exception =
+        assertThrows(
+            GenAiIOException.class,
+            () ->
+                pipeline(backend, BatchEmbeddingPipeline.DEFAULT_MAX_INLINE_BYTES)
+                    .embed(texts(2).iterator())
+                    .next());
+    assertTrue(exception.getMessage().contains("JOB_STATE_FAILED"));
+  }
+
+  @Test
+  public void testEmbed_file_sendsWholeConfig() {
+    FakeBackend backend = new FakeBackend();
+    EmbedContentConfig config =
+        EmbedContentConfig.builder()
+            .taskType("RETRIEVAL_DOCUMENT")
+            .title("Title")
+            .outputDimensionality(8)
+            .httpOptions(HttpOptions.builder().timeout(1000).build())
+            .build();
+
+    pipeline(backend, 0, Optional.of(config)).embed(texts(2).iterator()).next();
+
+    JsonNode request = backend.requests.get(0);
+    assertEquals("RETRIEVAL_DOCUMENT", request.get("taskType").asText());
+    assertEquals("Title", request.get("title").asText());
+    assertEquals(8, request.get("outputDimensionality").asInt());
+    assertFalse(request.has("httpOptions"));
+  }
+
+  @Test
+  public void testConfig_unsupportedField_throws() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            BatchEmbeddingPipeline.checkSupported(
+                EmbedContentConfig.builder().autoTruncate(true).build()));
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            BatchEmbeddingPipeline.checkSupported(
+                EmbedContentConfig.builder().mimeType("text/plain").build()));
+  }
+
+  @Test
+  public void testRunJob_cancelled_cancelsJobAndStopsPolling() throws Exception {
+    FakeBackend backend = new FakeBackend();
+    backend.neverFinish = true;
+    CompletableFuture<List<InlinedEmbedContentResponse>> results =
+        pipeline(backend, BatchEmbeddingPipeline.DEFAULT_MAX_INLINE_BYTES).runJob(texts(2));
+    while (backend.polls("batches/0") < 3) {
+      Thread.sleep(1);
+    }
+
+    results.cancel(false);
+    int polls = backend.polls("batches/0");
+    Thread.sleep(50);
+
+    assertEquals(Collections.singletonList("batches/0"), backend.cancelled());
+    // At most a poll that was already running when the results were cancelled.
+    assertTrue(backend.polls("batches/0") <= polls + 1);
+  }
+
+  @Test
+  public void testRunJob_pollFails_cancelsJob() {
+    FakeBackend backend = new FakeBackend();
+    backend.failPolls = true;
+
+    CompletableFuture<List<InlinedEmbedContentResponse>> results =
+        pipeline(backend, BatchEmbeddingPipeline.DEFAULT_MAX_INLINE_BYTES).runJob(texts(2));
+
+    assertThrows(ExecutionException.class, results::get);
+    assertEquals(Collections.singletonList("batches/0"), backend.cancelled());
+  }
+
+  @Test
+  public void testRunJob_failedJob_isNotCancelled() {
+    FakeBackend backend = new FakeBackend();
+    backend.failJobs = true;
+
+    CompletableFuture<List<InlinedEmbedContentResponse>> results =
+        pipeline(backend, BatchEmbeddingPipeline.DEFAULT_MAX_INLINE_BYTES).runJob(texts(2));
+
+    assertThrows(ExecutionException.class, results::get);
+    assertTrue(backend.cancelled().isEmpty());
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.genai.errors.GenAiIOException;
+import com.google.genai.types.BatchJob;
+import com.google.genai.types.BatchJobDestination;
+import com.google.genai.types.Content;
+import com.google.genai.types.InlinedRequest;
+import com.google.genai.types.InlinedResponse;
+import com.google.genai.types.JobState;
+import com.google.genai.types.Part;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class BatchGenerationRunnerTest {
+
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+  @AfterEach
+  public void tearDown() {
+    scheduler.shutdownNow();
+  }
+
+  /** Answers each request line with a response line that echoes its key, in reverse order. */
+  private static final class FakeBackend implements BatchGenerationRunner.Backend {
+    final List<String> uploadedLines = new ArrayList<>();
+    Path lastDownload;
+    String finalState = "JOB_STATE_SUCCEEDED";
+
+    @Override
+    public CompletableFuture<BatchJob> create(String fileName) {
+      return CompletableFuture.completedFuture(
+          BatchJob.builder().name("batches/1").state(new JobState("JOB_STATE_PENDING")).build());
+    }
+
+    @Override
+    public CompletableFuture<BatchJob> get(String name) {
+      return CompletableFuture.completedFuture(
+          BatchJob.builder()
+              .name(name)
+              .state(new JobState(finalState))
+              .dest(BatchJobDestination.builder().fileName("files/results"))
+              .build());
+    }
+
+    @Override
+    public CompletableFuture<String> upload(Path jsonl) {
+      try {
+        uploadedLines.addAll(java.nio.file.Files.readAllLines(jsonl, StandardCharsets.UTF_8));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return CompletableFuture.completedFuture("files/requests");
+    }
+
+    @Override
+    public CompletableFuture<Void> download(String fileName, Path path) {
+      lastDownload = path;
+      StringBuilder results = new StringBuilder();
+      for (int i = uploadedLines.size() - 1; i >= 0; i--) {
+        String key = JsonSerializable.stringToJsonNode(uploadedLines.get(i)).get("key").asText();
+        results.append("{\"key\":\"").append(key).append("\",\"response\":{}}\n");
+      }
+      try {
+        java.nio.file.Files.write(path, results.toString().getBytes(StandardCharsets.UTF_8));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return CompletableFuture.completedFuture(null);
+    }
+  }
+
+  private BatchGenerationRunner runner(FakeBackend backend) {
+    return new BatchGenerationRunner(
+        backend,
+        request -> (ObjectNode) JsonSerializable.toJsonNode(request),
+        (JsonNode line) -> JsonSerializable.fromJsonNode(line, InlinedResponse.class),
+        new BatchJobPoller(backend::get, Duration.ZERO, Duration.ZERO, scheduler));
+  }
+
+  private static InlinedRequest request(String text) {
+    return InlinedRequest.builder().contents(Content.fromParts(Part.fromText(text))).build();
+  }
+
+  @Test
+  public void testSubmit_writesOneKeyedLinePerRequest() {
+    FakeBackend backend = new FakeBackend();
+
+    runner(backend)
+        .submit(
+            ImmutableList.of(
+                    request("a"),
+                    request("b").toBuilder().metadata(ImmutableMap.of("key", "custom")).build())
+                .iterator())
+        .join();
+
+    assertEquals(2, backend.uploadedLines.size());
+    JsonNode first = JsonSerializable.stringToJsonNode(backend.uploadedLines.get(0));
+    assertEquals("0", first.get("key").asText());
+    assertTrue(first.has("contents"));
+    JsonNode second = JsonSerializable.stringToJsonNode(backend.uploadedLines.get(1));
+    assertEquals("custom", second.get("key").asText());
+    assertFalse(second.has("metadata"));
+  }
+
+  @Test
+  public void testRun_returnsResponsesWithTheirKeys() {
+    FakeBackend backend = new FakeBackend();
+    List<InlinedRequest> requests = ImmutableList.of(request("a"), request("b"), request("c"));
+    List<String> keys;
+
+    try (Stream<InlinedResponse> responses = runner(backend).run(requests.iterator())) {
+      keys =
+          responses
+              .map(response -> response.metadata().get().get(BatchGenerationRunner.KEY))
+              .collect(Collectors.toList());
+    }
+
+    assertEquals(ImmutableList.of("2", "1", "0"), keys);
+    assertFalse(java.nio.file.Files.exists(backend.lastDownload));
+  }
+
+  @Test
+  public void testRun_failedJob_throws() {
+    FakeBackend backend = new FakeBackend();
+    backend.finalState = "JOB_STATE_FAILED";
+
+    GenAiIOException exception =
+        assertThrows(
+            GenAiIOException.class,
+            () -> runner(backend).run(ImmutableList.of(request("a")).iterator()));
+    assertTrue(exception.getMessage().contains("JOB_STATE_FAILED"));
+  }
+}
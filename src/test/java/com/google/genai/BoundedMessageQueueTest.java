@@ -0,0 +1,237 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.genai.LiveReceiveConfig.OverflowPolicy;
+import com.google.genai.errors.GenAiIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class BoundedMessageQueueTest {
+
+  private static BoundedMessageQueue<String> queue(int capacity, OverflowPolicy policy) {
+    return new BoundedMessageQueue<>(capacity, policy, message -> message.startsWith("audio"));
+  }
+
+  private static List<String> drain(BoundedMessageQueue<String> queue) {
+    List<String> messages = new ArrayList<>();
+    Optional<String> message;
+    while ((message = queue.poll()).isPresent()) {
+      messages.add(message.get());
+    }
+    return messages;
+  }
+
+  @Test
+  public void testPoll_keepsOrder() {
+    BoundedMessageQueue<String> queue = queue(4, OverflowPolicy.BLOCK);
+    queue.offer("a");
+    queue.offer("b");
+    queue.offer("c");
+
+    assertEquals(Arrays.asList("a", "b", "c"), drain(queue));
+    assertEquals(3, queue.deliveredCount());
+    assertEquals(3, queue.highWaterMark());
+  }
+
+  @Test
+  public void testOffer_dropOldestAudio_keepsControlMessages() {
+    BoundedMessageQueue<String> queue = queue(3, OverflowPolicy.DROP_OLDEST_AUDIO);
+    queue.offer("setup");
+    queue.offer("audio1");
+    queue.offer("audio2");
+    queue.offer("turnComplete");
+
+    assertEquals(Arrays.asList("setup", "audio2", "turnComplete"), drain(queue));
+    assertEquals(1, queue.droppedCount());
+  }
+
+  @Test
+  public void testOffer_dropOldestAudio_onlyControlQueued_dropsIncomingAudio() {
+    BoundedMessageQueue<String> queue = queue(2, OverflowPolicy.DROP_OLDEST_AUDIO);
+    queue.offer("setup");
+    queue.offer("toolCall");
+    queue.offer("audio1");
+
+    assertEquals(Arrays.asList("setup", "toolCall"), drain(queue));
+    assertEquals(1, queue.droppedCount());
+  }
+
+  @Test
+  public void testOffer_dropOldestAudio_onlyControlQueued_failsOnControlMessage() {
+    BoundedMessageQueue<String> queue = queue(2, OverflowPolicy.DROP_OLDEST_AUDIO);
+    queue.offer("setup");
+    queue.offer("toolCall");
+    queue.offer("turnComplete");
+
+    assertEquals("setup", queue.poll().get());
+    assertEquals("toolCall", queue.poll().get());
+    assertThrows(GenAiIOException.class, queue::poll);
+  }
+
+  @Test
+  public void testOffer_fail_failsAfterQueuedMessages() {
+    BoundedMessageQueue<String> queue = queue(2, OverflowPolicy.FAIL);
+    queue.offer("a");
+    queue.offer("b");
+    queue.offer("c");
+
+    assertEquals("a", queue.poll().get());
+    assertEquals("b", queue.poll().get());
+    assertThrows(GenAiIOException.class, queue::poll);
+  }
+
+  @Test
+  public void testOffer_fail_runsOverflowListenerOnce() {
+    BoundedMessageQueue<String> queue = queue(1, OverflowPolicy.FAIL);
+    AtomicInteger overflows = new AtomicInteger();
+    queue.onOverflow(overflows::incrementAndGet);
+    queue.offer("a");
+    queue.offer("b");
+    queue.offer("c");
+
+    assertEquals(1, overflows.get());
+    assertEquals(2, queue.droppedCount());
+  }
+
+  @Test
+  public void testOffer_block_waitsForConsumer() throws Exception {
+    BoundedMessageQueue<String> queue = queue(1, OverflowPolicy.BLOCK);
+    queue.offer("a");
+    CountDownLatch offered = new CountDownLatch(1);
+    Thread producer =
+        new Thread(
+            () -> {
+              queue.offer("b");
+              offered.countDown();
+            });
+    producer.start();
+
+    assertFalse(offered.await(100, TimeUnit.MILLISECONDS));
+    assertEquals("a", queue.poll().get());
+    assertTrue(offered.await(5, TimeUnit.SECONDS));
+    assertEquals("b", queue.poll().get());
+    producer.join();
+  }
+
+  @Test
+  public void testAdd_ignoresCapacity() {
+    BoundedMessageQueue<String> queue = queue(1, OverflowPolicy.FAIL);
+    queue.add("a");
+    queue.add("b");
+
+    assertEquals(Arrays.asList("a", "b"), drain(queue));
+  }
+
+  @Test
+  public void testEnd_deliversQueuedMessagesThenIsDone() throws Exception {
+    BoundedMessageQueue<String> queue = queue(4, OverflowPolicy.BLOCK);
+    queue.offer("a");
+    queue.end(null);
+    queue.offer("b");
+
+    assertFalse(queue.isDone());
+    assertEquals("a", queue.poll(Duration.ofSeconds(1)).get());
+    assertFalse(queue.poll(Duration.ofSeconds(1)).isPresent());
+    assertTrue(queue.isDone());
+    assertEquals(1, queue.droppedCount());
+  }
+
+  @Test
+  public void testEnd_withError_throwsOnceDrained() {
+    BoundedMessageQueue<String> queue = queue(4, OverflowPolicy.BLOCK);
+    queue.offer("a");
+    queue.end(new IllegalStateException("socket failed"));
+
+    assertEquals("a", queue.poll().get());
+    GenAiIOException e = assertThrows(GenAiIOException.class, queue::poll);
+    assertEquals("socket failed", e.getCause().getMessage());
+  }
+
+  @Test
+  public void testClose_discardsQueuedMessages() {
+    BoundedMessageQueue<String> queue = queue(4, OverflowPolicy.BLOCK);
+    queue.offer("a");
+    queue.offer("b");
+    queue.close();
+
+    assertTrue(queue.isDone());
+    assertFalse(queue.poll().isPresent());
+    assertEquals(2, queue.droppedCount());
+  }
+
+  @Test
+  public void testDeliverTo_deliversInOrderOnExecutor() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      BoundedMessageQueue<String> queue = queue(8, OverflowPolicy.BLOCK);
+      List<String> received = new ArrayList<>();
+      CountDownLatch done = new CountDownLatch(100);
+      queue.offer("0");
+      queue.deliverTo(
+          message -> {
+            synchronized (received) {
+              received.add(message);
+            }
+            done.countDown();
+          },
+          executor);
+      for (int i = 1; i < 100; i++) {
+        queue.offer(String.valueOf(i));
+      }
+
+      assertTrue(done.await(5, TimeUnit.SECONDS));
+      for (int i = 0; i < 100; i++) {
+        assertEquals(String.valueOf(i), received.get(i));
+      }
+      assertEquals(100, queue.deliveredCount());
+      assertEquals(0, queue.size());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testDeliverTo_callbackError_keepsDelivering() throws Exception {
+    BoundedMessageQueue<String> queue = queue(4, OverflowPolicy.BLOCK);
+    CountDownLatch done = new CountDownLatch(2);
+    queue.deliverTo(
+        message -> {
+          done.countDown();
+          throw new IllegalStateException("callback failed");
+        },
+        Runnable::run);
+    queue.offer("a");
+    queue.offer("b");
+
+    assertTrue(done.await(1, TimeUnit.SECONDS));
+  }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.genai.errors.ClientException;
+import com.google.genai.errors.GenAiIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class BulkOperationsTest {
+
+  private static final BulkOperationConfig FAST_BACKOFF =
+      BulkOperationConfig.builder()
+          .maxConcurrency(2)
+          .initialBackoff(Duration.ofMillis(1))
+          .maxBackoff(Duration.ofMillis(5))
+          .build();
+
+  private static <T> CompletableFuture<T> failed(Throwable error) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    future.completeExceptionally(error);
+    return future;
+  }
+
+  @Test
+  public void testRun_boundsConcurrency() throws Exception {
+    BlockingQueue<CompletableFuture<String>> pending = new LinkedBlockingQueue<>();
+    CompletableFuture<List<BulkOperationResult<String>>> results =
+        BulkOperations.run(
+            ImmutableList.of("a", "b", "c", "d"),
+            name -> {
+              CompletableFuture<String> future = new CompletableFuture<>();
+              pending.add(future);
+              return future;
+            },
+            FAST_BACKOFF);
+
+    CompletableFuture<String> a = pending.poll(5, TimeUnit.SECONDS);
+    CompletableFuture<String> b = pending.poll(5, TimeUnit.SECONDS);
+    assertNull(pending.poll(50, TimeUnit.MILLISECONDS));
+    a.complete("A");
+    CompletableFuture<String> c = pending.poll(5, TimeUnit.SECONDS);
+    assertNull(pending.poll(50, TimeUnit.MILLISECONDS));
+    b.complete("B");
+    c.complete("C");
+    pending.poll(5, TimeUnit.SECONDS).complete("D");
+
+    List<BulkOperationResult<String>> list = results.get(5, TimeUnit.SECONDS);
+    assertEquals(4, list.size());
+    assertEquals("a", list.get(0).name());
+    assertEquals("A", list.get(0).response().get());
+    assertEquals("D", list.get(3).response().get());
+  }
+
+  @Test
+  public void testRun_readsNamesOffTheCallingThread() throws Exception {
+    List<String> readers = new CopyOnWriteArrayList<>();
+    Iterable<String> names =
+        () ->
+            new Iterator<String>() {
+              private int next = 0;
+
+              @Override
+              public boolean hasNext() {
+                readers.add(Thread.currentThread().getName());
+                return next < 2;
+              }
+
+              @Override
+              public String next() {
+                return next++ == 0 ? "a" : "b";
+              }
+            };
+
+    BulkOperations.run(names, CompletableFuture::completedFuture, FAST_BACKOFF)
+        .get(5, TimeUnit.SECONDS);
+    BulkOperations.run(
+            names,
+            CompletableFuture::completedFuture,
+            BulkOperationConfig.builder().dryRun(true).build())
+        .get(5, TimeUnit.SECONDS);
+
+    assertFalse(readers.isEmpty());
+    for (String reader : readers) {
+      assertTrue(reader.startsWith("genai-bulk"), reader);
+    }
+  }
+
+  @Test
+  public void testRunBlocking_returnsPerItemResults() {
+    List<BulkOperationResult<String>> results =
+        BulkOperations.runBlocking(
+            ImmutableList.of("ok", "bad"),
+            name -> {
+              if (name.equals("bad")) {
+                throw new ClientException(404, "NOT_FOUND", "not found");
+              }
+              return "done";
+            },
+            FAST_BACKOFF);
+
+    assertEquals("done", results.get(0).response().get());
+    assertFalse(results.get(1).succeeded());
+    assertTrue(results.get(1).error().get() instanceof ClientException);
+  }
+
+  @Test
+  public void testRun_reportsPerItemFailures() {
+    List<BulkOperationResult<String>> results =
+        BulkOperations.run(
+                ImmutableList.of("ok", "bad"),
+                name ->
+                    name.equals("bad")
+                        ? BulkOperationsTest.<String>failed(
+                            new ClientException(404, "NOT_FOUND", "not found"))
+                        : CompletableFuture.completedFuture("done"),
+                FAST_BACKOFF)
+            .join();
+
+    assertTrue(results.get(0).succeeded());
+    assertFalse(results.get(1).succeeded());
+    assertTrue(results.get(1).error().get() instanceof ClientException);
+    assertEquals(1, results.get(1).attempts());
+  }
+
+  @Test
+  public void testRun_retriesRateLimitedItems() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    List<BulkOperationResult<String>> results =
+        BulkOperations.run(
+                ImmutableList.of("a"),
+                name ->
+                    calls.incrementAndGet() < 3
+                        ? BulkOperationsTest.<String>failed(
+                            new ClientException(429, "RESOURCE_EXHAUSTED", "slow down"))
+                        : CompletableFuture.completedFuture("done"),
+                FAST_BACKOFF)
+            .get(5, TimeUnit.SECONDS);
+
+    assertTrue(results.get(0).succeeded());
+    assertEquals(3, results.get(0).attempts());
+  }
+
+  @Test
+  public void testRun_givesUpAfterMaxRateLimitRetries() throws Exception {
+    BulkOperationConfig config =
+        BulkOperationConfig.builder()
+            .maxRateLimitRetries(1)
+            .initialBackoff(Duration.ofMillis(1))
+            .maxBackoff(Duration.ofMillis(1))
+            .build();
+    List<BulkOperationResult<String>> results =
+        BulkOperations.run(
+                ImmutableList.of("a"),
+                name ->
+                    BulkOperationsTest.<String>failed(
+                        new ClientException(429, "RESOURCE_EXHAUSTED", "slow down")),
+                config)
+            .get(5, TimeUnit.SECONDS);
+
+    assertFalse(results.get(0).succeeded());
+    assertEquals(2, results.get(0).attempts());
+  }
+
+  @Test
+  public void testRun_dryRunSendsNoRequests() {
+    AtomicInteger calls = new AtomicInteger();
+    List<BulkOperationResult<String>> results =
+        BulkOperations.run(
+                ImmutableList.of("a", "b"),
+                name -> {
+                  calls.incrementAndGet();
+                  return CompletableFuture.completedFuture("done");
+                },
+                BulkOperationConfig.builder().dryRun(true).build())
+            .join();
+
+    assertEquals(0, calls.get());
+    assertEquals(2, results.size());
+    assertTrue(results.get(0).dryRun());
+    assertFalse(results.get(0).succeeded());
+  }
+
+  @Test
+  public void testRun_manyInlineCompletions_doesNotOverflowStack() {
+    List<String> names = new ArrayList<>();
+    for (int i = 0; i < 100_000; i++) {
+      names.add("item-" + i);
+    }
+    List<BulkOperationResult<String>> results =
+        BulkOperations.run(names, CompletableFuture::completedFuture, FAST_BACKOFF).join();
+
+    assertEquals(100_000, results.size());
+    assertEquals("item-99999", results.get(99_999).response().get());
+  }
+
+  @Test
+  public void testRun_iterationFailure_failsOperation() {
+    Iterable<String> names =
+        () ->
+            new Iterator<String>() {
+              @Override
+              public boolean hasNext() {
+                throw new IllegalStateException("list failed");
+              }
+
+              @Override
+              public String next() {
+                throw new IllegalStateException("list failed");
+              }
+            };
+
+    ExecutionException exception =
+        assertThrows(
+            ExecutionException.class,
+            () -> BulkOperations.run(names, CompletableFuture::completedFuture, null).get());
+    assertTrue(exception.getCause() instanceof GenAiIOException);
+  }
+
+  @Test
+  public void testRun_blockingIteration_doesNotBlockCompletions() throws Exception {
+    CountDownLatch reading = new CountDownLatch(1);
+    CountDownLatch listed = new CountDownLatch(1);
+    Iterable<String> names =
+        () ->
+            new Iterator<String>() {
+              private int next = 0;
+
+              @Override
+              public boolean hasNext() {
+                if (next == 1) {
+                  // Blocks like a Pager fetching its next page.
+                  reading.countDown();
+                  try {
+                    listed.await();
+                  } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                  }
+                }
+                return next < 2;
+              }
+
+              @Override
+              public String next() {
+                return next++ == 0 ? "a" : "b";
+              }
+            };
+    CompletableFuture<String> first = new CompletableFuture<>();
+    CompletableFuture<CompletableFuture<List<BulkOperationResult<String>>>> results =
+        CompletableFuture.supplyAsync(
+            () ->
+                BulkOperations.run(
+                    names,
+                    name -> name.equals("a") ? first : CompletableFuture.completedFuture("B"),
+                    FAST_BACKOFF));
+
+    assertTrue(reading.await(5, TimeUnit.SECONDS));
+    CompletableFuture.runAsync(() -> first.complete("A")).get(5, TimeUnit.SECONDS);
+    listed.countDown();
+
+    List<BulkOperationResult<String>> list =
+        results.get(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+    assertEquals("A", list.get(0).response().get());
+    assertEquals("B", list.get(1).response().get());
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Collections;
+import java.util.Map;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.jupiter.api.Test;
+
+public final class ClientMetricsTest {
+
+  private static final MediaType JSON = FakeServer.JSON;
+  private static final MediaType SSE = FakeServer.SSE;
+  private static final Map<String, String> GENERATE =
+      ImmutableMap.of(MetricsRecorder.OPERATION, "generateContent", MetricsRecorder.MODEL, "m");
+  private static final Map<String, String> STREAM =
+      ImmutableMap.of(
+          MetricsRecorder.OPERATION, "streamGenerateContent", MetricsRecorder.MODEL, "m");
+
+  private final InMemoryMetricsRecorder recorder = new InMemoryMetricsRecorder();
+  private final FakeServer server = new FakeServer();
+
+  private OkHttpClient client() {
+    ClientMetrics metrics = new ClientMetrics(recorder);
+    OkHttpClient client =
+        server.client(
+            new RequestHooks(Collections.singletonList(metrics)), FakeServer.retries());
+    metrics.observe(client.dispatcher(), client.connectionPool());
+    return client;
+  }
+
+  private void respond(int code, MediaType type, String body) {
+    server.respond(code, type, body);
+  }
+
+  private static Request post(String method) {
+    return new Request.Builder()
+        .url("https://example.com/v1beta/models/m:" + method)
+        .post(RequestBody.create("{}", JSON))
+        .build();
+  }
+
+  @Test
+  public void testUnaryCall_recordsDurationBytesTokensAndRetries() throws Exception {
+    respond(429, JSON, "{}");
+    respond(503, JSON, "{}");
+    String json = "{\"usageMetadata\":{\"candidatesTokenCount\":40}}";
+    respond(200, JSON, json);
+
+    try (Response response = client().newCall(post("generateContent")).execute()) {
+      response.body().string();
+    }
+
+    Map<String, String> ok =
+        ImmutableMap.<String, String>builder()
+            .putAll(GENERATE)
+            .put(MetricsRecorder.STATUS, "200")
+            .build();
+    assertEquals(1, recorder.histogram(MetricsRecorder.REQUEST_DURATION, ok).get().count());
+    assertEquals(
+        json.length(),
+        recorder.histogram(MetricsRecorder.RESPONSE_BYTES, GENERATE).get().max(),
+        1e-9);
+    assertEquals(2, recorder.histogram(MetricsRecorder.REQUEST_BYTES, GENERATE).get().max(), 1e-9);
+    assertEquals(
+        1,
+        recorder.histogram(MetricsRecorder.OUTPUT_TOKENS_PER_SECOND, GENERATE).get().count());
+    assertEquals(1, recorder.histogram(MetricsRecorder.RUNNING_CALLS, GENERATE).get().count());
+    assertEquals(
+        1,
+        recorder.counter(
+            MetricsRecorder.RETRIES,
+            ImmutableMap.<String, String>builder()
+                .putAll(GENERATE)
+                .put(MetricsRecorder.CAUSE, "429")
+                .build()));
+    assertEquals(2, recorder.series(MetricsRecorder.RETRIES).size());
+  }
+
+  @Test
+  public void testStream_recordsTimeToFirstChunkAndChunkGaps() throws Exception {
+    respond(200, SSE, "");
+    Response response = client().newCall(post("streamGenerateContent")).execute();
+    RequestHooks.Call call = response.request().tag(RequestHooks.Call.class);
+
+    for (int i = 0; i < 3; i++) {
+      call.chunk("{}", JsonSerializable.stringToJsonNode("{}"));
+      Thread.sleep(5);
+    }
+    String last = "{\"usageMetadata\":{\"candidatesTokenCount\":9}}";
+    call.chunk(last, JsonSerializable.stringToJsonNode(last));
+    response.close();
+
+    assertEquals(1, recorder.histogram(MetricsRecorder.TIME_TO_FIRST_CHUNK, STREAM).get().count());
+    InMemoryMetricsRecorder.Histogram gaps =
+        recorder.histogram(MetricsRecorder.CHUNK_GAP, STREAM).get();
+    assertEquals(3, gaps.count());
+    assertTrue(gaps.percentile(50) >= 5);
+    assertEquals(
+        1, recorder.histogram(MetricsRecorder.OUTPUT_TOKENS_PER_SECOND, STREAM).get().count());
+  }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.jupiter.api.Test;
+
+public final class ClientTracingTest {
+
+  private static final MediaType JSON = FakeServer.JSON;
+
+  /** A span that remembers what was recorded on it. */
+  private static final class RecordedSpan implements TraceRecorder.Span {
+    final String name;
+    final TraceRecorder.SpanKind kind;
+    final TraceRecorder.Span parent;
+    final String spanId;
+    final Map<String, Object> attributes = new HashMap<>();
+    final List<String> events = new ArrayList<>();
+    volatile boolean ended;
+
+    RecordedSpan(String name, TraceRecorder.SpanKind kind, TraceRecorder.Span parent, int id) {
+      this.name = name;
+      this.kind = kind;
+      this.parent = parent;
+      this.spanId = String.format("%016x", id);
+    }
+
+    @Override
+    public void setAttribute(String key, String value) {
+      attributes.put(key, value);
+    }
+
+    @Override
+    public void setAttribute(String key, long value) {
+      attributes.put(key, value);
+    }
+
+    @Override
+    public void addEvent(String name, Map<String, Long> attributes) {
+      events.add(name + " " + attributes.get("index"));
+    }
+
+    @Override
+    public String traceId() {
+      return "0af7651916cd43dd8448eb211c80319c";
+    }
+
+    @Override
+    public String spanId() {
+      return spanId;
+    }
+
+    @Override
+    public boolean isSampled() {
+      return true;
+    }
+
+    @Override
+    public void end() {
+      ended = true;
+    }
+  }
+
+  private final List<RecordedSpan> spans = Collections.synchronizedList(new ArrayList<>());
+  private final TraceRecorder recorder =
+      (name, kind, parent) -> {
+        RecordedSpan span = new RecordedSpan(name, kind, parent, spans.size() + 1);
+        spans.add(span);
+        return span;
+      };
+  private final FakeServer server = new FakeServer();
+  private final List<Request> sent = server.sent;
+
+  private OkHttpClient client() {
+    ClientTracing tracing = new ClientTracing(recorder, /* vertexAI= */ false);
+    return server.client(
+        tracing.parents(),
+        new RequestHooks(Collections.singletonList(tracing)),
+        FakeServer.retries(),
+        tracing.attempts());
+  }
+
+  private void respond(int code, String body) {
+    server.respond(code, JSON, body);
+  }
+
+  private static Request generateContent() {
+    return new Request.Builder()
+        .url("https://example.com/v1beta/models/gemini-pro:generateContent?key=secret")
+        .post(RequestBody.create("{}", JSON))
+        .build();
+  }
+
+  @Test
+  public void testCall_hasASpanPerAttemptAndPropagatesTheirContext() throws Exception {
+    respond(503, "{}");
+    respond(200, "{\"usageMetadata\":{\"promptTokenCount\":3,\"candidatesTokenCount\":5}}");
+
+    try (Response response = client().newCall(generateContent()).execute()) {
+      response.body().string();
+    }
+
+    assertEquals(3, spans.size());
+    RecordedSpan call = spans.get(0);
+    assertEquals("generate_content gemini-pro", call.name);
+    assertEquals(TraceRecorder.SpanKind.CLIENT, call.kind);
+    assertEquals("generate_content", call.attributes.get("gen_ai.operation.name"));
+    assertEquals("gcp.gemini", call.attributes.get("gen_ai.system"));
+    assertEquals("gemini-pro", call.attributes.get("gen_ai.request.model"));
+    assertEquals(3L, call.attributes.get("gen_ai.usage.input_tokens"));
+    assertEquals(5L, call.attributes.get("gen_ai.usage.output_tokens"));
+    assertTrue(call.ended);
+
+    for (int i = 1; i <= 2; i++) {
+      RecordedSpan attempt = spans.get(i);
+      assertEquals("POST", attempt.name);
+      assertSame(call, attempt.parent);
+      assertTrue(attempt.ended);
+      assertEquals(
+          "00-0af7651916cd43dd8448eb211c80319c-" + attempt.spanId + "-01",
+          sent.get(i - 1).header("traceparent"));
+      assertEquals(
+          "https://example.com/v1beta/models/gemini-pro:generateContent",
+          attempt.attributes.get("url.full"));
+    }
+    assertEquals(503L, spans.get(1).attributes.get("http.response.status_code"));
+    assertEquals("503", spans.get(1).attributes.get("error.type"));
+    assertEquals(1L, spans.get(2).attributes.get("http.request.resend_count"));
+  }
+
+  @Test
+  public void testCall_isTracedUnderTheCurrentSpan() throws Exception {
+    respond(200, "{}");
+    RecordedSpan round = new RecordedSpan("round", TraceRecorder.SpanKind.INTERNAL, null, 99);
+
+    try (ClientTracing.Scope scope = ClientTracing.makeCurrent(round)) {
+      client().newCall(generateContent()).execute().close();
+    }
+
+    assertSame(round, spans.get(0).parent);
+  }
+
+  @Test
+  public void testAsynchronousCall_isTracedUnderTheSpanItWasMadeIn() throws Exception {
+    respond(200, "{}");
+    RecordedSpan round = new RecordedSpan("round", TraceRecorder.SpanKind.INTERNAL, null, 99);
+
+    client()
+        .newCall(generateContent().newBuilder().tag(TraceRecorder.Span.class, round).build())
+        .execute()
+        .close();
+
+    assertSame(round, spans.get(0).parent);
+  }
+
+  @Test
+  public void testTraceparent_requiresValidIds() {
+    TraceRecorder.Span unpropagated = () -> {};
+
+    assertNull(ClientTracing.traceparent(unpropagated));
+    assertNull(
+        ClientTracing.traceparent(
+            new RecordedSpan("zero", TraceRecorder.SpanKind.INTERNAL, null, 0)));
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import com.google.genai.types.HttpRetryOptions;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Serves queued responses, or throws queued exceptions, without a network, to the OkHttp clients
+ * that tests build around the SDK's interceptors.
+ */
+final class FakeServer {
+
+  static final MediaType JSON = MediaType.get("application/json");
+  static final MediaType SSE = MediaType.get("text/event-stream");
+
+  private final Deque<Object> responses = new ConcurrentLinkedDeque<>();
+
+  /** The requests received by the server, in order. */
+  final List<Request> sent = Collections.synchronizedList(new ArrayList<>());
+
+  /** Returns a retry interceptor that retries 429 and 503 responses twice, without delay. */
+  static RetryInterceptor retries() {
+    return new RetryInterceptor(
+        HttpRetryOptions.builder()
+            .attempts(3)
+            .initialDelay(0.0)
+            .maxDelay(0.0)
+            .httpStatusCodes(429, 503)
+            .build());
+  }
+
+  /** Returns a client whose calls go through the given interceptors, in order, to this server. */
+  OkHttpClient client(Interceptor... interceptors) {
+    OkHttpClient.Builder client = new OkHttpClient.Builder();
+    for (Interceptor interceptor : interceptors) {
+      client.addInterceptor(interceptor);
+    }
+    return client
+        .addInterceptor(
+            chain -> {
+              sent.add(chain.request());
+              Object next = responses.removeFirst();
+              if (next instanceof IOException) {
+                throw (IOException) next;
+              }
+              return ((Response.Builder) next).request(chain.request()).build();
+            })
+        .build();
+  }
+
+  /** Queues a response with the given status, body and header names and values. */
+  void respond(int code, MediaType type, String body, String... headers) {
+    Response.Builder response =
+        new Response.Builder()
+            .protocol(Protocol.HTTP_1_1)
+            .code(code)
+            .message("status")
+            .body(ResponseBody.create(body, type));
+    for (int i = 0; i < headers.length; i += 2) {
+      response.header(headers[i], headers[i + 1]);
+    }
+    responses.add(response);
+  }
+
+  /** Queues a transport failure. */
+  void fail(IOException error) {
+    responses.add(error);
+  }
+}
@@ -16,6 +16,7 @@
 
 package com.google.genai;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -32,11 +33,13 @@ import com.google.genai.gaos.utils.transport.HttpResponse;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.net.URI;
 import java.util.Date;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
+import okhttp3.Request;
 import org.junit.jupiter.api.Test;
 
 public final class GaosClientTest {
@@ -49,54 +52,43 @@ public final class GaosClientTest {
               new AccessToken("test-token", new Date(System.currentTimeMillis() + 3600 * 1000)))
           .build();
 
-  private static HttpResponse<InputStream> createMockResponse(
-      HttpRequest request, int statusCode, String jsonBody) {
-    Headers headers = new Headers();
-    headers.add("Content-Type", "application/json");
-    return new HttpResponse<>(
-        request, statusCode, headers, new ByteArrayInputStream(jsonBody.getBytes()));
-  }
-
-  private void setMockGaosClient(Client client, HTTPClient mockClient) throws Exception {
+  /**
+   * Makes the gaos stack of the client answer every request with the given JSON body, and returns
+   * the last OkHttp request it built, with the SDK and authentication headers.
+   */
+  private static AtomicReference<Request> captureGaosRequests(Client client, String jsonBody)
+      throws Exception {
     Field sdkConfigField = client.interactions.getClass().getDeclaredField("sdkConfiguration");
     sdkConfigField.setAccessible(true);
     SDKConfiguration sdkConfig = (SDKConfiguration) sdkConfigField.get(client.interactions);
 
     HTTPClient existingClient = sdkConfig.client();
-    Class<?> gaosHttpClientClass =
-        Class.forName("com.google.genai.Client$GenAiGaosHttpClient");
-    java.lang.reflect.Method authorizeMethod =
-        gaosHttpClientClass.getDeclaredMethod("authorize", HttpRequest.class);
-    authorizeMethod.setAccessible(true);
+    Method toAuthorizedRequest =
+        existingClient.getClass().getDeclaredMethod("toAuthorizedRequest", HttpRequest.class);
+    toAuthorizedRequest.setAccessible(true);
 
-    HTTPClient delegatingClient =
+    AtomicReference<Request> capturedRequest = new AtomicReference<>();
+    sdkConfig.setClient(
         new HTTPClient() {
           @Override
           public HttpResponse<InputStream> send(HttpRequest request) {
             try {
-              HttpRequest authorized =
-                  (HttpRequest) authorizeMethod.invoke(existingClient, request);
-              return mockClient.send(authorized);
-            } catch (Exception e) {
-              throw new RuntimeException(e);
+              capturedRequest.set((Request) toAuthorizedRequest.invoke(existingClient, request));
+            } catch (ReflectiveOperationException e) {
+              throw new IllegalStateException(e);
             }
+            Headers headers = new Headers();
+            headers.add("Content-Type", "application/json");
+            return new HttpResponse<>(
+                request, 200, headers, new ByteArrayInputStream(jsonBody.getBytes(UTF_8)));
           }
 
           @Override
           public CompletableFuture<HttpResponse<InputStream>> sendAsync(HttpRequest request) {
-            try {
-              HttpRequest authorized =
-                  (HttpRequest) authorizeMethod.invoke(existingClient, request);
-              return mockClient.sendAsync(authorized);
-            } catch (Exception e) {
-              CompletableFuture<HttpResponse<InputStream>> future = new CompletableFuture<>();
-              future.completeExceptionally(e);
-              return future;
-            }
+            return CompletableFuture.completedFuture(send(request));
           }
-        };
-
-    sdkConfig.setClient(delegatingClient);
+        });
+    return capturedRequest;
   }
 
   @Test
@@ -109,21 +101,8 @@ public final class GaosClientTest {
             .vertexAI(true)
             .build();
 
-    AtomicReference<HttpRequest> capturedRequest = new AtomicReference<>();
-    HTTPClient mockClient =
-        new HTTPClient() {
-          @Override
-          public HttpResponse<InputStream> send(HttpRequest request) {
-            capturedRequest.set(request);
-            return createMockResponse(request, 200, "{\"status\": \"completed\"}");
-          }
-
-          @Override
-          public CompletableFuture<HttpResponse<InputStream>> sendAsync(HttpRequest request) {
-            return CompletableFuture.completedFuture(send(request));
-          }
-        };
-    setMockGaosClient(client, mockClient);
+    AtomicReference<Request> capturedRequest =
+        captureGaosRequests(client, "{\"status\": \"completed\"}");
 
     com.google.genai.gaos.models.interactions.CreateModelInteraction body =
         com.google.genai.gaos.models.interactions.CreateModelInteraction.builder()
@@ -134,7 +113,7 @@ public final class GaosClientTest {
 
     client.interactions.create(requestBody);
 
-    HttpRequest req = capturedRequest.get();
+    Request req = capturedRequest.get();
     assertNotNull(req);
     assertEquals("POST", req.method());
 
@@ -147,29 +126,16 @@ public final class GaosClientTest {
                 + "/locations/"
                 + LOCATION
                 + "/interactions");
-    assertEquals(expectedUri, req.uri());
-    assertTrue(req.headers().firstValue("Authorization").orElse("").contains("Bearer test-token"));
+    assertEquals(expectedUri, req.url().uri());
+    assertTrue(req.header("Authorization").contains("Bearer test-token"));
   }
 
   @Test
   public void testInteractionsUrl_gemini() throws Exception {
     Client client = Client.builder().apiKey("test-api-key").vertexAI(false).build();
 
-    AtomicReference<HttpRequest> capturedRequest = new AtomicReference<>();
-    HTTPClient mockClient =
-        new HTTPClient() {
-          @Override
-          public HttpResponse<InputStream> send(HttpRequest request) {
-            capturedRequest.set(request);
-            return createMockResponse(request, 200, "{\"status\": \"completed\"}");
-          }
-
-          @Override
-          public CompletableFuture<HttpResponse<InputStream>> sendAsync(HttpRequest request) {
-            return CompletableFuture.completedFuture(send(request));
-          }
-        };
-    setMockGaosClient(client, mockClient);
+    AtomicReference<Request> capturedRequest =
+        captureGaosRequests(client, "{\"status\": \"completed\"}");
 
     com.google.genai.gaos.models.interactions.CreateModelInteraction body =
         com.google.genai.gaos.models.interactions.CreateModelInteraction.builder()
@@ -180,13 +146,13 @@ public final class GaosClientTest {
 
     client.interactions.create(requestBody);
 
-    HttpRequest req = capturedRequest.get();
+    Request req = capturedRequest.get();
     assertNotNull(req);
     assertEquals("POST", req.method());
 
     URI expectedUri = URI.create("https://generativelanguage.googleapis.com/v1beta/interactions");
-    assertEquals(expectedUri, req.uri());
-    assertEquals("test-api-key", req.headers().firstValue("x-goog-api-key").orElse(null));
+    assertEquals(expectedUri, req.url().uri());
+    assertEquals("test-api-key", req.header("x-goog-api-key"));
   }
 
   @Test
@@ -201,21 +167,8 @@ public final class GaosClientTest {
     Client client =
         Client.builder().apiKey("test-api-key").vertexAI(false).httpOptions(httpOptions).build();
 
-    AtomicReference<HttpRequest> capturedRequest = new AtomicReference<>();
-    HTTPClient mockClient =
-        new HTTPClient() {
-          @Override
-          public HttpResponse<InputStream> send(HttpRequest request) {
-            capturedRequest.set(request);
-            return createMockResponse(request, 200, "{\"status\": \"completed\"}");
-          }
-
-          @Override
-          public CompletableFuture<HttpResponse<InputStream>> sendAsync(HttpRequest request) {
-            return CompletableFuture.completedFuture(send(request));
-          }
-        };
-    setMockGaosClient(client, mockClient);
+    AtomicReference<Request> capturedRequest =
+        captureGaosRequests(client, "{\"status\": \"completed\"}");
 
     com.google.genai.gaos.models.interactions.CreateModelInteraction body =
         com.google.genai.gaos.models.interactions.CreateModelInteraction.builder()
@@ -226,18 +179,13 @@ public final class GaosClientTest {
 
     client.interactions.create(requestBody);
 
-    HttpRequest req = capturedRequest.get();
+    Request req = capturedRequest.get();
     assertNotNull(req);
-    assertEquals("custom-header-value", req.headers().firstValue("custom-header-key").orElse(null));
+    assertEquals("custom-header-value", req.header("custom-header-key"));
     // Verify rewrite of user-agent
-    assertTrue(
-        req.headers().firstValue("user-agent").orElse("").contains("google-genai-sdk"));
+    assertTrue(req.header("user-agent").contains("google-genai-sdk"));
     // Verify rewrite or injection of x-goog-api-client
-    assertTrue(
-        req.headers()
-            .firstValue("x-goog-api-client")
-            .orElse("")
-            .contains("google-genai-sdk"));
+    assertTrue(req.header("x-goog-api-client").contains("google-genai-sdk"));
   }
 
   @Test
@@ -250,21 +198,8 @@ public final class GaosClientTest {
             .vertexAI(true)
             .build();
 
-    AtomicReference<HttpRequest> capturedRequest = new AtomicReference<>();
-    HTTPClient mockClient =
-        new HTTPClient() {
-          @Override
-          public HttpResponse<InputStream> send(HttpRequest request) {
-            capturedRequest.set(request);
-            return createMockResponse(request, 200, "{\"status\": \"completed\"}");
-          }
-
-          @Override
-          public CompletableFuture<HttpResponse<InputStream>> sendAsync(HttpRequest request) {
-            return CompletableFuture.completedFuture(send(request));
-          }
-        };
-    setMockGaosClient(client, mockClient);
+    AtomicReference<Request> capturedRequest =
+        captureGaosRequests(client, "{\"status\": \"completed\"}");
 
     String interactionId = "test-interaction-id";
     String expectedUrlPrefix =
@@ -280,7 +215,7 @@ public final class GaosClientTest {
         com.google.genai.gaos.models.operations.GetInteractionByIdRequest.builder()
             .id(interactionId)
             .build());
-    HttpRequest req = capturedRequest.get();
+    Request req = capturedRequest.get();
     assertNotNull(req);
     assertEquals("GET", req.method());
     assertEquals(
@@ -289,7 +224,7 @@ public final class GaosClientTest {
                 + "/interactions/"
                 + interactionId
                 + "?stream=false&include_input=false"),
-        req.uri());
+        req.url().uri());
 
     // 2. Test Cancel
     capturedRequest.set(null);
@@ -298,7 +233,8 @@ public final class GaosClientTest {
     assertNotNull(req);
     assertEquals("POST", req.method());
     assertEquals(
-        URI.create(expectedUrlPrefix + "/interactions/" + interactionId + "/cancel"), req.uri());
+        URI.create(expectedUrlPrefix + "/interactions/" + interactionId + "/cancel"),
+        req.url().uri());
 
     // 3. Test Delete
     capturedRequest.set(null);
@@ -306,7 +242,7 @@ public final class GaosClientTest {
     req = capturedRequest.get();
     assertNotNull(req);
     assertEquals("DELETE", req.method());
-    assertEquals(URI.create(expectedUrlPrefix + "/interactions/" + interactionId), req.uri());
+    assertEquals(URI.create(expectedUrlPrefix + "/interactions/" + interactionId), req.url().uri());
   }
 
   @Test
@@ -359,22 +295,9 @@ public final class GaosClientTest {
   public void testAgentsAndWebhooksPaths_gemini() throws Exception {
     Client client = Client.builder().apiKey("test-api-key").vertexAI(false).build();
 
-    AtomicReference<HttpRequest> capturedRequest = new AtomicReference<>();
-    HTTPClient mockClient =
-        new HTTPClient() {
-          @Override
-          public HttpResponse<InputStream> send(HttpRequest request) {
-            capturedRequest.set(request);
-            return createMockResponse(
-                request, 200, "{\"uri\": \"https://example.com\", \"subscribed_events\": []}");
-          }
-
-          @Override
-          public CompletableFuture<HttpResponse<InputStream>> sendAsync(HttpRequest request) {
-            return CompletableFuture.completedFuture(send(request));
-          }
-        };
-    setMockGaosClient(client, mockClient);
+    AtomicReference<Request> capturedRequest =
+        captureGaosRequests(
+            client, "{\"uri\": \"https://example.com\", \"subscribed_events\": []}");
 
     String agentId = "test-agent-id";
     String webhookId = "test-webhook-id";
@@ -382,10 +305,10 @@ public final class GaosClientTest {
 
     // 1. Test Get Agent
     client.agents.get(agentId);
-    HttpRequest req = capturedRequest.get();
+    Request req = capturedRequest.get();
     assertNotNull(req);
     assertEquals("GET", req.method());
-    assertEquals(URI.create(expectedUrlPrefix + "/agents/" + agentId), req.uri());
+    assertEquals(URI.create(expectedUrlPrefix + "/agents/" + agentId), req.url().uri());
 
     // 2. Test Get Webhook
     capturedRequest.set(null);
@@ -393,6 +316,6 @@ public final class GaosClientTest {
     req = capturedRequest.get();
     assertNotNull(req);
     assertEquals("GET", req.method());
-    assertEquals(URI.create(expectedUrlPrefix + "/webhooks/" + webhookId), req.uri());
+    assertEquals(URI.create(expectedUrlPrefix + "/webhooks/" + webhookId), req.url().uri());
   }
 }
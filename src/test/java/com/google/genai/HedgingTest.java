@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.genai.types.HttpHedgingOptions;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.Test;
+
+public final class HedgingTest {
+
+  private static final MediaType JSON = MediaType.get("application/json");
+
+  private final List<String> hosts = new CopyOnWriteArrayList<>();
+  private final Map<String, Thread> threads = new ConcurrentHashMap<>();
+  private final Map<String, String> tags = new ConcurrentHashMap<>();
+
+  /**
+   * Returns a client whose calls to the given host take the given time to answer, unless they are
+   * cancelled, as a call waiting on its socket would be.
+   */
+  private OkHttpClient client(String slowHost, long slowMillis) {
+    return new OkHttpClient.Builder()
+        .addInterceptor(
+            chain -> {
+              String host = chain.request().url().host();
+              hosts.add(host);
+              threads.put(host, Thread.currentThread());
+              String tag = chain.request().tag(String.class);
+              if (tag != null) {
+                tags.put(host, tag);
+              }
+              if (host.equals(slowHost)) {
+                long deadline = System.nanoTime() + slowMillis * 1_000_000;
+                while (System.nanoTime() < deadline) {
+                  if (chain.call().isCanceled()) {
+                    throw new IOException("Canceled");
+                  }
+                  try {
+                    Thread.sleep(5);
+                  } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                  }
+                }
+              }
+              return new Response.Builder()
+                  .request(chain.request())
+                  .protocol(Protocol.HTTP_1_1)
+                  .code(200)
+                  .message("OK")
+                  .body(ResponseBody.create("{\"host\":\"" + host + "\"}", JSON))
+                  .build();
+            })
+        .build();
+  }
+
+  private static Request post(String url) {
+    return new Request.Builder().url(url).post(RequestBody.create("{}", JSON)).build();
+  }
+
+  @Test
+  public void testIsHedgeable_onlyForShortIdempotentMethods() {
+    assertTrue(
+        Hedging.isHedgeable(post("https://example.com/v1beta/models/gemini:generateContent")));
+    assertTrue(Hedging.isHedgeable(post("https://example.com/v1beta/models/e:embedContent")));
+    assertTrue(Hedging.isHedgeable(post("https://example.com/v1beta/models/gemini:countTokens")));
+    assertFalse(
+        Hedging.isHedgeable(
+            post("https://example.com/v1beta/models/gemini:streamGenerateContent?alt=sse")));
+    assertFalse(
+        Hedging.isHedgeable(
+            new Request.Builder()
+                .url("https://example.com/v1beta/models/gemini:generateContent")
+                .build()));
+  }
+
+  @Test
+  public void testSlowCall_isAnsweredByTheHedge() throws Exception {
+    HttpHedgingOptions options =
+        HttpHedgingOptions.builder().initialDelay(0.05).baseUrl("https://backup.example").build();
+    long start = System.nanoTime();
+
+    Request request = post("https://primary.example/v1beta/models/gemini:generateContent");
+
+    try (Response response =
+        new Hedging()
+            .execute(
+                client("primary.example", 5000),
+                request,
+                request.newBuilder().tag(String.class, "hedge").build(),
+                options)) {
+      assertEquals("{\"host\":\"backup.example\"}", response.body().string());
+      assertEquals("/v1beta/models/gemini:generateContent", response.request().url().encodedPath());
+    }
+
+    assertTrue(System.nanoTime() - start < 2_000_000_000L);
+    // The first attempt runs on the calling thread, and only the second one is enqueued.
+    assertEquals(Thread.currentThread(), threads.get("primary.example"));
+    assertNotEquals(Thread.currentThread(), threads.get("backup.example"));
+    assertEquals("hedge", tags.get("backup.example"));
+    assertFalse(tags.containsKey("primary.example"));
+  }
+
+  @Test
+  public void testEnqueue_slowCall_isAnsweredByTheHedge() throws Exception {
+    HttpHedgingOptions options =
+        HttpHedgingOptions.builder().initialDelay(0.05).baseUrl("https://backup.example").build();
+
+    try (Response response =
+        new Hedging()
+            .enqueue(
+                client("primary.example", 5000),
+                post("https://primary.example/v1beta/models/gemini:generateContent"),
+                options)
+            .get(2, TimeUnit.SECONDS)) {
+      assertEquals("{\"host\":\"backup.example\"}", response.body().string());
+    }
+  }
+
+  @Test
+  public void testFastCall_isNotHedged() throws Exception {
+    HttpHedgingOptions options =
+        HttpHedgingOptions.builder().initialDelay(0.05).baseUrl("https://backup.example").build();
+
+    Request request = post("https://primary.example/v1beta/models/gemini:generateContent");
+
+    try (Response response =
+        new Hedging().execute(client("none", 0), request, request, options)) {
+      assertEquals("{\"host\":\"primary.example\"}", response.body().string());
+    }
+    Thread.sleep(150);
+
+    assertEquals(1, hosts.size());
+  }
+
+  @Test
+  public void testBudget_capsTheHedgesToItsRatio() {
+    Hedging.Budget budget = new Hedging.Budget();
+    for (int i = 0; i < 10; i++) {
+      assertTrue(budget.tryAcquire());
+    }
+    assertFalse(budget.tryAcquire());
+
+    budget.deposit(0.5);
+    assertFalse(budget.tryAcquire());
+    budget.deposit(0.5);
+    assertTrue(budget.tryAcquire());
+  }
+
+  @Test
+  public void testLatencyWindow_needsEnoughSamples() {
+    Hedging.LatencyWindow window = new Hedging.LatencyWindow();
+    for (long i = 1; i <= 19; i++) {
+      window.record(i);
+    }
+    assertFalse(window.percentile(95).isPresent());
+
+    for (long i = 20; i <= 100; i++) {
+      window.record(i);
+    }
+    assertEquals(95L, (long) window.percentile(95).get());
+    assertEquals(100L, (long) window.percentile(100).get());
+  }
+}
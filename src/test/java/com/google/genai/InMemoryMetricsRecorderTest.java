@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public final class InMemoryMetricsRecorderTest {
+
+  private static final Map<String, String> ATTRIBUTES =
+      ImmutableMap.of(MetricsRecorder.OPERATION, "generateContent");
+
+  @Test
+  public void testHistogram_percentilesAreWithinTheBucketError() {
+    InMemoryMetricsRecorder recorder = new InMemoryMetricsRecorder();
+    for (int i = 1; i <= 10000; i++) {
+      recorder.recordValue("sizes", ATTRIBUTES, i);
+    }
+
+    InMemoryMetricsRecorder.Histogram histogram = recorder.histogram("sizes", ATTRIBUTES).get();
+
+    assertEquals(10000, histogram.count());
+    assertEquals(5000.5, histogram.mean(), 1e-9);
+    assertEquals(10000, histogram.max(), 1e-9);
+    assertEquals(5000, histogram.percentile(50), 5000 / 32.0);
+    assertEquals(9900, histogram.percentile(99), 9900 / 32.0);
+    assertEquals(10000, histogram.percentile(100), 1e-9);
+  }
+
+  @Test
+  public void testHistogram_smallValuesAreExact() {
+    InMemoryMetricsRecorder recorder = new InMemoryMetricsRecorder();
+    recorder.recordValue("ratio", ATTRIBUTES, 0.005);
+    recorder.recordValue("ratio", ATTRIBUTES, 0.025);
+
+    InMemoryMetricsRecorder.Histogram histogram = recorder.histogram("ratio", ATTRIBUTES).get();
+
+    assertEquals(0.005, histogram.percentile(50), 1e-9);
+    assertEquals(0.025, histogram.percentile(100), 1e-9);
+  }
+
+  @Test
+  public void testBuckets_coverEveryValueInOrder() {
+    long previous = -1;
+    for (int bucket = 0; bucket < 32 * 59; bucket++) {
+      long highest = InMemoryMetricsRecorder.Histogram.highestValue(bucket);
+      assertEquals(bucket, InMemoryMetricsRecorder.Histogram.bucket(previous + 1));
+      assertEquals(bucket, InMemoryMetricsRecorder.Histogram.bucket(highest));
+      previous = highest;
+    }
+    assertEquals(Long.MAX_VALUE, previous);
+  }
+
+  @Test
+  public void testDurations_areRecordedInMilliseconds() {
+    InMemoryMetricsRecorder recorder = new InMemoryMetricsRecorder();
+    recorder.recordDuration("latency", ATTRIBUTES, Duration.ofMillis(250));
+
+    assertEquals(250, recorder.histogram("latency", ATTRIBUTES).get().max(), 1e-9);
+  }
+
+  @Test
+  public void testCounters_andSeries() {
+    InMemoryMetricsRecorder recorder = new InMemoryMetricsRecorder();
+    Map<String, String> other = ImmutableMap.of(MetricsRecorder.OPERATION, "embedContent");
+    recorder.increment("retries", ATTRIBUTES, 2);
+    recorder.increment("retries", ATTRIBUTES, 1);
+    recorder.increment("retries", other, 1);
+
+    assertEquals(3, recorder.counter("retries", ATTRIBUTES));
+    assertEquals(0, recorder.counter("errors", ATTRIBUTES));
+    assertEquals(2, recorder.series("retries").size());
+    assertTrue(recorder.series("retries").contains(other));
+
+    recorder.reset();
+
+    assertFalse(recorder.histogram("retries", ATTRIBUTES).isPresent());
+    assertEquals(0, recorder.counter("retries", ATTRIBUTES));
+  }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.genai.gaos.models.interactions.ArgumentsDelta;
+import com.google.genai.gaos.models.interactions.AudioContent;
+import com.google.genai.gaos.models.interactions.FunctionCallStep;
+import com.google.genai.gaos.models.interactions.Interaction;
+import com.google.genai.gaos.models.interactions.InteractionSSEEvent;
+import com.google.genai.gaos.models.interactions.InteractionStatus;
+import com.google.genai.gaos.models.interactions.ModelOutputStep;
+import com.google.genai.gaos.models.interactions.TextContent;
+import com.google.genai.gaos.models.interactions.ThoughtStep;
+import com.google.genai.gaos.utils.Utils;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Base64;
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class InteractionAccumulatorTest {
+
+  private InteractionAccumulator accumulator;
+
+  private static InteractionSSEEvent event(String json) {
+    try {
+      return Utils.mapper().readValue(json, InteractionSSEEvent.class);
+    } catch (Exception e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  private void accept(String json) {
+    accumulator.accept(event(json));
+  }
+
+  private void start(int index, String step) {
+    accept("{\"event_type\":\"step.start\",\"index\":" + index + ",\"step\":" + step + "}");
+  }
+
+  private void delta(int index, String delta) {
+    accept("{\"event_type\":\"step.delta\",\"index\":" + index + ",\"delta\":" + delta + "}");
+  }
+
+  private void text(int index, String text) {
+    delta(index, "{\"type\":\"text\",\"text\":\"" + text + "\"}");
+  }
+
+  @BeforeEach
+  public void setUp() {
+    accumulator = new InteractionAccumulator();
+  }
+
+  @Test
+  public void testAccept_textDeltas_areJoinedPerStep() {
+    start(0, "{\"type\":\"model_output\"}");
+    text(0, "Hello");
+    text(0, ", ");
+    text(0, "world");
+
+    CharSequence text = accumulator.step(0).get().text();
+    assertEquals("Hello, world", text.toString());
+    assertEquals('w', text.charAt(7));
+    assertEquals("lo, wo", text.subSequence(3, 9).toString());
+    assertEquals("Hello, world", accumulator.outputText().toString());
+  }
+
+  @Test
+  public void testSnapshot_keepsItsLength_whileTheStreamGrows() {
+    start(0, "{\"type\":\"model_output\"}");
+    text(0, "one");
+    CharSequence before = accumulator.outputText();
+    InteractionAccumulator.StepSnapshot stepBefore = accumulator.step(0).get();
+
+    text(0, " two");
+
+    assertEquals("one", before.toString());
+    assertFalse(stepBefore.isComplete());
+    assertEquals("one two", accumulator.outputText().toString());
+  }
+
+  @Test
+  public void testAccept_manyDeltas_buildTheFullText() {
+    start(0, "{\"type\":\"model_output\"}");
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 10000; i++) {
+      text(0, "t" + i);
+      expected.append("t").append(i);
+    }
+
+    CharSequence text = accumulator.outputText();
+    assertEquals(expected.length(), text.length());
+    assertEquals(expected.toString(), text.toString());
+    assertEquals(expected.charAt(expected.length() - 1), text.charAt(text.length() - 1));
+  }
+
+  @Test
+  public void testAccept_audioDeltas_decodeAcrossUnalignedChunks() throws Exception {
+    byte[] audio = "sixteen bit pcm samples".getBytes(UTF_8);
+    String encoded = Base64.getEncoder().encodeToString(audio);
+    start(0, "{\"type\":\"model_output\"}");
+    for (int i = 0; i < encoded.length(); i += 5) {
+      String chunk = encoded.substring(i, Math.min(encoded.length(), i + 5));
+      delta(
+          0,
+          "{\"type\":\"audio\",\"data\":\""
+              + chunk
+              + "\",\"mime_type\":\"audio/l16\",\"sample_rate\":24000}");
+    }
+
+    InteractionAccumulator.Media media = accumulator.step(0).get().audio().get();
+    assertEquals(audio.length, media.size());
+    assertArrayEquals(audio, media.toByteArray());
+    assertEquals(24000, (int) media.sampleRate().get());
+    ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+    try (InputStream in = media.openStream()) {
+      int read;
+      while ((read = in.read()) != -1) {
+        streamed.write(read);
+      }
+    }
+    assertArrayEquals(audio, streamed.toByteArray());
+
+    ModelOutputStep step = (ModelOutputStep) accumulator.toInteraction().steps().get().get(0);
+    AudioContent content = (AudioContent) step.content().get().get(0);
+    assertEquals(encoded, content.data().get());
+  }
+
+  @Test
+  public void testToInteraction_mergesDeltasIntoTheirSteps() {
+    accept(
+        "{\"event_type\":\"interaction.created\",\"interaction\":"
+            + "{\"id\":\"int-1\",\"status\":\"in_progress\"}}");
+    start(0, "{\"type\":\"thought\"}");
+    delta(0, "{\"type\":\"thought_summary\",\"content\":{\"type\":\"text\",\"text\":\"Plan\"}}");
+    delta(0, "{\"type\":\"thought_signature\",\"signature\":\"sig\"}");
+    accept("{\"event_type\":\"step.stop\",\"index\":0}");
+    start(1, "{\"type\":\"function_call\",\"id\":\"call-1\",\"name\":\"lookup\",\"arguments\":{}}");
+    delta(1, "{\"type\":\"arguments_delta\",\"arguments\":\"{\\\"city\\\":\"}");
+    delta(1, "{\"type\":\"arguments_delta\",\"arguments\":\"\\\"Paris\\\"}\"}");
+    start(2, "{\"type\":\"model_output\"}");
+    text(2, "Sunny");
+    accept(
+        "{\"event_type\":\"interaction.completed\",\"interaction\":"
+            + "{\"id\":\"int-1\",\"status\":\"completed\"}}");
+
+    Interaction interaction = accumulator.toInteraction();
+
+    assertEquals("int-1", interaction.id().get());
+    assertEquals(InteractionStatus.COMPLETED, interaction.status().get());
+    assertEquals("Sunny", interaction.outputText().get());
+    assertEquals(3, interaction.steps().get().size());
+    ThoughtStep thought = (ThoughtStep) interaction.steps().get().get(0);
+    assertEquals("sig", thought.signature().get());
+    assertEquals("Plan", ((TextContent) thought.summary().get().get(0)).text().get());
+    FunctionCallStep call = (FunctionCallStep) interaction.steps().get().get(1);
+    assertEquals(Collections.singletonMap("city", "Paris"), call.arguments().get());
+    assertEquals("call-1", call.id().get());
+    ModelOutputStep output = (ModelOutputStep) interaction.steps().get().get(2);
+    assertEquals("Sunny", ((TextContent) output.content().get().get(0)).text().get());
+    assertTrue(accumulator.step(0).get().isComplete());
+  }
+
+  @Test
+  public void testToStep_incompleteArguments_keepTheStartedCall() {
+    start(0, "{\"type\":\"function_call\",\"id\":\"call-1\",\"name\":\"lookup\",\"arguments\":{}}");
+    delta(0, "{\"type\":\"arguments_delta\",\"arguments\":\"{\\\"city\\\":\"}");
+
+    FunctionCallStep call = (FunctionCallStep) accumulator.step(0).get().toStep().get();
+
+    assertTrue(call.arguments().get().isEmpty());
+    assertEquals("{\"city\":", accumulator.step(0).get().arguments().toString());
+  }
+
+  @Test
+  public void testAccept_unmergedDeltas_areKeptInOrder() {
+    start(0, "{\"type\":\"model_output\"}");
+    delta(0, "{\"type\":\"arguments_delta\",\"arguments\":\"{}\"}");
+    delta(0, "{\"type\":\"function_result\",\"call_id\":\"call-1\",\"result\":\"done\"}");
+
+    InteractionAccumulator.StepSnapshot step = accumulator.step(0).get();
+
+    assertEquals(1, step.otherDeltas().size());
+    assertEquals("function_result", step.otherDeltas().get(0).type());
+    assertFalse(step.otherDeltas().get(0) instanceof ArgumentsDelta);
+  }
+
+  @Test
+  public void testAccept_statusUpdate_setsIdAndStatus() {
+    accept(
+        "{\"event_type\":\"interaction.status_update\",\"interaction_id\":\"int-2\","
+            + "\"status\":\"requires_action\"}");
+
+    assertEquals("int-2", accumulator.interactionId().get());
+    assertEquals(InteractionStatus.REQUIRES_ACTION, accumulator.status().get());
+    assertEquals("", accumulator.outputText().toString());
+    assertTrue(accumulator.steps().isEmpty());
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+import okio.ByteString;
+import org.junit.jupiter.api.Test;
+
+public class LiveAudioFrameEncoderTest {
+
+  @Test
+  public void testEncodeBase64_matchesJdkEncoder() {
+    Random random = new Random(42);
+    for (int length = 0; length < 20; length++) {
+      byte[] data = new byte[length + 2];
+      random.nextBytes(data);
+      byte[] out = new byte[4 * ((length + 2) / 3)];
+
+      int end = LiveAudioFrameEncoder.encodeBase64(data, 1, length, out, 0);
+
+      byte[] slice = new byte[length];
+      System.arraycopy(data, 1, slice, 0, length);
+      assertEquals(
+          Base64.getEncoder().encodeToString(slice),
+          new String(out, 0, end, StandardCharsets.US_ASCII));
+    }
+  }
+
+  @Test
+  public void testEncode_writesRealtimeInputMessage() {
+    LiveAudioFrameEncoder encoder = new LiveAudioFrameEncoder();
+    byte[] pcm = "pcm audio".getBytes(StandardCharsets.UTF_8);
+
+    ByteString frame = encoder.encode(pcm, 0, pcm.length, "audio/pcm;rate=16000");
+
+    JsonNode audio = JsonSerializable.stringToJsonNode(frame.utf8()).at("/realtimeInput/audio");
+    assertEquals("audio/pcm;rate=16000", audio.get("mimeType").asText());
+    assertEquals(Base64.getEncoder().encodeToString(pcm), audio.get("data").asText());
+  }
+
+  @Test
+  public void testEncode_laterFramesDoNotChangeEarlierOnes() {
+    LiveAudioFrameEncoder encoder = new LiveAudioFrameEncoder();
+    byte[] pcm = {1, 2, 3};
+
+    ByteString first = encoder.encode(pcm, 0, pcm.length, "audio/pcm");
+    String firstText = first.utf8();
+    encoder.encode(new byte[] {4, 5, 6}, 0, 3, "audio/pcm");
+
+    assertEquals(firstText, first.utf8());
+  }
+
+  @Test
+  public void testEncode_outOfBounds_throws() {
+    LiveAudioFrameEncoder encoder = new LiveAudioFrameEncoder();
+
+    assertThrows(
+        IndexOutOfBoundsException.class, () -> encoder.encode(new byte[4], 2, 3, "audio/pcm"));
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.genai.errors.GenAiIOException;
+import com.google.genai.types.LiveServerMessage;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import okio.ByteString;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class LiveServerMessageReaderTest {
+
+  private static final byte[] AUDIO = "audio bytes".getBytes(StandardCharsets.UTF_8);
+  private static final String AUDIO_MESSAGE =
+      "{\"serverContent\":{\"modelTurn\":{\"parts\":[{\"inlineData\":{\"mimeType\":"
+          + "\"audio/pcm;rate=24000\",\"data\":\""
+          + Base64.getEncoder().encodeToString(AUDIO)
+          + "\"}}]}}}";
+
+  private static LiveServerMessageReader reader(boolean vertexAI) {
+    ApiClient apiClient = mock(ApiClient.class);
+    when(apiClient.vertexAI()).thenReturn(vertexAI);
+    return new LiveServerMessageReader(apiClient, new LiveConverters(apiClient));
+  }
+
+  private static byte[] audio(LiveServerMessage message) {
+    return message
+        .serverContent()
+        .get()
+        .modelTurn()
+        .get()
+        .parts()
+        .get()
+        .get(0)
+        .inlineData()
+        .get()
+        .data()
+        .get();
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  public void testRead_textFrame(boolean vertexAI) {
+    LiveServerMessage message = reader(vertexAI).read(AUDIO_MESSAGE);
+
+    assertArrayEquals(AUDIO, audio(message));
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  public void testRead_binaryFrame(boolean vertexAI) {
+    LiveServerMessage message = reader(vertexAI).read(ByteString.encodeUtf8(AUDIO_MESSAGE));
+
+    assertArrayEquals(AUDIO, audio(message));
+  }
+
+  @Test
+  public void testRead_vertexUsageMetadata_isConverted() {
+    LiveServerMessage message =
+        reader(true).read("{\"usageMetadata\":{\"candidatesTokenCount\":7}}");
+
+    assertEquals(7, message.usageMetadata().get().responseTokenCount().get());
+  }
+
+  @Test
+  public void testRead_malformedMessage_throws() {
+    assertThrows(GenAiIOException.class, () -> reader(false).read("{not json"));
+  }
+}
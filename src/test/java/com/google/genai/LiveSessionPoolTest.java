@@ -0,0 +1,280 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.genai.errors.GenAiIOException;
+import com.google.genai.types.LiveConnectConfig;
+import com.google.genai.types.LiveServerGoAway;
+import com.google.genai.types.LiveServerMessage;
+import com.google.genai.types.Modality;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class LiveSessionPoolTest {
+
+  private static final String MODEL = "gemini-live-2.5-flash-preview";
+  private static final LiveConnectConfig CONFIG =
+      LiveConnectConfig.builder().responseModalities(Modality.Known.AUDIO).build();
+
+  private ScheduledExecutorService scheduler;
+  private List<AsyncSession> connected;
+  private boolean failConnections;
+
+  @BeforeEach
+  public void setUp() {
+    scheduler = Executors.newSingleThreadScheduledExecutor();
+    connected = new CopyOnWriteArrayList<>();
+    failConnections = false;
+  }
+
+  @AfterEach
+  public void tearDown() {
+    scheduler.shutdownNow();
+  }
+
+  private LiveSessionPool pool(Duration maxSessionAge) {
+    return new LiveSessionPool(
+        (model, config) -> {
+          if (failConnections) {
+            CompletableFuture<AsyncSession> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new GenAiIOException("unavailable"));
+            return failed;
+          }
+          AsyncSession session = mock(AsyncSession.class);
+          when(session.receive(any())).thenReturn(CompletableFuture.completedFuture(null));
+          when(session.close()).thenReturn(CompletableFuture.completedFuture(null));
+          connected.add(session);
+          return CompletableFuture.completedFuture(session);
+        },
+        2,
+        maxSessionAge,
+        Duration.ofHours(1),
+        scheduler);
+  }
+
+  @Test
+  public void testWarm_connectsSessionsPerKey() {
+    LiveSessionPool pool = pool(Duration.ofMinutes(9));
+
+    pool.warm(MODEL, CONFIG);
+
+    assertEquals(2, pool.idleCount());
+    assertEquals(0, pool.connectingCount());
+    assertEquals(2, pool.createdCount());
+  }
+
+  @Test
+  public void testAcquire_warmKey_returnsIdleSessionAndRefills() throws Exception {
+    LiveSessionPool pool = pool(Duration.ofMinutes(9));
+    pool.warm(MODEL, CONFIG);
+
+    CompletableFuture<AsyncSession> session = pool.acquire(MODEL, CONFIG);
+
+    assertTrue(session.isDone());
+    assertSame(connected.get(0), session.get());
+    verify(connected.get(0)).receive(null);
+    assertEquals(1, pool.hitCount());
+    assertEquals(2, pool.idleCount());
+    assertEquals(3, pool.createdCount());
+  }
+
+  @Test
+  public void testAcquire_otherConfig_connectsNewSession() throws Exception {
+    LiveSessionPool pool = pool(Duration.ofMinutes(9));
+    pool.warm(MODEL, CONFIG);
+
+    AsyncSession session = pool.acquire(MODEL, null).get();
+
+    assertSame(connected.get(2), session);
+    assertEquals(1, pool.missCount());
+    assertEquals(2, pool.idleCount());
+  }
+
+  @Test
+  public void testMaintain_rotatesExpiredSessions() {
+    LiveSessionPool pool = pool(Duration.ZERO);
+    pool.warm(MODEL, CONFIG);
+
+    pool.maintain();
+
+    assertEquals(2, pool.rotatedCount());
+    assertEquals(2, pool.idleCount());
+    verify(connected.get(0)).close();
+    verify(connected.get(1)).close();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testGoAway_discardsIdleSession() {
+    LiveSessionPool pool = pool(Duration.ofMinutes(9));
+    pool.warm(MODEL, CONFIG);
+    ArgumentCaptor<Consumer<LiveServerMessage>> captor = ArgumentCaptor.forClass(Consumer.class);
+    verify(connected.get(0)).receive(captor.capture());
+
+    captor
+        .getValue()
+        .accept(
+            LiveServerMessage.builder()
+                .goAway(LiveServerGoAway.builder().timeLeft(Duration.ofSeconds(5)))
+                .build());
+
+    assertEquals(1, pool.discardedCount());
+    assertEquals(1, pool.idleCount());
+    verify(connected.get(0)).close();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testSessionClosed_discardsIdleSession() {
+    LiveSessionPool pool = pool(Duration.ofMinutes(9));
+    pool.warm(MODEL, CONFIG);
+    ArgumentCaptor<Consumer<Throwable>> captor = ArgumentCaptor.forClass(Consumer.class);
+    verify(connected.get(1)).addCloseListener(captor.capture());
+
+    captor.getValue().accept(new GenAiIOException("connection reset"));
+
+    assertEquals(1, pool.discardedCount());
+    assertEquals(1, pool.idleCount());
+  }
+
+  @Test
+  public void testWarm_failedConnections_areCounted() {
+    LiveSessionPool pool = pool(Duration.ofMinutes(9));
+    failConnections = true;
+
+    pool.warm(MODEL, CONFIG);
+
+    assertEquals(2, pool.failedCount());
+    assertEquals(0, pool.idleCount());
+    assertEquals(0, pool.connectingCount());
+  }
+
+  @Test
+  public void testMaintain_failedConnections_backOffUntilOneSucceeds() throws Exception {
+    LiveSessionPool pool = pool(Duration.ofMinutes(9));
+    failConnections = true;
+    pool.warm(MODEL, CONFIG);
+    assertEquals(2, pool.failedCount());
+
+    // The next run retries, then each failed refill doubles the runs skipped before the next.
+    pool.maintain();
+    assertEquals(4, pool.failedCount());
+    pool.maintain();
+    assertEquals(4, pool.failedCount());
+    pool.maintain();
+    assertEquals(6, pool.failedCount());
+    failConnections = false;
+    for (int i = 0; i < 3; i++) {
+      pool.maintain();
+    }
+    assertEquals(0, pool.idleCount());
+    pool.maintain();
+    assertEquals(2, pool.idleCount());
+
+    // A success resets the backoff.
+    failConnections = true;
+    pool.acquire(MODEL, CONFIG).get();
+    assertEquals(7, pool.failedCount());
+    pool.maintain();
+    assertEquals(8, pool.failedCount());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testAcquire_removesPoolCloseListener() throws Exception {
+    LiveSessionPool pool = pool(Duration.ofMinutes(9));
+    pool.warm(MODEL, CONFIG);
+    ArgumentCaptor<Consumer<Throwable>> captor = ArgumentCaptor.forClass(Consumer.class);
+    verify(connected.get(0)).addCloseListener(captor.capture());
+
+    AsyncSession session = pool.acquire(MODEL, CONFIG).get();
+
+    verify(session).removeCloseListener(captor.getValue());
+  }
+
+  @Test
+  public void testClose_closesIdleSessionsAndRejectsAcquire() {
+    LiveSessionPool pool = pool(Duration.ofMinutes(9));
+    pool.warm(MODEL, CONFIG);
+
+    pool.close();
+
+    assertEquals(0, pool.idleCount());
+    verify(connected.get(0)).close();
+    assertThrows(IllegalStateException.class, () -> pool.acquire(MODEL, CONFIG));
+  }
+
+  @Test
+  public void testAcquire_racingAddIdle_keepsCallerCallback() throws Exception {
+    CompletableFuture<AsyncSession> connecting = new CompletableFuture<>();
+    LiveSessionPool pool =
+        new LiveSessionPool(
+            (model, config) -> connected.isEmpty() ? connecting : new CompletableFuture<>(),
+            1,
+            Duration.ofMinutes(9),
+            Duration.ofHours(1),
+            scheduler);
+    pool.warm(MODEL, CONFIG);
+    AsyncSession session = mock(AsyncSession.class);
+    connected.add(session);
+    CountDownLatch registering = new CountDownLatch(1);
+    AtomicReference<Consumer<LiveServerMessage>> callback = new AtomicReference<>();
+    when(session.receive(any()))
+        .thenAnswer(
+            invocation -> {
+              Consumer<LiveServerMessage> onMessage = invocation.getArgument(0);
+              if (onMessage != null) {
+                // Gives the acquire below time to take the session while it is being added.
+                registering.countDown();
+                Thread.sleep(100);
+              }
+              callback.set(onMessage);
+              return CompletableFuture.completedFuture(null);
+            });
+
+    CompletableFuture<Void> added = CompletableFuture.runAsync(() -> connecting.complete(session));
+    assertTrue(registering.await(5, TimeUnit.SECONDS));
+    AsyncSession acquired = pool.acquire(MODEL, CONFIG).get(5, TimeUnit.SECONDS);
+    added.get(5, TimeUnit.SECONDS);
+
+    assertSame(session, acquired);
+    assertEquals(1, pool.hitCount());
+    assertNull(callback.get());
+  }
+}
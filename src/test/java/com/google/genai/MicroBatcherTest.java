@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+public class MicroBatcherTest {
+
+  private final List<List<String>> sentBatches = new ArrayList<>();
+
+  private CompletableFuture<List<String>> upperCase(List<String> batch) {
+    synchronized (sentBatches) {
+      sentBatches.add(ImmutableList.copyOf(batch));
+    }
+    return CompletableFuture.completedFuture(
+        batch.stream().map(String::toUpperCase).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testSubmit_sendsFullBatchImmediately() {
+    MicroBatcher<String, String> batcher =
+        new MicroBatcher<>(
+            this::upperCase, 2, TimeUnit.SECONDS.toNanos(60), SharedScheduler.get());
+
+    CompletableFuture<String> a = batcher.submit("a");
+    assertFalse(a.isDone());
+    CompletableFuture<String> b = batcher.submit("b");
+
+    assertEquals("A", a.join());
+    assertEquals("B", b.join());
+    assertEquals(1, sentBatches.size());
+    assertEquals(ImmutableList.of("a", "b"), sentBatches.get(0));
+  }
+
+  @Test
+  public void testSubmit_sendsPartialBatchAfterLinger() throws Exception {
+    MicroBatcher<String, String> batcher =
+        new MicroBatcher<>(
+            this::upperCase, 100, TimeUnit.MILLISECONDS.toNanos(5), SharedScheduler.get());
+
+    CompletableFuture<String> a = batcher.submit("a");
+
+    assertEquals("A", a.get(5, TimeUnit.SECONDS));
+    assertEquals(1, sentBatches.size());
+  }
+
+  @Test
+  public void testClose_flushesPendingAndRejectsNewItems() {
+    MicroBatcher<String, String> batcher =
+        new MicroBatcher<>(
+            this::upperCase, 100, TimeUnit.SECONDS.toNanos(60), SharedScheduler.get());
+
+    CompletableFuture<String> a = batcher.submit("a");
+    batcher.close();
+
+    assertTrue(a.isDone());
+    assertThrows(IllegalStateException.class, () -> batcher.submit("b"));
+  }
+
+  @Test
+  public void testFailedBatch_failsEverySubmitter() {
+    MicroBatcher<String, String> batcher =
+        new MicroBatcher<>(
+            batch -> {
+              CompletableFuture<List<String>> failed = new CompletableFuture<>();
+              failed.completeExceptionally(new IllegalStateException("boom"));
+              return failed;
+            },
+            2,
+            TimeUnit.SECONDS.toNanos(60),
+            SharedScheduler.get());
+
+    CompletableFuture<String> a = batcher.submit("a");
+    CompletableFuture<String> b = batcher.submit("b");
+
+    assertThrows(CompletionException.class, a::join);
+    assertThrows(CompletionException.class, b::join);
+  }
+
+  @Test
+  public void testMismatchedResultCount_failsEverySubmitter() {
+    MicroBatcher<String, String> batcher =
+        new MicroBatcher<>(
+            batch -> CompletableFuture.completedFuture(ImmutableList.of("only one")),
+            2,
+            TimeUnit.SECONDS.toNanos(60),
+            SharedScheduler.get());
+
+    CompletableFuture<String> a = batcher.submit("a");
+    batcher.submit("b");
+
+    CompletionException exception = assertThrows(CompletionException.class, a::join);
+    assertTrue(exception.getCause() instanceof IllegalStateException);
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.genai.errors.GenAiIOException;
+import com.google.genai.types.GenerateVideosOperation;
+import com.google.genai.types.ImportFileOperation;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class OperationPollerTest {
+
+  private static final ImportFileOperation PENDING =
+      ImportFileOperation.builder()
+          .name("fileSearchStores/store/operations/op")
+          .done(false)
+          .build();
+
+  private ScheduledExecutorService scheduler;
+
+  @BeforeEach
+  public void setUp() {
+    scheduler = Executors.newSingleThreadScheduledExecutor();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    scheduler.shutdownNow();
+  }
+
+  private OperationPoller poller(OperationWaitConfig.Builder config) {
+    return new OperationPoller(
+        config.initialDelay(Duration.ofMillis(1)).maxDelay(Duration.ofMillis(5)).build(),
+        scheduler);
+  }
+
+  @Test
+  public void testWaitForCompletion_pollsUntilDone() throws Exception {
+    AtomicInteger polls = new AtomicInteger();
+
+    ImportFileOperation result =
+        poller(OperationWaitConfig.builder())
+            .waitForCompletion(
+                PENDING,
+                operation ->
+                    CompletableFuture.completedFuture(
+                        operation.toBuilder().done(polls.incrementAndGet() == 3).build()))
+            .get(5, TimeUnit.SECONDS);
+
+    assertTrue(result.done().get());
+    assertEquals(3, polls.get());
+  }
+
+  @Test
+  public void testWaitForCompletion_alreadyDone_doesNotPoll() throws Exception {
+    ImportFileOperation done = PENDING.toBuilder().done(true).build();
+
+    CompletableFuture<ImportFileOperation> result =
+        poller(OperationWaitConfig.builder())
+            .waitForCompletion(
+                done,
+                operation -> {
+                  throw new AssertionError("Unexpected poll");
+                });
+
+    assertEquals(done, result.get());
+  }
+
+  @Test
+  public void testWaitForCompletion_timeout_fails() {
+    CompletableFuture<ImportFileOperation> result =
+        poller(OperationWaitConfig.builder().timeout(Duration.ofMillis(50)))
+            .waitForCompletion(PENDING, CompletableFuture::completedFuture);
+
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+    assertTrue(e.getCause() instanceof GenAiIOException);
+  }
+
+  @Test
+  public void testWaitForCompletion_delayPastTimeout_pollsAtDeadline() throws Exception {
+    AtomicInteger polls = new AtomicInteger();
+    OperationPoller poller =
+        new OperationPoller(
+            OperationWaitConfig.builder()
+                .initialDelay(Duration.ofSeconds(30))
+                .timeout(Duration.ofMillis(50))
+                .build(),
+            scheduler);
+
+    ImportFileOperation result =
+        poller
+            .waitForCompletion(
+                PENDING,
+                operation -> {
+                  polls.incrementAndGet();
+                  return CompletableFuture.completedFuture(
+                      operation.toBuilder().done(true).build());
+                })
+            .get(5, TimeUnit.SECONDS);
+
+    assertTrue(result.done().get());
+    assertEquals(1, polls.get());
+  }
+
+  @Test
+  public void testWaitForCompletion_notDoneAtDeadline_failsAfterFinalPoll() {
+    AtomicInteger polls = new AtomicInteger();
+    OperationPoller poller =
+        new OperationPoller(
+            OperationWaitConfig.builder()
+                .initialDelay(Duration.ofSeconds(30))
+                .timeout(Duration.ofMillis(50))
+                .build(),
+            scheduler);
+
+    CompletableFuture<ImportFileOperation> result =
+        poller.waitForCompletion(
+            PENDING,
+            operation -> {
+              polls.incrementAndGet();
+              return CompletableFuture.completedFuture(operation);
+            });
+
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+    assertTrue(e.getCause() instanceof GenAiIOException);
+    assertEquals(1, polls.get());
+  }
+
+  @Test
+  public void testWaitForCompletion_pollError_fails() {
+    CompletableFuture<ImportFileOperation> failed = new CompletableFuture<>();
+    failed.completeExceptionally(new GenAiIOException("unavailable"));
+
+    CompletableFuture<ImportFileOperation> result =
+        poller(OperationWaitConfig.builder()).waitForCompletion(PENDING, operation -> failed);
+
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+    assertEquals("unavailable", e.getCause().getMessage());
+  }
+
+  @Test
+  public void testWaitForCompletion_cancel_stopsPolling() throws Exception {
+    AtomicInteger polls = new AtomicInteger();
+    CompletableFuture<ImportFileOperation> result =
+        poller(OperationWaitConfig.builder())
+            .waitForCompletion(
+                PENDING,
+                operation -> {
+                  polls.incrementAndGet();
+                  return CompletableFuture.completedFuture(operation);
+                });
+    while (polls.get() < 2) {
+      Thread.sleep(1);
+    }
+
+    result.cancel(false);
+    int pollsAtCancel = polls.get();
+    Thread.sleep(50);
+
+    assertTrue(polls.get() <= pollsAtCancel + 1);
+  }
+
+  @Test
+  public void testWaitForCompletion_noName_throws() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            poller(OperationWaitConfig.builder())
+                .waitForCompletion(
+                    ImportFileOperation.builder().done(false).build(),
+                    CompletableFuture::completedFuture));
+  }
+
+  @Test
+  public void testDefaultInitialDelay_dependsOnOperationKind() {
+    assertEquals(
+        Duration.ofSeconds(10),
+        OperationPoller.defaultInitialDelay(GenerateVideosOperation.builder().build()));
+    assertEquals(Duration.ofSeconds(1), OperationPoller.defaultInitialDelay(PENDING));
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PagePrefetcherTest {
+
+  /** Fake list endpoint whose responses are completed manually by the test. */
+  private final List<String> requestedTokens = new ArrayList<>();
+  private final List<CompletableFuture<JsonNode>> responses = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    requestedTokens.clear();
+    responses.clear();
+  }
+
+  private CompletableFuture<JsonNode> fetch(ObjectNode config) {
+    requestedTokens.add(config.get("pageToken").asText());
+    CompletableFuture<JsonNode> future = new CompletableFuture<>();
+    responses.add(future);
+    return future;
+  }
+
+  private static JsonNode page(String nextPageToken) {
+    ObjectNode node = JsonSerializable.objectMapper.createObjectNode();
+    if (nextPageToken != null) {
+      node.put("nextPageToken", nextPageToken);
+    }
+    return node;
+  }
+
+  @Test
+  public void testPrime_issuesNextPageRequestImmediately() {
+    PagePrefetcher prefetcher =
+        new PagePrefetcher(this::fetch, JsonSerializable.objectMapper.createObjectNode(), 2);
+
+    prefetcher.prime("t1");
+
+    assertEquals(1, requestedTokens.size());
+    assertEquals("t1", requestedTokens.get(0));
+  }
+
+  @Test
+  public void testReadAhead_boundedByDepth() {
+    PagePrefetcher prefetcher =
+        new PagePrefetcher(this::fetch, JsonSerializable.objectMapper.createObjectNode(), 2);
+
+    prefetcher.prime("t1");
+    responses.get(0).complete(page("t2"));
+    responses.get(1).complete(page("t3"));
+
+    // Two pages are buffered, so the third one is not requested until the consumer takes one.
+    assertEquals(2, requestedTokens.size());
+    assertEquals(2, prefetcher.bufferedPages());
+
+    assertEquals("t2", prefetcher.take("t1").join().get("nextPageToken").asText());
+    assertEquals(3, requestedTokens.size());
+    assertEquals("t3", requestedTokens.get(2));
+  }
+
+  @Test
+  public void testReadAhead_stopsAtLastPage() {
+    PagePrefetcher prefetcher =
+        new PagePrefetcher(this::fetch, JsonSerializable.objectMapper.createObjectNode(), 3);
+
+    prefetcher.prime("t1");
+    responses.get(0).complete(page(null));
+
+    assertEquals(1, requestedTokens.size());
+    assertTrue(prefetcher.take("t1").isDone());
+    assertEquals(0, prefetcher.bufferedPages());
+  }
+
+  @Test
+  public void testTake_withoutPrime_fetchesOnDemand() {
+    PagePrefetcher prefetcher =
+        new PagePrefetcher(this::fetch, JsonSerializable.objectMapper.createObjectNode(), 1);
+
+    CompletableFuture<JsonNode> first = prefetcher.take("t1");
+    first.complete(page("t2"));
+
+    assertEquals(2, requestedTokens.size());
+    assertEquals("t2", requestedTokens.get(1));
+  }
+
+  @Test
+  public void testTake_beforePreviousPageIsSeen_requestsEachPageOnce() throws Exception {
+    PagePrefetcher prefetcher =
+        new PagePrefetcher(this::fetch, JsonSerializable.objectMapper.createObjectNode(), 2);
+    prefetcher.prime("t1");
+
+    CompletableFuture<JsonNode> second;
+    Thread completer = new Thread(() -> responses.get(0).complete(page("t2")));
+    // Holding the prefetcher's lock keeps it from seeing page t1 arrive, as when the consumer's
+    // join() wakes up before the prefetcher's callback runs.
+    synchronized (prefetcher) {
+      completer.start();
+      while (!responses.get(0).isDone()) {
+        Thread.yield();
+      }
+      assertEquals("t2", prefetcher.take("t1").join().get("nextPageToken").asText());
+      second = prefetcher.take("t2");
+    }
+    completer.join();
+
+    assertEquals(Arrays.asList("t1", "t2"), requestedTokens);
+    responses.get(1).complete(page("t3"));
+    assertEquals("t3", second.join().get("nextPageToken").asText());
+    assertEquals(Arrays.asList("t1", "t2", "t3"), requestedTokens);
+  }
+
+  @Test
+  public void testFailedPage_stopsReadAheadAndSurfacesError() {
+    PagePrefetcher prefetcher =
+        new PagePrefetcher(this::fetch, JsonSerializable.objectMapper.createObjectNode(), 2);
+
+    prefetcher.prime("t1");
+    responses.get(0).completeExceptionally(new IllegalStateException("boom"));
+
+    assertEquals(1, requestedTokens.size());
+    assertThrows(CompletionException.class, () -> prefetcher.take("t1").join());
+  }
+
+  @Test
+  public void testInvalidDepth_throws() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            new PagePrefetcher(
+                this::fetch, JsonSerializable.objectMapper.createObjectNode(), 0));
+  }
+}
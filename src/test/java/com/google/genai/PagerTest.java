@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.genai.types.ListModelsConfig;
+import com.google.genai.types.Model;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public final class PagerTest {
+
+  private static final int PAGES = 50;
+  private static final int PAGE_SIZE = 3;
+
+  private final List<String> requestedTokens = new CopyOnWriteArrayList<>();
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    requestedTokens.clear();
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  /** Returns page {@code index} of a list of {@link #PAGES} pages of models. */
+  static JsonNode page(int index) {
+    ObjectNode page = JsonSerializable.objectMapper.createObjectNode();
+    for (int i = 0; i < PAGE_SIZE; i++) {
+      page.withArray("models").addObject().put("name", "models/m" + (index * PAGE_SIZE + i));
+    }
+    if (index + 1 < PAGES) {
+      page.put("nextPageToken", "p" + (index + 1));
+    }
+    return page;
+  }
+
+  static List<String> allModelNames() {
+    List<String> names = new ArrayList<>();
+    for (int i = 0; i < PAGES * PAGE_SIZE; i++) {
+      names.add("models/m" + i);
+    }
+    return names;
+  }
+
+  private Object list(JsonSerializable config) {
+    String pageToken = ((ListModelsConfig) config).pageToken().get();
+    requestedTokens.add(pageToken);
+    return page(Integer.parseInt(pageToken.substring(1)));
+  }
+
+  private Pager<Model> pager() {
+    return new Pager<>(
+        Pager.PagedItem.MODELS,
+        this::list,
+        JsonSerializable.objectMapper.createObjectNode().put("pageSize", PAGE_SIZE),
+        page(0));
+  }
+
+  static List<String> expectedTokens() {
+    List<String> tokens = new ArrayList<>();
+    for (int i = 1; i < PAGES; i++) {
+      tokens.add("p" + i);
+    }
+    return tokens;
+  }
+
+  @Test
+  public void testPrefetch_streamsEveryItemInOrder() {
+    List<String> names =
+        pager()
+            .prefetch(2, executor)
+            .stream()
+            .map(model -> model.name().get())
+            .collect(Collectors.toList());
+
+    assertEquals(allModelNames(), names);
+    assertEquals(expectedTokens(), requestedTokens);
+  }
+
+  @Test
+  public void testPrefetch_nextPage_returnsPagesInOrder() {
+    Pager<Model> pager = pager().prefetch(1, executor);
+
+    for (int i = 1; i < PAGES; i++) {
+      assertEquals("models/m" + (i * PAGE_SIZE), pager.nextPage().get(0).name().get());
+    }
+    assertEquals(expectedTokens(), requestedTokens);
+  }
+
+  @Test
+  public void testPrefetch_twice_throws() {
+    Pager<Model> pager = pager().prefetch(1, executor);
+
+    assertThrows(IllegalStateException.class, () -> pager.prefetch(1, executor));
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.google.genai.types.ReplayInteraction;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Headers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ReplayIndexTest {
+
+  private static final String URL = "{MLDEV_URL_PREFIX}/models/gemini-2.5-flash:generateContent";
+
+  @TempDir Path tempDir;
+
+  private ReplayIndex index;
+
+  private static String interaction(String body, String answer) {
+    return "{\"request\":{\"method\":\"post\",\"url\":\""
+        + URL
+        + "\",\"headers\":{},\"body_segments\":["
+        + body
+        + "]},\"response\":{\"status_code\":200,\"headers\":{},\"body_segments\":[{\"answer\":\""
+        + answer
+        + "\"}]}}";
+  }
+
+  private static String answer(ReplayInteraction interaction) {
+    return interaction.response().get().bodySegments().get().get(0).get("answer").toString();
+  }
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    Path replayFile = tempDir.resolve("replay.json");
+    Files.write(
+        replayFile,
+        ("{\"replay_id\":\"test\",\"interactions\":["
+                + interaction("{\"contents\":[{\"parts\":[{\"text\":\"a\"}]}]}", "a1")
+                + ","
+                + interaction("{\"contents\":[{\"parts\":[{\"text\":\"b\"}]}]}", "b")
+                + ","
+                + interaction("{\"contents\":[{\"parts\":[{\"text\":\"a\"}]}]}", "a2")
+                + "]}")
+            .getBytes(UTF_8));
+    index = ReplayIndex.load(replayFile);
+  }
+
+  private static String key(String body) {
+    return ReplayIndex.key("POST", URL, JsonSerializable.stringToJsonNode(body));
+  }
+
+  @Test
+  public void testLoad_groupsInteractionsByKey() {
+    assertEquals(2, index.size());
+  }
+
+  @Test
+  public void testNext_matchesOutOfOrder() {
+    assertEquals("b", answer(index.next(key("{\"contents\":[{\"parts\":[{\"text\":\"b\"}]}]}"))));
+    assertEquals("a1", answer(index.next(key("{\"contents\":[{\"parts\":[{\"text\":\"a\"}]}]}"))));
+  }
+
+  @Test
+  public void testNext_sameKey_servesInRecordedOrderAndWraps() {
+    String key = key("{\"contents\":[{\"parts\":[{\"text\":\"a\"}]}]}");
+
+    assertEquals("a1", answer(index.next(key)));
+    assertEquals("a2", answer(index.next(key)));
+    assertEquals("a1", answer(index.next(key)));
+  }
+
+  @Test
+  public void testKey_ignoresKeyOrderAndCase() {
+    assertEquals(
+        key("{\"generationConfig\":{\"maxOutputTokens\":5,\"topK\":1}}"),
+        key("{\"generation_config\":{\"top_k\":1,\"max_output_tokens\":5}}"));
+  }
+
+  @Test
+  public void testKey_ignoresBodyOfGetRequests() {
+    assertEquals(
+        ReplayIndex.key("GET", URL, null),
+        ReplayIndex.key("get", URL, JsonSerializable.stringToJsonNode("{\"a\":1}")));
+  }
+
+  @Test
+  public void testNext_unknownKey_throws() {
+    AssertionError e =
+        assertThrows(
+            AssertionError.class,
+            () -> index.next(key("{\"contents\":[{\"parts\":[{\"text\":\"c\"}]}]}")));
+    assertTrue(e.getMessage().contains(URL));
+  }
+
+  @Test
+  public void testNext_concurrentRequests_serveEveryInteractionEvenly() throws Exception {
+    String key = key("{\"contents\":[{\"parts\":[{\"text\":\"a\"}]}]}");
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<String>> answers = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      answers.add(executor.submit(() -> answer(index.next(key))));
+    }
+    int a1 = 0;
+    for (Future<String> answer : answers) {
+      if (answer.get(5, TimeUnit.SECONDS).equals("a1")) {
+        a1++;
+      }
+    }
+    executor.shutdown();
+
+    assertEquals(500, a1);
+  }
+
+  @Test
+  public void testReplayApiResponse_chunkDelay_spacesStreamedEvents() throws Exception {
+    ArrayNode segments =
+        (ArrayNode) JsonSerializable.stringToJsonNode("[{\"n\":1},{\"n\":2},{\"n\":3}]");
+    ReplayApiResponse response =
+        new ReplayApiResponse(segments, 200, Headers.of(), true, Duration.ofMillis(20));
+
+    long start = System.nanoTime();
+    String body = response.getBody().string();
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    assertEquals("data: {\"n\":1}\n\ndata: {\"n\":2}\n\ndata: {\"n\":3}\n\n", body);
+    assertTrue(elapsedMillis >= 40, "elapsed " + elapsedMillis + "ms");
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.jupiter.api.Test;
+
+public final class RequestHooksTest {
+
+  private static final MediaType JSON = FakeServer.JSON;
+  private static final MediaType SSE = FakeServer.SSE;
+
+  /** Records the events it sees as strings. */
+  private static final class RecordingHook implements RequestHook {
+    final List<String> events = Collections.synchronizedList(new ArrayList<>());
+    volatile Context context;
+    volatile CompletionInfo completion;
+    volatile ResponseInfo response;
+
+    @Override
+    public void beforeRequest(Context context) {
+      this.context = context;
+      events.add("before " + context.operation());
+    }
+
+    @Override
+    public void onRetry(Context context, RetryInfo retry) {
+      events.add("retry " + retry.attempt() + " " + retry.statusCode().orElse(0));
+    }
+
+    @Override
+    public void onResponseHeaders(Context context, ResponseInfo response) {
+      this.response = response;
+      events.add("headers " + response.statusCode());
+    }
+
+    @Override
+    public void onStreamChunk(Context context, ChunkInfo chunk) {
+      events.add("chunk " + chunk.index());
+    }
+
+    @Override
+    public void onComplete(Context context, CompletionInfo completion) {
+      this.completion = completion;
+      events.add("complete " + completion.responseBytes());
+    }
+
+    @Override
+    public void onError(Context context, Throwable error) {
+      events.add("error " + error.getMessage());
+    }
+  }
+
+  private static OkHttpClient client(FakeServer server, RequestHook... hooks) {
+    return server.client(new RequestHooks(Arrays.asList(hooks)), FakeServer.retries());
+  }
+
+  private static Request post(String url, String body) {
+    return new Request.Builder().url(url).post(RequestBody.create(body, JSON)).build();
+  }
+
+  @Test
+  public void testUnaryCall_reportsContextHeadersAndUsage() throws Exception {
+    FakeServer server = new FakeServer();
+    String json =
+        "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"hi\"}]}}],"
+            + "\"usageMetadata\":{\"promptTokenCount\":3,\"candidatesTokenCount\":5,"
+            + "\"totalTokenCount\":8}}";
+    server.respond(200, JSON, json, "Server-Timing", "gfet4t7; dur=12.5");
+    RecordingHook hook = new RecordingHook();
+
+    try (Response response =
+        client(server, hook)
+            .newCall(
+                post(
+                    "https://example.com/v1beta/models/gemini-pro:generateContent?key=secret",
+                    "{}"))
+            .execute()) {
+      assertEquals(json, response.body().string());
+    }
+
+    assertEquals("generateContent", hook.context.operation());
+    assertEquals("gemini-pro", hook.context.model().get());
+    assertEquals(2L, (long) hook.context.requestBytes().get());
+    assertFalse(hook.context.path().contains("secret"));
+    assertEquals(Duration.ofMillis(12).plusNanos(500_000), hook.response.serverTiming().get());
+    assertEquals(3, (int) hook.completion.usage().get().promptTokens().get());
+    assertEquals(5, (int) hook.completion.usage().get().outputTokens().get());
+    assertEquals(
+        Arrays.asList(
+            "before generateContent", "headers 200", "complete " + json.length()),
+        hook.events);
+  }
+
+  @Test
+  public void testRetries_areReportedWithTheirAttempt() throws Exception {
+    FakeServer server = new FakeServer();
+    server.respond(503, JSON, "{}");
+    server.fail(new IOException("reset"));
+    server.respond(200, JSON, "{}");
+    RecordingHook hook = new RecordingHook();
+
+    client(server, hook)
+        .newCall(new Request.Builder().url("https://example.com/v1beta/files/abc").build())
+        .execute()
+        .close();
+
+    assertEquals(
+        Arrays.asList(
+            "before GET files", "retry 2 503", "retry 3 0", "headers 200", "complete 2"),
+        hook.events);
+    assertEquals(3, hook.context.attempt());
+  }
+
+  @Test
+  public void testStream_reportsChunksAndCompletesOnClose() throws Exception {
+    FakeServer server = new FakeServer();
+    server.respond(
+        200,
+        SSE,
+        "data: {\"candidates\":[]}\n\n"
+            + "data: {\"usageMetadata\":{\"candidatesTokenCount\":7}}\n\n");
+    RecordingHook hook = new RecordingHook();
+    Response response =
+        client(server, hook)
+            .newCall(
+                post(
+                    "https://example.com/v1/projects/p/locations/l/publishers/google/models/"
+                        + "gemini:streamGenerateContent?alt=sse",
+                    "{}"))
+            .execute();
+    RequestHooks.Call call = response.request().tag(RequestHooks.Call.class);
+
+    call.chunk("{\"candidates\":[]}", JsonSerializable.stringToJsonNode("{\"candidates\":[]}"));
+    String last = "{\"usageMetadata\":{\"candidatesTokenCount\":7}}";
+    call.chunk(last, JsonSerializable.stringToJsonNode(last));
+    response.close();
+
+    assertEquals("gemini", hook.context.model().get());
+    assertEquals(
+        Arrays.asList(
+            "before streamGenerateContent", "headers 200", "chunk 0", "chunk 1", "complete 0"),
+        hook.events);
+    assertEquals(7, (int) hook.completion.usage().get().outputTokens().get());
+  }
+
+  @Test
+  public void testTransportFailure_isReportedAsError() {
+    FakeServer server = new FakeServer();
+    for (int i = 0; i < 3; i++) {
+      server.fail(new IOException("unreachable"));
+    }
+    RecordingHook hook = new RecordingHook();
+
+    assertThrows(
+        IOException.class,
+        () ->
+            client(server, hook)
+                .newCall(new Request.Builder().url("https://example.com/v1beta/batches").build())
+                .execute());
+
+    assertEquals("error unreachable", hook.events.get(hook.events.size() - 1));
+  }
+
+  @Test
+  public void testFailingHook_doesNotFailTheCall() throws Exception {
+    FakeServer server = new FakeServer();
+    server.respond(200, JSON, "{}");
+    RecordingHook recording = new RecordingHook();
+    RequestHook failing =
+        new RequestHook() {
+          @Override
+          public void beforeRequest(Context context) {
+            throw new IllegalStateException("broken hook");
+          }
+        };
+
+    try (Response response =
+        client(server, failing, recording)
+            .newCall(new Request.Builder().url("https://example.com/v1beta/models").build())
+            .execute()) {
+      assertTrue(response.isSuccessful());
+    }
+
+    assertEquals("before GET models", recording.events.get(0));
+  }
+}
@@ -0,0 +1,387 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.genai.errors.GenAiIOException;
+import com.google.genai.types.Content;
+import com.google.genai.types.LiveSendClientContentParameters;
+import com.google.genai.types.LiveServerContent;
+import com.google.genai.types.LiveServerGoAway;
+import com.google.genai.types.LiveServerMessage;
+import com.google.genai.types.LiveServerSessionResumptionUpdate;
+import com.google.genai.types.Part;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import okhttp3.Request;
+import okhttp3.WebSocket;
+import okio.ByteString;
+import org.mockito.ArgumentCaptor;
+
+public class ResilientLiveSessionTest {
+
+  private static final byte[] AUDIO = {1, 2, 3, 4};
+
+  private ScheduledExecutorService scheduler;
+  private LinkedBlockingQueue<CompletableFuture<AsyncSession>> connections;
+  private List<Optional<String>> handles;
+  private LiveReconnectConfig config;
+
+  @BeforeEach
+  public void setUp() {
+    scheduler = Executors.newSingleThreadScheduledExecutor();
+    connections = new LinkedBlockingQueue<>();
+    handles = new CopyOnWriteArrayList<>();
+    config =
+        LiveReconnectConfig.builder()
+            .maxAttempts(3)
+            .initialBackoff(Duration.ofMillis(1))
+            .maxBackoff(Duration.ofMillis(5))
+            .build();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    scheduler.shutdownNow();
+  }
+
+  private static AsyncSession mockSession() {
+    AsyncSession session = mock(AsyncSession.class);
+    CompletableFuture<Void> done = CompletableFuture.completedFuture(null);
+    when(session.receive(any())).thenReturn(done);
+    when(session.sendAudio(any(byte[].class), anyString())).thenReturn(done);
+    when(session.sendAudio(any(byte[].class), anyInt(), anyInt(), anyString()))
+        .thenReturn(done);
+    when(session.close()).thenReturn(done);
+    return session;
+  }
+
+  /** Returns a session over a WebSocket that records the text of the frames sent to it. */
+  private static AsyncSession recordingSession(List<String> frames) throws Exception {
+    CompletableFuture<AsyncSession> future = new CompletableFuture<>();
+    AsyncLive.GenAiWebSocketClient client =
+        new AsyncLive.GenAiWebSocketClient(
+            new URI("wss://test"), new HashMap<>(), "{}", future, mock(ApiClient.class));
+    client.onOpen(
+        new WebSocket() {
+          @Override
+          public Request request() {
+            return new Request.Builder().url("https://test").build();
+          }
+
+          @Override
+          public long queueSize() {
+            return 0;
+          }
+
+          @Override
+          public boolean send(String text) {
+            frames.add(text);
+            return true;
+          }
+
+          @Override
+          public boolean send(ByteString bytes) {
+            frames.add(bytes.utf8());
+            return true;
+          }
+
+          @Override
+          public boolean close(int code, String reason) {
+            return true;
+          }
+
+          @Override
+          public void cancel() {}
+        },
+        null);
+    client.onMessage("{\"setupComplete\":{}}");
+    frames.clear();
+    return future.get();
+  }
+
+  private static LiveSendClientContentParameters text(String text) {
+    return LiveSendClientContentParameters.builder()
+        .turns(Content.fromParts(Part.fromText(text)))
+        .build();
+  }
+
+  private ResilientLiveSession connect(AsyncSession first) throws Exception {
+    return ResilientLiveSession.connect(
+            handle -> {
+              handles.add(handle);
+              if (handles.size() == 1) {
+                return CompletableFuture.completedFuture(first);
+              }
+              return connections.remove();
+            },
+            config,
+            scheduler)
+        .get(5, TimeUnit.SECONDS);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Consumer<LiveServerMessage> messageCallback(AsyncSession session) {
+    ArgumentCaptor<Consumer<LiveServerMessage>> captor = ArgumentCaptor.forClass(Consumer.class);
+    verify(session).receive(captor.capture());
+    return captor.getValue();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Consumer<Throwable> closeCallback(AsyncSession session) {
+    ArgumentCaptor<Consumer<Throwable>> captor = ArgumentCaptor.forClass(Consumer.class);
+    verify(session).addCloseListener(captor.capture());
+    return captor.getValue();
+  }
+
+  private static LiveServerMessage resumptionUpdate(String handle) {
+    return LiveServerMessage.builder()
+        .sessionResumptionUpdate(
+            LiveServerSessionResumptionUpdate.builder().newHandle(handle).resumable(true))
+        .build();
+  }
+
+  private static LiveServerMessage notResumable() {
+    return LiveServerMessage.builder()
+        .sessionResumptionUpdate(LiveServerSessionResumptionUpdate.builder().resumable(false))
+        .build();
+  }
+
+  private static LiveServerMessage serverContent(boolean turnComplete) {
+    return LiveServerMessage.builder()
+        .serverContent(
+            LiveServerContent.builder()
+                .modelTurn(Content.fromParts(Part.fromText("Hello")))
+                .turnComplete(turnComplete))
+        .build();
+  }
+
+  private static LiveServerMessage goAway(Duration timeLeft) {
+    return LiveServerMessage.builder()
+        .goAway(LiveServerGoAway.builder().timeLeft(timeLeft))
+        .build();
+  }
+
+  private static void await(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!condition.getAsBoolean()) {
+      assertTrue(System.nanoTime() < deadline, "Timed out waiting for the condition");
+      Thread.sleep(5);
+    }
+  }
+
+  @Test
+  public void testReconnect_resumesWithLatestHandleAndFlushesBufferedAudio() throws Exception {
+    AsyncSession first = mockSession();
+    AsyncSession second = mockSession();
+    ResilientLiveSession session = connect(first);
+    List<LiveServerMessage> received = new ArrayList<>();
+    session.receive(received::add);
+    messageCallback(first).accept(resumptionUpdate("handle-1"));
+    messageCallback(first).accept(resumptionUpdate("handle-2"));
+
+    CompletableFuture<AsyncSession> reconnection = new CompletableFuture<>();
+    connections.add(reconnection);
+    closeCallback(first).accept(new GenAiIOException("connection reset"));
+    await(() -> handles.size() == 2);
+    assertTrue(session.isReconnecting());
+    session.sendAudio(AUDIO, "audio/pcm;rate=16000").get();
+    reconnection.complete(second);
+
+    assertFalse(session.isReconnecting());
+    assertEquals(Optional.of("handle-2"), handles.get(1));
+    assertEquals(1, session.reconnectCount());
+    assertEquals(2, received.size());
+    verify(second).sendAudio(AUDIO, "audio/pcm;rate=16000");
+    verify(second).receive(any());
+  }
+
+  @Test
+  public void testGoAway_reconnectsBeforeTheServerCloses() throws Exception {
+    AsyncSession first = mockSession();
+    AsyncSession second = mockSession();
+    connections.add(CompletableFuture.completedFuture(second));
+    ResilientLiveSession session = connect(first);
+    session.receive(message -> {});
+    messageCallback(first).accept(resumptionUpdate("handle-1"));
+
+    messageCallback(first)
+        .accept(
+            LiveServerMessage.builder()
+                .goAway(LiveServerGoAway.builder().timeLeft(Duration.ofSeconds(10)))
+                .build());
+
+    await(() -> session.reconnectCount() == 1 && !session.isReconnecting());
+    verify(first).close();
+    assertEquals(Optional.of("handle-1"), handles.get(1));
+  }
+
+  @Test
+  public void testGoAway_midTurn_keepsConnectionUntilTurnCanBeResumed() throws Exception {
+    AsyncSession first = mockSession();
+    AsyncSession second = mockSession();
+    connections.add(CompletableFuture.completedFuture(second));
+    ResilientLiveSession session = connect(first);
+    List<LiveServerMessage> received = new CopyOnWriteArrayList<>();
+    session.receive(received::add);
+    Consumer<LiveServerMessage> firstCallback = messageCallback(first);
+    firstCallback.accept(resumptionUpdate("handle-1"));
+    firstCallback.accept(serverContent(false));
+    firstCallback.accept(notResumable());
+
+    firstCallback.accept(goAway(Duration.ofSeconds(10)));
+    LiveServerMessage turnComplete = serverContent(true);
+    firstCallback.accept(turnComplete);
+
+    // The rest of the turn is received on the old connection.
+    assertEquals(0, session.reconnectCount());
+    assertTrue(received.contains(turnComplete));
+    verify(first, never()).close();
+
+    firstCallback.accept(resumptionUpdate("handle-2"));
+
+    await(() -> session.reconnectCount() == 1 && !session.isReconnecting());
+    verify(first).close();
+    assertEquals(Optional.of("handle-2"), handles.get(1));
+  }
+
+  @Test
+  public void testGoAway_midTurn_reconnectsWhenTimeLeftRunsOut() throws Exception {
+    AsyncSession first = mockSession();
+    AsyncSession second = mockSession();
+    connections.add(CompletableFuture.completedFuture(second));
+    ResilientLiveSession session = connect(first);
+    session.receive(message -> {});
+    Consumer<LiveServerMessage> firstCallback = messageCallback(first);
+    firstCallback.accept(resumptionUpdate("handle-1"));
+    firstCallback.accept(serverContent(false));
+    firstCallback.accept(notResumable());
+
+    firstCallback.accept(goAway(Duration.ofMillis(50)));
+
+    await(() -> session.reconnectCount() == 1 && !session.isReconnecting());
+    verify(first).close();
+    // The session could not be resumed at that point, so a new one is started.
+    assertEquals(Optional.empty(), handles.get(1));
+  }
+
+  @Test
+  public void testReconnect_givesUpAfterMaxAttempts() throws Exception {
+    AsyncSession first = mockSession();
+    for (int i = 0; i < config.maxAttempts(); i++) {
+      CompletableFuture<AsyncSession> failed = new CompletableFuture<>();
+      failed.completeExceptionally(new GenAiIOException("unavailable"));
+      connections.add(failed);
+    }
+    ResilientLiveSession session = connect(first);
+
+    closeCallback(first).accept(new GenAiIOException("connection reset"));
+
+    ExecutionException e =
+        assertThrows(
+            ExecutionException.class, () -> session.closeFuture().get(5, TimeUnit.SECONDS));
+    assertTrue(e.getCause() instanceof GenAiIOException);
+    assertEquals(1 + config.maxAttempts(), handles.size());
+    assertThrows(ExecutionException.class, () -> session.sendAudio(AUDIO, "audio/pcm").get());
+  }
+
+  @Test
+  public void testClose_doesNotReconnect() throws Exception {
+    AsyncSession first = mockSession();
+    ResilientLiveSession session = connect(first);
+
+    session.close().get();
+    closeCallback(first).accept(null);
+
+    assertEquals(1, handles.size());
+    assertTrue(session.closeFuture().isDone());
+    verify(first, never()).sendAudio(any(byte[].class), anyString());
+  }
+
+  @Test
+  public void testReconnect_sendsBufferedMessagesBeforeLaterOnes() throws Exception {
+    AsyncSession first = mockSession();
+    List<String> frames = new ArrayList<>();
+    AsyncSession second = recordingSession(frames);
+    ResilientLiveSession session = connect(first);
+    CompletableFuture<AsyncSession> reconnection = new CompletableFuture<>();
+    connections.add(reconnection);
+    closeCallback(first).accept(new GenAiIOException("connection reset"));
+    await(() -> handles.size() == 2);
+    session.sendClientContent(text("buffered")).get();
+    session.sendAudio(AUDIO, "audio/pcm;rate=16000").get();
+
+    reconnection.complete(second);
+    session.sendClientContent(text("later")).get();
+
+    assertEquals(3, frames.size());
+    assertTrue(frames.get(0).contains("buffered"));
+    assertTrue(frames.get(1).contains("realtimeInput"));
+    assertTrue(frames.get(2).contains("later"));
+  }
+
+  @Test
+  public void testReconnect_newConnectionAlreadyClosed_reconnectsAgain() throws Exception {
+    AsyncSession first = mockSession();
+    AsyncSession second = mockSession();
+    AsyncSession third = mockSession();
+    doAnswer(
+            invocation -> {
+              Consumer<Throwable> listener = invocation.getArgument(0);
+              listener.accept(new GenAiIOException("closed during setup"));
+              return null;
+            })
+        .when(second)
+        .addCloseListener(any());
+    connections.add(CompletableFuture.completedFuture(second));
+    connections.add(CompletableFuture.completedFuture(third));
+    ResilientLiveSession session = connect(first);
+
+    closeCallback(first).accept(new GenAiIOException("connection reset"));
+
+    await(() -> session.reconnectCount() == 2 && !session.isReconnecting());
+    verify(third).addCloseListener(any());
+  }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.genai.errors.ClientException;
+import com.google.genai.errors.GenAiIOException;
+import com.google.genai.gaos.models.interactions.InteractionSSEStreamEvent;
+import com.google.genai.gaos.utils.EventStream;
+import com.google.genai.gaos.utils.Utils;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+public class ResumableInteractionStreamTest {
+
+  private static final String CREATED =
+      "{\"event_type\":\"interaction.created\",\"event_id\":\"e1\","
+          + "\"interaction\":{\"id\":\"int-1\",\"status\":\"in_progress\"}}";
+  private static final String COMPLETED =
+      "{\"event_type\":\"interaction.completed\",\"event_id\":\"e4\","
+          + "\"interaction\":{\"id\":\"int-1\",\"status\":\"completed\"}}";
+
+  /** Records the reconnects and serves the queued responses. */
+  private static final class FakeBackend implements ResumableInteractionStream.Backend {
+    final List<Optional<String>> requestedLastEventIds = new ArrayList<>();
+    final Deque<CompletableFuture<EventStream<InteractionSSEStreamEvent>>> responses =
+        new ArrayDeque<>();
+
+    @Override
+    public CompletableFuture<EventStream<InteractionSSEStreamEvent>> get(
+        String interactionId, Optional<String> lastEventId) {
+      assertEquals("int-1", interactionId);
+      requestedLastEventIds.add(lastEventId);
+      return responses.removeFirst();
+    }
+  }
+
+  private static String delta(String eventId, String text) {
+    return "{\"event_type\":\"step.delta\",\"event_id\":\""
+        + eventId
+        + "\",\"index\":0,\"delta\":{\"type\":\"text\",\"text\":\""
+        + text
+        + "\"}}";
+  }
+
+  private static String sse(String... events) {
+    StringBuilder body = new StringBuilder();
+    for (String event : events) {
+      body.append("data: ").append(event).append("\n\n");
+    }
+    return body.toString();
+  }
+
+  private static CompletableFuture<EventStream<InteractionSSEStreamEvent>> events(
+      String body, boolean failAtEnd) {
+    InputStream in = new ByteArrayInputStream(body.getBytes(UTF_8));
+    if (failAtEnd) {
+      in =
+          new SequenceInputStream(
+              in,
+              new InputStream() {
+                @Override
+                public int read() throws IOException {
+                  throw new IOException("connection reset");
+                }
+              });
+    }
+    return CompletableFuture.completedFuture(
+        new EventStream<>(
+            in,
+            new TypeReference<InteractionSSEStreamEvent>() {},
+            Utils.mapper(),
+            Optional.of("[DONE]")));
+  }
+
+  private static CompletableFuture<EventStream<InteractionSSEStreamEvent>> failure(
+      Throwable error) {
+    CompletableFuture<EventStream<InteractionSSEStreamEvent>> future = new CompletableFuture<>();
+    future.completeExceptionally(error);
+    return future;
+  }
+
+  private static ResumableInteractionStream stream(
+      FakeBackend backend,
+      CompletableFuture<EventStream<InteractionSSEStreamEvent>> first,
+      int maxAttempts) {
+    return new ResumableInteractionStream(
+        backend,
+        first,
+        Optional.empty(),
+        Optional.empty(),
+        maxAttempts,
+        Duration.ZERO,
+        Duration.ZERO);
+  }
+
+  private static List<String> eventIds(ResumableInteractionStream stream) {
+    List<String> ids = new ArrayList<>();
+    for (InteractionSSEStreamEvent event : stream) {
+      ids.add(ResumableInteractionStream.eventId(event.data().get()).get());
+    }
+    return ids;
+  }
+
+  @Test
+  public void testIterate_withoutFailure_returnsEveryEvent() {
+    FakeBackend backend = new FakeBackend();
+    ResumableInteractionStream stream =
+        stream(backend, events(sse(CREATED, delta("e2", "a"), COMPLETED, "[DONE]"), false), 3);
+
+    assertEquals(Arrays.asList("e1", "e2", "e4"), eventIds(stream));
+    assertEquals(Optional.of("int-1"), stream.interactionId());
+    assertEquals(Optional.of("e4"), stream.lastEventId());
+    assertEquals(0, stream.reconnectCount());
+    assertTrue(backend.requestedLastEventIds.isEmpty());
+  }
+
+  @Test
+  public void testIterate_ioFailure_resumesAfterLastEventAndSkipsDuplicates() {
+    FakeBackend backend = new FakeBackend();
+    backend.responses.add(events(sse(delta("e2", "a"), delta("e3", "b"), COMPLETED), false));
+    ResumableInteractionStream stream =
+        stream(backend, events(sse(CREATED, delta("e2", "a")), true), 3);
+
+    assertEquals(Arrays.asList("e1", "e2", "e3", "e4"), eventIds(stream));
+    assertEquals(Arrays.asList(Optional.of("e2")), backend.requestedLastEventIds);
+    assertEquals(1, stream.reconnectCount());
+  }
+
+  @Test
+  public void testIterate_failedReconnect_retriesUntilConnected() {
+    FakeBackend backend = new FakeBackend();
+    backend.responses.add(failure(new GenAiIOException("unreachable")));
+    backend.responses.add(events(sse(COMPLETED), false));
+    ResumableInteractionStream stream = stream(backend, events(sse(CREATED), true), 3);
+
+    assertEquals(Arrays.asList("e1", "e4"), eventIds(stream));
+    assertEquals(
+        Arrays.asList(Optional.of("e1"), Optional.of("e1")), backend.requestedLastEventIds);
+  }
+
+  @Test
+  public void testIterate_attemptsExhausted_throws() {
+    FakeBackend backend = new FakeBackend();
+    backend.responses.add(failure(new GenAiIOException("unreachable")));
+    backend.responses.add(failure(new GenAiIOException("unreachable")));
+    ResumableInteractionStream stream = stream(backend, events(sse(CREATED), true), 2);
+
+    GenAiIOException e = assertThrows(GenAiIOException.class, () -> eventIds(stream));
+    assertTrue(e.getMessage().contains("int-1"));
+    assertEquals(2, backend.requestedLastEventIds.size());
+  }
+
+  @Test
+  public void testIterate_failureBeforeInteractionId_throws() {
+    FakeBackend backend = new FakeBackend();
+    ResumableInteractionStream stream = stream(backend, events(sse(delta("e2", "a")), true), 3);
+
+    assertThrows(GenAiIOException.class, () -> eventIds(stream));
+    assertTrue(backend.requestedLastEventIds.isEmpty());
+  }
+
+  @Test
+  public void testIterate_clientError_isNotRetried() {
+    FakeBackend backend = new FakeBackend();
+    backend.responses.add(failure(new ClientException(404, "NOT_FOUND", "not found")));
+    ResumableInteractionStream stream = stream(backend, events(sse(CREATED), true), 3);
+
+    assertThrows(ClientException.class, () -> eventIds(stream));
+    assertEquals(1, backend.requestedLastEventIds.size());
+  }
+
+  @Test
+  public void testClose_endsIteration() {
+    FakeBackend backend = new FakeBackend();
+    ResumableInteractionStream stream =
+        stream(backend, events(sse(CREATED, delta("e2", "a"), COMPLETED), false), 3);
+
+    assertTrue(stream.iterator().hasNext());
+    stream.close();
+
+    assertFalse(stream.iterator().hasNext());
+  }
+}
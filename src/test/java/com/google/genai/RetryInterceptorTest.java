@@ -28,6 +28,7 @@ import static org.mockito.Mockito.when;
 import com.google.genai.types.HttpRetryOptions;
 import java.io.IOException;
 import java.util.Random;
+import okhttp3.Call;
 import okhttp3.Interceptor;
 import okhttp3.MediaType;
 import okhttp3.Protocol;
@@ -41,6 +42,7 @@ import org.junit.jupiter.api.Test;
 class RetryInterceptorTest {
 
   private Interceptor.Chain chain;
+  private Call call;
   private FakeRandom random;
 
   private Request baseRequest;
@@ -57,6 +59,8 @@ class RetryInterceptorTest {
     // A base request that our mock chain will return
     baseRequest = new Request.Builder().url("http://localhost").build();
     lenient().when(chain.request()).thenReturn(baseRequest);
+    call = mock(Call.class);
+    lenient().when(chain.call()).thenReturn(call);
 
     // Default retry options
     retryOptions =
@@ -214,6 +218,16 @@ class RetryInterceptorTest {
     verify(chain, times(3)).proceed(baseRequest);
   }
 
+  @Test
+  void testIntercept_IOException_CancelledCall_NoRetry() throws Exception {
+    RetryInterceptor interceptorSpy = spy(new RetryInterceptor(retryOptions));
+    when(call.isCanceled()).thenReturn(true);
+    when(chain.proceed(baseRequest)).thenThrow(ioException).thenReturn(successResponse);
+
+    assertThrows(IOException.class, () -> interceptorSpy.intercept(chain));
+    verify(chain, times(1)).proceed(baseRequest);
+  }
+
   @Test
   void testIntercept_PerRequestOptions_OverridesClientLevelOptions() throws Exception {
     HttpRetryOptions perRequestOptions = HttpRetryOptions.builder().attempts(2).build();
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.genai.gaos.models.webhooks.Webhook;
+import com.google.genai.gaos.models.webhooks.WebhookSubscribedEvent;
+import com.google.genai.types.BatchJob;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class WebhookReceiverTest {
+
+  private static final byte[] KEY = "0123456789abcdef0123456789abcdef".getBytes(UTF_8);
+  private static final String SECRET = "whsec_" + Base64.getEncoder().encodeToString(KEY);
+  private static final String EVENT =
+      "{\"type\":\"batch.succeeded\",\"data\":{\"name\":\"batches/123\"}}";
+
+  private ScheduledExecutorService scheduler;
+  private AtomicInteger batchJobGets;
+  private WebhookReceiver receiver;
+
+  @BeforeEach
+  public void setUp() {
+    scheduler = Executors.newSingleThreadScheduledExecutor();
+    batchJobGets = new AtomicInteger();
+    WebhookReceiver.Backend backend =
+        new WebhookReceiver.Backend() {
+          @Override
+          public CompletableFuture<Webhook> createWebhook(
+              String uri, List<WebhookSubscribedEvent> events) {
+            throw new AssertionError("No webhook should be created with a signing secret");
+          }
+
+          @Override
+          public CompletableFuture<Void> deleteWebhook(String id) {
+            throw new AssertionError("No webhook should be deleted with a signing secret");
+          }
+
+          @Override
+          public CompletableFuture<BatchJob> getBatchJob(String name) {
+            batchJobGets.incrementAndGet();
+            return CompletableFuture.completedFuture(
+                BatchJob.builder().name(name).state("JOB_STATE_SUCCEEDED").build());
+          }
+        };
+    receiver =
+        WebhookReceiver.start(
+            backend,
+            new InetSocketAddress("localhost", 0),
+            "/genai-webhook",
+            Optional.empty(),
+            Optional.of(SECRET),
+            Duration.ofMinutes(5),
+            new BatchJobPoller(
+                backend::getBatchJob, Duration.ofHours(1), Duration.ofHours(1), scheduler));
+  }
+
+  @AfterEach
+  public void tearDown() {
+    receiver.close();
+    scheduler.shutdownNow();
+  }
+
+  private static String sign(byte[] key, String id, String timestamp, String body)
+      throws Exception {
+    Mac mac = Mac.getInstance("HmacSHA256");
+    mac.init(new SecretKeySpec(key, "HmacSHA256"));
+    return "v1,"
+        + Base64.getEncoder()
+            .encodeToString(mac.doFinal((id + "." + timestamp + "." + body).getBytes(UTF_8)));
+  }
+
+  private int post(String body, String signature, long timestampSeconds) throws Exception {
+    HttpURLConnection connection =
+        (HttpURLConnection)
+            new URL("http://localhost:" + receiver.port() + "/genai-webhook").openConnection();
+    connection.setRequestMethod("POST");
+    connection.setDoOutput(true);
+    connection.setRequestProperty(WebhookReceiver.ID_HEADER, "msg_1");
+    connection.setRequestProperty(
+        WebhookReceiver.TIMESTAMP_HEADER, String.valueOf(timestampSeconds));
+    connection.setRequestProperty(WebhookReceiver.SIGNATURE_HEADER, signature);
+    try (OutputStream out = connection.getOutputStream()) {
+      out.write(body.getBytes(UTF_8));
+    }
+    int status = connection.getResponseCode();
+    connection.disconnect();
+    return status;
+  }
+
+  private static long now() {
+    return System.currentTimeMillis() / 1000;
+  }
+
+  @Test
+  public void testVerifySignature_acceptsAnyValidEntry() throws Exception {
+    String valid = sign(KEY, "msg_1", "1700000000", EVENT);
+
+    assertTrue(
+        WebhookReceiver.verifySignature(
+            KEY, "msg_1", "1700000000", EVENT.getBytes(UTF_8), "v1,c2lnbmF0dXJl " + valid));
+  }
+
+  @Test
+  public void testVerifySignature_rejectsTamperedBody() throws Exception {
+    String valid = sign(KEY, "msg_1", "1700000000", EVENT);
+
+    assertFalse(
+        WebhookReceiver.verifySignature(
+            KEY, "msg_1", "1700000000", (EVENT + " ").getBytes(UTF_8), valid));
+  }
+
+  @Test
+  public void testSigningKey_decodesWhsecSecrets() {
+    assertEquals(new String(KEY, UTF_8), new String(WebhookReceiver.signingKey(SECRET), UTF_8));
+    assertEquals("plain", new String(WebhookReceiver.signingKey("plain"), UTF_8));
+  }
+
+  @Test
+  public void testBatchJobName_fromNameOrId() throws Exception {
+    assertEquals(
+        Optional.of("batches/123"),
+        WebhookReceiver.batchJobName(JsonSerializable.stringToJsonNode(EVENT)));
+    assertEquals(
+        Optional.of("batches/456"),
+        WebhookReceiver.batchJobName(
+            JsonSerializable.stringToJsonNode("{\"data\":{\"id\":\"456\"}}")));
+    assertEquals(
+        Optional.empty(),
+        WebhookReceiver.batchJobName(JsonSerializable.stringToJsonNode("{\"data\":{}}")));
+  }
+
+  @Test
+  public void testPost_invalidSignature_isRejected() throws Exception {
+    int status = post(EVENT, sign("wrong".getBytes(UTF_8), "msg_1", "0", EVENT), now());
+
+    assertEquals(401, status);
+    assertEquals(1, receiver.rejectedEventCount());
+    assertEquals(0, receiver.acceptedEventCount());
+  }
+
+  @Test
+  public void testPost_staleTimestamp_isRejected() throws Exception {
+    long stale = now() - TimeUnit.HOURS.toSeconds(1);
+
+    int status = post(EVENT, sign(KEY, "msg_1", String.valueOf(stale), EVENT), stale);
+
+    assertEquals(401, status);
+  }
+
+  @Test
+  public void testPost_signedEvent_completesAwaitedJob() throws Exception {
+    CompletableFuture<BatchJob> done =
+        receiver.awaitBatchJob(
+            BatchJob.builder().name("batches/123").state("JOB_STATE_RUNNING").build());
+    long timestamp = now();
+
+    int status = post(EVENT, sign(KEY, "msg_1", String.valueOf(timestamp), EVENT), timestamp);
+
+    assertEquals(204, status);
+    assertEquals(1, receiver.acceptedEventCount());
+    assertEquals("batches/123", done.get(5, TimeUnit.SECONDS).name().get());
+    assertEquals(1, batchJobGets.get());
+  }
+
+  @Test
+  public void testAwaitBatchJob_cancellingOneWaiter_keepsTheOthersWaiting() throws Exception {
+    BatchJob running = BatchJob.builder().name("batches/123").state("JOB_STATE_RUNNING").build();
+    CompletableFuture<BatchJob> cancelled = receiver.awaitBatchJob(running);
+    CompletableFuture<BatchJob> waiting = receiver.awaitBatchJob(running);
+    long timestamp = now();
+
+    cancelled.cancel(false);
+    post(EVENT, sign(KEY, "msg_1", String.valueOf(timestamp), EVENT), timestamp);
+
+    assertTrue(cancelled.isCancelled());
+    assertEquals("batches/123", waiting.get(5, TimeUnit.SECONDS).name().get());
+    assertEquals(1, batchJobGets.get());
+  }
+}
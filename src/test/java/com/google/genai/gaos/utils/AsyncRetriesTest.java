@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai.gaos.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.genai.gaos.utils.transport.HttpRequest;
+import com.google.genai.gaos.utils.transport.HttpResponse;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link AsyncRetries}. */
+public final class AsyncRetriesTest {
+
+  private static final HttpRequest REQUEST =
+      HttpRequest.builder().method("GET").uri(URI.create("https://example.com/v1/x")).build();
+
+  private static HttpResponse<InputStream> response(int statusCode) {
+    return new HttpResponse<>(
+        REQUEST, statusCode, new Headers(), new ByteArrayInputStream(new byte[0]));
+  }
+
+  private static RetryConfig retries(int maxRetries, long maxElapsedTimeMs) {
+    return RetryConfig.builder()
+        .attemptCountBackoff(
+            maxRetries,
+            BackoffStrategy.builder()
+                .initialInterval(1, TimeUnit.MILLISECONDS)
+                .maxInterval(1, TimeUnit.MILLISECONDS)
+                .maxElapsedTime(maxElapsedTimeMs, TimeUnit.MILLISECONDS)
+                .build())
+        .build();
+  }
+
+  /** Answers with the given status codes in turn, repeating the last one. */
+  private static AsyncRetries.RetryTask statuses(AtomicInteger calls, Integer... codes) {
+    List<Integer> statusCodes = Arrays.asList(codes);
+    return attempt -> {
+      int call = calls.getAndIncrement();
+      return CompletableFuture.completedFuture(
+          response(statusCodes.get(Math.min(call, statusCodes.size() - 1))));
+    };
+  }
+
+  @Test
+  public void testRetry_withoutScheduler_usesTheSharedDaemonScheduler() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    AsyncRetries retries =
+        AsyncRetries.builder()
+            .retryConfig(retries(3, 10_000))
+            .statusCodes(Collections.singletonList("503"))
+            .build();
+
+    HttpResponse<InputStream> result = retries.retry(statuses(calls, 503, 503, 200)).get();
+
+    assertEquals(200, result.statusCode());
+    assertEquals(3, calls.get());
+    retries.shutdown();
+    assertFalse(AsyncRetries.defaultScheduler().isShutdown());
+  }
+
+  @Test
+  public void testRetry_emitsAnEventPerRetry() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    List<AsyncRetries.RetryEvent> events = Collections.synchronizedList(new ArrayList<>());
+    AsyncRetries retries =
+        AsyncRetries.builder()
+            .retryConfig(retries(3, 10_000))
+            .statusCodes(Collections.singletonList("5XX"))
+            .onRetry(events::add)
+            .build();
+
+    retries.retry(statuses(calls, 503, 500, 200)).get();
+
+    assertEquals(2, events.size());
+    assertEquals(1, events.get(0).retry());
+    assertEquals(Optional.of(503), events.get(0).statusCode());
+    assertEquals(2, events.get(1).retry());
+    assertEquals(Optional.of(500), events.get(1).statusCode());
+    assertFalse(events.get(1).error().isPresent());
+  }
+
+  @Test
+  public void testRetry_exhaustedBudget_returnsTheFailedResponse() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    RetryBudget budget = RetryBudget.of(4, 0.1);
+    AsyncRetries retries =
+        AsyncRetries.builder()
+            .retryConfig(retries(10, 10_000))
+            .statusCodes(Collections.singletonList("503"))
+            .retryBudget(budget)
+            .build();
+
+    HttpResponse<InputStream> result = retries.retry(statuses(calls, 503)).get();
+
+    assertEquals(503, result.statusCode());
+    // Two failures leave half of the four tokens, which stops the retries.
+    assertEquals(2, calls.get());
+    assertFalse(budget.canRetry());
+  }
+
+  @Test
+  public void testRetry_maxElapsedTime_appliesToAttemptCountBackoff() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    AsyncRetries retries =
+        AsyncRetries.builder()
+            .retryConfig(
+                RetryConfig.builder()
+                    .attemptCountBackoff(
+                        10,
+                        BackoffStrategy.builder()
+                            .initialInterval(200, TimeUnit.MILLISECONDS)
+                            .maxInterval(200, TimeUnit.MILLISECONDS)
+                            .jitterFactor(0)
+                            .maxElapsedTime(100, TimeUnit.MILLISECONDS)
+                            .build())
+                    .build())
+            .statusCodes(Collections.singletonList("503"))
+            .build();
+
+    HttpResponse<InputStream> result = retries.retry(statuses(calls, 503)).get();
+
+    assertEquals(503, result.statusCode());
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  public void testRetryBudget_successesRestoreTokens() {
+    RetryBudget budget = RetryBudget.of(2, 0.5);
+    budget.onFailure();
+
+    assertFalse(budget.canRetry());
+    budget.onSuccess();
+    assertTrue(budget.canRetry());
+    budget.onSuccess();
+    budget.onSuccess();
+    assertEquals(2.0, budget.tokens());
+    assertTrue(RetryBudget.unlimited().canRetry());
+  }
+}
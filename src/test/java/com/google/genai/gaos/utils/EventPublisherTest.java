@@ -0,0 +1,228 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai.gaos.utils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link EventPublisher}. */
+public final class EventPublisherTest {
+
+  /** Counts the bytes handed out so tests can check that reads follow demand. */
+  private static final class CountingInputStream extends ByteArrayInputStream {
+    int reads;
+    boolean closed;
+
+    CountingInputStream(String body) {
+      super(body.getBytes(UTF_8));
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) {
+      reads++;
+      // Hands out one event at a time, like a socket that receives them as they are sent.
+      int end = pos;
+      while (end < count && !(buf[end] == '\n' && end + 1 < count && buf[end + 1] == '\n')) {
+        end++;
+      }
+      return super.read(b, off, Math.min(len, Math.max(1, end + 2 - pos)));
+    }
+
+    @Override
+    public void close() throws IOException {
+      closed = true;
+    }
+  }
+
+  /** Records every signal. */
+  private static final class RecordingSubscriber
+      implements EventPublisher.Subscriber<Map<String, Object>> {
+    final List<Map<String, Object>> items = new ArrayList<>();
+    EventPublisher.Subscription subscription;
+    Throwable error;
+    int completions;
+
+    @Override
+    public void onSubscribe(EventPublisher.Subscription subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(Map<String, Object> item) {
+      items.add(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      error = throwable;
+    }
+
+    @Override
+    public void onComplete() {
+      completions++;
+    }
+  }
+
+  private static EventPublisher<Map<String, Object>> publisher(
+      CompletableFuture<InputStream> body) {
+    return new EventPublisher<>(
+        () -> body,
+        new TypeReference<Map<String, Object>>() {},
+        Utils.mapper(),
+        Optional.of("[DONE]"),
+        Runnable::run);
+  }
+
+  private static String sse(String... data) {
+    StringBuilder body = new StringBuilder();
+    for (String d : data) {
+      body.append("data: ").append(d).append("\n\n");
+    }
+    return body.toString();
+  }
+
+  @Test
+  public void testSubscribe_readsOnlyWhatIsRequested() {
+    CountingInputStream in = new CountingInputStream(sse("{\"n\":1}", "{\"n\":2}", "{\"n\":3}"));
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher(CompletableFuture.completedFuture(in)).subscribe(subscriber);
+
+    assertEquals(0, in.reads);
+    subscriber.subscription.request(1);
+    assertEquals(1, subscriber.items.size());
+    assertEquals(Collections.singletonMap("n", 1), subscriber.items.get(0).get("data"));
+    int readsAfterFirst = in.reads;
+
+    subscriber.subscription.request(2);
+
+    assertEquals(3, subscriber.items.size());
+    assertTrue(in.reads > readsAfterFirst);
+    assertEquals(0, subscriber.completions);
+    subscriber.subscription.request(1);
+    assertEquals(1, subscriber.completions);
+    assertTrue(in.closed);
+  }
+
+  @Test
+  public void testSubscribe_terminalMessage_completes() {
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher(
+            CompletableFuture.completedFuture(
+                new CountingInputStream(sse("{\"n\":1}", "[DONE]", "{\"n\":2}"))))
+        .subscribe(subscriber);
+
+    subscriber.subscription.request(Long.MAX_VALUE);
+
+    assertEquals(1, subscriber.items.size());
+    assertEquals(1, subscriber.completions);
+    assertNull(subscriber.error);
+  }
+
+  @Test
+  public void testSubscribe_bodyArrivesLater_deliversPendingDemand() {
+    CompletableFuture<InputStream> body = new CompletableFuture<>();
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher(body).subscribe(subscriber);
+    subscriber.subscription.request(5);
+
+    body.complete(new CountingInputStream(sse("{\"n\":1}", "{\"n\":2}")));
+
+    assertEquals(2, subscriber.items.size());
+    assertEquals(1, subscriber.completions);
+  }
+
+  @Test
+  public void testCancel_closesTheBodyAndStopsDelivery() {
+    CountingInputStream in = new CountingInputStream(sse("{\"n\":1}", "{\"n\":2}"));
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher(CompletableFuture.completedFuture(in)).subscribe(subscriber);
+    subscriber.subscription.request(1);
+
+    subscriber.subscription.cancel();
+    subscriber.subscription.request(1);
+
+    assertEquals(1, subscriber.items.size());
+    assertTrue(in.closed);
+    assertEquals(0, subscriber.completions);
+    assertNull(subscriber.error);
+  }
+
+  @Test
+  public void testCancel_beforeResponse_cancelsTheRequest() {
+    CompletableFuture<InputStream> body = new CompletableFuture<>();
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher(body).subscribe(subscriber);
+
+    subscriber.subscription.cancel();
+
+    assertTrue(body.isCancelled());
+    assertNull(subscriber.error);
+  }
+
+  @Test
+  public void testSubscribe_failedRequest_signalsError() {
+    CompletableFuture<InputStream> body = new CompletableFuture<>();
+    body.completeExceptionally(new IOException("unreachable"));
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher(body).subscribe(subscriber);
+
+    subscriber.subscription.request(1);
+
+    assertTrue(subscriber.error instanceof IOException);
+    assertTrue(subscriber.items.isEmpty());
+  }
+
+  @Test
+  public void testRequest_nonPositive_signalsError() {
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher(CompletableFuture.completedFuture(new CountingInputStream(sse("{\"n\":1}"))))
+        .subscribe(subscriber);
+
+    subscriber.subscription.request(0);
+
+    assertTrue(subscriber.error instanceof IllegalArgumentException);
+    assertTrue(subscriber.items.isEmpty());
+  }
+
+  @Test
+  public void testSubscribe_secondSubscriber_isRejected() {
+    EventPublisher<Map<String, Object>> publisher =
+        publisher(CompletableFuture.completedFuture(new CountingInputStream(sse("{\"n\":1}"))));
+    RecordingSubscriber first = new RecordingSubscriber();
+    RecordingSubscriber second = new RecordingSubscriber();
+    publisher.subscribe(first);
+
+    publisher.subscribe(second);
+
+    assertNull(first.error);
+    assertTrue(second.error instanceof IllegalStateException);
+  }
+}
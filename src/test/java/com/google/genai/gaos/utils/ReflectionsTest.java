@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai.gaos.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link Reflections} and the metadata caches used to build requests. */
+public final class ReflectionsTest {
+
+  /** A request with a path parameter, header and an unannotated field. */
+  private static final class Request {
+    @SpeakeasyMetadata("pathParam:style=simple,explode=false,name=model_id")
+    private final String modelId;
+
+    @SpeakeasyMetadata("header:style=simple,explode=false,name=x-trace")
+    private final Optional<String> trace;
+
+    private final String ignored = "ignored";
+
+    Request(String modelId, String trace) {
+      this.modelId = modelId;
+      this.trace = Optional.ofNullable(trace);
+    }
+  }
+
+  /** An open enum in the shape the generator emits. */
+  public static final class Tier {
+    public static final Tier FREE = new Tier("free");
+
+    private final String value;
+
+    private Tier(String value) {
+      this.value = value;
+    }
+
+    public static Tier of(String value) {
+      return new Tier(value);
+    }
+
+    public String value() {
+      return value;
+    }
+  }
+
+  @Test
+  public void testAccessibleFields_areSharedAndReadable() throws Exception {
+    Field[] fields = Reflections.accessibleFields(Request.class);
+
+    assertSame(fields, Reflections.accessibleFields(Request.class));
+    Field modelId = Reflections.accessibleField(Request.class, "modelId").get();
+    assertEquals("gemini", modelId.get(new Request("gemini", null)));
+    assertFalse(Reflections.accessibleField(Request.class, "missing").isPresent());
+  }
+
+  @Test
+  public void testEnumWrapper_isDetectedAndUnwrapped() {
+    assertTrue(Reflections.isEnumWrapper(Tier.class));
+    assertEquals(Optional.of("free"), Reflections.getUnwrappedEnumValue(Tier.class, Tier.FREE));
+    assertFalse(Reflections.isEnumWrapper(Request.class));
+    assertFalse(
+        Reflections.getUnwrappedEnumValue(Request.class, new Request("a", null)).isPresent());
+  }
+
+  @Test
+  public void testMetadataParse_isParsedOncePerField() throws Exception {
+    Field modelId = Reflections.accessibleField(Request.class, "modelId").get();
+    Field ignored = Reflections.accessibleField(Request.class, "ignored").get();
+
+    PathParamsMetadata first = PathParamsMetadata.parse(modelId);
+
+    assertEquals("model_id", first.name);
+    assertSame(first, PathParamsMetadata.parse(modelId));
+    assertNull(HeaderMetadata.parse(modelId));
+    assertNull(PathParamsMetadata.parse(ignored));
+  }
+
+  @Test
+  public void testGenerateUrl_andHeaders_useTheCachedMetadata() throws Exception {
+    Request request = new Request("gemini", "abc");
+
+    for (int i = 0; i < 2; i++) {
+      assertEquals(
+          "https://example.com/models/gemini",
+          Utils.generateURL(
+              Request.class, "https://example.com/", "/models/{model_id}", request, new Globals()));
+      Map<String, List<String>> headers = Utils.getHeadersFromMetadata(request, new Globals());
+      assertEquals(Collections.singletonList("abc"), headers.get("x-trace"));
+    }
+  }
+
+  @Test
+  public void testTemplateUrl_replacesEveryParameter() {
+    Map<String, String> params = new HashMap<>();
+    params.put("a", "1");
+    params.put("b", "$2");
+
+    assertEquals("/x/1/y/$2/{c}", Utils.templateUrl("/x/{a}/y/{b}/{c}", params));
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.genai.gaos.utils.transport;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.genai.gaos.utils.Blob;
+import com.google.genai.gaos.utils.Multipart;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link HttpBody#writeTo}. */
+public final class HttpBodyTest {
+
+  private static String write(HttpBody body) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    body.writeTo(out);
+    return new String(out.toByteArray(), UTF_8);
+  }
+
+  @Test
+  public void testWriteTo_bytes_isRepeatable() throws IOException {
+    HttpBody body = HttpBody.of("{\"a\":1}");
+
+    assertEquals("{\"a\":1}", write(body));
+    assertEquals("{\"a\":1}", write(body));
+  }
+
+  @Test
+  public void testWriteTo_inputStream_copiesTheStream() throws IOException {
+    byte[] bytes = new byte[20000];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) ('a' + i % 26);
+    }
+    HttpBody body = HttpBody.ofInputStream(new ByteArrayInputStream(bytes), bytes.length);
+
+    assertEquals(new String(bytes, UTF_8), write(body));
+  }
+
+  @Test
+  public void testWriteTo_multipart_matchesStream() throws IOException {
+    Multipart multipart =
+        Multipart.builder()
+            .addPart("field", "value")
+            .addPart("file", Blob.from("content"), "file.txt", "text/plain")
+            .build();
+    HttpBody body = multipart.httpBody();
+
+    String written = write(body);
+    ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+    try (InputStream in = body.stream()) {
+      int read;
+      while ((read = in.read()) != -1) {
+        streamed.write(read);
+      }
+    }
+
+    assertEquals(new String(streamed.toByteArray(), UTF_8), written);
+    assertTrue(written.contains("content"));
+    assertEquals(body.contentLength(), written.getBytes(UTF_8).length);
+  }
+}